@@ -0,0 +1,59 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la serialización con Jackson de {@link LeagueResponseDto}
+ * y {@link PlayerMatchStatsResponseDto}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JacksonSerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int leagueSize;
+
+    private ObjectMapper objectMapper;
+    private LeagueResponseDto league;
+    private PlayerMatchStatsResponseDto stats;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapper();
+
+        List<UserResponseDto> admins = new ArrayList<>();
+        List<UserResponseDto> participants = new ArrayList<>();
+        List<PlayerResponseDto> players = new ArrayList<>();
+        for (long i = 1; i <= leagueSize; i++) {
+            UserResponseDto user = new UserResponseDto(i, "usuario" + i);
+            participants.add(user);
+            if (i % 10 == 1) {
+                admins.add(user);
+            }
+            players.add(new PlayerResponseDto(i, "Jugador " + i, "https://example.com/default-player.jpg", (int) (i % 50)));
+        }
+        league = new LeagueResponseDto(1L, "Liga sintética", "Liga generada para benchmarks", null, false, "BNCH", leagueSize, admins, participants, 5, players, null);
+
+        stats = new PlayerMatchStatsResponseDto(1L, 1L, 2, 1, 1, 0, 0, 0, 3, 2, 0, 0, 25, 4, 3, 4, 2, 90, 1, 0, 12.5, -1.0);
+    }
+
+    @Benchmark
+    public byte[] serializeLeague() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(league);
+    }
+
+    @Benchmark
+    public byte[] serializeStats() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(stats);
+    }
+}
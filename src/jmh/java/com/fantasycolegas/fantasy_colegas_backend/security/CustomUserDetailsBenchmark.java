@@ -0,0 +1,46 @@
+package com.fantasycolegas.fantasy_colegas_backend.security;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import com.fantasycolegas.fantasy_colegas_backend.model.User;
+import com.fantasycolegas.fantasy_colegas_backend.model.UserLeagueRole;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link CustomUserDetails#build} para usuarios que pertenecen
+ * a un número creciente de ligas.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CustomUserDetailsBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int memberships;
+
+    private User user;
+
+    @Setup
+    public void setUp() {
+        user = new User();
+        user.setId(1L);
+        user.setUsername("adminuser");
+        user.setEmail("admin@example.com");
+        user.setPassword("$2a$10$33.QLLtdvpQf8cyZrS6JKuwVvCKxSMV/Vg4nHXHxuwDVR8QdcMquu");
+        for (long i = 1; i <= memberships; i++) {
+            League league = new League();
+            league.setId(i);
+            user.getLeagueRoles().add(new UserLeagueRole(user, league, i % 2 == 0 ? LeagueRole.ADMIN : LeagueRole.PARTICIPANT));
+        }
+    }
+
+    @Benchmark
+    public CustomUserDetails build() {
+        return CustomUserDetails.build(user);
+    }
+}
@@ -0,0 +1,89 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerSeasonStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.User;
+import com.fantasycolegas.fantasy_colegas_backend.model.UserLeagueRole;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueRole;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link LeagueService#mapToLeagueResponseDto} sobre ligas sintéticas
+ * de tamaño creciente (participantes y jugadores).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LeagueMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int leagueSize;
+
+    private LeagueService leagueService;
+    private League league;
+    private Map<Long, PlayerSeasonStats> seasons;
+
+    @Setup
+    public void setUp() {
+        leagueService = new LeagueService(null, null, null, null, null, null, null, null, null, null, null, null, null, null, null, null);
+        league = syntheticLeague(leagueSize);
+        seasons = syntheticSeasons(league);
+    }
+
+    /**
+     * Construye una liga con {@code size} participantes (uno de cada diez administrador)
+     * y {@code size} jugadores.
+     */
+    static League syntheticLeague(int size) {
+        League league = new League();
+        league.setId(1L);
+        league.setName("Liga sintética");
+        league.setDescription("Liga generada para benchmarks");
+        league.setJoinCode("BNCH");
+        league.setTeamSize(5);
+        league.setMemberCount(size);
+
+        for (long i = 1; i <= size; i++) {
+            User user = new User();
+            user.setId(i);
+            user.setUsername("usuario" + i);
+            league.getUserRoles().add(new UserLeagueRole(user, league, i % 10 == 1 ? LeagueRole.ADMIN : LeagueRole.PARTICIPANT));
+
+            Player player = new Player();
+            player.setId(i);
+            player.setName("Jugador " + i);
+            player.setImage("https://example.com/default-player.jpg");
+            player.setLeague(league);
+            league.getPlayers().add(player);
+        }
+        return league;
+    }
+
+    /**
+     * Construye los acumulados de temporada de los jugadores de la liga.
+     */
+    static Map<Long, PlayerSeasonStats> syntheticSeasons(League league) {
+        Map<Long, PlayerSeasonStats> seasons = new HashMap<>();
+        for (Player player : league.getPlayers()) {
+            PlayerSeasonStats season = new PlayerSeasonStats(player.getId(), league.getId());
+            season.setTotalFieldPoints(player.getId() % 50);
+            season.setTotalGoalkeeperPoints(player.getId() % 30);
+            seasons.put(player.getId(), season);
+        }
+        return seasons;
+    }
+
+    @Benchmark
+    public LeagueResponseDto mapLeague() {
+        return leagueService.mapToLeagueResponseDto(league, seasons);
+    }
+}
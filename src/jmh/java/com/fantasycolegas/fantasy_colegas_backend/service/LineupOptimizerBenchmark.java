@@ -0,0 +1,62 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link LineupOptimizer#best} sobre ligas sintéticas de tamaño creciente, comparado con
+ * probar cada portero y ordenar al resto de jugadores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LineupOptimizerBenchmark {
+
+    @Param({"100", "500", "2000"})
+    public int players;
+
+    @Param({"5", "11"})
+    public int teamSize;
+
+    private double[] fieldPoints;
+    private double[] goalkeeperPoints;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        fieldPoints = new double[players];
+        goalkeeperPoints = new double[players];
+        for (int i = 0; i < players; i++) {
+            fieldPoints[i] = random.nextInt(400) / 2.0 - 20;
+            goalkeeperPoints[i] = random.nextInt(200) / 2.0 - 20;
+        }
+    }
+
+    @Benchmark
+    public LineupOptimizer.Lineup optimal() {
+        return LineupOptimizer.best(fieldPoints, goalkeeperPoints, teamSize);
+    }
+
+    @Benchmark
+    public double sortPerGoalkeeper() {
+        double best = Double.NEGATIVE_INFINITY;
+        double[] others = new double[players - 1];
+        for (int g = 0; g < players; g++) {
+            System.arraycopy(fieldPoints, 0, others, 0, g);
+            System.arraycopy(fieldPoints, g + 1, others, g, players - g - 1);
+            Arrays.sort(others);
+            double total = goalkeeperPoints[g];
+            for (int i = 0; i < teamSize - 1; i++) {
+                total += others[others.length - 1 - i];
+            }
+            best = Math.max(best, total);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,128 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRuleSet;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleSetRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de {@link PointsCalculationService#calculatePointsForRole}.
+ * <p>
+ * Los repositorios de reglas se sustituyen por proxies en memoria que devuelven
+ * las reglas por defecto de {@code DataInitializer}. Tras la primera llamada las reglas
+ * compiladas de la liga salen de la caché, así que solo se mide su evaluación; los
+ * benchmarks {@code interpreted*} miden, como referencia, las mismas reglas sin compilar.
+ * La liga 2 añade a las reglas por defecto tres reglas con expresión (triplete, portería a cero
+ * y puntos por minutos con tope), para comparar su coste con el de las reglas lineales.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PointsCalculationBenchmark {
+
+    private PointsCalculationService service;
+    private PlayerMatchStatsUpdateDto stats;
+    private List<ScoringRule> fieldRules;
+    private List<ScoringRule> goalkeeperRules;
+
+    @Setup
+    public void setUp() {
+        fieldRules = List.of(rule("golesMarcados", 5.0, PlayerTeamRole.CAMPO), rule("asistencias", 3.0, PlayerTeamRole.CAMPO), rule("fallosClarosDeGol", -1.0, PlayerTeamRole.CAMPO), rule("faltasCometidas", -0.5, PlayerTeamRole.CAMPO), rule("faltasRecibidas", 0.5, PlayerTeamRole.CAMPO), rule("tarjetasAmarillas", -1.0, PlayerTeamRole.CAMPO), rule("tarjetasRojas", -3.0, PlayerTeamRole.CAMPO));
+        goalkeeperRules = List.of(rule("paradasComoPortero", 0.5, PlayerTeamRole.PORTERO), rule("golesEncajadosComoPortero", -2.0, PlayerTeamRole.PORTERO), rule("penaltisRecibidos", 2.0, PlayerTeamRole.PORTERO), rule("penaltisCometidos", -3.0, PlayerTeamRole.PORTERO), rule("tarjetasAmarillas", -1.0, PlayerTeamRole.PORTERO), rule("tarjetasRojas", -3.0, PlayerTeamRole.PORTERO));
+
+        ScoringRuleRepository repository = (ScoringRuleRepository) Proxy.newProxyInstance(ScoringRuleRepository.class.getClassLoader(), new Class<?>[]{ScoringRuleRepository.class}, (proxy, method, args) -> {
+            List<ScoringRule> rules = new ArrayList<>(fieldRules);
+            rules.addAll(goalkeeperRules);
+            if (method.getName().equals("findAllByLeagueIdIsNullOrderByIdAsc")) {
+                return rules;
+            }
+            if (method.getName().equals("findAllByLeagueIdOrderByIdAsc")) {
+                rules.add(rule("golesMarcados", 5.0, PlayerTeamRole.CAMPO, "golesMarcados >= 3 ? 1 : 0"));
+                rules.add(rule("tiempoJugado", 1.0, PlayerTeamRole.CAMPO, "min(floor(tiempoJugado / 30), 3)"));
+                rules.add(rule("golesEncajadosComoPortero", 4.0, PlayerTeamRole.PORTERO, "tiempoJugado >= 60 && golesEncajadosComoPortero == 0"));
+                return rules;
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        ScoringRuleSetRepository ruleSetRepository = (ScoringRuleSetRepository) Proxy.newProxyInstance(ScoringRuleSetRepository.class.getClassLoader(), new Class<?>[]{ScoringRuleSetRepository.class}, (proxy, method, args) -> {
+            if (method.getName().equals("findById")) {
+                if (!args[0].equals(2L)) {
+                    return Optional.empty();
+                }
+                ScoringRuleSet ruleSet = new ScoringRuleSet();
+                ruleSet.setLeagueId(2L);
+                ruleSet.setVersion(1);
+                return Optional.of(ruleSet);
+            }
+            throw new UnsupportedOperationException(method.getName());
+        });
+        service = new PointsCalculationService(repository, ruleSetRepository, null);
+
+        stats = new PlayerMatchStatsUpdateDto();
+        stats.setPlayerId(1L);
+        stats.setGolesMarcados(2);
+        stats.setAsistencias(1);
+        stats.setFaltasCometidas(3);
+        stats.setFaltasRecibidas(2);
+        stats.setParadasComoPortero(4);
+        stats.setGolesEncajadosComoPortero(1);
+        stats.setTarjetasAmarillas(1);
+        stats.setTiempoJugado(90);
+    }
+
+    private static ScoringRule rule(String statName, double pointsPerUnit, PlayerTeamRole role) {
+        return rule(statName, pointsPerUnit, role, null);
+    }
+
+    private static ScoringRule rule(String statName, double pointsPerUnit, PlayerTeamRole role, String expression) {
+        ScoringRule rule = new ScoringRule();
+        rule.setExpression(expression);
+        rule.setStatName(statName);
+        rule.setPointsPerUnit(pointsPerUnit);
+        rule.setRole(role);
+        return rule;
+    }
+
+    @Benchmark
+    public double fieldPoints() {
+        return service.calculatePointsForRole(1L, stats, PlayerTeamRole.CAMPO);
+    }
+
+    @Benchmark
+    public double goalkeeperPoints() {
+        return service.calculatePointsForRole(1L, stats, PlayerTeamRole.PORTERO);
+    }
+
+    @Benchmark
+    public double fieldPointsWithExpressions() {
+        return service.calculatePointsForRole(2L, stats, PlayerTeamRole.CAMPO);
+    }
+
+    @Benchmark
+    public double goalkeeperPointsWithExpressions() {
+        return service.calculatePointsForRole(2L, stats, PlayerTeamRole.PORTERO);
+    }
+
+    @Benchmark
+    public double interpretedFieldPoints() {
+        return service.calculatePoints(stats, fieldRules);
+    }
+
+    @Benchmark
+    public double interpretedGoalkeeperPoints() {
+        return service.calculatePoints(stats, goalkeeperRules);
+    }
+}
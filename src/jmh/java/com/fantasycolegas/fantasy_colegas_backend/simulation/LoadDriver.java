@@ -0,0 +1,245 @@
+package com.fantasycolegas.fantasy_colegas_backend.simulation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Driver de carga contra una instancia en marcha arrancada con el perfil {@code simulation}.
+ * <p>
+ * Lee el manifiesto que escribe {@code SimulationDataGenerator}, inicia sesión con los usuarios
+ * generados y reproduce tráfico realista: consultas de la clasificación, ediciones de equipo
+ * y ráfagas de introducción de estadísticas por parte de los administradores.
+ * Al terminar imprime p50/p99 por endpoint.
+ * </p>
+ * Se configura con propiedades de sistema:
+ * <ul>
+ *     <li>{@code load.baseUrl} (por defecto {@code http://localhost:8080})</li>
+ *     <li>{@code load.manifest} (por defecto {@code ./data/simulation-manifest.json})</li>
+ *     <li>{@code load.users}: usuarios concurrentes (por defecto 50)</li>
+ *     <li>{@code load.durationSeconds} (por defecto 60)</li>
+ *     <li>{@code load.thinkMs}: pausa entre acciones de un usuario (por defecto 100)</li>
+ *     <li>{@code load.burstSize}: actualizaciones de estadísticas por ráfaga (por defecto 20)</li>
+ * </ul>
+ */
+public final class LoadDriver {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Map<String, List<Long>> latencies = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+    private final String baseUrl;
+    private final String password;
+    private final long thinkMs;
+    private final int burstSize;
+
+    private LoadDriver(String baseUrl, String password, long thinkMs, int burstSize) {
+        this.baseUrl = baseUrl;
+        this.password = password;
+        this.thinkMs = thinkMs;
+        this.burstSize = burstSize;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl", "http://localhost:8080");
+        File manifestFile = new File(System.getProperty("load.manifest", "./data/simulation-manifest.json"));
+        int users = Integer.getInteger("load.users", 50);
+        long durationSeconds = Long.getLong("load.durationSeconds", 60);
+        long thinkMs = Long.getLong("load.thinkMs", 100);
+        int burstSize = Integer.getInteger("load.burstSize", 20);
+
+        JsonNode manifest = MAPPER.readTree(manifestFile);
+        List<SimulatedLeague> leagues = new ArrayList<>();
+        for (JsonNode league : manifest.get("leagues")) {
+            leagues.add(SimulatedLeague.from(league));
+        }
+        if (leagues.isEmpty()) {
+            throw new IllegalStateException("El manifiesto no contiene ligas: " + manifestFile);
+        }
+
+        LoadDriver driver = new LoadDriver(baseUrl, manifest.get("password").asText(), thinkMs, burstSize);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        System.out.printf("Lanzando %d usuarios + %d administradores durante %ds contra %s%n", users, leagues.size(), durationSeconds, baseUrl);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users; i++) {
+                SimulatedLeague league = leagues.get(i % leagues.size());
+                // El usuario 0 de cada liga es el administrador; los participantes empiezan en el 1.
+                String username = league.users.size() < 2 ? league.admin : league.users.get(1 + (i / leagues.size()) % (league.users.size() - 1));
+                executor.submit(() -> driver.runParticipant(league, username, deadline));
+            }
+            for (SimulatedLeague league : leagues) {
+                executor.submit(() -> driver.runAdmin(league, deadline));
+            }
+        }
+        driver.printReport();
+    }
+
+    /**
+     * Bucle de un participante: sobre todo consulta la clasificación, a veces el detalle de la liga
+     * y de vez en cuando cambia un jugador de su equipo.
+     */
+    private Void runParticipant(SimulatedLeague league, String username, long deadline) throws Exception {
+        String token = login(username);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            int roll = random.nextInt(100);
+            if (roll < 75) {
+                send("GET /api/leagues/{id}/scoreboard", get("/api/leagues/" + league.leagueId + "/scoreboard", token));
+            } else if (roll < 90) {
+                send("GET /api/leagues/{id}", get("/api/leagues/" + league.leagueId, token));
+            } else {
+                editRoster(league, token, random);
+            }
+            Thread.sleep(thinkMs);
+        }
+        return null;
+    }
+
+    /**
+     * Bucle del administrador de una liga: ráfagas de actualizaciones de estadísticas de un partido,
+     * como ocurre al rellenar el acta al terminar una jornada.
+     */
+    private Void runAdmin(SimulatedLeague league, long deadline) throws Exception {
+        String token = login(league.admin);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline) {
+            long matchId = league.matchIds.get(random.nextInt(league.matchIds.size()));
+            for (int i = 0; i < burstSize && System.nanoTime() < deadline; i++) {
+                Map<String, Object> stats = new LinkedHashMap<>();
+                stats.put("playerId", league.playerIds.get(random.nextInt(league.playerIds.size())));
+                stats.put("golesMarcados", random.nextInt(3));
+                stats.put("asistencias", random.nextInt(2));
+                stats.put("pasesAcertados", random.nextInt(50));
+                stats.put("tiempoJugado", 20 + random.nextInt(71));
+                send("PATCH /api/matches/{id}/stats", json("/api/matches/" + matchId + "/stats", "PATCH", stats, token));
+            }
+            Thread.sleep(thinkMs * 50);
+        }
+        return null;
+    }
+
+    /**
+     * Sustituye un jugador de campo del equipo por otro de la liga que no esté ya en él.
+     */
+    private void editRoster(SimulatedLeague league, String token, ThreadLocalRandom random) throws Exception {
+        HttpResponse<String> rosterResponse = send("GET /api/leagues/{id}/rosters", get("/api/leagues/" + league.leagueId + "/rosters", token));
+        if (rosterResponse == null || rosterResponse.statusCode() != 200) {
+            return;
+        }
+        Set<Long> current = new HashSet<>();
+        List<Long> removable = new ArrayList<>();
+        for (JsonNode slot : MAPPER.readTree(rosterResponse.body())) {
+            long playerId = slot.get("playerId").asLong();
+            current.add(playerId);
+            if ("CAMPO".equals(slot.get("role").asText()) && league.playerIds.contains(playerId)) {
+                removable.add(playerId);
+            }
+        }
+        if (removable.isEmpty()) {
+            return;
+        }
+        long out = removable.get(random.nextInt(removable.size()));
+        long in = league.playerIds.get(random.nextInt(league.playerIds.size()));
+        if (current.contains(in)) {
+            return;
+        }
+        send("DELETE /api/leagues/{id}/rosters/players/{playerId}", request("/api/leagues/" + league.leagueId + "/rosters/players/" + out, token).DELETE().build());
+        send("PUT /api/leagues/{id}/rosters/players", json("/api/leagues/" + league.leagueId + "/rosters/players", "PUT", Map.of("playerId", in, "position", "CAMPO"), token));
+    }
+
+    private String login(String username) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(Map.of("usernameOrEmail", username, "password", password))))
+                .build();
+        HttpResponse<String> response = send("POST /api/auth/login", request);
+        if (response == null || response.statusCode() != 200) {
+            throw new IllegalStateException("No se pudo iniciar sesión como " + username);
+        }
+        return MAPPER.readTree(response.body()).get("jwt").asText();
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(30)).header("Authorization", "Bearer " + token);
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest json(String path, String method, Object body, String token) throws Exception {
+        return request(path, token).header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                .build();
+    }
+
+    /**
+     * Envía la petición y registra su latencia bajo la plantilla del endpoint.
+     * Las respuestas 4xx/5xx y los fallos de red cuentan como errores.
+     */
+    private HttpResponse<String> send(String endpoint, HttpRequest request) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            latencies.computeIfAbsent(endpoint, k -> Collections.synchronizedList(new ArrayList<>())).add(System.nanoTime() - start);
+            if (response.statusCode() >= 400) {
+                errors.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            errors.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+            return null;
+        }
+    }
+
+    private void printReport() {
+        System.out.printf("%n%-52s %8s %7s %9s %9s %9s%n", "endpoint", "count", "errors", "p50 ms", "p99 ms", "max ms");
+        new TreeMap<>(latencies).forEach((endpoint, samples) -> {
+            long[] sorted;
+            synchronized (samples) {
+                sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+            }
+            long errorCount = errors.getOrDefault(endpoint, new AtomicLong()).get();
+            System.out.printf("%-52s %8d %7d %9.2f %9.2f %9.2f%n", endpoint, sorted.length, errorCount, millis(percentile(sorted, 50)), millis(percentile(sorted, 99)), millis(sorted[sorted.length - 1]));
+        });
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Datos de una liga generada, tal y como aparecen en el manifiesto.
+     */
+    private record SimulatedLeague(long leagueId, String admin, List<String> users, List<Long> playerIds, List<Long> matchIds) {
+
+        static SimulatedLeague from(JsonNode node) {
+            List<String> users = new ArrayList<>();
+            node.get("users").forEach(u -> users.add(u.asText()));
+            List<Long> playerIds = new ArrayList<>();
+            node.get("playerIds").forEach(p -> playerIds.add(p.asLong()));
+            List<Long> matchIds = new ArrayList<>();
+            node.get("matchIds").forEach(m -> matchIds.add(m.asLong()));
+            return new SimulatedLeague(node.get("leagueId").asLong(), node.get("admin").asText(), users, playerIds, matchIds);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark de la generación y validación de tokens con {@link JwtUtil}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private JwtUtil jwtUtil;
+    private CustomUserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", "9H7R8pM2fT4jK6wS8uV1eY0aN5xZ3cQ9bE2sJ7hP4gF3yL1mI8oU6tW5");
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600000L);
+        userDetails = new CustomUserDetails(1L, "adminuser", "password", List.of());
+        token = jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtUtil.validateToken(token, userDetails);
+    }
+}
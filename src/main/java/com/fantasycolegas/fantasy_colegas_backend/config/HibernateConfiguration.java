@@ -0,0 +1,49 @@
+package com.fantasycolegas.fantasy_colegas_backend.config;
+
+import com.fantasycolegas.fantasy_colegas_backend.util.QueryCountFilter;
+import com.fantasycolegas.fantasy_colegas_backend.util.QueryCountInspector;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Configuración adicional de Hibernate.
+ * <p>
+ * Registra el {@link QueryCountInspector} para que todas las sentencias SQL
+ * queden contabilizadas por hilo, y el {@link QueryCountFilter} que las expone por petición.
+ * </p>
+ */
+@Configuration
+public class HibernateConfiguration {
+
+    /**
+     * Añade el inspector de sentencias a las propiedades de Hibernate.
+     *
+     * @return Un {@link HibernatePropertiesCustomizer} que registra el inspector.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryCountInspectorCustomizer() {
+        return hibernateProperties -> hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountInspector());
+    }
+
+    /**
+     * Registra el filtro de recuento antes de la cadena de Spring Security, para que también
+     * cuente la carga del usuario que hace el filtro JWT en cada petición autenticada.
+     *
+     * @param queryCountFilter El filtro de recuento de sentencias.
+     * @return Un {@link FilterRegistrationBean} con el filtro y su orden.
+     */
+    @Bean
+    public FilterRegistrationBean<QueryCountFilter> queryCountFilterRegistration(QueryCountFilter queryCountFilter) {
+        FilterRegistrationBean<QueryCountFilter> registration = new FilterRegistrationBean<>(queryCountFilter);
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
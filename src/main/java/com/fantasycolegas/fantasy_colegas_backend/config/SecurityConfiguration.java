@@ -1,6 +1,7 @@
 package com.fantasycolegas.fantasy_colegas_backend.config;
 
 import com.fantasycolegas.fantasy_colegas_backend.util.JwtRequestFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -44,6 +45,7 @@ public class SecurityConfiguration {
      * Define las reglas de autorización para diferentes endpoints (permitiendo acceso a la consola H2
      * y a los endpoints de autenticación sin necesidad de autenticación), y añade el filtro JWT
      * para la autenticación de tokens antes del filtro de autenticación por nombre de usuario y contraseña.
+     * Los despachos asíncronos (respuestas en streaming) se permiten porque la petición original ya se autorizó.
      * </p>
      *
      * @param http El objeto HttpSecurity para configurar la seguridad web.
@@ -52,7 +54,7 @@ public class SecurityConfiguration {
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        http.csrf(AbstractHttpConfigurer::disable).authorizeHttpRequests(authorize -> authorize.requestMatchers("/h2-console/**", "/api/auth/**").permitAll().requestMatchers("/api/users/**", "/api/leagues/**").authenticated().anyRequest().authenticated()).sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)).headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable())).exceptionHandling(exceptionHandling -> exceptionHandling.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
+        http.csrf(AbstractHttpConfigurer::disable).authorizeHttpRequests(authorize -> authorize.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll().requestMatchers("/h2-console/**", "/api/auth/**").permitAll().requestMatchers("/api/users/**", "/api/leagues/**").authenticated().anyRequest().authenticated()).sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)).headers(headers -> headers.frameOptions(frameOptions -> frameOptions.disable())).exceptionHandling(exceptionHandling -> exceptionHandling.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)));
 
         http.addFilterBefore(jwtRequestFilter, UsernamePasswordAuthenticationFilter.class);
 
@@ -0,0 +1,102 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.DraftPickRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.DraftStartRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.DraftStateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
+import com.fantasycolegas.fantasy_colegas_backend.service.DraftService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Controlador REST para el draft de una liga.
+ * <p>
+ * Los administradores inician el draft; los miembros consultan su estado, eligen jugadores en su turno y
+ * reciben las elecciones de todos en tiempo real por SSE.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/leagues/{leagueId}/draft")
+public class DraftController {
+
+    private final DraftService draftService;
+
+    public DraftController(DraftService draftService) {
+        this.draftService = draftService;
+    }
+
+    /**
+     * Inicia el draft de una liga con sus miembros actuales.
+     *
+     * @param leagueId El ID de la liga.
+     * @param startDto DTO con el tiempo de cada turno.
+     * @return Un {@link DraftStateDto} con el estado inicial del draft.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @PostMapping("/start")
+    public ResponseEntity<?> startDraft(@PathVariable Long leagueId, @Valid @RequestBody DraftStartRequestDto startDto) {
+        try {
+            return new ResponseEntity<>(draftService.startDraft(leagueId, startDto.getPickSeconds()), HttpStatus.CREATED);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Obtiene el estado del draft de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link DraftStateDto} con el estado del draft.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping
+    public ResponseEntity<?> getDraft(@PathVariable Long leagueId) {
+        try {
+            return ResponseEntity.ok(draftService.getDraft(leagueId));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Elige un jugador en el turno del usuario autenticado.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param pickDto     DTO con el jugador y su rol en el equipo.
+     * @param currentUser El usuario autenticado.
+     * @return Un {@link DraftStateDto} con el estado tras la elección.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @PostMapping("/picks")
+    public ResponseEntity<?> pick(@PathVariable Long leagueId, @Valid @RequestBody DraftPickRequestDto pickDto, @AuthenticationPrincipal CustomUserDetails currentUser) {
+        try {
+            return ResponseEntity.ok(draftService.pick(leagueId, currentUser.getId(), pickDto.getPlayerId(), pickDto.getRole()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Suscribe al usuario a las elecciones del draft de una liga por SSE.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link SseEmitter} con los eventos {@code state} y {@code pick}.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@PathVariable Long leagueId) {
+        return draftService.subscribe(leagueId);
+    }
+}
@@ -0,0 +1,64 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueExportService;
+import com.fantasycolegas.fantasy_colegas_backend.util.DataFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Controlador REST para la exportación de los datos de una liga.
+ * <p>
+ * La respuesta se genera en streaming, por lo que se puede descargar el histórico
+ * completo de una liga sin cargarlo en memoria. Cualquier miembro de la liga puede exportarla.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/leagues/{leagueId}/export")
+public class ExportController {
+
+    private final LeagueExportService leagueExportService;
+
+    public ExportController(LeagueExportService leagueExportService) {
+        this.leagueExportService = leagueExportService;
+    }
+
+    /**
+     * Exporta los partidos, estadísticas, equipos y puntuaciones de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param format   El formato de salida: {@code ndjson} (por defecto) o {@code csv}.
+     * @param sections Las secciones a exportar ({@code matches}, {@code stats}, {@code rosters}, {@code scores}); por defecto todas.
+     * @return Una {@link ResponseEntity} con el fichero de exportación.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping
+    public ResponseEntity<?> exportLeague(@PathVariable Long leagueId, @RequestParam(defaultValue = "ndjson") String format, @RequestParam(required = false) List<String> sections) {
+        DataFormat dataFormat = DataFormat.fromName(format);
+        if (dataFormat == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("Formato no soportado. Usa csv o ndjson."));
+        }
+        try {
+            StreamingResponseBody body = leagueExportService.exportLeague(leagueId, dataFormat, sections == null ? new HashSet<>() : new HashSet<>(sections));
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(dataFormat.getMediaType() + ";charset=UTF-8"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"liga-" + leagueId + "." + dataFormat.name().toLowerCase() + "\"")
+                    .body(body);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ImportResultDto;
+import com.fantasycolegas.fantasy_colegas_backend.service.ImportService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Controlador REST para la importación masiva de datos de una liga.
+ * <p>
+ * Recibe el fichero directamente como cuerpo de la petición ({@code text/csv} o
+ * {@code application/x-ndjson}) y lo procesa en streaming, sin cargarlo entero en memoria.
+ * Solo los administradores de la liga pueden importar datos.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/leagues/{leagueId}/import")
+public class ImportController {
+
+    private final ImportService importService;
+
+    public ImportController(ImportService importService) {
+        this.importService = importService;
+    }
+
+    /**
+     * Importa jugadores en una liga.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param contentType El formato del fichero.
+     * @param body        El contenido del fichero.
+     * @return Una {@link ResponseEntity} con el {@link ImportResultDto} de la importación.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @PostMapping("/players")
+    public ResponseEntity<?> importPlayers(@PathVariable Long leagueId, @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, InputStream body) {
+        try {
+            return ResponseEntity.ok(importService.importPlayers(leagueId, body, contentType));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("No se pudo leer el fichero."));
+        }
+    }
+
+    /**
+     * Importa estadísticas de jugadores en los partidos de una liga.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param contentType El formato del fichero.
+     * @param body        El contenido del fichero.
+     * @return Una {@link ResponseEntity} con el {@link ImportResultDto} de la importación.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @PostMapping("/stats")
+    public ResponseEntity<?> importMatchStats(@PathVariable Long leagueId, @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType, InputStream body) {
+        try {
+            return ResponseEntity.ok(importService.importMatchStats(leagueId, body, contentType));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("No se pudo leer el fichero."));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueChangeFeedDto;
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueChangeService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Controlador REST para el historial de cambios de una liga.
+ * <p>
+ * Permite a los clientes sincronizarse de forma incremental: tras descargar la liga una vez,
+ * piden solo los cambios posteriores al último cursor recibido. Si el cursor ha caducado
+ * se responde 410 y el cliente debe volver a descargar la liga.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/leagues/{leagueId}/changes")
+public class LeagueChangeController {
+
+    private final LeagueChangeService leagueChangeService;
+
+    public LeagueChangeController(LeagueChangeService leagueChangeService) {
+        this.leagueChangeService = leagueChangeService;
+    }
+
+    /**
+     * Obtiene los cambios de una liga posteriores a un cursor.
+     *
+     * @param leagueId El ID de la liga.
+     * @param since    El cursor de la última petición; 0 para empezar desde el cambio más antiguo conservado.
+     * @param limit    El número máximo de cambios a devolver (por defecto 200).
+     * @return Un {@link LeagueChangeFeedDto} con los cambios y el nuevo cursor.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping
+    public ResponseEntity<?> getChanges(@PathVariable Long leagueId, @RequestParam(defaultValue = "0") long since, @RequestParam(defaultValue = "200") int limit) {
+        try {
+            return ResponseEntity.ok(leagueChangeService.getChanges(leagueId, since, limit));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+}
@@ -8,6 +8,8 @@ import com.fantasycolegas.fantasy_colegas_backend.dto.response.*;
 import com.fantasycolegas.fantasy_colegas_backend.model.LeagueJoinRequest;
 import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
 import com.fantasycolegas.fantasy_colegas_backend.service.LeagueService;
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueVersionService;
+import com.fantasycolegas.fantasy_colegas_backend.service.PlayerSeasonStatsService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -16,6 +18,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -37,20 +40,49 @@ import java.util.stream.Collectors;
 public class LeagueController {
 
     private final LeagueService leagueService;
+    private final LeagueVersionService leagueVersionService;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
 
-    public LeagueController(LeagueService leagueService) {
+    public LeagueController(LeagueService leagueService, LeagueVersionService leagueVersionService, PlayerSeasonStatsService playerSeasonStatsService) {
         this.leagueService = leagueService;
+        this.leagueVersionService = leagueVersionService;
+        this.playerSeasonStatsService = playerSeasonStatsService;
     }
 
 
+    /**
+     * Lista las ligas públicas con paginación por cursor.
+     *
+     * @param sort   El orden: {@code members} (más miembros primero) o {@code recent} (más recientes primero).
+     * @param cursor El cursor de la página anterior; sin él se devuelve la primera página.
+     * @param q      Texto que debe contener el nombre de la liga.
+     * @param limit  El número máximo de ligas (por defecto 20).
+     * @return Un {@link LeagueSummaryPageDto} con las ligas y el cursor de la siguiente página.
+     */
+    @GetMapping("/public")
+    public ResponseEntity<?> getPublicLeagues(@RequestParam(defaultValue = "members") String sort, @RequestParam(required = false) String cursor, @RequestParam(required = false) String q, @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(leagueService.getPublicLeagues(sort, cursor, q, limit));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
     /**
      * Obtiene el marcador de una liga específica.
+     * <p>
+     * Devuelve un ETag y responde 304 sin calcular el marcador si el cliente ya tiene la versión actual.
+     * </p>
      *
-     * @param leagueId El ID de la liga.
+     * @param leagueId   El ID de la liga.
+     * @param webRequest La petición, para la comprobación de If-None-Match.
      * @return Una lista de {@link UserScoreDto} con las puntuaciones de los usuarios.
      */
     @GetMapping("/{leagueId}/scoreboard")
-    public ResponseEntity<?> getLeagueScoreboard(@PathVariable Long leagueId) {
+    public ResponseEntity<?> getLeagueScoreboard(@PathVariable Long leagueId, WebRequest webRequest) {
+        if (webRequest.checkNotModified(leagueVersionService.scoreboardETag(leagueId))) {
+            return null;
+        }
         try {
             List<UserScoreDto> scoreboard = leagueService.getLeagueScoreboard(leagueId);
             return ResponseEntity.ok(scoreboard);
@@ -59,6 +91,32 @@ public class LeagueController {
         }
     }
 
+    /**
+     * Obtiene los jugadores de una liga con más goles, asistencias, paradas... en la temporada.
+     * <p>
+     * Se sirve desde los acumulados de temporada de los jugadores. Devuelve un ETag y responde 304
+     * si el cliente ya tiene la versión actual.
+     * </p>
+     *
+     * @param leagueId   El ID de la liga.
+     * @param stat       La estadística por la que ordenar (por ejemplo {@code golesMarcados}).
+     * @param limit      El número máximo de jugadores (por defecto 10).
+     * @param webRequest La petición, para la comprobación de If-None-Match.
+     * @return Una lista de {@link StatLeaderDto} de mayor a menor.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping("/{leagueId}/leaders")
+    public ResponseEntity<?> getStatLeaders(@PathVariable Long leagueId, @RequestParam String stat, @RequestParam(defaultValue = "10") int limit, WebRequest webRequest) {
+        if (webRequest.checkNotModified(leagueVersionService.leadersETag(leagueId))) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok(playerSeasonStatsService.getLeaders(leagueId, stat, limit));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
     /**
      * Obtiene la puntuación de un usuario específico en una liga.
      *
@@ -179,10 +237,15 @@ public class LeagueController {
      *
      * @param id          El ID de la liga.
      * @param currentUser El usuario autenticado.
+     * @param webRequest  La petición, para la comprobación de If-None-Match.
      * @return Un objeto {@link LeagueResponseDto} con la información de la liga.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<?> getLeagueById(@PathVariable Long id, @AuthenticationPrincipal CustomUserDetails currentUser) {
+    public ResponseEntity<?> getLeagueById(@PathVariable Long id, @AuthenticationPrincipal CustomUserDetails currentUser, WebRequest webRequest) {
+        // La comprobación de miembro es una consulta de existencia; el 304 evita cargar la liga y mapear el DTO.
+        if (leagueService.checkIfUserIsMember(id, currentUser.getId()) && webRequest.checkNotModified(leagueVersionService.leagueETag(id))) {
+            return null;
+        }
         try {
             LeagueResponseDto leagueDto = leagueService.getLeagueById(id, currentUser.getId());
             return ResponseEntity.ok(leagueDto);
@@ -1,12 +1,18 @@
 package com.fantasycolegas.fantasy_colegas_backend.controller;
 
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.MatchCreateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.MatchEventCreateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.MatchEventResponseDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.MatchResponseDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.PlayerMatchStatsResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.UserScoreDto;
 import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
 import com.fantasycolegas.fantasy_colegas_backend.service.LeagueService;
+import com.fantasycolegas.fantasy_colegas_backend.service.LiveStatsService;
+import com.fantasycolegas.fantasy_colegas_backend.service.MatchEventService;
+import com.fantasycolegas.fantasy_colegas_backend.service.MatchFinalizationService;
 import com.fantasycolegas.fantasy_colegas_backend.service.MatchService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
@@ -16,6 +22,9 @@ import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * @author Juan Francisco Carceles
  * @version 1.0
@@ -33,10 +42,16 @@ public class MatchController {
 
     private final MatchService matchService;
     private final LeagueService leagueService;
+    private final LiveStatsService liveStatsService;
+    private final MatchEventService matchEventService;
+    private final MatchFinalizationService matchFinalizationService;
 
-    public MatchController(MatchService matchService, LeagueService leagueService) {
+    public MatchController(MatchService matchService, LeagueService leagueService, LiveStatsService liveStatsService, MatchEventService matchEventService, MatchFinalizationService matchFinalizationService) {
         this.matchService = matchService;
         this.leagueService = leagueService;
+        this.liveStatsService = liveStatsService;
+        this.matchEventService = matchEventService;
+        this.matchFinalizationService = matchFinalizationService;
     }
 
     /**
@@ -61,22 +76,113 @@ public class MatchController {
      * Actualiza las estadísticas de un jugador en un partido.
      * <p>
      * Este endpoint está protegido y solo un administrador de la liga del partido
-     * puede actualizar las estadísticas.
+     * puede actualizar las estadísticas. Con {@code live=true} las estadísticas se acumulan
+     * en el búfer de directo y se guardan en el siguiente volcado (respuesta 202).
      * </p>
      *
      * @param matchId        El ID del partido.
      * @param statsUpdateDto DTO con las estadísticas actualizadas del jugador.
+     * @param live           Si se usa el modo directo.
      * @param currentUser    El usuario autenticado que realiza la petición.
      * @return Una {@link ResponseEntity} con el {@link PlayerMatchStatsResponseDto} de las estadísticas actualizadas.
      */
     @PreAuthorize("@matchService.checkIfUserIsAdminOfMatchLeague(#matchId, principal.id)")
     @PatchMapping("/{matchId}/stats")
-    public ResponseEntity<?> updatePlayerStats(@PathVariable Long matchId, @Valid @RequestBody PlayerMatchStatsUpdateDto statsUpdateDto, @AuthenticationPrincipal CustomUserDetails currentUser) {
+    public ResponseEntity<?> updatePlayerStats(@PathVariable Long matchId, @Valid @RequestBody PlayerMatchStatsUpdateDto statsUpdateDto, @RequestParam(defaultValue = "false") boolean live, @AuthenticationPrincipal CustomUserDetails currentUser) {
         try {
+            if (live) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED).body(liveStatsService.submit(matchId, statsUpdateDto));
+            }
             PlayerMatchStatsResponseDto updatedStatsDto = matchService.updatePlayerStats(matchId, statsUpdateDto);
             return ResponseEntity.ok(updatedStatsDto);
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Guarda de inmediato las estadísticas en directo pendientes de un partido, por ejemplo al terminarlo.
+     *
+     * @param matchId El ID del partido.
+     * @return Una {@link ResponseEntity} con el número de estadísticas guardadas.
+     */
+    @PreAuthorize("@matchService.checkIfUserIsAdminOfMatchLeague(#matchId, principal.id)")
+    @PostMapping("/{matchId}/stats/flush")
+    public ResponseEntity<?> flushLiveStats(@PathVariable Long matchId) {
+        return ResponseEntity.ok(Map.of("saved", liveStatsService.flushMatch(matchId)));
+    }
+
+    /**
+     * Registra un evento del partido (gol, asistencia, tarjeta, parada...).
+     * <p>
+     * Este endpoint está protegido y solo un administrador de la liga del partido puede registrar eventos.
+     * El evento suma su cantidad al contador correspondiente de las estadísticas del jugador y actualiza
+     * sus puntos; una cantidad negativa corrige eventos anteriores.
+     * </p>
+     *
+     * @param matchId  El ID del partido.
+     * @param eventDto DTO con los datos del evento.
+     * @return Una {@link ResponseEntity} con el {@link MatchEventResponseDto} del evento registrado.
+     */
+    @PreAuthorize("@matchService.checkIfUserIsAdminOfMatchLeague(#matchId, principal.id)")
+    @PostMapping("/{matchId}/events")
+    public ResponseEntity<?> recordMatchEvent(@PathVariable Long matchId, @Valid @RequestBody MatchEventCreateDto eventDto) {
+        try {
+            return new ResponseEntity<>(matchEventService.recordEvent(matchId, eventDto), HttpStatus.CREATED);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Obtiene los eventos de un partido en el orden en que se registraron.
+     * Solo los miembros de la liga del partido pueden consultarlos.
+     *
+     * @param matchId El ID del partido.
+     * @return Una {@link ResponseEntity} con la lista de {@link MatchEventResponseDto}.
+     */
+    @PreAuthorize("@matchService.checkIfUserIsMemberOfMatchLeague(#matchId, principal.id)")
+    @GetMapping("/{matchId}/events")
+    public ResponseEntity<List<MatchEventResponseDto>> getMatchEvents(@PathVariable Long matchId) {
+        return ResponseEntity.ok(matchEventService.getEvents(matchId));
+    }
+
+    /**
+     * Finaliza un partido.
+     * <p>
+     * Este endpoint está protegido y solo un administrador de la liga del partido puede finalizarlo.
+     * Calcula y guarda los puntos de los jugadores, la puntuación de la jornada de cada usuario y la
+     * clasificación de la liga. Después las estadísticas del partido ya no se pueden modificar.
+     * </p>
+     *
+     * @param matchId El ID del partido.
+     * @return Una {@link ResponseEntity} con el {@link MatchResponseDto} del partido finalizado.
+     */
+    @PreAuthorize("@matchService.checkIfUserIsAdminOfMatchLeague(#matchId, principal.id)")
+    @PostMapping("/{matchId}/finalize")
+    public ResponseEntity<?> finalizeMatch(@PathVariable Long matchId) {
+        try {
+            return ResponseEntity.ok(matchFinalizationService.finalizeMatch(matchId));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Obtiene las puntuaciones de la jornada de un partido finalizado, de mayor a menor.
+     * Solo los miembros de la liga del partido pueden consultarlas.
+     *
+     * @param matchId El ID del partido.
+     * @return Una {@link ResponseEntity} con la lista de {@link UserScoreDto}.
+     */
+    @PreAuthorize("@matchService.checkIfUserIsMemberOfMatchLeague(#matchId, principal.id)")
+    @GetMapping("/{matchId}/scores")
+    public ResponseEntity<?> getMatchdayScores(@PathVariable Long matchId) {
+        try {
+            List<UserScoreDto> scores = matchFinalizationService.getMatchdayScores(matchId);
+            return ResponseEntity.ok(scores);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+}
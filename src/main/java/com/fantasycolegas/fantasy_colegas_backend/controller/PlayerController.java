@@ -2,14 +2,15 @@ package com.fantasycolegas.fantasy_colegas_backend.controller;
 
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerCreateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerUpdateDto;
-import com.fantasycolegas.fantasy_colegas_backend.dto.request.PointsUpdateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.PlayerPageDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.PlayerResponseDto;
 import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
 import com.fantasycolegas.fantasy_colegas_backend.service.PlayerService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -100,41 +101,43 @@ public class PlayerController {
     }
 
     /**
-     * Obtiene los detalles de un jugador por su ID.
+     * Busca jugadores de una liga por nombre, para el autocompletado al elegir el equipo.
+     * <p>
+     * La búsqueda no distingue tildes ni mayúsculas y tolera pequeñas erratas. Sin {@code q} se listan
+     * todos los jugadores de la liga, paginados.
+     * </p>
      *
-     * @param leagueId El ID de la liga a la que pertenece el jugador.
-     * @param playerId El ID del jugador a consultar.
-     * @return Una {@link ResponseEntity} con el {@link PlayerResponseDto} del jugador.
+     * @param leagueId El ID de la liga.
+     * @param q        El texto buscado.
+     * @param sort     El orden: {@code relevance}, {@code points} o {@code name}.
+     * @param page     El número de página, desde 0.
+     * @param size     El tamaño de la página (por defecto 20).
+     * @return Una {@link ResponseEntity} con el {@link PlayerPageDto} de resultados.
      */
-    @GetMapping("/leagues/{leagueId}/players/{playerId}")
-    public ResponseEntity<?> getPlayerById(@PathVariable Long leagueId, @PathVariable Long playerId) {
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping("/leagues/{leagueId}/players")
+    public ResponseEntity<?> searchPlayers(@PathVariable Long leagueId, @RequestParam(defaultValue = "") String q, @RequestParam(defaultValue = "relevance") String sort, @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "20") int size) {
         try {
-            PlayerResponseDto playerDto = playerService.getPlayerById(leagueId, playerId);
-            return ResponseEntity.ok(playerDto);
+            return ResponseEntity.ok(playerService.searchPlayers(leagueId, q, sort, page, size));
         } catch (ResponseStatusException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
         }
     }
 
     /**
-     * Actualiza los puntos de un jugador.
-     * <p>
-     * Este endpoint requiere que el usuario autenticado sea un administrador de la liga.
-     * </p>
+     * Obtiene los detalles de un jugador por su ID.
      *
-     * @param leagueId        El ID de la liga.
-     * @param playerId        El ID del jugador.
-     * @param pointsUpdateDto DTO con los puntos a actualizar.
-     * @param currentUser     El usuario autenticado.
-     * @return Una {@link ResponseEntity} con el {@link PlayerResponseDto} del jugador con los puntos actualizados.
+     * @param leagueId El ID de la liga a la que pertenece el jugador.
+     * @param playerId El ID del jugador a consultar.
+     * @return Una {@link ResponseEntity} con el {@link PlayerResponseDto} del jugador.
      */
-    @PatchMapping("/leagues/{leagueId}/players/{playerId}/points")
-    public ResponseEntity<?> updatePlayerPoints(@PathVariable Long leagueId, @PathVariable Long playerId, @RequestBody PointsUpdateDto pointsUpdateDto, @AuthenticationPrincipal CustomUserDetails currentUser) {
+    @GetMapping("/leagues/{leagueId}/players/{playerId}")
+    public ResponseEntity<?> getPlayerById(@PathVariable Long leagueId, @PathVariable Long playerId) {
         try {
-            PlayerResponseDto playerDto = playerService.updatePlayerPoints(leagueId, playerId, pointsUpdateDto, currentUser.getId());
+            PlayerResponseDto playerDto = playerService.getPlayerById(leagueId, playerId);
             return ResponseEntity.ok(playerDto);
         } catch (ResponseStatusException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
         }
     }
-}
\ No newline at end of file
+}
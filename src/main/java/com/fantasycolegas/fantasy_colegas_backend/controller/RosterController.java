@@ -2,14 +2,18 @@ package com.fantasycolegas.fantasy_colegas_backend.controller;
 
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.AddPlayerToRosterDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.RosterCreateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.OptimalLineupDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.RosterPlayerResponseDto;
 import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueService;
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueVersionService;
 import com.fantasycolegas.fantasy_colegas_backend.service.RosterService;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
@@ -30,9 +34,13 @@ import java.util.List;
 public class RosterController {
 
     private final RosterService rosterService;
+    private final LeagueService leagueService;
+    private final LeagueVersionService leagueVersionService;
 
-    public RosterController(RosterService rosterService) {
+    public RosterController(RosterService rosterService, LeagueService leagueService, LeagueVersionService leagueVersionService) {
         this.rosterService = rosterService;
+        this.leagueService = leagueService;
+        this.leagueVersionService = leagueVersionService;
     }
 
     /**
@@ -61,10 +69,14 @@ public class RosterController {
      *
      * @param leagueId    El ID de la liga.
      * @param currentUser El usuario autenticado que realiza la petición.
+     * @param webRequest  La petición, para la comprobación de If-None-Match.
      * @return Una {@link ResponseEntity} con una lista de {@link RosterPlayerResponseDto} del roster.
      */
     @GetMapping("/leagues/{leagueId}/rosters")
-    public ResponseEntity<?> getUserRoster(@PathVariable Long leagueId, @AuthenticationPrincipal CustomUserDetails currentUser) {
+    public ResponseEntity<?> getUserRoster(@PathVariable Long leagueId, @AuthenticationPrincipal CustomUserDetails currentUser, WebRequest webRequest) {
+        if (leagueService.isUserParticipant(leagueId, currentUser.getId()) && webRequest.checkNotModified(leagueVersionService.rosterETag(leagueId, currentUser.getId()))) {
+            return null;
+        }
         try {
             List<RosterPlayerResponseDto> roster = rosterService.getUserRoster(leagueId, currentUser.getId());
             return ResponseEntity.ok(roster);
@@ -73,6 +85,23 @@ public class RosterController {
         }
     }
 
+    /**
+     * Obtiene la mejor alineación que se podría haber hecho en una liga, comparada con el equipo del usuario.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param lastMatches Opcional. Solo tiene en cuenta los últimos partidos de la liga.
+     * @param currentUser El usuario autenticado que realiza la petición.
+     * @return Una {@link ResponseEntity} con un {@link OptimalLineupDto}.
+     */
+    @GetMapping("/leagues/{leagueId}/rosters/optimal")
+    public ResponseEntity<?> getOptimalLineup(@PathVariable Long leagueId, @RequestParam(required = false) Integer lastMatches, @AuthenticationPrincipal CustomUserDetails currentUser) {
+        try {
+            return ResponseEntity.ok(rosterService.getOptimalLineup(leagueId, currentUser.getId(), lastMatches));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(e.getReason());
+        }
+    }
+
     /**
      * Elimina un jugador del roster del usuario autenticado.
      *
@@ -0,0 +1,119 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.ScoringRuleRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ScoringRuleSetDto;
+import com.fantasycolegas.fantasy_colegas_backend.service.ScoringRuleService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Controlador REST para las reglas de puntuación de una liga.
+ * <p>
+ * Cualquier miembro puede consultar las reglas; solo los administradores de la liga pueden cambiarlas.
+ * Cada cambio vuelve a puntuar los partidos aún no finalizados de la liga y devuelve las reglas resultantes
+ * con su nueva versión.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/leagues/{leagueId}/scoring/rules")
+public class ScoringRuleController {
+
+    private final ScoringRuleService scoringRuleService;
+
+    public ScoringRuleController(ScoringRuleService scoringRuleService) {
+        this.scoringRuleService = scoringRuleService;
+    }
+
+    /**
+     * Obtiene las reglas de puntuación de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link ScoringRuleSetDto} con las reglas y su versión.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping
+    public ResponseEntity<?> getRules(@PathVariable Long leagueId) {
+        try {
+            return ResponseEntity.ok(scoringRuleService.getRules(leagueId));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Añade una regla de puntuación a una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param ruleDto  DTO con la estadística, el rol y los puntos por unidad.
+     * @return Un {@link ScoringRuleSetDto} con las reglas tras el cambio.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @PostMapping
+    public ResponseEntity<?> addRule(@PathVariable Long leagueId, @Valid @RequestBody ScoringRuleRequestDto ruleDto) {
+        try {
+            return new ResponseEntity<>(scoringRuleService.addRule(leagueId, ruleDto), HttpStatus.CREATED);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Modifica una regla de puntuación de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param ruleId   El ID de la regla.
+     * @param ruleDto  DTO con la estadística, el rol y los puntos por unidad.
+     * @return Un {@link ScoringRuleSetDto} con las reglas tras el cambio.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @PutMapping("/{ruleId}")
+    public ResponseEntity<?> updateRule(@PathVariable Long leagueId, @PathVariable Long ruleId, @Valid @RequestBody ScoringRuleRequestDto ruleDto) {
+        try {
+            return ResponseEntity.ok(scoringRuleService.updateRule(leagueId, ruleId, ruleDto));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Elimina una regla de puntuación de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param ruleId   El ID de la regla.
+     * @return Un {@link ScoringRuleSetDto} con las reglas tras el cambio.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @DeleteMapping("/{ruleId}")
+    public ResponseEntity<?> deleteRule(@PathVariable Long leagueId, @PathVariable Long ruleId) {
+        try {
+            return ResponseEntity.ok(scoringRuleService.deleteRule(leagueId, ruleId));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Vuelve a las reglas de puntuación por defecto, como una nueva versión de las reglas de la liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link ScoringRuleSetDto} con las reglas tras el cambio.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @PostMapping("/reset")
+    public ResponseEntity<?> resetRules(@PathVariable Long leagueId) {
+        try {
+            return ResponseEntity.ok(scoringRuleService.resetRules(leagueId));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+}
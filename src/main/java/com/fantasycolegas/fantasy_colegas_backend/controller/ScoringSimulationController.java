@@ -0,0 +1,50 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.ScoringSimulationRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ScoringSimulationDto;
+import com.fantasycolegas.fantasy_colegas_backend.service.ScoringSimulationService;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Controlador REST para simular reglas de puntuación en una liga.
+ * <p>
+ * Permite a los administradores ver cómo cambiaría la clasificación con otras reglas antes de aplicarlas.
+ * La simulación no modifica nada.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/leagues/{leagueId}/scoring")
+public class ScoringSimulationController {
+
+    private final ScoringSimulationService scoringSimulationService;
+
+    public ScoringSimulationController(ScoringSimulationService scoringSimulationService) {
+        this.scoringSimulationService = scoringSimulationService;
+    }
+
+    /**
+     * Simula la clasificación de una liga con un conjunto de reglas candidato.
+     *
+     * @param leagueId      El ID de la liga.
+     * @param simulationDto DTO con el conjunto completo de reglas candidato.
+     * @return Un {@link ScoringSimulationDto} con la clasificación simulada y el cambio de posición de cada usuario.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsAdmin(#leagueId, principal.id)")
+    @PostMapping("/simulate")
+    public ResponseEntity<?> simulate(@PathVariable Long leagueId, @Valid @RequestBody ScoringSimulationRequestDto simulationDto) {
+        try {
+            return ResponseEntity.ok(scoringSimulationService.simulate(leagueId, simulationDto.getRules()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.TransferBidRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.TransferListingRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ErrorResponse;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.TransferBudgetDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.TransferListingDto;
+import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
+import com.fantasycolegas.fantasy_colegas_backend.service.TransferService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Controlador REST para el mercado de fichajes de una liga.
+ * <p>
+ * Los miembros ponen a la venta jugadores de su equipo, pujan por los de los demás y consultan su presupuesto.
+ * Las ventas se liquidan automáticamente al llegar a su fecha límite.
+ * </p>
+ */
+@RestController
+@RequestMapping("/api/leagues/{leagueId}/transfers")
+public class TransferController {
+
+    private final TransferService transferService;
+
+    public TransferController(TransferService transferService) {
+        this.transferService = transferService;
+    }
+
+    /**
+     * Obtiene los jugadores a la venta en una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Una lista de {@link TransferListingDto}.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping
+    public ResponseEntity<?> getOpenListings(@PathVariable Long leagueId) {
+        return ResponseEntity.ok(transferService.getOpenListings(leagueId));
+    }
+
+    /**
+     * Pone a la venta un jugador del equipo del usuario autenticado.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param listingDto  DTO con el jugador, el precio de salida y la duración de la venta.
+     * @param currentUser El usuario autenticado.
+     * @return Un {@link TransferListingDto} con la venta creada.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @PostMapping
+    public ResponseEntity<?> listPlayer(@PathVariable Long leagueId, @Valid @RequestBody TransferListingRequestDto listingDto, @AuthenticationPrincipal CustomUserDetails currentUser) {
+        try {
+            return new ResponseEntity<>(transferService.listPlayer(leagueId, currentUser.getId(), listingDto), HttpStatus.CREATED);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Puja por un jugador a la venta.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param listingId   El ID de la venta.
+     * @param bidDto      DTO con la cantidad.
+     * @param currentUser El usuario autenticado.
+     * @return Un {@link TransferListingDto} con la venta tras la puja.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @PostMapping("/{listingId}/bids")
+    public ResponseEntity<?> bid(@PathVariable Long leagueId, @PathVariable Long listingId, @Valid @RequestBody TransferBidRequestDto bidDto, @AuthenticationPrincipal CustomUserDetails currentUser) {
+        try {
+            return ResponseEntity.ok(transferService.bid(leagueId, listingId, currentUser.getId(), bidDto.getAmount()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Retira del mercado un jugador del usuario autenticado que todavía no tiene pujas.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param listingId   El ID de la venta.
+     * @param currentUser El usuario autenticado.
+     * @return Un {@link TransferListingDto} con la venta cancelada.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @DeleteMapping("/{listingId}")
+    public ResponseEntity<?> cancelListing(@PathVariable Long leagueId, @PathVariable Long listingId, @AuthenticationPrincipal CustomUserDetails currentUser) {
+        try {
+            return ResponseEntity.ok(transferService.cancelListing(leagueId, listingId, currentUser.getId()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+
+    /**
+     * Obtiene el presupuesto del usuario autenticado en el mercado de la liga.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param currentUser El usuario autenticado.
+     * @return Un {@link TransferBudgetDto} con el presupuesto disponible y el reservado en pujas.
+     */
+    @PreAuthorize("@leagueService.checkIfUserIsMember(#leagueId, principal.id)")
+    @GetMapping("/budget")
+    public ResponseEntity<?> getBudget(@PathVariable Long leagueId, @AuthenticationPrincipal CustomUserDetails currentUser) {
+        try {
+            return ResponseEntity.ok(transferService.getBudget(leagueId, currentUser.getId()));
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(e.getStatusCode()).body(new ErrorResponse(e.getReason()));
+        }
+    }
+}
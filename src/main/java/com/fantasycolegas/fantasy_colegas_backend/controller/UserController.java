@@ -4,7 +4,9 @@ import com.fantasycolegas.fantasy_colegas_backend.dto.request.PasswordUpdateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.UserUpdateDto;
 import com.fantasycolegas.fantasy_colegas_backend.model.User;
 import com.fantasycolegas.fantasy_colegas_backend.repository.UserRepository;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.UserLeagueDto;
 import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -15,6 +17,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -39,6 +42,22 @@ public class UserController {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private LeagueService leagueService;
+
+    /**
+     * Obtiene las ligas del usuario autenticado con su rol, sus puntos, su posición y el número de miembros,
+     * para la pantalla de inicio.
+     *
+     * @param currentUser El usuario autenticado.
+     * @return Una {@link ResponseEntity} con la lista de {@link UserLeagueDto}.
+     */
+    @GetMapping("/me/leagues")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<List<UserLeagueDto>> getMyLeagues(@AuthenticationPrincipal CustomUserDetails currentUser) {
+        return ResponseEntity.ok(leagueService.getUserLeagues(currentUser.getId()));
+    }
+
     /**
      * Obtiene los detalles de un usuario por su ID.
      * <p>
@@ -0,0 +1,25 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.request;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para elegir un jugador en el draft de una liga.
+ * <p>
+ * Cada equipo tiene exactamente un portero: el rol se elige con el jugador.
+ * </p>
+ */
+@Data
+public class DraftPickRequestDto {
+
+    @NotNull(message = "El ID del jugador es obligatorio.")
+    private Long playerId;
+
+    @NotNull(message = "El rol es obligatorio.")
+    private PlayerTeamRole role;
+}
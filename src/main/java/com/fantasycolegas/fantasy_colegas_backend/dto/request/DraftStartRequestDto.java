@@ -0,0 +1,23 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para iniciar el draft de una liga.
+ * <p>
+ * {@code pickSeconds} es el tiempo de cada turno; si se agota, el jugador se elige automáticamente.
+ * </p>
+ */
+@Data
+public class DraftStartRequestDto {
+
+    @Min(value = 10, message = "El tiempo mínimo de cada turno es 10 segundos")
+    @Max(value = 3600, message = "El tiempo máximo de cada turno es 3600 segundos")
+    private int pickSeconds = 60;
+}
@@ -16,7 +16,8 @@ import lombok.NoArgsConstructor;
  * <p>
  * Contiene los datos necesarios para crear una liga, como el nombre, descripción,
  * tamaño del equipo, etc. Incluye validaciones para asegurar que los datos
- * proporcionados sean correctos.
+ * proporcionados sean correctos. {@code maxMembers} es opcional; sin él la liga no tiene
+ * límite de miembros.
  * </p>
  */
 @Data
@@ -35,6 +36,9 @@ public class LeagueCreateDto {
 
     private int numberOfPlayers;
 
+    @Min(value = 2, message = "Una liga debe admitir al menos 2 miembros")
+    private Integer maxMembers;
+
     @Min(value = 3, message = "El tamaño mínimo del equipo es 3")
     @Max(value = 11, message = "El tamaño máximo del equipo es 11")
     private int teamSize;
@@ -0,0 +1,32 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.request;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.MatchEventType;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para registrar un evento de un partido.
+ * <p>
+ * {@code amount} vale 1 por defecto; una cantidad negativa corrige eventos registrados antes
+ * (por ejemplo, -1 para anular un gol). {@code minute} es opcional.
+ * </p>
+ */
+@Data
+public class MatchEventCreateDto {
+
+    @NotNull(message = "El ID del jugador es obligatorio.")
+    private Long playerId;
+
+    @NotNull(message = "El tipo de evento es obligatorio.")
+    private MatchEventType type;
+
+    private int amount = 1;
+
+    @Min(value = 0, message = "El minuto no puede ser negativo.")
+    private Integer minute;
+}
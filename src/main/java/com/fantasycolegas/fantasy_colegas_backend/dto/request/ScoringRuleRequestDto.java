@@ -0,0 +1,34 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.request;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para crear o modificar una regla de puntuación de una liga.
+ * <p>
+ * {@code statName} debe ser uno de los contadores de {@link PlayerMatchStatsUpdateDto}. {@code expression} es opcional:
+ * si se indica, la regla vale {@code pointsPerUnit} por el valor de la expresión (por ejemplo,
+ * {@code golesMarcados >= 3 ? 1 : 0} para un triplete) en lugar de por el valor de la estadística.
+ * </p>
+ */
+@Data
+public class ScoringRuleRequestDto {
+
+    @NotBlank(message = "El nombre de la estadística es obligatorio.")
+    private String statName;
+
+    private double pointsPerUnit;
+
+    @NotNull(message = "El rol es obligatorio.")
+    private PlayerTeamRole role;
+
+    @Size(max = 500, message = "La expresión no puede superar los 500 caracteres.")
+    private String expression;
+}
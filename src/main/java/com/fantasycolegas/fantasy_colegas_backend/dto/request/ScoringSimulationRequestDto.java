@@ -0,0 +1,25 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para simular la clasificación de una liga con otras reglas de puntuación.
+ * <p>
+ * {@code rules} es el conjunto completo de reglas candidato, con el mismo formato que al añadir una regla;
+ * sustituye por completo a las reglas actuales de la liga durante la simulación.
+ * </p>
+ */
+@Data
+public class ScoringSimulationRequestDto {
+
+    @NotNull(message = "Las reglas son obligatorias.")
+    private List<@Valid ScoringRuleRequestDto> rules;
+}
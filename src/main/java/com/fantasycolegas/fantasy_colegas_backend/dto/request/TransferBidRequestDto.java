@@ -0,0 +1,21 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para pujar por un jugador del mercado de fichajes.
+ * </p>
+ */
+@Data
+public class TransferBidRequestDto {
+
+    @NotNull(message = "La cantidad es obligatoria.")
+    @Positive(message = "La cantidad debe ser mayor que 0.")
+    private Long amount;
+}
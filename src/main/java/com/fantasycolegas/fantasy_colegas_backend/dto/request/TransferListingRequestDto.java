@@ -0,0 +1,32 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para poner a la venta un jugador del equipo en el mercado de fichajes.
+ * <p>
+ * {@code durationMinutes} es el tiempo que la venta acepta pujas; al terminar se vende a la puja más alta.
+ * </p>
+ */
+@Data
+public class TransferListingRequestDto {
+
+    @NotNull(message = "El ID del jugador es obligatorio.")
+    private Long playerId;
+
+    @NotNull(message = "El precio de salida es obligatorio.")
+    @PositiveOrZero(message = "El precio de salida no puede ser negativo.")
+    private Long askingPrice;
+
+    @Min(value = 1, message = "La venta debe durar al menos 1 minuto")
+    @Max(value = 10080, message = "La venta puede durar como mucho 10080 minutos (una semana)")
+    private int durationMinutes = 1440;
+}
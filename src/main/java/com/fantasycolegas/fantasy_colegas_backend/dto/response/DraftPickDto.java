@@ -0,0 +1,28 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para una elección de un draft.
+ * <p>
+ * {@code pickNumber} empieza en 0; {@code auto} indica que el jugador se eligió automáticamente al agotarse el turno.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DraftPickDto {
+
+    private int pickNumber;
+    private Long userId;
+    private Long playerId;
+    private PlayerTeamRole role;
+    private boolean auto;
+}
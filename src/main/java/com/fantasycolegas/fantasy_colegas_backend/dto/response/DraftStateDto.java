@@ -0,0 +1,36 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.DraftStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para el estado del draft de una liga.
+ * <p>
+ * {@code order} es el orden de la primera ronda; las rondas impares van al revés. {@code currentUserId} y
+ * {@code deadline} indican a quién le toca y hasta cuándo, y son {@code null} cuando el draft está completado.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DraftStateDto {
+
+    private Long leagueId;
+    private DraftStatus status;
+    private List<Long> order;
+    private int rounds;
+    private int pickSeconds;
+    private int pickNumber;
+    private Long currentUserId;
+    private Instant deadline;
+    private List<DraftPickDto> picks;
+}
@@ -0,0 +1,32 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) con el resultado de una importación masiva.
+ * <p>
+ * Indica cuántas filas se han leído, cuántas se han importado y cuántas han fallado,
+ * junto con el detalle de los errores por fila. Si hay demasiados errores solo se
+ * devuelven los primeros y {@code errorsTruncated} vale {@code true}.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportResultDto {
+
+    private int processed;
+    private int imported;
+    private int failed;
+    private List<ImportRowErrorDto> errors = new ArrayList<>();
+    private boolean errorsTruncated;
+}
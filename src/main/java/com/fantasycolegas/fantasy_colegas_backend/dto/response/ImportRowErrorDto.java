@@ -0,0 +1,24 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) que describe el error de una fila de un fichero de importación.
+ * <p>
+ * Contiene el número de línea en el fichero original y el motivo por el que no se importó.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportRowErrorDto {
+
+    private long line;
+    private String message;
+}
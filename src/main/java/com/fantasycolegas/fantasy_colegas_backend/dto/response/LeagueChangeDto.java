@@ -0,0 +1,34 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para una entrada del historial de cambios de una liga.
+ * <p>
+ * Según el tipo de cambio se rellenan el usuario, el jugador y/o el partido afectados;
+ * {@code detail} contiene el nuevo valor cuando es relevante (por ejemplo, el nuevo nombre o rol).
+ * {@code id} es la posición del cambio en el historial, la misma que usa el cursor.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueChangeDto {
+
+    private Long id;
+    private LeagueChangeType type;
+    private Long userId;
+    private Long playerId;
+    private Long matchId;
+    private String detail;
+    private LocalDateTime createdAt;
+}
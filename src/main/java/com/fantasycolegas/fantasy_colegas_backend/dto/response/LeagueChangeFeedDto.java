@@ -0,0 +1,28 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) con una página del historial de cambios de una liga.
+ * <p>
+ * {@code cursor} es el valor que el cliente debe enviar como {@code since} en la siguiente petición.
+ * Si {@code hasMore} vale {@code true} hay más cambios pendientes y se pueden pedir de inmediato.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueChangeFeedDto {
+
+    private List<LeagueChangeDto> changes;
+    private long cursor;
+    private boolean hasMore;
+}
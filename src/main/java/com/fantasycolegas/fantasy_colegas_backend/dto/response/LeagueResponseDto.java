@@ -15,7 +15,8 @@ import java.util.List;
  * <p>
  * Este objeto se utiliza para transferir una representación completa de una liga,
  * incluyendo sus detalles básicos, sus administradores, participantes, jugadores
- * y otras configuraciones.
+ * y otras configuraciones. {@code numberOfPlayers} es el número de miembros de la liga y
+ * {@code maxMembers} su límite, o {@code null} si no tiene.
  * </p>
  */
 @Data
@@ -33,4 +34,5 @@ public class LeagueResponseDto {
     private List<UserResponseDto> participants;
     private int teamSize;
     private List<PlayerResponseDto> players;
+    private Integer maxMembers;
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) con el resumen de una liga para los listados.
+ * <p>
+ * A diferencia de {@link LeagueResponseDto}, no incluye participantes ni jugadores, de modo que se
+ * construye directamente en la consulta sin cargar las relaciones de la liga.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueSummaryDto {
+
+    private Long id;
+    private String name;
+    private String description;
+    private String image;
+    private int memberCount;
+    private int teamSize;
+}
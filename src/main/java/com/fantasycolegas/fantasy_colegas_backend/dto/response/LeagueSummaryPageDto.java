@@ -0,0 +1,27 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) con una página del listado de ligas públicas.
+ * <p>
+ * {@code nextCursor} es el valor que el cliente debe enviar como {@code cursor} para pedir la siguiente
+ * página, con el mismo orden y búsqueda; vale {@code null} si no hay más ligas.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LeagueSummaryPageDto {
+
+    private List<LeagueSummaryDto> leagues;
+    private String nextCursor;
+}
@@ -0,0 +1,30 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.MatchEventType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para la respuesta de un evento de un partido.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchEventResponseDto {
+
+    private Long id;
+    private Long matchId;
+    private Long playerId;
+    private MatchEventType type;
+    private int amount;
+    private Integer minute;
+    private LocalDateTime createdAt;
+}
@@ -28,4 +28,5 @@ public class MatchResponseDto {
     private LocalDate matchDate;
     private Long leagueId;
     private String leagueName;
+    private boolean finalized;
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para la mejor alineación posible de una liga en un periodo.
+ * <p>
+ * {@code matches} es el número de partidos tenidos en cuenta, {@code totalPoints} los puntos que habría sumado
+ * la alineación óptima y {@code currentPoints} los que ha sumado en esos partidos el equipo actual del usuario.
+ * Los puntos de cada jugador de {@code players} son los de ese periodo en el rol asignado.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OptimalLineupDto {
+
+    private Long leagueId;
+    private int matches;
+    private double totalPoints;
+    private double currentPoints;
+    private List<RosterPlayerResponseDto> players;
+}
@@ -0,0 +1,28 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) con una página de resultados de la búsqueda de jugadores.
+ * <p>
+ * {@code total} es el número de jugadores que coinciden con la búsqueda en todas las páginas.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerPageDto {
+
+    private List<PlayerResponseDto> players;
+    private int page;
+    private int size;
+    private long total;
+}
@@ -12,7 +12,8 @@ import lombok.NoArgsConstructor;
  * DTO (Data Transfer Object) para la respuesta de los datos de un jugador.
  * <p>
  * Este objeto se utiliza para transferir una representación de un jugador,
- * incluyendo su información básica y sus puntos totales acumulados.
+ * incluyendo su información básica y sus puntos acumulados en la temporada
+ * como jugador de campo ({@code totalPoints}) y como portero.
  * </p>
  */
 @Data
@@ -22,5 +23,6 @@ public class PlayerResponseDto {
     private Long id;
     private String name;
     private String image;
-    private Integer totalPoints;
+    private double totalPoints;
+    private double totalGoalkeeperPoints;
 }
\ No newline at end of file
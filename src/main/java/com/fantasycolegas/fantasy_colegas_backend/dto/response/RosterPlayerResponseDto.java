@@ -14,7 +14,7 @@ import lombok.NoArgsConstructor;
  * <p>
  * Este objeto se utiliza para transferir los detalles de un jugador que forma parte
  * del equipo de un usuario, incluyendo su información básica, el rol asignado en el
- * equipo y sus puntos totales acumulados.
+ * equipo y sus puntos acumulados en la temporada en ese rol.
  * </p>
  */
 @Data
@@ -25,5 +25,5 @@ public class RosterPlayerResponseDto {
     private String playerName;
     private PlayerTeamRole role;
     private String playerImage;
-    private Integer totalPoints;
+    private double totalPoints;
 }
\ No newline at end of file
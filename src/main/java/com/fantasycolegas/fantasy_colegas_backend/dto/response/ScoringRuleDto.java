@@ -0,0 +1,28 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para una regla de puntuación.
+ * <p>
+ * {@code expression} es {@code null} en las reglas lineales.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringRuleDto {
+
+    private Long id;
+    private String statName;
+    private double pointsPerUnit;
+    private PlayerTeamRole role;
+    private String expression;
+}
@@ -0,0 +1,29 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para las reglas de puntuación de una liga.
+ * <p>
+ * {@code custom} indica si la liga tiene reglas propias o usa las reglas por defecto, en cuyo caso
+ * {@code version} vale 0. La versión aumenta con cada cambio de las reglas de la liga.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringRuleSetDto {
+
+    private Long leagueId;
+    private long version;
+    private boolean custom;
+    private List<ScoringRuleDto> rules;
+}
@@ -0,0 +1,28 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para el resultado de simular unas reglas de puntuación en una liga.
+ * <p>
+ * {@code baseVersion} es la versión de las reglas actuales con las que se compara la simulación (0 si la liga
+ * usa las reglas por defecto), y {@code scores} la clasificación simulada, de mayor a menor puntuación.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScoringSimulationDto {
+
+    private Long leagueId;
+    private long baseVersion;
+    private List<SimulatedScoreDto> scores;
+}
@@ -0,0 +1,29 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para la puntuación simulada de un usuario.
+ * <p>
+ * Las posiciones empiezan en 1 y los empatados comparten posición. {@code rankChange} es positivo si el
+ * usuario sube en la clasificación con las reglas simuladas y negativo si baja.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulatedScoreDto {
+
+    private Long userId;
+    private double totalPoints;
+    private double previousPoints;
+    private int rank;
+    private int previousRank;
+    private int rankChange;
+}
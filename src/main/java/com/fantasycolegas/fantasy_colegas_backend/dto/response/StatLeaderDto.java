@@ -0,0 +1,27 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para una posición de la clasificación de una estadística.
+ * <p>
+ * Contiene los datos básicos del jugador y su valor acumulado en la temporada para la
+ * estadística consultada (goles, asistencias, paradas, puntos...).
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatLeaderDto {
+
+    private Long playerId;
+    private String name;
+    private String image;
+    private double value;
+}
@@ -0,0 +1,27 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para el presupuesto de un usuario en el mercado de fichajes de una liga.
+ * <p>
+ * {@code budget} es lo que puede gastar; {@code reserved} es lo que tiene comprometido en las pujas que va
+ * ganando, que ya está descontado de {@code budget} y se le devuelve si otro usuario puja más.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferBudgetDto {
+
+    private Long leagueId;
+    private Long userId;
+    private long budget;
+    private long reserved;
+}
@@ -0,0 +1,34 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.TransferStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) para un jugador puesto a la venta en el mercado de fichajes.
+ * <p>
+ * {@code highestBid} y {@code highestBidderId} son {@code null} mientras no haya pujas.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransferListingDto {
+
+    private Long id;
+    private Long leagueId;
+    private Long playerId;
+    private Long sellerId;
+    private long askingPrice;
+    private Long highestBid;
+    private Long highestBidderId;
+    private TransferStatus status;
+    private LocalDateTime deadline;
+}
@@ -0,0 +1,28 @@
+package com.fantasycolegas.fantasy_colegas_backend.dto.response;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueRole;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * DTO (Data Transfer Object) con una de las ligas de un usuario para la pantalla de inicio.
+ * <p>
+ * Incluye el resumen de la liga, el rol del usuario, sus puntos y su posición en la clasificación.
+ * Los usuarios empatados a puntos comparten posición.
+ * </p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserLeagueDto {
+
+    private LeagueSummaryDto league;
+    private LeagueRole role;
+    private double points;
+    private int rank;
+}
@@ -0,0 +1,19 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Evento de dominio publicado por los servicios cuando se confirma un cambio.
+ * <p>
+ * Los eventos se entregan a los {@link DomainEventListener} después del commit y agrupados por liga.
+ * </p>
+ */
+public sealed interface DomainEvent permits StatsUpdatedEvent, RosterChangedEvent, MembershipChangedEvent, ScoringRulesChangedEvent, MatchFinalizedEvent {
+
+    /**
+     * @return El ID de la liga afectada, o {@code null} si el evento afecta a todas las ligas.
+     */
+    Long leagueId();
+}
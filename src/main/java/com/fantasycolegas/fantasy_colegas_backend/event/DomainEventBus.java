@@ -0,0 +1,220 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Bus de eventos de dominio en proceso.
+ * <p>
+ * Los servicios publican eventos dentro de sus transacciones; el bus los encola solo cuando la transacción
+ * se confirma, de modo que la escritura responde en cuanto se guardan sus filas y los efectos secundarios
+ * (recalcular la clasificación, notificaciones...) se hacen después y nunca para cambios deshechos.
+ * <p>
+ * Un hilo despachador saca los eventos de una cola acotada, espera un breve intervalo para juntar los que
+ * llegan seguidos, los agrupa por liga y entrega cada grupo a los receptores en un hilo virtual, con un
+ * máximo de grupos en paralelo. No empieza el siguiente lote hasta terminar el actual, así que los eventos
+ * de una misma liga se procesan en orden. Si la cola está llena, el hilo que confirmó la transacción
+ * entrega el evento él mismo: la escritura tarda más, pero no se pierde ningún evento. Los contadores de
+ * {@link #getStats()} permiten ver esa contrapresión.
+ * </p>
+ */
+@Component
+public class DomainEventBus {
+
+    /**
+     * Contadores del bus.
+     *
+     * @param published  Eventos publicados y confirmados.
+     * @param dispatched Eventos entregados a los receptores.
+     * @param batches    Grupos (liga y lote) entregados.
+     * @param callerRuns Eventos entregados por el hilo que publicó porque la cola estaba llena.
+     * @param failures   Excepciones lanzadas por los receptores.
+     * @param queueDepth Eventos en cola ahora mismo.
+     * @param maxQueueDepth Máximo de eventos en cola observado.
+     */
+    public record Stats(long published, long dispatched, long batches, long callerRuns, long failures, int queueDepth, long maxQueueDepth) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventBus.class);
+
+    private final ObjectProvider<DomainEventListener> listeners;
+    private final BlockingQueue<DomainEvent> queue;
+    private final int maxBatch;
+    private final Duration linger;
+    private final Semaphore concurrency;
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("domain-event-", 0).factory());
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    private final AtomicLong published = new AtomicLong();
+    private final AtomicLong dispatched = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong callerRuns = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong maxQueueDepth = new AtomicLong();
+    private long lastLoggedCallerRuns;
+
+    /**
+     * Crea el bus y arranca el hilo despachador.
+     *
+     * @param listeners      Los receptores; se resuelven en cada entrega para evitar dependencias circulares con los servicios.
+     * @param queueCapacity  Número máximo de eventos en cola.
+     * @param maxBatch       Número máximo de eventos que se sacan de la cola en cada lote.
+     * @param linger         Tiempo que se espera tras el primer evento de un lote para juntar los siguientes.
+     * @param maxConcurrency Número máximo de grupos que se procesan en paralelo.
+     */
+    public DomainEventBus(ObjectProvider<DomainEventListener> listeners, @Value("${app.events.queue-capacity:10000}") int queueCapacity, @Value("${app.events.max-batch:500}") int maxBatch, @Value("${app.events.linger:PT0.05S}") Duration linger, @Value("${app.events.max-concurrency:16}") int maxConcurrency) {
+        this.listeners = listeners;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatch = maxBatch;
+        this.linger = linger;
+        this.concurrency = new Semaphore(maxConcurrency);
+        this.dispatcher = Thread.ofVirtual().name("domain-event-dispatcher").start(this::dispatchLoop);
+    }
+
+    /**
+     * Publica un evento. Si hay una transacción activa se encola al confirmarse y se descarta si se deshace;
+     * si no, se encola de inmediato.
+     *
+     * @param event El evento.
+     */
+    public void publish(DomainEvent event) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(event);
+                }
+            });
+        } else {
+            enqueue(event);
+        }
+    }
+
+    /**
+     * @return Los contadores actuales del bus.
+     */
+    public Stats getStats() {
+        return new Stats(published.get(), dispatched.get(), batches.get(), callerRuns.get(), failures.get(), queue.size(), maxQueueDepth.get());
+    }
+
+    private void enqueue(DomainEvent event) {
+        published.incrementAndGet();
+        if (running && queue.offer(event)) {
+            maxQueueDepth.accumulateAndGet(queue.size(), Math::max);
+            return;
+        }
+        callerRuns.incrementAndGet();
+        deliver(event.leagueId(), List.of(event));
+    }
+
+    private void dispatchLoop() {
+        while (running || !queue.isEmpty()) {
+            try {
+                DomainEvent first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                if (running && !linger.isZero()) {
+                    Thread.sleep(linger);
+                }
+                List<DomainEvent> batch = new ArrayList<>();
+                batch.add(first);
+                queue.drainTo(batch, maxBatch - 1);
+                dispatchBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void dispatchBatch(List<DomainEvent> batch) throws InterruptedException {
+        Map<Long, List<DomainEvent>> byLeague = new LinkedHashMap<>();
+        for (DomainEvent event : batch) {
+            byLeague.computeIfAbsent(event.leagueId(), k -> new ArrayList<>()).add(event);
+        }
+        List<Future<?>> pending = new ArrayList<>(byLeague.size());
+        for (Map.Entry<Long, List<DomainEvent>> group : byLeague.entrySet()) {
+            concurrency.acquire();
+            pending.add(executor.submit(() -> {
+                try {
+                    deliver(group.getKey(), group.getValue());
+                } finally {
+                    concurrency.release();
+                }
+            }));
+        }
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                log.error("Error inesperado al entregar eventos de dominio.", e.getCause());
+            }
+        }
+    }
+
+    private void deliver(Long leagueId, List<DomainEvent> events) {
+        for (DomainEventListener listener : listeners) {
+            try {
+                listener.onEvents(leagueId, events);
+            } catch (RuntimeException e) {
+                failures.incrementAndGet();
+                log.error("El receptor {} ha fallado procesando {} eventos de la liga {}.", listener.getClass().getSimpleName(), events.size(), leagueId, e);
+            }
+        }
+        dispatched.addAndGet(events.size());
+        batches.incrementAndGet();
+    }
+
+    /**
+     * Registra periódicamente los contadores del bus. Si desde el último registro ha habido entregas
+     * en el hilo que publicó (cola llena), se registra como aviso.
+     */
+    @Scheduled(fixedDelayString = "${app.events.stats-interval:PT1M}", initialDelayString = "${app.events.stats-interval:PT1M}")
+    public void logStats() {
+        Stats stats = getStats();
+        if (stats.callerRuns() > lastLoggedCallerRuns) {
+            log.warn("Cola de eventos de dominio saturada: {} eventos entregados por el hilo que publicó. {}", stats.callerRuns() - lastLoggedCallerRuns, stats);
+        } else {
+            log.debug("Eventos de dominio: {}", stats);
+        }
+        lastLoggedCallerRuns = stats.callerRuns();
+    }
+
+    /**
+     * Deja de aceptar eventos en la cola y espera a que se entreguen los pendientes.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        dispatcher.join(Duration.ofSeconds(10));
+        executor.close();
+    }
+}
@@ -0,0 +1,27 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Receptor de eventos de dominio.
+ * <p>
+ * Los beans que implementan esta interfaz reciben los eventos ya confirmados, agrupados por liga
+ * y en el orden en que se publicaron. Se ejecutan fuera de la transacción que los originó y en un
+ * hilo distinto al de la petición, así que deben abrir su propia transacción si escriben y tolerar
+ * que el mismo lote contenga varios eventos equivalentes.
+ * </p>
+ */
+public interface DomainEventListener {
+
+    /**
+     * Procesa un lote de eventos de una liga.
+     *
+     * @param leagueId El ID de la liga, o {@code null} para los eventos que afectan a todas las ligas.
+     * @param events   Los eventos del lote, en orden de publicación.
+     */
+    void onEvents(Long leagueId, List<DomainEvent> events);
+}
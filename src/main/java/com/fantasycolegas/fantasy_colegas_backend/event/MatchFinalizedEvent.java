@@ -0,0 +1,15 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Se ha finalizado un partido y se han guardado las puntuaciones de la jornada.
+ * </p>
+ *
+ * @param leagueId El ID de la liga.
+ * @param matchId  El ID del partido.
+ */
+public record MatchFinalizedEvent(Long leagueId, Long matchId) implements DomainEvent {
+}
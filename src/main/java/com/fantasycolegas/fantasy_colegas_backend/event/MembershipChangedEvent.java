@@ -0,0 +1,16 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Un usuario ha entrado en una liga o ha salido de ella.
+ * </p>
+ *
+ * @param leagueId El ID de la liga.
+ * @param userId   El ID del usuario.
+ * @param joined   {@code true} si el usuario ha entrado, {@code false} si ha salido o ha sido expulsado.
+ */
+public record MembershipChangedEvent(Long leagueId, Long userId, boolean joined) implements DomainEvent {
+}
@@ -0,0 +1,15 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Ha cambiado el equipo de un usuario en una liga.
+ * </p>
+ *
+ * @param leagueId El ID de la liga.
+ * @param userId   El ID del usuario propietario del equipo.
+ */
+public record RosterChangedEvent(Long leagueId, Long userId) implements DomainEvent {
+}
@@ -0,0 +1,42 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueService;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Receptor que mantiene al día la clasificación en caché de cada liga.
+ * <p>
+ * Recalcula la clasificación una sola vez por lote, aunque el lote contenga muchas estadísticas
+ * o cambios de equipo de la misma liga, de modo que la siguiente lectura del marcador no tiene que calcularla.
+ * Si cambian las reglas de puntuación comunes se vacía toda la caché.
+ * </p>
+ */
+@Component
+public class ScoreboardRefreshListener implements DomainEventListener {
+
+    private final LeagueService leagueService;
+
+    public ScoreboardRefreshListener(LeagueService leagueService) {
+        this.leagueService = leagueService;
+    }
+
+    @Override
+    public void onEvents(Long leagueId, List<DomainEvent> events) {
+        if (leagueId == null) {
+            if (events.stream().anyMatch(ScoringRulesChangedEvent.class::isInstance)) {
+                leagueService.evictScoreboards();
+            }
+            return;
+        }
+        boolean scoresChanged = events.stream().anyMatch(e -> e instanceof StatsUpdatedEvent || e instanceof RosterChangedEvent || e instanceof ScoringRulesChangedEvent || e instanceof MatchFinalizedEvent);
+        if (scoresChanged) {
+            leagueService.refreshScoreboard(leagueId);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Han cambiado las reglas de puntuación.
+ * </p>
+ *
+ * @param leagueId El ID de la liga cuyas reglas han cambiado, o {@code null} si son las reglas comunes a todas.
+ */
+public record ScoringRulesChangedEvent(Long leagueId) implements DomainEvent {
+}
@@ -0,0 +1,16 @@
+package com.fantasycolegas.fantasy_colegas_backend.event;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Se han guardado las estadísticas de un jugador en un partido.
+ * </p>
+ *
+ * @param leagueId El ID de la liga.
+ * @param matchId  El ID del partido.
+ * @param playerId El ID del jugador.
+ */
+public record StatsUpdatedEvent(Long leagueId, Long matchId, Long playerId) implements DomainEvent {
+}
@@ -0,0 +1,49 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.DraftStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa el draft de una liga: el orden de elección, el número de rondas y el tiempo
+ * de cada turno. Las elecciones se guardan aparte, en {@link DraftPick}.
+ * <p>
+ * {@code pickOrder} son los IDs de los usuarios separados por comas, en el orden de la primera ronda;
+ * las rondas impares lo recorren al revés (draft en serpiente). Cada liga tiene como mucho un draft.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "drafts")
+public class Draft {
+
+    @Id
+    @Column(name = "league_id")
+    private Long leagueId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private DraftStatus status;
+
+    @Column(nullable = false, length = 4000)
+    private String pickOrder;
+
+    @Column(nullable = false)
+    private int rounds;
+
+    @Column(nullable = false)
+    private int pickSeconds;
+
+    @Column(nullable = false)
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+}
@@ -0,0 +1,56 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa una elección de un draft.
+ * <p>
+ * Las elecciones solo se insertan y forman el diario del draft: al arrancar, el estado en memoria de los drafts
+ * en curso se reconstruye a partir de ellas. Las restricciones únicas garantizan que cada turno se resuelve una
+ * sola vez y que cada jugador solo puede tener un dueño, aunque dos elecciones lleguen a la vez.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "draft_picks", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_draft_picks_league_pick", columnNames = {"league_id", "pick_number"}),
+        @UniqueConstraint(name = "uk_draft_picks_league_player", columnNames = {"league_id", "player_id"})
+})
+public class DraftPick {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "league_id", nullable = false)
+    private Long leagueId;
+
+    @Column(name = "pick_number", nullable = false)
+    private int pickNumber;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private PlayerTeamRole role;
+
+    @Column(nullable = false)
+    private boolean auto;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -18,12 +18,17 @@ import java.util.Set;
  * <p>
  * Una liga agrupa a varios usuarios (participantes) y jugadores, y define
  * las reglas básicas del juego, como si es privada o no, el código de unión,
- * el número de jugadores y el tamaño del equipo.
+ * el número de jugadores y el tamaño del equipo. Las ligas públicas se listan
+ * por número de miembros o por antigüedad con paginación por cursor, apoyada en
+ * los índices de la tabla.
  * </p>
  */
 
 @Entity
-@Table(name = "leagues")
+@Table(name = "leagues", indexes = {
+        @Index(name = "idx_leagues_public_members", columnList = "is_private, member_count, id"),
+        @Index(name = "idx_leagues_public_recent", columnList = "is_private, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +47,21 @@ public class League {
     private int numberOfPlayers;
     private int teamSize;
 
+    /**
+     * Número de miembros de la liga. Se mantiene con sentencias de incremento al unirse o salir un usuario,
+     * por eso no se escribe al guardar la entidad.
+     */
+    @Column(name = "member_count", nullable = false, updatable = false, columnDefinition = "INT DEFAULT 0")
+    private int memberCount;
+
+    /**
+     * Número máximo de miembros de la liga, o {@code null} si no tiene límite. Se comprueba en la misma sentencia
+     * que incrementa {@code memberCount} y se modifica con una sentencia condicionada que no lo deja por debajo
+     * de los miembros actuales, por eso tampoco se escribe al guardar la entidad.
+     */
+    @Column(name = "max_members", updatable = false)
+    private Integer maxMembers;
+
     @OneToMany(mappedBy = "league", cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<UserLeagueRole> userRoles = new HashSet<>();
 
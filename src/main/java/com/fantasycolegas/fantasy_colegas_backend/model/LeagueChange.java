@@ -0,0 +1,65 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa una entrada del historial de cambios de una liga.
+ * <p>
+ * Las entradas se insertan en la misma transacción que el cambio que describen
+ * y se borran cuando superan el periodo de retención. El ID se asigna al insertar; la posición en el historial
+ * ({@code seq}) se asigna después del commit, en el orden en que se confirman, y sirve de cursor
+ * para que los clientes pidan los cambios posteriores al último que conocen. Mientras no tiene posición,
+ * la entrada no se muestra.
+ * La liga se guarda como un ID simple para que el historial no dependa de la existencia de la liga.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "league_changes", indexes = @Index(name = "idx_league_changes_league_id", columnList = "league_id, seq"))
+public class LeagueChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true)
+    private Long seq;
+
+    @Column(name = "league_id", nullable = false)
+    private Long leagueId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private LeagueChangeType type;
+
+    private Long userId;
+
+    private Long playerId;
+
+    private Long matchId;
+
+    private String detail;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    public LeagueChange(Long leagueId, LeagueChangeType type, Long userId, Long playerId, Long matchId, String detail) {
+        this.leagueId = leagueId;
+        this.type = type;
+        this.userId = userId;
+        this.playerId = playerId;
+        this.matchId = matchId;
+        this.detail = detail;
+        this.createdAt = LocalDateTime.now();
+    }
+}
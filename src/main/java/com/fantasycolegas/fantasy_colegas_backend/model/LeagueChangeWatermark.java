@@ -0,0 +1,36 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA con hasta dónde se ha borrado el historial de cambios de las ligas.
+ * <p>
+ * Tiene una sola fila ({@link #SINGLETON_ID}), creada en la primera poda. Se guarda en la base de datos y no
+ * en memoria para que, tras reiniciar la aplicación, un cursor anterior a lo borrado se siga rechazando.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "league_change_watermark")
+public class LeagueChangeWatermark {
+
+    public static final long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "pruned_through_seq", nullable = false)
+    private long prunedThroughSeq;
+
+    public LeagueChangeWatermark(long prunedThroughSeq) {
+        this.id = SINGLETON_ID;
+        this.prunedThroughSeq = prunedThroughSeq;
+    }
+}
@@ -0,0 +1,39 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa los puntos acumulados por un usuario en los partidos finalizados de una liga.
+ * <p>
+ * Se reconstruye a partir de {@link MatchdayScore} cada vez que se finaliza un partido. La clasificación
+ * solo tiene que sumarle los puntos de los partidos que aún no están finalizados.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "league_standings", uniqueConstraints = @UniqueConstraint(name = "uk_league_standings_league_user", columnNames = {"league_id", "user_id"}))
+public class LeagueStanding {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "league_id", nullable = false)
+    private Long leagueId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private double points;
+
+    @Column(nullable = false)
+    private int matchesPlayed;
+}
@@ -4,6 +4,7 @@ import jakarta.persistence.*;
 import lombok.Data;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * @author Juan Francisco Carceles
@@ -13,7 +14,8 @@ import java.time.LocalDate;
  * Entidad JPA que representa un partido.
  * <p>
  * Un partido está asociado a una liga y contiene información como su nombre,
- * descripción y la fecha en que se jugó.
+ * descripción y la fecha en que se jugó. Una vez finalizado, sus estadísticas no se pueden
+ * modificar y las puntuaciones de la jornada quedan guardadas.
  * </p>
  */
 @Entity
@@ -36,4 +38,9 @@ public class Match {
 
     @Column(nullable = false)
     private LocalDate matchDate;
+
+    @Column(nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private boolean finalized = false;
+
+    private LocalDateTime finalizedAt;
 }
\ No newline at end of file
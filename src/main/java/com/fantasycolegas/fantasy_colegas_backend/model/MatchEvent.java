@@ -0,0 +1,51 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.MatchEventType;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa un evento de un partido (un gol, una tarjeta, una parada...).
+ * <p>
+ * Los eventos solo se insertan. Cada uno suma {@code amount} al contador correspondiente de las
+ * estadísticas del jugador en el partido; para corregir un evento se registra otro con la cantidad opuesta.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "match_events", indexes = @Index(name = "idx_match_events_match_id", columnList = "match_id, id"))
+public class MatchEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "match_id", nullable = false)
+    private Match match;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "player_id", nullable = false)
+    private Player player;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private MatchEventType type;
+
+    @Column(nullable = false)
+    private int amount;
+
+    @Column(name = "event_minute")
+    private Integer minute;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
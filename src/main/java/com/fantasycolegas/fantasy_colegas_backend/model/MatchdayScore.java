@@ -0,0 +1,39 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa la puntuación de un usuario en la jornada de un partido finalizado.
+ * <p>
+ * Se calcula una sola vez al finalizar el partido, con los equipos que tenían los usuarios en ese
+ * momento, y no vuelve a cambiar.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "matchday_scores", uniqueConstraints = @UniqueConstraint(name = "uk_matchday_scores_match_user", columnNames = {"match_id", "user_id"}), indexes = @Index(name = "idx_matchday_scores_league_id", columnList = "league_id"))
+public class MatchdayScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "match_id", nullable = false)
+    private Long matchId;
+
+    @Column(name = "league_id", nullable = false)
+    private Long leagueId;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false)
+    private double points;
+}
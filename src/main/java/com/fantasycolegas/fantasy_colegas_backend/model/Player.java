@@ -12,8 +12,8 @@ import lombok.NoArgsConstructor;
  * <p>
  * Entidad JPA que representa a un jugador en el contexto de una liga.
  * <p>
- * Cada jugador tiene un nombre, una imagen, puntos totales, y está asociado
- * a una liga. Puede ser un jugador real o un 'placeholder' para un puesto libre en un equipo.
+ * Cada jugador tiene un nombre y una imagen, y está asociado a una liga. Sus puntos
+ * se calculan a partir de sus estadísticas y se guardan en {@link PlayerSeasonStats}. Puede ser un jugador real o un 'placeholder' para un puesto libre en un equipo.
  * </p>
  */
 @Entity
@@ -33,9 +33,6 @@ public class Player {
     @Column(columnDefinition = "VARCHAR(255) DEFAULT 'https://example.com/default-player.jpg'")
     private String image;
 
-    @Column(nullable = false)
-    private int totalPoints;
-
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "league_id")
     private League league;
@@ -0,0 +1,61 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa los acumulados de temporada de un jugador.
+ * <p>
+ * Contiene la suma de cada contador y de los puntos de cada rol en todas las estadísticas del jugador,
+ * y el número de partidos con estadísticas. Se actualiza de forma incremental en la misma transacción
+ * que cada cambio de estadísticas, de modo que leer los puntos de un jugador no requiere sumar nada.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "player_season_stats", indexes = @Index(name = "idx_player_season_stats_league_id", columnList = "league_id"))
+public class PlayerSeasonStats {
+
+    @Id
+    @Column(name = "player_id")
+    private Long playerId;
+
+    @Column(name = "league_id")
+    private Long leagueId;
+
+    private int matchesPlayed;
+
+    private int golesMarcados;
+    private int fallosClarosDeGol;
+    private int asistencias;
+    private int golesEncajadosComoPortero;
+    private int paradasComoPortero;
+    private int cesionesConcedidas;
+    private int faltasCometidas;
+    private int faltasRecibidas;
+    private int penaltisRecibidos;
+    private int penaltisCometidos;
+
+    private int pasesAcertados;
+    private int pasesFallados;
+    private int robosDeBalon;
+    private int tirosCompletados;
+    private int tirosEntreLosTresPalos;
+    private int tiempoJugado;
+    private int tarjetasAmarillas;
+    private int tarjetasRojas;
+
+    private double totalFieldPoints;
+    private double totalGoalkeeperPoints;
+
+    public PlayerSeasonStats(Long playerId, Long leagueId) {
+        this.playerId = playerId;
+        this.leagueId = leagueId;
+    }
+}
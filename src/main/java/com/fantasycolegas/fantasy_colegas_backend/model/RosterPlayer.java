@@ -2,7 +2,10 @@ package com.fantasycolegas.fantasy_colegas_backend.model;
 
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Data;
+import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 
 /**
  * @author Juan Francisco Carceles
@@ -14,10 +17,16 @@ import lombok.Data;
  * <p>
  * Esta clase asocia un {@link User} y un {@link Player} dentro de una {@link League},
  * asignándole un rol o posición específica dentro del equipo.
+ * <p>
+ * Cada puesto lleva una versión para el control de concurrencia optimista: dos peticiones que modifican el
+ * mismo puesto a la vez no pueden sobrescribirse, la segunda falla al guardar. Un jugador real solo puede
+ * estar en un equipo de la liga, lo que se garantiza con una restricción única sobre la liga y
+ * {@code unique_player_id}, que es el ID del jugador o {@code null} para el jugador vacío, que ocupa todas
+ * las posiciones libres de todos los equipos.
  * </p>
  */
 @Entity
-@Table(name = "roster_players")
+@Table(name = "roster_players", uniqueConstraints = @UniqueConstraint(name = "uk_roster_players_league_player", columnNames = {"league_id", "unique_player_id"}))
 @Data
 public class RosterPlayer {
 
@@ -37,7 +46,26 @@ public class RosterPlayer {
     @JoinColumn(name = "player_id", nullable = false)
     private Player player;
 
+    @Setter(AccessLevel.NONE)
+    @Column(name = "unique_player_id")
+    private Long uniquePlayerId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PlayerTeamRole role;
-}
\ No newline at end of file
+
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Asigna el jugador del puesto y actualiza la columna de la restricción única.
+     *
+     * @param player El jugador.
+     */
+    public void setPlayer(Player player) {
+        this.player = player;
+        this.uniquePlayerId = player == null || player.isPlaceholder() ? null : player.getId();
+    }
+}
@@ -13,25 +13,35 @@ import lombok.Data;
  * <p>
  * Cada regla de puntuación asocia un nombre de estadística (por ejemplo, "golesMarcados")
  * con una cantidad de puntos y se aplica a un rol de jugador específico (por ejemplo, "DELANTERO").
+ * Las reglas sin liga son las reglas por defecto, que usan las ligas que no han definido las suyas.
+ * Una regla puede tener además una expresión ({@link com.fantasycolegas.fantasy_colegas_backend.service.ScoringExpression})
+ * sobre todos los contadores, para bonificaciones y topes; entonces suma sus puntos por unidad multiplicados por el valor
+ * de la expresión, y la estadística solo indica a qué se refiere la regla.
  * </p>
  */
 @Entity
 @Data
-@Table(name = "scoring_rules")
+@Table(name = "scoring_rules", indexes = @Index(name = "idx_scoring_rules_league_id", columnList = "league_id"))
 public class ScoringRule {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(name = "league_id")
+    private Long leagueId;
+
     @Column(nullable = false)
     private String statName;
 
     @Column(nullable = false)
     private double pointsPerUnit;
 
+    @Column(length = 500)
+    private String expression;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private PlayerTeamRole role;
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa el conjunto de reglas de puntuación propio de una liga.
+ * <p>
+ * Existe desde que un administrador modifica por primera vez las reglas de la liga; hasta entonces la liga
+ * usa las reglas por defecto. La versión aumenta con cada cambio y sirve para saber si unas reglas
+ * compiladas en memoria siguen vigentes.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "scoring_rule_sets")
+public class ScoringRuleSet {
+
+    @Id
+    @Column(name = "league_id")
+    private Long leagueId;
+
+    @Column(nullable = false)
+    private long version;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
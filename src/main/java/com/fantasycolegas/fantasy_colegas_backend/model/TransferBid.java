@@ -0,0 +1,41 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa una puja aceptada por un jugador del mercado de fichajes.
+ * <p>
+ * Las pujas solo se insertan y forman el historial de cada venta; la puja ganadora en cada momento se guarda
+ * en {@link TransferListing}.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "transfer_bids", indexes = @Index(name = "idx_transfer_bids_listing_id", columnList = "listing_id, id"))
+public class TransferBid {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "listing_id", nullable = false)
+    private Long listingId;
+
+    @Column(name = "bidder_id", nullable = false)
+    private Long bidderId;
+
+    @Column(nullable = false)
+    private long amount;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
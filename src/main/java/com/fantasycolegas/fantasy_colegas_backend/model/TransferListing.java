@@ -0,0 +1,69 @@
+package com.fantasycolegas.fantasy_colegas_backend.model;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.TransferStatus;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Entidad JPA que representa un jugador puesto a la venta en el mercado de fichajes de una liga, con la puja
+ * más alta recibida hasta el momento.
+ * <p>
+ * Cada puja y la liquidación modifican la fila comprobando su versión, de modo que dos pujas simultáneas por
+ * el mismo jugador no pueden ganar las dos y la liquidación no puede pisar una puja. {@code openPlayerId} es
+ * el ID del jugador mientras la venta está abierta y {@code null} después; con la restricción única, un
+ * usuario no puede tener abiertas dos ventas del mismo jugador.
+ * </p>
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@Table(name = "transfer_listings",
+        uniqueConstraints = @UniqueConstraint(name = "uk_transfer_listings_open_player", columnNames = {"league_id", "seller_id", "open_player_id"}),
+        indexes = @Index(name = "idx_transfer_listings_status_deadline", columnList = "status, deadline"))
+public class TransferListing {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "league_id", nullable = false)
+    private Long leagueId;
+
+    @Column(name = "player_id", nullable = false)
+    private Long playerId;
+
+    @Column(name = "open_player_id")
+    private Long openPlayerId;
+
+    @Column(name = "seller_id", nullable = false)
+    private Long sellerId;
+
+    @Column(nullable = false)
+    private long askingPrice;
+
+    private Long highestBid;
+
+    private Long highestBidderId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TransferStatus status;
+
+    @Column(nullable = false)
+    private LocalDateTime deadline;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    private LocalDateTime settledAt;
+
+    @Version
+    private Long version;
+}
@@ -5,6 +5,7 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.io.Serializable;
 
@@ -18,6 +19,7 @@ import java.io.Serializable;
  * <p>
  * Esta clase utiliza una clave compuesta ({@link UserLeagueRoleId}) para
  * identificar de forma única la combinación de un usuario y una liga.
+ * También guarda el presupuesto del usuario en el mercado de fichajes de la liga.
  * </p>
  */
 @Entity
@@ -27,6 +29,11 @@ import java.io.Serializable;
 @AllArgsConstructor
 public class UserLeagueRole implements Serializable {
 
+    /**
+     * Presupuesto con el que empieza cada usuario en el mercado de fichajes de una liga.
+     */
+    public static final long INITIAL_BUDGET = 100_000_000L;
+
     @EmbeddedId
     private UserLeagueRoleId id;
 
@@ -44,6 +51,10 @@ public class UserLeagueRole implements Serializable {
     @Column(nullable = false)
     private LeagueRole role;
 
+    @ColumnDefault("" + INITIAL_BUDGET)
+    @Column(nullable = false)
+    private long budget = INITIAL_BUDGET;
+
     /**
      * Constructor para crear una nueva instancia de {@link UserLeagueRole}.
      * <p>
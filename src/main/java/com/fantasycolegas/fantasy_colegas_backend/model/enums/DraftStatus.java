@@ -0,0 +1,17 @@
+package com.fantasycolegas.fantasy_colegas_backend.model.enums;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ *
+ * Enumeración que define los estados de un draft de una liga.
+ * <p>
+ * Un draft está en curso desde que un administrador lo inicia hasta que se hace la última elección;
+ * entonces se completa y los equipos elegidos sustituyen a los anteriores.
+ * </p>
+ */
+public enum DraftStatus {
+    IN_PROGRESS,
+    COMPLETED
+}
@@ -0,0 +1,25 @@
+package com.fantasycolegas.fantasy_colegas_backend.model.enums;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ *
+ * Enumeración que define los tipos de cambio registrados en el historial de cambios de una liga.
+ * <p>
+ * Los clientes los usan para actualizar su copia local de la liga sin volver a descargarla entera.
+ * </p>
+ */
+public enum LeagueChangeType {
+    LEAGUE_UPDATED,
+    PLAYER_ADDED,
+    PLAYER_UPDATED,
+    PLAYER_REMOVED,
+    STATS_UPDATED,
+    ROSTER_CHANGED,
+    MEMBER_JOINED,
+    MEMBER_LEFT,
+    ROLE_CHANGED,
+    MATCH_FINALIZED,
+    SCORING_RULES_CHANGED
+}
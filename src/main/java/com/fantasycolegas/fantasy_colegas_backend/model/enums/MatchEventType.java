@@ -0,0 +1,43 @@
+package com.fantasycolegas.fantasy_colegas_backend.model.enums;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ *
+ * Enumeración que define los tipos de evento que se pueden registrar durante un partido.
+ * <p>
+ * Cada tipo incrementa un contador de las estadísticas del jugador en el partido; {@link #getStatName()}
+ * devuelve el nombre de ese contador, que coincide con el de las reglas de puntuación.
+ * </p>
+ */
+public enum MatchEventType {
+    GOAL("golesMarcados"),
+    MISSED_CHANCE("fallosClarosDeGol"),
+    ASSIST("asistencias"),
+    GOAL_CONCEDED("golesEncajadosComoPortero"),
+    SAVE("paradasComoPortero"),
+    BACK_PASS_CONCEDED("cesionesConcedidas"),
+    FOUL_COMMITTED("faltasCometidas"),
+    FOUL_RECEIVED("faltasRecibidas"),
+    PENALTY_RECEIVED("penaltisRecibidos"),
+    PENALTY_COMMITTED("penaltisCometidos"),
+    PASS_COMPLETED("pasesAcertados"),
+    PASS_MISSED("pasesFallados"),
+    BALL_RECOVERY("robosDeBalon"),
+    SHOT("tirosCompletados"),
+    SHOT_ON_TARGET("tirosEntreLosTresPalos"),
+    MINUTES_PLAYED("tiempoJugado"),
+    YELLOW_CARD("tarjetasAmarillas"),
+    RED_CARD("tarjetasRojas");
+
+    private final String statName;
+
+    MatchEventType(String statName) {
+        this.statName = statName;
+    }
+
+    public String getStatName() {
+        return statName;
+    }
+}
@@ -0,0 +1,20 @@
+package com.fantasycolegas.fantasy_colegas_backend.model.enums;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ *
+ * Enumeración que define los estados de un jugador puesto a la venta en el mercado de fichajes.
+ * <p>
+ * Una venta está abierta hasta su fecha límite. Entonces se liquida: se vende a la puja más alta, queda sin
+ * vender si no ha recibido pujas, o se cancela si el traspaso ya no es posible. El vendedor también puede
+ * cancelarla mientras no tenga pujas.
+ * </p>
+ */
+public enum TransferStatus {
+    OPEN,
+    SOLD,
+    UNSOLD,
+    CANCELLED
+}
@@ -0,0 +1,38 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.DraftPick;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link DraftPick}.
+ * </p>
+ */
+@Repository
+public interface DraftPickRepository extends JpaRepository<DraftPick, Long> {
+
+    /**
+     * Obtiene las elecciones del draft de una liga en el orden en que se hicieron.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Las elecciones, por número de elección.
+     */
+    List<DraftPick> findByLeagueIdOrderByPickNumberAsc(Long leagueId);
+
+    /**
+     * Borra las elecciones del draft de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Modifying
+    @Query("DELETE FROM DraftPick p WHERE p.leagueId = :leagueId")
+    void deleteByLeagueId(Long leagueId);
+}
@@ -0,0 +1,37 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.Draft;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.DraftStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link Draft}.
+ * </p>
+ */
+@Repository
+public interface DraftRepository extends JpaRepository<Draft, Long> {
+
+    /**
+     * Busca los drafts en un estado, por ejemplo los que estaban en curso al arrancar.
+     *
+     * @param status El estado.
+     * @return Los drafts en ese estado.
+     */
+    List<Draft> findAllByStatus(DraftStatus status);
+
+    /**
+     * Comprueba si el draft de una liga está en un estado, por ejemplo si está en curso.
+     *
+     * @param leagueId El ID de la liga.
+     * @param status   El estado.
+     * @return {@code true} si la liga tiene un draft en ese estado.
+     */
+    boolean existsByLeagueIdAndStatus(Long leagueId, DraftStatus status);
+}
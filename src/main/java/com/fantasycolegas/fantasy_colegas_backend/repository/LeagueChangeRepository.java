@@ -0,0 +1,79 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link LeagueChange}.
+ * <p>
+ * Proporciona métodos para leer el historial de cambios de una liga a partir de un cursor
+ * y para borrar las entradas antiguas.
+ * </p>
+ */
+@Repository
+public interface LeagueChangeRepository extends JpaRepository<LeagueChange, Long> {
+
+    /**
+     * Busca los cambios de una liga posteriores a un cursor, en orden. Los cambios sin posición no se devuelven.
+     *
+     * @param leagueId El ID de la liga.
+     * @param seq      El cursor: la posición del último cambio conocido.
+     * @param pageable El número máximo de cambios a devolver.
+     * @return Los cambios con una posición mayor que el cursor, ordenados por posición.
+     */
+    List<LeagueChange> findByLeagueIdAndSeqGreaterThanOrderBySeqAsc(Long leagueId, Long seq, Pageable pageable);
+
+    /**
+     * Busca los cambios confirmados que todavía no tienen posición, en el orden en que se insertaron.
+     *
+     * @return Los cambios sin posición.
+     */
+    List<LeagueChange> findBySeqIsNullOrderByIdAsc();
+
+    /**
+     * Obtiene la posición del último cambio de cualquier liga.
+     *
+     * @return La posición máxima, o {@code null} si ningún cambio tiene posición.
+     */
+    @Query("SELECT MAX(c.seq) FROM LeagueChange c")
+    Long findMaxSeq();
+
+    /**
+     * Obtiene la posición del último cambio registrado antes de una fecha.
+     *
+     * @param cutoff La fecha límite.
+     * @return La posición máxima de los cambios anteriores a la fecha, o {@code null} si no hay ninguno.
+     */
+    @Query("SELECT MAX(c.seq) FROM LeagueChange c WHERE c.createdAt < :cutoff")
+    Long findMaxSeqCreatedBefore(LocalDateTime cutoff);
+
+    /**
+     * Borra los cambios con una posición menor o igual que la indicada.
+     *
+     * @param seq La posición del último cambio a borrar.
+     * @return El número de cambios borrados.
+     */
+    @Modifying
+    @Query("DELETE FROM LeagueChange c WHERE c.seq <= :seq")
+    int deleteUpToSeq(Long seq);
+
+    /**
+     * Borra todo el historial de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Modifying
+    @Query("DELETE FROM LeagueChange c WHERE c.leagueId = :leagueId")
+    void deleteByLeagueId(Long leagueId);
+}
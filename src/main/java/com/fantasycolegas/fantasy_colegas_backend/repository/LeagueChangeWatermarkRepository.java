@@ -0,0 +1,26 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueChangeWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link LeagueChangeWatermark}.
+ * </p>
+ */
+@Repository
+public interface LeagueChangeWatermarkRepository extends JpaRepository<LeagueChangeWatermark, Long> {
+
+    /**
+     * Obtiene la posición del último cambio borrado del historial.
+     *
+     * @return La posición, o {@code null} si todavía no se ha borrado nada.
+     */
+    @Query("SELECT w.prunedThroughSeq FROM LeagueChangeWatermark w WHERE w.id = " + LeagueChangeWatermark.SINGLETON_ID)
+    Long findPrunedThroughSeq();
+}
@@ -1,9 +1,16 @@
 package com.fantasycolegas.fantasy_colegas_backend.repository;
 
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueSummaryDto;
 import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -28,4 +35,87 @@ public interface LeagueRepository extends JpaRepository<League, Long> {
      */
     Optional<League> findByJoinCode(String joinCode);
 
+    /**
+     * Obtiene el tamaño de equipo de una liga sin cargar la entidad.
+     *
+     * @param id El ID de la liga.
+     * @return Un {@link Optional} con el tamaño de equipo, si la liga existe.
+     */
+    @Query("SELECT l.teamSize FROM League l WHERE l.id = :id")
+    Optional<Integer> findTeamSizeById(Long id);
+
+    /**
+     * Busca una liga bloqueando su fila hasta el final de la transacción.
+     * <p>
+     * Sirve para serializar los cambios de las reglas de puntuación de la liga, incluido el primero,
+     * que crea su conjunto de reglas propio.
+     * </p>
+     *
+     * @param id El ID de la liga.
+     * @return Un {@link Optional} con la liga, si existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM League l WHERE l.id = :id")
+    Optional<League> findByIdForUpdate(Long id);
+
+    /**
+     * Suma una cantidad al número de miembros de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param delta    La cantidad a sumar (negativa al salir un miembro).
+     * @return El número de ligas actualizadas.
+     */
+    @Modifying
+    @Query(value = "UPDATE leagues SET member_count = member_count + :delta WHERE id = :leagueId", nativeQuery = true)
+    int addMembers(Long leagueId, int delta);
+
+    /**
+     * Suma un miembro a una liga solo si no ha alcanzado su límite, en una sola sentencia: dos usuarios que se
+     * unen a la vez al último hueco no pueden entrar los dos.
+     *
+     * @param leagueId El ID de la liga.
+     * @return 1 si se ha sumado el miembro, 0 si la liga no existe o está completa.
+     */
+    @Modifying
+    @Query(value = "UPDATE leagues SET member_count = member_count + 1 WHERE id = :leagueId AND (max_members IS NULL OR member_count < max_members)", nativeQuery = true)
+    int addMemberIfNotFull(Long leagueId);
+
+    /**
+     * Cambia el límite de miembros de una liga solo si no queda por debajo de los miembros actuales.
+     *
+     * @param leagueId   El ID de la liga.
+     * @param maxMembers El nuevo límite, o {@code null} para quitarlo.
+     * @return 1 si se ha cambiado, 0 si la liga no existe o ya tiene más miembros que el límite.
+     */
+    @Modifying
+    @Query(value = "UPDATE leagues SET max_members = :maxMembers WHERE id = :leagueId AND (:maxMembers IS NULL OR member_count <= :maxMembers)", nativeQuery = true)
+    int updateMaxMembers(Long leagueId, Integer maxMembers);
+
+    /**
+     * Obtiene una página de ligas públicas ordenadas por número de miembros (y por ID, de más reciente a más antigua,
+     * en caso de empate), a continuación de la última liga de la página anterior.
+     *
+     * @param pattern     El patrón {@code LIKE} sobre el nombre en minúsculas; {@code %} para todas.
+     * @param memberCount El número de miembros de la última liga de la página anterior.
+     * @param id          El ID de la última liga de la página anterior.
+     * @param pageable    El tamaño de la página.
+     * @return Los resúmenes de las ligas.
+     */
+    @Query("SELECT new com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueSummaryDto(l.id, l.name, l.description, l.image, l.memberCount, l.teamSize) FROM League l " +
+            "WHERE l.isPrivate = false AND l.memberCount <= :memberCount AND (l.memberCount < :memberCount OR l.id < :id) AND LOWER(l.name) LIKE :pattern ESCAPE '!' " +
+            "ORDER BY l.memberCount DESC, l.id DESC")
+    List<LeagueSummaryDto> findPublicByMembersAfter(String pattern, int memberCount, long id, Pageable pageable);
+
+    /**
+     * Obtiene una página de ligas públicas de más reciente a más antigua, a continuación de la última liga
+     * de la página anterior.
+     *
+     * @param pattern  El patrón {@code LIKE} sobre el nombre en minúsculas; {@code %} para todas.
+     * @param id       El ID de la última liga de la página anterior.
+     * @param pageable El tamaño de la página.
+     * @return Los resúmenes de las ligas.
+     */
+    @Query("SELECT new com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueSummaryDto(l.id, l.name, l.description, l.image, l.memberCount, l.teamSize) FROM League l " +
+            "WHERE l.isPrivate = false AND l.id < :id AND LOWER(l.name) LIKE :pattern ESCAPE '!' ORDER BY l.id DESC")
+    List<LeagueSummaryDto> findPublicByRecencyAfter(String pattern, long id, Pageable pageable);
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueStanding;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link LeagueStanding}.
+ * </p>
+ */
+@Repository
+public interface LeagueStandingRepository extends JpaRepository<LeagueStanding, Long> {
+
+    /**
+     * Busca los puntos acumulados en los partidos finalizados de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Los puntos acumulados de cada usuario.
+     */
+    List<LeagueStanding> findByLeagueId(Long leagueId);
+
+    /**
+     * Busca los puntos acumulados en los partidos finalizados de varias ligas.
+     *
+     * @param leagueIds Los IDs de las ligas.
+     * @return Los puntos acumulados de cada usuario en cada liga.
+     */
+    List<LeagueStanding> findByLeagueIdIn(Collection<Long> leagueIds);
+
+    /**
+     * Borra los puntos acumulados de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Modifying
+    @Query("DELETE FROM LeagueStanding s WHERE s.leagueId = :leagueId")
+    void deleteByLeagueId(Long leagueId);
+
+    /**
+     * Vuelve a calcular en una sola sentencia los puntos acumulados de una liga a partir de
+     * las puntuaciones de sus jornadas. Debe llamarse después de {@link #deleteByLeagueId(Long)}.
+     *
+     * @param leagueId El ID de la liga.
+     * @return El número de usuarios con puntos acumulados.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO league_standings (league_id, user_id, points, matches_played) " +
+            "SELECT league_id, user_id, SUM(points), COUNT(*) FROM matchday_scores WHERE league_id = :leagueId GROUP BY league_id, user_id", nativeQuery = true)
+    int insertForLeague(Long leagueId);
+}
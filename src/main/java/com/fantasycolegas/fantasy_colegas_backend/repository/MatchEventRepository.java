@@ -0,0 +1,29 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.MatchEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link MatchEvent}.
+ * <p>
+ * Proporciona métodos para consultar los eventos registrados en los partidos.
+ * </p>
+ */
+@Repository
+public interface MatchEventRepository extends JpaRepository<MatchEvent, Long> {
+
+    /**
+     * Busca los eventos de un partido en el orden en que se registraron.
+     *
+     * @param matchId El ID del partido.
+     * @return Los eventos del partido.
+     */
+    List<MatchEvent> findByMatchIdOrderByIdAsc(Long matchId);
+}
@@ -1,10 +1,19 @@
 package com.fantasycolegas.fantasy_colegas_backend.repository;
 
 import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author Juan Francisco Carceles
@@ -35,4 +44,61 @@ public interface MatchRepository extends JpaRepository<Match, Long> {
      * @return El número de partidos.
      */
     long countByLeagueId(Long leagueId);
-}
\ No newline at end of file
+
+    /**
+     * Obtiene solo los IDs de los partidos de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Una lista con los IDs de los partidos de la liga.
+     */
+    @Query("SELECT m.id FROM Match m WHERE m.league.id = :leagueId")
+    List<Long> findIdsByLeagueId(Long leagueId);
+
+    /**
+     * Obtiene los IDs de los partidos más recientes de una liga, por fecha y, a igual fecha, por orden de creación.
+     *
+     * @param leagueId El ID de la liga.
+     * @param limit    El número máximo de partidos.
+     * @return Los IDs de los partidos, del más reciente al más antiguo.
+     */
+    @Query("SELECT m.id FROM Match m WHERE m.league.id = :leagueId ORDER BY m.matchDate DESC, m.id DESC")
+    List<Long> findRecentIdsByLeagueId(Long leagueId, Limit limit);
+
+    /**
+     * Recorre los partidos de una liga en orden de ID sin cargarlos todos en memoria.
+     * <p>
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link Stream} con los partidos de la liga.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT m FROM Match m WHERE m.league.id = :leagueId ORDER BY m.id")
+    Stream<Match> streamByLeagueId(Long leagueId);
+
+    /**
+     * Busca un partido bloqueando su fila hasta el final de la transacción.
+     * <p>
+     * Sirve para serializar la creación de filas que dependen del partido cuando
+     * varias peticiones pueden intentarla a la vez.
+     * </p>
+     *
+     * @param id El ID del partido.
+     * @return Un {@link Optional} con el partido, si existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Match m WHERE m.id = :id")
+    Optional<Match> findByIdForUpdate(Long id);
+
+    /**
+     * Busca varios partidos bloqueando sus filas hasta el final de la transacción. Se bloquean
+     * en orden de ID para que dos transacciones no se esperen mutuamente.
+     *
+     * @param ids Los IDs de los partidos.
+     * @return Los partidos que existen.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM Match m WHERE m.id IN :ids ORDER BY m.id")
+    List<Match> findAllByIdForUpdate(Collection<Long> ids);
+}
@@ -0,0 +1,46 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.MatchdayScore;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link MatchdayScore}.
+ * <p>
+ * Proporciona la inserción en bloque de las puntuaciones de una jornada y su consulta.
+ * </p>
+ */
+@Repository
+public interface MatchdayScoreRepository extends JpaRepository<MatchdayScore, Long> {
+
+    /**
+     * Calcula y guarda en una sola sentencia la puntuación de cada usuario con equipo en la liga:
+     * la suma de los puntos de sus jugadores en el partido según el rol que ocupan en el equipo.
+     *
+     * @param matchId  El ID del partido.
+     * @param leagueId El ID de la liga del partido.
+     * @return El número de puntuaciones guardadas.
+     */
+    @Modifying
+    @Query(value = "INSERT INTO matchday_scores (match_id, league_id, user_id, points) " +
+            "SELECT :matchId, rp.league_id, rp.user_id, COALESCE(SUM(CASE WHEN rp.role = 'PORTERO' THEN s.total_goalkeeper_points ELSE s.total_field_points END), 0) " +
+            "FROM roster_players rp LEFT JOIN player_match_stats s ON s.player_id = rp.player_id AND s.match_id = :matchId " +
+            "WHERE rp.league_id = :leagueId GROUP BY rp.league_id, rp.user_id", nativeQuery = true)
+    int insertForMatch(Long matchId, Long leagueId);
+
+    /**
+     * Busca las puntuaciones de la jornada de un partido, de mayor a menor.
+     *
+     * @param matchId El ID del partido.
+     * @return Las puntuaciones de la jornada.
+     */
+    List<MatchdayScore> findByMatchIdOrderByPointsDesc(Long matchId);
+}
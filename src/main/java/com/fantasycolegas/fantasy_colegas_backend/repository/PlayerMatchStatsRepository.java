@@ -1,11 +1,16 @@
 package com.fantasycolegas.fantasy_colegas_backend.repository;
 
 import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author Juan Francisco Carceles
@@ -37,4 +42,48 @@ public interface PlayerMatchStatsRepository extends JpaRepository<PlayerMatchSta
      * @return Una lista de estadísticas de partidos del jugador.
      */
     List<PlayerMatchStats> findByPlayerId(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Busca las estadísticas existentes para cualquier combinación de los partidos y jugadores dados.
+     *
+     * @param matchIds  Los IDs de los partidos.
+     * @param playerIds Los IDs de los jugadores.
+     * @return Una lista de estadísticas de esos partidos y jugadores.
+     */
+    List<PlayerMatchStats> findByMatchIdInAndPlayerIdIn(Collection<Long> matchIds, Collection<Long> playerIds);
+
+    /**
+     * Recorre las estadísticas de todos los partidos de una liga, junto con su jugador,
+     * sin cargarlas todas en memoria.
+     * <p>
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link Stream} con las estadísticas ordenadas por partido y jugador.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT s FROM PlayerMatchStats s JOIN FETCH s.player WHERE s.match.league.id = :leagueId ORDER BY s.match.id, s.player.id")
+    Stream<PlayerMatchStats> streamByLeagueId(Long leagueId);
+
+    /**
+     * Puntos acumulados de un jugador como jugador de campo y como portero.
+     */
+    interface PlayerPoints {
+        Long getPlayerId();
+
+        double getFieldPoints();
+
+        double getGoalkeeperPoints();
+    }
+
+    /**
+     * Suma los puntos de cada jugador en unos partidos concretos.
+     *
+     * @param matchIds Los IDs de los partidos.
+     * @return Los puntos de cada jugador con estadísticas en esos partidos.
+     */
+    @Query("SELECT s.player.id AS playerId, SUM(s.totalFieldPoints) AS fieldPoints, SUM(s.totalGoalkeeperPoints) AS goalkeeperPoints " +
+            "FROM PlayerMatchStats s WHERE s.match.id IN :matchIds GROUP BY s.player.id")
+    List<PlayerPoints> sumPointsByPlayerInMatches(Collection<Long> matchIds);
+}
@@ -1,9 +1,13 @@
 package com.fantasycolegas.fantasy_colegas_backend.repository;
 
 import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -43,4 +47,61 @@ public interface PlayerRepository extends JpaRepository<Player, Long> {
      */
     List<Player> findByLeagueIdAndIsPlaceholderFalse(Long leagueId);
 
-}
\ No newline at end of file
+    /**
+     * Obtiene el ID del jugador 'placeholder' sin cargar la entidad.
+     *
+     * @return Un {@link Optional} con el ID del jugador 'placeholder'.
+     */
+    @Query("SELECT p.id FROM Player p WHERE p.isPlaceholder = true")
+    Optional<Long> findPlaceholderId();
+
+    /**
+     * Obtiene solo los IDs de los jugadores que no son 'placeholder' en una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Los IDs de los jugadores reales de la liga.
+     */
+    @Query("SELECT p.id FROM Player p WHERE p.league.id = :leagueId AND p.isPlaceholder = false")
+    List<Long> findIdsByLeagueIdAndIsPlaceholderFalse(Long leagueId);
+
+    /**
+     * Busca los IDs de los jugadores reales de una liga que no están en el equipo de ningún miembro.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Los IDs de los jugadores libres de la liga.
+     */
+    @Query("SELECT p.id FROM Player p WHERE p.league.id = :leagueId AND p.isPlaceholder = false " +
+            "AND NOT EXISTS (SELECT rp.id FROM RosterPlayer rp WHERE rp.league.id = :leagueId AND rp.uniquePlayerId = p.id)")
+    List<Long> findUnownedIdsByLeagueId(Long leagueId);
+
+    /**
+     * Busca los IDs de los jugadores libres de una liga, del que más puntos de campo lleva en la temporada al que
+     * menos. Los que no tienen acumulados de temporada cuentan con 0 puntos.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Los IDs de los jugadores libres de la liga, ordenados por puntos.
+     */
+    @Query("SELECT p.id FROM Player p LEFT JOIN PlayerSeasonStats s ON s.playerId = p.id WHERE p.league.id = :leagueId AND p.isPlaceholder = false " +
+            "AND NOT EXISTS (SELECT rp.id FROM RosterPlayer rp WHERE rp.league.id = :leagueId AND rp.uniquePlayerId = p.id) " +
+            "ORDER BY COALESCE(s.totalFieldPoints, 0) DESC, p.id")
+    List<Long> findUnownedIdsByLeagueIdOrderByPoints(Long leagueId);
+
+    /**
+     * Busca, en una sola consulta, los jugadores de una liga cuyos nombres estén en la colección dada.
+     *
+     * @param leagueId El ID de la liga.
+     * @param names    Los nombres a buscar.
+     * @return Una lista de jugadores de la liga con alguno de esos nombres.
+     */
+    List<Player> findByLeagueIdAndNameIn(Long leagueId, Collection<String> names);
+
+    /**
+     * Busca un jugador bloqueando su fila hasta el final de la transacción.
+     *
+     * @param id El ID del jugador.
+     * @return Un {@link Optional} con el jugador, si existe.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Player p WHERE p.id = :id")
+    Optional<Player> findByIdForUpdate(Long id);
+}
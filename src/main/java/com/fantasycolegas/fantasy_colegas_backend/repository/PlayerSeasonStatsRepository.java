@@ -0,0 +1,82 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerSeasonStats;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link PlayerSeasonStats}.
+ * <p>
+ * Además de las consultas habituales, proporciona los ajustes en bloque de los puntos
+ * acumulados que se hacen al finalizar un partido.
+ * </p>
+ */
+@Repository
+public interface PlayerSeasonStatsRepository extends JpaRepository<PlayerSeasonStats, Long> {
+
+    /**
+     * Busca los acumulados de un jugador bloqueando su fila hasta el final de la transacción.
+     *
+     * @param playerId El ID del jugador.
+     * @return Un {@link Optional} con los acumulados, si existen.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM PlayerSeasonStats a WHERE a.playerId = :playerId")
+    Optional<PlayerSeasonStats> findByIdForUpdate(Long playerId);
+
+    /**
+     * Obtiene los IDs de los jugadores con acumulados o con estadísticas, para la reconciliación.
+     *
+     * @return Los IDs de los jugadores.
+     */
+    @Query(value = "SELECT player_id FROM player_season_stats UNION SELECT DISTINCT player_id FROM player_match_stats", nativeQuery = true)
+    List<Long> findAllPlayerIdsWithStats();
+
+    /**
+     * Resta a los acumulados de los jugadores los puntos que tienen en un partido. Junto con
+     * {@link #addMatchPoints(Long)} permite ajustar los acumulados cuando se recalculan los puntos
+     * de todo un partido.
+     *
+     * @param matchId El ID del partido.
+     * @return El número de jugadores actualizados.
+     */
+    @Modifying
+    @Query(value = "UPDATE player_season_stats a SET " +
+            "total_field_points = total_field_points - (SELECT s.total_field_points FROM player_match_stats s WHERE s.player_id = a.player_id AND s.match_id = :matchId), " +
+            "total_goalkeeper_points = total_goalkeeper_points - (SELECT s.total_goalkeeper_points FROM player_match_stats s WHERE s.player_id = a.player_id AND s.match_id = :matchId) " +
+            "WHERE a.player_id IN (SELECT s.player_id FROM player_match_stats s WHERE s.match_id = :matchId)", nativeQuery = true)
+    int subtractMatchPoints(Long matchId);
+
+    /**
+     * Suma a los acumulados de los jugadores los puntos que tienen en un partido.
+     *
+     * @param matchId El ID del partido.
+     * @return El número de jugadores actualizados.
+     */
+    @Modifying
+    @Query(value = "UPDATE player_season_stats a SET " +
+            "total_field_points = total_field_points + (SELECT s.total_field_points FROM player_match_stats s WHERE s.player_id = a.player_id AND s.match_id = :matchId), " +
+            "total_goalkeeper_points = total_goalkeeper_points + (SELECT s.total_goalkeeper_points FROM player_match_stats s WHERE s.player_id = a.player_id AND s.match_id = :matchId) " +
+            "WHERE a.player_id IN (SELECT s.player_id FROM player_match_stats s WHERE s.match_id = :matchId)", nativeQuery = true)
+    int addMatchPoints(Long matchId);
+
+    /**
+     * Borra los acumulados de los jugadores de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Modifying
+    @Query("DELETE FROM PlayerSeasonStats a WHERE a.leagueId = :leagueId")
+    void deleteByLeagueId(Long leagueId);
+}
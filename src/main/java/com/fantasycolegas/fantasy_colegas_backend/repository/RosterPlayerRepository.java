@@ -3,12 +3,16 @@ package com.fantasycolegas.fantasy_colegas_backend.repository;
 import com.fantasycolegas.fantasy_colegas_backend.model.League;
 import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * @author Juan Francisco Carceles
@@ -83,6 +87,37 @@ public interface RosterPlayerRepository extends JpaRepository<RosterPlayer, Long
      */
     boolean existsByUserIdAndLeagueIdAndPlayerId(Long userId, Long leagueId, Long playerId);
 
+    /**
+     * Busca el puesto que ocupa un jugador real en el equipo de un usuario. Por la restricción única hay como
+     * mucho uno; el jugador vacío no tiene {@code uniquePlayerId} y nunca se encuentra así.
+     *
+     * @param userId         El ID del usuario.
+     * @param leagueId       El ID de la liga.
+     * @param uniquePlayerId El ID del jugador.
+     * @return Un {@link Optional} con el puesto, si el jugador está en el equipo.
+     */
+    Optional<RosterPlayer> findByUserIdAndLeagueIdAndUniquePlayerId(Long userId, Long leagueId, Long uniquePlayerId);
+
+    /**
+     * Busca, de entre unos jugadores, los que ya están en el equipo de otro miembro de la liga.
+     *
+     * @param leagueId  El ID de la liga.
+     * @param playerIds Los IDs de los jugadores.
+     * @param userId    El ID del usuario cuyo equipo no se tiene en cuenta.
+     * @return Los IDs de los jugadores que tiene otro miembro.
+     */
+    @Query("SELECT rp.uniquePlayerId FROM RosterPlayer rp WHERE rp.league.id = :leagueId AND rp.uniquePlayerId IN :playerIds AND rp.user.id <> :userId")
+    List<Long> findPlayerIdsOwnedByOthers(Long leagueId, Collection<Long> playerIds, Long userId);
+
+    /**
+     * Busca los puestos que ocupan unos jugadores reales en los equipos de una liga.
+     *
+     * @param leagueId        El ID de la liga.
+     * @param uniquePlayerIds Los IDs de los jugadores.
+     * @return Los puestos, como mucho uno por jugador.
+     */
+    List<RosterPlayer> findByLeagueIdAndUniquePlayerIdIn(Long leagueId, Collection<Long> uniquePlayerIds);
+
     /**
      * Busca todos los rosters que contienen a un jugador específico.
      *
@@ -107,4 +142,59 @@ public interface RosterPlayerRepository extends JpaRepository<RosterPlayer, Long
      */
     @Query("SELECT DISTINCT rp.user.id FROM RosterPlayer rp WHERE rp.league.id = :leagueId")
     List<Long> findDistinctUserIdsByLeagueId(Long leagueId);
-}
\ No newline at end of file
+
+    /**
+     * Recorre los equipos de una liga, con su usuario y jugador, sin cargarlos todos en memoria.
+     * <p>
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link Stream} con los puestos de los equipos ordenados por usuario.
+     */
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"), @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("SELECT rp FROM RosterPlayer rp JOIN FETCH rp.user JOIN FETCH rp.player WHERE rp.league.id = :leagueId ORDER BY rp.user.id, rp.id")
+    Stream<RosterPlayer> streamByLeagueId(Long leagueId);
+
+    /**
+     * Puntos de cada usuario con equipo en una liga.
+     */
+    interface UserPoints {
+        Long getUserId();
+
+        double getPoints();
+    }
+
+    /**
+     * Suma en una sola consulta los puntos de cada usuario con equipo en una liga en los partidos
+     * que aún no están finalizados, según el rol que ocupa cada jugador en el equipo. Los partidos
+     * finalizados ya están incluidos en la clasificación guardada.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Los puntos de cada usuario con equipo en la liga.
+     */
+    @Query(value = "SELECT rp.user_id AS userId, COALESCE(SUM(CASE WHEN rp.role = 'PORTERO' THEN s.total_goalkeeper_points ELSE s.total_field_points END), 0) AS points " +
+            "FROM roster_players rp LEFT JOIN player_match_stats s ON s.player_id = rp.player_id " +
+            "AND s.match_id IN (SELECT m.id FROM matches m WHERE m.league_id = :leagueId AND m.finalized = FALSE) " +
+            "WHERE rp.league_id = :leagueId GROUP BY rp.user_id", nativeQuery = true)
+    List<UserPoints> sumOpenMatchPointsByUser(Long leagueId);
+
+    /**
+     * Puntos de un usuario en una liga.
+     */
+    interface LeagueUserPoints extends UserPoints {
+        Long getLeagueId();
+    }
+
+    /**
+     * Igual que {@link #sumOpenMatchPointsByUser(Long)}, pero para varias ligas en una sola consulta.
+     *
+     * @param leagueIds Los IDs de las ligas.
+     * @return Los puntos de cada usuario con equipo en cada liga.
+     */
+    @Query(value = "SELECT rp.league_id AS leagueId, rp.user_id AS userId, COALESCE(SUM(CASE WHEN m.id IS NULL THEN 0 WHEN rp.role = 'PORTERO' THEN s.total_goalkeeper_points ELSE s.total_field_points END), 0) AS points " +
+            "FROM roster_players rp LEFT JOIN player_match_stats s ON s.player_id = rp.player_id " +
+            "LEFT JOIN matches m ON m.id = s.match_id AND m.league_id = rp.league_id AND m.finalized = FALSE " +
+            "WHERE rp.league_id IN (:leagueIds) GROUP BY rp.league_id, rp.user_id", nativeQuery = true)
+    List<LeagueUserPoints> sumOpenMatchPointsByLeagueAndUser(Collection<Long> leagueIds);
+}
@@ -3,6 +3,8 @@ package com.fantasycolegas.fantasy_colegas_backend.repository;
 import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,16 +17,41 @@ import java.util.List;
  * Repositorio para la entidad {@link ScoringRule}.
  * <p>
  * Proporciona métodos para interactuar con la base de datos para la gestión
- * de las reglas de puntuación.
+ * de las reglas de puntuación, tanto las de cada liga como las reglas por defecto.
  * </p>
  */
 @Repository
 public interface ScoringRuleRepository extends JpaRepository<ScoringRule, Long> {
+
     /**
-     * Busca todas las reglas de puntuación que se aplican a un rol de jugador específico.
+     * Busca las reglas de puntuación propias de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Las reglas de la liga, en orden de ID.
+     */
+    List<ScoringRule> findAllByLeagueIdOrderByIdAsc(Long leagueId);
+
+    /**
+     * Busca las reglas de puntuación por defecto.
+     *
+     * @return Las reglas sin liga, en orden de ID.
+     */
+    List<ScoringRule> findAllByLeagueIdIsNullOrderByIdAsc();
+
+    /**
+     * Busca las reglas de puntuación por defecto que se aplican a un rol de jugador específico.
      *
      * @param role El rol del jugador (ej. PORTERO o CAMPO).
-     * @return Una lista de reglas de puntuación para el rol dado.
+     * @return Una lista de reglas de puntuación por defecto para el rol dado.
+     */
+    List<ScoringRule> findAllByLeagueIdIsNullAndRole(PlayerTeamRole role);
+
+    /**
+     * Borra las reglas de puntuación propias de una liga.
+     *
+     * @param leagueId El ID de la liga.
      */
-    List<ScoringRule> findAllByRole(PlayerTeamRole role);
-}
\ No newline at end of file
+    @Modifying
+    @Query("DELETE FROM ScoringRule r WHERE r.leagueId = :leagueId")
+    void deleteByLeagueId(Long leagueId);
+}
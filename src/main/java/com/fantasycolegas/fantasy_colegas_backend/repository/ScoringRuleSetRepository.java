@@ -0,0 +1,17 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRuleSet;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link ScoringRuleSet}.
+ * </p>
+ */
+@Repository
+public interface ScoringRuleSetRepository extends JpaRepository<ScoringRuleSet, Long> {
+}
@@ -0,0 +1,28 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.TransferBid;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link TransferBid}.
+ * </p>
+ */
+@Repository
+public interface TransferBidRepository extends JpaRepository<TransferBid, Long> {
+
+    /**
+     * Borra las pujas de las ventas de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Modifying
+    @Query("DELETE FROM TransferBid b WHERE b.listingId IN (SELECT t.id FROM TransferListing t WHERE t.leagueId = :leagueId)")
+    void deleteByLeagueId(Long leagueId);
+}
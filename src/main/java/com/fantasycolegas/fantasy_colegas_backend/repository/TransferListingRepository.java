@@ -0,0 +1,82 @@
+package com.fantasycolegas.fantasy_colegas_backend.repository;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.TransferListing;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.TransferStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Repositorio para la entidad {@link TransferListing}.
+ * </p>
+ */
+@Repository
+public interface TransferListingRepository extends JpaRepository<TransferListing, Long> {
+
+    /**
+     * Busca una venta de una liga.
+     *
+     * @param id       El ID de la venta.
+     * @param leagueId El ID de la liga.
+     * @return Un {@link Optional} con la venta, si existe y es de la liga.
+     */
+    Optional<TransferListing> findByIdAndLeagueId(Long id, Long leagueId);
+
+    /**
+     * Obtiene las ventas de una liga en un estado, de la que cierra antes a la que cierra después.
+     *
+     * @param leagueId El ID de la liga.
+     * @param status   El estado de las ventas.
+     * @return Las ventas.
+     */
+    List<TransferListing> findByLeagueIdAndStatusOrderByDeadlineAscIdAsc(Long leagueId, TransferStatus status);
+
+    /**
+     * Comprueba si un usuario tiene abierta una venta de un jugador.
+     *
+     * @param leagueId     El ID de la liga.
+     * @param sellerId     El ID del vendedor.
+     * @param openPlayerId El ID del jugador.
+     * @return {@code true} si la venta existe y está abierta.
+     */
+    boolean existsByLeagueIdAndSellerIdAndOpenPlayerId(Long leagueId, Long sellerId, Long openPlayerId);
+
+    /**
+     * Obtiene los IDs de las ventas abiertas cuya fecha límite ya ha pasado, de la más antigua a la más reciente.
+     *
+     * @param now   El momento actual.
+     * @param limit El número máximo de ventas.
+     * @return Los IDs de las ventas que hay que liquidar.
+     */
+    @Query("SELECT t.id FROM TransferListing t WHERE t.status = com.fantasycolegas.fantasy_colegas_backend.model.enums.TransferStatus.OPEN AND t.deadline <= :now ORDER BY t.deadline, t.id")
+    List<Long> findExpiredIds(LocalDateTime now, Limit limit);
+
+    /**
+     * Suma las pujas con las que un usuario va ganando ventas abiertas, que ya están descontadas de su presupuesto.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @return La suma de las pujas.
+     */
+    @Query("SELECT COALESCE(SUM(t.highestBid), 0) FROM TransferListing t WHERE t.leagueId = :leagueId AND t.highestBidderId = :userId AND t.status = com.fantasycolegas.fantasy_colegas_backend.model.enums.TransferStatus.OPEN")
+    long sumLeadingBids(Long leagueId, Long userId);
+
+    /**
+     * Borra las ventas de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Modifying
+    @Query("DELETE FROM TransferListing t WHERE t.leagueId = :leagueId")
+    void deleteByLeagueId(Long leagueId);
+}
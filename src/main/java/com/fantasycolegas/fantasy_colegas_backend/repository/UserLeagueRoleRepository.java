@@ -3,7 +3,11 @@ package com.fantasycolegas.fantasy_colegas_backend.repository;
 import com.fantasycolegas.fantasy_colegas_backend.model.UserLeagueRole;
 import com.fantasycolegas.fantasy_colegas_backend.model.UserLeagueRoleId;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueRole;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -23,6 +27,33 @@ import java.util.Optional;
 @Repository
 public interface UserLeagueRoleRepository extends JpaRepository<UserLeagueRole, UserLeagueRoleId> {
 
+    /**
+     * Proyección con el resumen de una liga y el rol de un usuario en ella.
+     */
+    interface Membership {
+        Long getLeagueId();
+
+        String getName();
+
+        String getImage();
+
+        int getMemberCount();
+
+        int getTeamSize();
+
+        LeagueRole getRole();
+    }
+
+    /**
+     * Busca en una sola consulta todas las ligas de un usuario con su rol, ordenadas por nombre.
+     *
+     * @param userId El ID del usuario.
+     * @return Las ligas del usuario.
+     */
+    @Query("SELECT l.id AS leagueId, l.name AS name, l.image AS image, l.memberCount AS memberCount, l.teamSize AS teamSize, r.role AS role " +
+            "FROM UserLeagueRole r JOIN r.league l WHERE r.user.id = :userId ORDER BY l.name, l.id")
+    List<Membership> findMembershipsByUserId(Long userId);
+
     /**
      * Busca todos los roles de los usuarios que pertenecen a una liga específica.
      *
@@ -31,6 +62,15 @@ public interface UserLeagueRoleRepository extends JpaRepository<UserLeagueRole,
      */
     List<UserLeagueRole> findAllByLeagueId(Long leagueId);
 
+    /**
+     * Obtiene solo los IDs de los usuarios que pertenecen a una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Los IDs de los miembros de la liga.
+     */
+    @Query("SELECT r.user.id FROM UserLeagueRole r WHERE r.league.id = :leagueId")
+    List<Long> findUserIdsByLeagueId(Long leagueId);
+
     /**
      * Verifica si un usuario con un ID dado existe en una liga específica.
      *
@@ -49,6 +89,51 @@ public interface UserLeagueRoleRepository extends JpaRepository<UserLeagueRole,
      */
     Optional<UserLeagueRole> findByLeagueIdAndUserId(Long leagueId, Long userId);
 
+    /**
+     * Busca el rol de un usuario en una liga y bloquea la fila hasta el final de la transacción.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @return Un {@link Optional} con el rol, si el usuario pertenece a la liga.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM UserLeagueRole r WHERE r.league.id = :leagueId AND r.user.id = :userId")
+    Optional<UserLeagueRole> findByLeagueIdAndUserIdForUpdate(Long leagueId, Long userId);
+
+    /**
+     * Obtiene el presupuesto de un usuario en el mercado de fichajes de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @return Un {@link Optional} con el presupuesto, si el usuario pertenece a la liga.
+     */
+    @Query("SELECT r.budget FROM UserLeagueRole r WHERE r.id.leagueId = :leagueId AND r.id.userId = :userId")
+    Optional<Long> findBudget(Long leagueId, Long userId);
+
+    /**
+     * Descuenta una cantidad del presupuesto de un usuario solo si le alcanza, en una sola sentencia.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @param amount   La cantidad.
+     * @return 1 si se ha descontado, 0 si no pertenece a la liga o no tiene presupuesto suficiente.
+     */
+    @Modifying
+    @Query("UPDATE UserLeagueRole r SET r.budget = r.budget - :amount WHERE r.id.leagueId = :leagueId AND r.id.userId = :userId AND r.budget >= :amount")
+    int withdraw(Long leagueId, Long userId, long amount);
+
+    /**
+     * Suma una cantidad al presupuesto de un usuario.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @param amount   La cantidad.
+     * @return 1 si se ha sumado, 0 si el usuario ya no pertenece a la liga.
+     */
+    @Modifying
+    @Query("UPDATE UserLeagueRole r SET r.budget = r.budget + :amount WHERE r.id.leagueId = :leagueId AND r.id.userId = :userId")
+    int deposit(Long leagueId, Long userId, long amount);
+
     /**
      * Cuenta el número de usuarios con un rol específico en una liga.
      *
@@ -0,0 +1,169 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Reglas de puntuación de una liga compiladas para aplicarlas sin consultar la base de datos.
+ * <p>
+ * Las reglas lineales de cada rol se reducen a un vector de pesos con una posición por estadística, en el orden de
+ * {@link PointsCalculationService#STATS}; varias reglas de la misma estadística suman sus puntos por unidad
+ * y las estadísticas desconocidas se ignoran. Las reglas con expresión ({@link ScoringExpression}) se compilan
+ * aparte y suman sus puntos por unidad multiplicados por el valor de la expresión. Calcular los puntos de un
+ * jugador es entonces un producto escalar de sus contadores por el vector de su rol más las expresiones de ese rol,
+ * si las hay. Las instancias son inmutables y se comparten entre hilos.
+ * </p>
+ *
+ * @param version           La versión del conjunto de reglas de la liga; 0 para las reglas por defecto.
+ * @param fieldWeights      Los puntos por unidad de cada estadística para los jugadores de campo.
+ * @param goalkeeperWeights Los puntos por unidad de cada estadística para los porteros.
+ * @param fieldTerms        Las reglas con expresión de los jugadores de campo.
+ * @param goalkeeperTerms   Las reglas con expresión de los porteros.
+ */
+public record CompiledScoringRules(long version, double[] fieldWeights, double[] goalkeeperWeights, Term[] fieldTerms, Term[] goalkeeperTerms) {
+
+    /**
+     * Una regla con expresión compilada.
+     *
+     * @param pointsPerUnit Los puntos por cada unidad del valor de la expresión.
+     * @param expression    La expresión compilada.
+     */
+    public record Term(double pointsPerUnit, ScoringExpression.Evaluator expression) {
+    }
+
+    /**
+     * Compila unas reglas de puntuación.
+     *
+     * @param version La versión del conjunto de reglas.
+     * @param rules   Las reglas de todos los roles.
+     * @return Las reglas compiladas.
+     * @throws IllegalArgumentException Si alguna expresión no es válida.
+     */
+    public static CompiledScoringRules compile(long version, List<ScoringRule> rules) {
+        double[] field = new double[PointsCalculationService.STATS.size()];
+        double[] goalkeeper = new double[PointsCalculationService.STATS.size()];
+        List<Term> fieldTerms = new ArrayList<>();
+        List<Term> goalkeeperTerms = new ArrayList<>();
+        for (ScoringRule rule : rules) {
+            boolean isGoalkeeper = rule.getRole() == PlayerTeamRole.PORTERO;
+            if (rule.getExpression() != null) {
+                (isGoalkeeper ? goalkeeperTerms : fieldTerms).add(new Term(rule.getPointsPerUnit(), ScoringExpression.compile(rule.getExpression())));
+                continue;
+            }
+            int index = PointsCalculationService.STATS.indexOf(rule.getStatName());
+            if (index >= 0) {
+                (isGoalkeeper ? goalkeeper : field)[index] += rule.getPointsPerUnit();
+            }
+        }
+        return new CompiledScoringRules(version, field, goalkeeper, fieldTerms.toArray(Term[]::new), goalkeeperTerms.toArray(Term[]::new));
+    }
+
+    /**
+     * Indica si todas las reglas son lineales, es decir, si los puntos de cada contador no dependen de los demás.
+     * Solo entonces valen {@link #pointsPerUnit} y {@link #nonZeroWeights}.
+     *
+     * @return {@code true} si no hay reglas con expresión.
+     */
+    public boolean isLinear() {
+        return fieldTerms.length == 0 && goalkeeperTerms.length == 0;
+    }
+
+    /**
+     * Calcula los puntos de unas estadísticas para un rol.
+     *
+     * @param stats Las estadísticas del jugador en el partido.
+     * @param role  El rol del jugador.
+     * @return Los puntos totales.
+     */
+    public double points(PlayerMatchStatsUpdateDto stats, PlayerTeamRole role) {
+        return points(values(stats), role);
+    }
+
+    /**
+     * Calcula los puntos de unos contadores para un rol.
+     *
+     * @param stats Los contadores, en el orden de {@link PointsCalculationService#STATS}.
+     * @param role  El rol del jugador.
+     * @return Los puntos totales.
+     */
+    public double points(int[] stats, PlayerTeamRole role) {
+        double[] weights = weights(role);
+        double total = 0.0;
+        for (int i = 0; i < stats.length; i++) {
+            total += stats[i] * weights[i];
+        }
+        for (Term term : role == PlayerTeamRole.PORTERO ? goalkeeperTerms : fieldTerms) {
+            total += term.pointsPerUnit() * term.expression().evaluate(stats);
+        }
+        return total;
+    }
+
+    /**
+     * Calcula cuánto cambian los puntos de un rol al sumar una cantidad a un contador.
+     *
+     * @param before   Los contadores antes del cambio; solo hacen falta si las reglas no son lineales.
+     * @param statName El nombre de la estadística que cambia.
+     * @param amount   La cantidad que se suma.
+     * @param role     El rol del jugador.
+     * @return La diferencia de puntos.
+     */
+    public double pointsDelta(int[] before, String statName, int amount, PlayerTeamRole role) {
+        if (isLinear()) {
+            return amount * pointsPerUnit(statName, role);
+        }
+        int[] after = before.clone();
+        after[PointsCalculationService.STATS.indexOf(statName)] += amount;
+        return points(after, role) - points(before, role);
+    }
+
+    /**
+     * Obtiene los puntos que vale una unidad de una estadística para un rol en las reglas lineales.
+     *
+     * @param statName El nombre de la estadística.
+     * @param role     El rol del jugador.
+     * @return Los puntos por unidad, o 0 si la estadística no puntúa o no existe.
+     */
+    public double pointsPerUnit(String statName, PlayerTeamRole role) {
+        int index = PointsCalculationService.STATS.indexOf(statName);
+        return index < 0 ? 0.0 : weights(role)[index];
+    }
+
+    /**
+     * Obtiene los pesos distintos de 0 de un rol por nombre de estadística, para construir
+     * sentencias que recalculan los puntos de muchas filas a la vez.
+     *
+     * @param role El rol del jugador.
+     * @return Los puntos por unidad de cada estadística que puntúa, en el orden de {@link PointsCalculationService#STATS}.
+     */
+    public Map<String, Double> nonZeroWeights(PlayerTeamRole role) {
+        double[] weights = weights(role);
+        Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < weights.length; i++) {
+            if (weights[i] != 0.0) {
+                result.put(PointsCalculationService.STATS.get(i), weights[i]);
+            }
+        }
+        return result;
+    }
+
+    private double[] weights(PlayerTeamRole role) {
+        return role == PlayerTeamRole.PORTERO ? goalkeeperWeights : fieldWeights;
+    }
+
+    /**
+     * Contadores de unas estadísticas en el orden de {@link PointsCalculationService#STATS}.
+     */
+    private static int[] values(PlayerMatchStatsUpdateDto s) {
+        return new int[]{s.getGolesMarcados(), s.getFallosClarosDeGol(), s.getAsistencias(), s.getGolesEncajadosComoPortero(), s.getParadasComoPortero(), s.getCesionesConcedidas(), s.getFaltasCometidas(), s.getFaltasRecibidas(), s.getPenaltisRecibidos(), s.getPenaltisCometidos(), s.getPasesAcertados(), s.getPasesFallados(), s.getRobosDeBalon(), s.getTirosCompletados(), s.getTirosEntreLosTresPalos(), s.getTiempoJugado(), s.getTarjetasAmarillas(), s.getTarjetasRojas()};
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * @author Juan Francisco Carceles
@@ -31,7 +32,8 @@ public class CustomUserDetailsService implements UserDetailsService {
      * <p>
      * Este método es crucial para el proceso de autenticación de Spring Security.
      * Busca un usuario en la base de datos y, si lo encuentra, crea un objeto
-     * {@link CustomUserDetails} para la sesión.
+     * {@link CustomUserDetails} para la sesión. Se ejecuta en una transacción de solo lectura porque el filtro JWT
+     * lo llama antes de que se abra la sesión de la petición y los roles del usuario se cargan de forma perezosa.
      * </p>
      *
      * @param usernameOrEmail El nombre de usuario o correo electrónico del usuario.
@@ -40,6 +42,7 @@ public class CustomUserDetailsService implements UserDetailsService {
      *                                   o correo electrónico proporcionado.
      */
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String usernameOrEmail) throws UsernameNotFoundException {
         User user = userRepository.findByUsernameOrEmail(usernameOrEmail, usernameOrEmail).orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + usernameOrEmail));
 
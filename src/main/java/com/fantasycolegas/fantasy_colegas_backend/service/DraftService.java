@@ -0,0 +1,492 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.DraftPickDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.DraftStateDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.RosterChangedEvent;
+import com.fantasycolegas.fantasy_colegas_backend.model.Draft;
+import com.fantasycolegas.fantasy_colegas_backend.model.DraftPick;
+import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerSeasonStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.DraftStatus;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.*;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio de los drafts en serpiente de las ligas.
+ * <p>
+ * Un administrador inicia el draft con los miembros de la liga en orden aleatorio; se hacen tantas rondas como
+ * el tamaño de equipo y las rondas impares van en orden inverso. Cada jugador solo puede ser elegido una vez y
+ * cada equipo acaba con exactamente un portero. Si un turno se agota, se elige automáticamente al mejor jugador
+ * disponible según sus puntos de temporada. Al hacerse la última elección, los equipos elegidos sustituyen a los
+ * equipos de los miembros, y los jugadores elegidos salen de los equipos de quienes hayan entrado en la liga
+ * durante el draft, ya que un jugador solo puede estar en un equipo de la liga.
+ * <p>
+ * El estado de cada draft en curso vive en memoria como un {@link DraftState} inmutable dentro de una
+ * {@link AtomicReference}, así que las consultas y las validaciones no bloquean ni van a la base de datos. Cada
+ * elección se añade primero al diario ({@link DraftPick}), cuyas restricciones únicas dejan pasar una sola elección
+ * por turno y por jugador; solo la que se confirma avanza el estado, con una comparación e intercambio. Al arrancar,
+ * los drafts en curso se reconstruyen desde el diario.
+ * <p>
+ * Los turnos se vigilan con un único hilo temporizador para todos los drafts, que delega las elecciones
+ * automáticas en hilos virtuales, y las elecciones se envían a los miembros conectados por SSE.
+ * </p>
+ */
+@Service
+public class DraftService {
+
+    private static final Logger log = LoggerFactory.getLogger(DraftService.class);
+
+    private static final String INSERT_ROSTER_SQL = "INSERT INTO roster_players (user_id, league_id, player_id, unique_player_id, role) VALUES (?, ?, ?, ?, ?)";
+
+    /**
+     * Espera antes de reintentar una elección automática que ha fallado.
+     */
+    private static final Duration RETRY_DELAY = Duration.ofSeconds(5);
+
+    /**
+     * El temporizador de un draft y la elección que vigila.
+     */
+    private record Timer(int pickNumber, ScheduledFuture<?> future) {
+    }
+
+    private final Map<Long, AtomicReference<DraftState>> rooms = new ConcurrentHashMap<>();
+    private final Map<Long, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+    private final Map<Long, CompletableFuture<Void>> deliveries = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().name("draft-timer").daemon(true).factory());
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("draft-", 0).factory());
+
+    private final DraftRepository draftRepository;
+    private final DraftPickRepository draftPickRepository;
+    private final LeagueRepository leagueRepository;
+    private final UserLeagueRoleRepository userLeagueRoleRepository;
+    private final PlayerRepository playerRepository;
+    private final RosterPlayerRepository rosterPlayerRepository;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final LeagueVersionService leagueVersionService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration sseTimeout;
+
+    public DraftService(DraftRepository draftRepository, DraftPickRepository draftPickRepository, LeagueRepository leagueRepository, UserLeagueRoleRepository userLeagueRoleRepository, PlayerRepository playerRepository, RosterPlayerRepository rosterPlayerRepository, PlayerSeasonStatsService playerSeasonStatsService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, LeagueVersionService leagueVersionService, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager, @Value("${app.draft.sse-timeout:PT30M}") Duration sseTimeout) {
+        this.draftRepository = draftRepository;
+        this.draftPickRepository = draftPickRepository;
+        this.leagueRepository = leagueRepository;
+        this.userLeagueRoleRepository = userLeagueRoleRepository;
+        this.playerRepository = playerRepository;
+        this.rosterPlayerRepository = rosterPlayerRepository;
+        this.playerSeasonStatsService = playerSeasonStatsService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.leagueVersionService = leagueVersionService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sseTimeout = sseTimeout;
+    }
+
+    /**
+     * Inicia el draft de una liga con sus miembros actuales en orden aleatorio.
+     *
+     * @param leagueId    El ID de la liga.
+     * @param pickSeconds El tiempo de cada turno, en segundos.
+     * @return Un {@link DraftStateDto} con el estado inicial del draft.
+     * @throws ResponseStatusException Si la liga no existe, ya tiene un draft en curso o no tiene jugadores suficientes.
+     */
+    public DraftStateDto startDraft(Long leagueId, int pickSeconds) {
+        DraftState state = transactionTemplate.execute(status -> {
+            League league = leagueRepository.findByIdForUpdate(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
+            Draft draft = draftRepository.findById(leagueId).orElse(null);
+            if (draft != null && draft.getStatus() == DraftStatus.IN_PROGRESS) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Ya hay un draft en curso en esta liga.");
+            }
+
+            List<Long> members = new ArrayList<>(userLeagueRoleRepository.findUserIdsByLeagueId(leagueId));
+            Collections.shuffle(members);
+            long available = playerRepository.findIdsByLeagueIdAndIsPlaceholderFalse(leagueId).size();
+            long needed = (long) members.size() * league.getTeamSize();
+            if (available < needed) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La liga necesita al menos " + needed + " jugadores para el draft y tiene " + available + ".");
+            }
+
+            if (draft == null) {
+                draft = new Draft();
+                draft.setLeagueId(leagueId);
+            } else {
+                draftPickRepository.deleteByLeagueId(leagueId);
+            }
+            draft.setStatus(DraftStatus.IN_PROGRESS);
+            draft.setPickOrder(members.stream().map(String::valueOf).collect(Collectors.joining(",")));
+            draft.setRounds(league.getTeamSize());
+            draft.setPickSeconds(pickSeconds);
+            draft.setStartedAt(LocalDateTime.now());
+            draft.setCompletedAt(null);
+            draftRepository.save(draft);
+            return buildState(draft, List.of());
+        });
+
+        AtomicReference<DraftState> room = new AtomicReference<>(state);
+        rooms.put(leagueId, room);
+        schedule(leagueId, state.pickNumber(), state.deadline());
+        broadcast(leagueId, "state", state.toDto());
+        return state.toDto();
+    }
+
+    /**
+     * Obtiene el estado del draft de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link DraftStateDto} con el estado del draft.
+     * @throws ResponseStatusException Si la liga no tiene draft.
+     */
+    public DraftStateDto getDraft(Long leagueId) {
+        AtomicReference<DraftState> room = rooms.get(leagueId);
+        if (room != null) {
+            return room.get().toDto();
+        }
+        return transactionTemplate.execute(status -> {
+            Draft draft = draftRepository.findById(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Esta liga no tiene draft."));
+            List<DraftPick> picks = draftPickRepository.findByLeagueIdOrderByPickNumberAsc(leagueId);
+            if (draft.getStatus() == DraftStatus.IN_PROGRESS) {
+                return install(buildState(draft, picks)).toDto();
+            }
+            return new DraftStateDto(leagueId, draft.getStatus(), parseOrder(draft.getPickOrder()), draft.getRounds(), draft.getPickSeconds(), picks.size(), null, null, picks.stream().map(DraftService::mapToDto).toList());
+        });
+    }
+
+    /**
+     * Elige un jugador en el turno del usuario.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @param playerId El ID del jugador elegido.
+     * @param role     El rol del jugador en el equipo.
+     * @return Un {@link DraftStateDto} con el estado tras la elección.
+     * @throws ResponseStatusException Si no hay draft en curso, no es el turno del usuario, el jugador no está
+     *                                 disponible o el rol no es el que necesita el equipo.
+     */
+    public DraftStateDto pick(Long leagueId, Long userId, Long playerId, PlayerTeamRole role) {
+        AtomicReference<DraftState> room = rooms.get(leagueId);
+        if (room == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No hay ningún draft en curso en esta liga.");
+        }
+        DraftState state = room.get();
+        if (state.isCompleted()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El draft ya ha terminado.");
+        }
+        if (!userId.equals(state.currentUser())) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "No es tu turno.");
+        }
+        if (!state.isAvailable(playerId)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El jugador no está disponible en el draft.");
+        }
+        PlayerTeamRole required = state.requiredRole(userId);
+        if (required != null && role != required) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, required == PlayerTeamRole.PORTERO ? "Tu equipo necesita un portero en esta elección." : "Tu equipo ya tiene portero.");
+        }
+        return commit(room, state, new DraftPickDto(state.pickNumber(), userId, playerId, role, false)).toDto();
+    }
+
+    /**
+     * Suscribe a un miembro a las elecciones del draft de una liga. Nada más suscribirse recibe un evento
+     * {@code state} con el estado actual; después, un evento {@code pick} por cada elección y otro {@code state}
+     * con el estado resultante. Los eventos llevan el número de elección, así que el cliente puede descartar un
+     * estado más antiguo que el que ya tiene.
+     *
+     * @param leagueId El ID de la liga.
+     * @return El {@link SseEmitter} de la suscripción.
+     */
+    public SseEmitter subscribe(Long leagueId) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        emitters.compute(leagueId, (id, list) -> {
+            List<SseEmitter> subscribers = list != null ? list : new CopyOnWriteArrayList<>();
+            subscribers.add(emitter);
+            return subscribers;
+        });
+        Runnable remove = () -> emitters.computeIfPresent(leagueId, (id, list) -> {
+            list.remove(emitter);
+            return list.isEmpty() ? null : list;
+        });
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        AtomicReference<DraftState> room = rooms.get(leagueId);
+        if (room != null) {
+            DraftStateDto state = room.get().toDto();
+            executor.execute(() -> send(leagueId, emitter, "state", state));
+        }
+        return emitter;
+    }
+
+    /**
+     * Borra el draft de una liga que se va a eliminar. Debe llamarse dentro de la transacción que la elimina;
+     * el estado en memoria, el temporizador y las suscripciones se cierran al confirmarse.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteLeague(Long leagueId) {
+        draftPickRepository.deleteByLeagueId(leagueId);
+        draftRepository.findById(leagueId).ifPresent(draftRepository::delete);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                close(leagueId);
+            }
+        });
+    }
+
+    /**
+     * Reconstruye desde el diario los drafts que estaban en curso. El turno actual de cada uno vuelve a empezar.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        List<DraftState> recovered = transactionTemplate.execute(status -> draftRepository.findAllByStatus(DraftStatus.IN_PROGRESS).stream()
+                .map(draft -> buildState(draft, draftPickRepository.findByLeagueIdOrderByPickNumberAsc(draft.getLeagueId())))
+                .toList());
+        recovered.forEach(this::install);
+        if (!recovered.isEmpty()) {
+            log.info("Recuperados {} drafts en curso.", recovered.size());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        executor.shutdown();
+    }
+
+    /**
+     * Añade una elección al diario y, si se confirma, avanza el estado en memoria.
+     */
+    private DraftState commit(AtomicReference<DraftState> room, DraftState expected, DraftPickDto pick) {
+        DraftState next = expected.withPick(pick, Instant.now().plusSeconds(expected.pickSeconds()));
+        try {
+            transactionTemplate.executeWithoutResult(status -> append(next, pick));
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El turno ya se ha resuelto o el jugador ya ha sido elegido.");
+        }
+
+        Long leagueId = next.leagueId();
+        if (!room.compareAndSet(expected, next)) {
+            // Solo quien escribe la elección en el diario puede avanzar desde este estado; si ha cambiado, el draft
+            // se ha reiniciado o borrado mientras tanto y el diario manda.
+            log.warn("El estado en memoria del draft de la liga {} no coincide con el diario; se reconstruirá desde el diario.", leagueId);
+            rooms.remove(leagueId, room);
+            return next;
+        }
+        broadcast(leagueId, "pick", pick);
+        broadcast(leagueId, "state", next.toDto());
+        if (next.isCompleted()) {
+            rooms.remove(leagueId, room);
+            Timer timer = timers.remove(leagueId);
+            if (timer != null) {
+                timer.future().cancel(false);
+            }
+        } else {
+            schedule(leagueId, next.pickNumber(), next.deadline());
+        }
+        return next;
+    }
+
+    /**
+     * Guarda una elección. Si es la última, completa el draft y sustituye los equipos de los miembros.
+     */
+    private void append(DraftState next, DraftPickDto pick) {
+        DraftPick entry = new DraftPick();
+        entry.setLeagueId(next.leagueId());
+        entry.setPickNumber(pick.getPickNumber());
+        entry.setUserId(pick.getUserId());
+        entry.setPlayerId(pick.getPlayerId());
+        entry.setRole(pick.getRole());
+        entry.setAuto(pick.isAuto());
+        entry.setCreatedAt(LocalDateTime.now());
+        draftPickRepository.save(entry);
+        if (next.isCompleted()) {
+            complete(next);
+        }
+    }
+
+    private void complete(DraftState state) {
+        Long leagueId = state.leagueId();
+        // Quien entra en la liga mientras tanto bloquea la liga al sumarse como miembro y recibe un equipo de
+        // jugadores libres: se espera a que termine para que sus jugadores se vean abajo.
+        leagueRepository.findByIdForUpdate(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
+        Draft draft = draftRepository.findById(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Esta liga no tiene draft."));
+        draft.setStatus(DraftStatus.COMPLETED);
+        draft.setCompletedAt(LocalDateTime.now());
+
+        Set<Long> members = new HashSet<>(userLeagueRoleRepository.findUserIdsByLeagueId(leagueId));
+        Set<Long> drafted = new LinkedHashSet<>();
+        List<Object[]> rows = new ArrayList<>();
+        for (DraftPickDto pick : state.picks()) {
+            if (members.contains(pick.getUserId())) {
+                drafted.add(pick.getUserId());
+                rows.add(new Object[]{pick.getUserId(), leagueId, pick.getPlayerId(), pick.getPlayerId(), pick.getRole().name()});
+            }
+        }
+        drafted.forEach(userId -> rosterPlayerRepository.deleteByUserIdAndLeagueId(userId, leagueId));
+        rosterPlayerRepository.flush();
+
+        // Un jugador solo puede estar en un equipo de la liga: los elegidos salen de los equipos de los miembros
+        // que han entrado después de empezar el draft.
+        List<Long> pickedIds = rows.stream().map(row -> (Long) row[2]).toList();
+        List<RosterPlayer> released = pickedIds.isEmpty() ? List.of() : rosterPlayerRepository.findByLeagueIdAndUniquePlayerIdIn(leagueId, pickedIds);
+        Set<Long> changed = new LinkedHashSet<>(drafted);
+        if (!released.isEmpty()) {
+            Player placeholder = playerRepository.findByIsPlaceholderTrue().orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "El jugador vacío no se encuentra en la base de datos."));
+            for (RosterPlayer slot : released) {
+                slot.setPlayer(placeholder);
+                changed.add(slot.getUser().getId());
+            }
+            rosterPlayerRepository.saveAllAndFlush(released);
+        }
+        jdbcTemplate.batchUpdate(INSERT_ROSTER_SQL, rows);
+
+        for (Long userId : changed) {
+            leagueChangeService.record(leagueId, LeagueChangeType.ROSTER_CHANGED, userId, null, null, "DRAFT");
+            domainEventBus.publish(new RosterChangedEvent(leagueId, userId));
+            leagueVersionService.rosterChanged(leagueId, userId);
+        }
+    }
+
+    private void timeout(Long leagueId, int pickNumber) {
+        AtomicReference<DraftState> room = rooms.get(leagueId);
+        if (room == null) {
+            return;
+        }
+        DraftState state = room.get();
+        if (state.isCompleted() || state.pickNumber() != pickNumber) {
+            return;
+        }
+        try {
+            commit(room, state, state.autoPick());
+        } catch (ResponseStatusException e) {
+            log.debug("Elección automática {} del draft de la liga {} descartada: {}", pickNumber, leagueId, e.getReason());
+        } catch (RuntimeException e) {
+            log.warn("No se pudo hacer la elección automática {} del draft de la liga {}; se reintentará.", pickNumber, leagueId, e);
+            schedule(leagueId, pickNumber, Instant.now().plus(RETRY_DELAY));
+        }
+    }
+
+    /**
+     * Programa el final de un turno. Si ya hay un temporizador para una elección posterior, se mantiene ese.
+     */
+    private void schedule(Long leagueId, int pickNumber, Instant deadline) {
+        long delay = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+        ScheduledFuture<?> future = scheduler.schedule(() -> executor.execute(() -> timeout(leagueId, pickNumber)), delay, TimeUnit.MILLISECONDS);
+        Timer timer = new Timer(pickNumber, future);
+        timers.merge(leagueId, timer, (current, candidate) -> {
+            Timer stale = candidate.pickNumber() >= current.pickNumber() ? current : candidate;
+            stale.future().cancel(false);
+            return stale == current ? candidate : current;
+        });
+    }
+
+    private DraftState install(DraftState state) {
+        AtomicReference<DraftState> room = rooms.computeIfAbsent(state.leagueId(), id -> new AtomicReference<>(state));
+        DraftState installed = room.get();
+        schedule(installed.leagueId(), installed.pickNumber(), installed.deadline());
+        return installed;
+    }
+
+    private void close(Long leagueId) {
+        rooms.remove(leagueId);
+        deliveries.remove(leagueId);
+        Timer timer = timers.remove(leagueId);
+        if (timer != null) {
+            timer.future().cancel(false);
+        }
+        List<SseEmitter> subscribers = emitters.remove(leagueId);
+        if (subscribers != null) {
+            subscribers.forEach(SseEmitter::complete);
+        }
+    }
+
+    /**
+     * Envía un evento a los suscriptores de una liga. Los envíos de cada liga se encadenan en hilos virtuales, así
+     * que salen en orden y un cliente lento no retrasa a quien ha hecho la elección.
+     */
+    private void broadcast(Long leagueId, String name, Object data) {
+        if (!emitters.containsKey(leagueId)) {
+            return;
+        }
+        deliveries.compute(leagueId, (id, previous) -> (previous != null ? previous : CompletableFuture.<Void>completedFuture(null))
+                .thenRunAsync(() -> emitters.getOrDefault(id, List.of()).forEach(emitter -> send(id, emitter, name, data)), executor));
+    }
+
+    private void send(Long leagueId, SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            emitters.computeIfPresent(leagueId, (id, list) -> {
+                list.remove(emitter);
+                return list.isEmpty() ? null : list;
+            });
+        }
+    }
+
+    /**
+     * Construye el estado de un draft a partir de su diario. Los jugadores disponibles son los reales de la liga,
+     * clasificados por sus puntos de temporada como jugador de campo y como portero.
+     */
+    private DraftState buildState(Draft draft, List<DraftPick> picks) {
+        Long leagueId = draft.getLeagueId();
+        List<Long> pool = playerRepository.findIdsByLeagueIdAndIsPlaceholderFalse(leagueId);
+        Map<Long, PlayerSeasonStats> seasons = playerSeasonStatsService.findByPlayerIds(pool);
+        long[] order = parseOrder(draft.getPickOrder()).stream().mapToLong(Long::longValue).toArray();
+        Instant deadline = Instant.now().plusSeconds(draft.getPickSeconds());
+        return DraftState.of(leagueId, order, draft.getRounds(), draft.getPickSeconds(), pool.stream().mapToLong(Long::longValue).toArray(), ranking(pool, seasons, PlayerTeamRole.CAMPO), ranking(pool, seasons, PlayerTeamRole.PORTERO), picks.stream().map(DraftService::mapToDto).toList(), deadline);
+    }
+
+    private static long[] ranking(List<Long> pool, Map<Long, PlayerSeasonStats> seasons, PlayerTeamRole role) {
+        return pool.stream()
+                .sorted(Comparator.comparingDouble((Long id) -> PlayerSeasonStatsService.pointsFor(seasons.get(id), role)).reversed().thenComparing(Comparator.naturalOrder()))
+                .mapToLong(Long::longValue).toArray();
+    }
+
+    private static List<Long> parseOrder(String pickOrder) {
+        return pickOrder.isEmpty() ? List.of() : Arrays.stream(pickOrder.split(",")).map(Long::valueOf).toList();
+    }
+
+    private static DraftPickDto mapToDto(DraftPick pick) {
+        return new DraftPickDto(pick.getPickNumber(), pick.getUserId(), pick.getPlayerId(), pick.getRole(), pick.isAuto());
+    }
+}
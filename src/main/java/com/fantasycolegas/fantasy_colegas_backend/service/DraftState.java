@@ -0,0 +1,154 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.DraftPickDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.DraftStateDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.DraftStatus;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Estado inmutable del draft de una liga.
+ * <p>
+ * Cada elección produce un estado nuevo con {@link #withPick}, así que un estado se puede leer desde cualquier
+ * hilo sin bloqueos y se sustituye con una sola comparación e intercambio. Los jugadores disponibles son los
+ * reales de la liga al empezar el draft, ordenados por ID, y las clasificaciones por puntos de temporada (como
+ * jugador de campo y como portero) sirven para elegir automáticamente al mejor disponible.
+ * </p>
+ *
+ * @param leagueId     El ID de la liga.
+ * @param order        Los usuarios en el orden de la primera ronda.
+ * @param rounds       El número de rondas, igual al tamaño de equipo.
+ * @param pickSeconds  El tiempo de cada turno.
+ * @param pool         Los IDs de los jugadores que se pueden elegir, ordenados.
+ * @param byField      Los mismos IDs, de más a menos puntos como jugador de campo.
+ * @param byGoalkeeper Los mismos IDs, de más a menos puntos como portero.
+ * @param picks        Las elecciones hechas, por número de elección.
+ * @param taken        Los IDs de los jugadores ya elegidos.
+ * @param deadline     El final del turno actual, o {@code null} si el draft está completado.
+ */
+public record DraftState(Long leagueId, long[] order, int rounds, int pickSeconds, long[] pool, long[] byField, long[] byGoalkeeper,
+                         List<DraftPickDto> picks, Set<Long> taken, Instant deadline) {
+
+    /**
+     * Crea el estado de un draft a partir de las elecciones ya hechas.
+     */
+    static DraftState of(Long leagueId, long[] order, int rounds, int pickSeconds, long[] pool, long[] byField, long[] byGoalkeeper, List<DraftPickDto> picks, Instant deadline) {
+        long[] sortedPool = pool.clone();
+        Arrays.sort(sortedPool);
+        Set<Long> taken = new HashSet<>();
+        picks.forEach(pick -> taken.add(pick.getPlayerId()));
+        boolean completed = picks.size() >= order.length * rounds;
+        return new DraftState(leagueId, order, rounds, pickSeconds, sortedPool, byField, byGoalkeeper, List.copyOf(picks), Set.copyOf(taken), completed ? null : deadline);
+    }
+
+    /**
+     * @return El número total de elecciones del draft.
+     */
+    public int totalPicks() {
+        return order.length * rounds;
+    }
+
+    /**
+     * @return El número de la siguiente elección, empezando en 0.
+     */
+    public int pickNumber() {
+        return picks.size();
+    }
+
+    public boolean isCompleted() {
+        return pickNumber() >= totalPicks();
+    }
+
+    /**
+     * Usuario al que le corresponde una elección: las rondas pares recorren el orden hacia delante y las impares
+     * hacia atrás.
+     *
+     * @param pickNumber El número de la elección.
+     * @return El ID del usuario.
+     */
+    public long userAt(int pickNumber) {
+        int round = pickNumber / order.length;
+        int position = pickNumber % order.length;
+        return order[round % 2 == 0 ? position : order.length - 1 - position];
+    }
+
+    /**
+     * @return El usuario al que le toca elegir, o {@code null} si el draft está completado.
+     */
+    public Long currentUser() {
+        return isCompleted() ? null : userAt(pickNumber());
+    }
+
+    public boolean isAvailable(long playerId) {
+        return Arrays.binarySearch(pool, playerId) >= 0 && !taken.contains(playerId);
+    }
+
+    /**
+     * Rol que debe tener la siguiente elección de un usuario para que su equipo acabe con exactamente un portero.
+     *
+     * @param userId El ID del usuario.
+     * @return El rol obligatorio, o {@code null} si puede elegir cualquiera.
+     */
+    public PlayerTeamRole requiredRole(long userId) {
+        int picked = 0;
+        boolean hasGoalkeeper = false;
+        for (DraftPickDto pick : picks) {
+            if (pick.getUserId() == userId) {
+                picked++;
+                hasGoalkeeper |= pick.getRole() == PlayerTeamRole.PORTERO;
+            }
+        }
+        if (hasGoalkeeper) {
+            return PlayerTeamRole.CAMPO;
+        }
+        return picked == rounds - 1 ? PlayerTeamRole.PORTERO : null;
+    }
+
+    /**
+     * Elige automáticamente para el turno actual: el mejor jugador disponible para el rol obligatorio o, si no
+     * lo hay, como jugador de campo.
+     *
+     * @return La elección automática.
+     */
+    public DraftPickDto autoPick() {
+        long userId = currentUser();
+        PlayerTeamRole role = requiredRole(userId) == PlayerTeamRole.PORTERO ? PlayerTeamRole.PORTERO : PlayerTeamRole.CAMPO;
+        for (long playerId : role == PlayerTeamRole.PORTERO ? byGoalkeeper : byField) {
+            if (!taken.contains(playerId)) {
+                return new DraftPickDto(pickNumber(), userId, playerId, role, true);
+            }
+        }
+        throw new IllegalStateException("No quedan jugadores disponibles en el draft de la liga " + leagueId + ".");
+    }
+
+    /**
+     * Devuelve el estado tras una elección, que debe ser la siguiente.
+     *
+     * @param pick     La elección.
+     * @param deadline El final del turno siguiente.
+     * @return El nuevo estado.
+     */
+    public DraftState withPick(DraftPickDto pick, Instant deadline) {
+        List<DraftPickDto> nextPicks = new ArrayList<>(picks.size() + 1);
+        nextPicks.addAll(picks);
+        nextPicks.add(pick);
+        Set<Long> nextTaken = new HashSet<>(taken);
+        nextTaken.add(pick.getPlayerId());
+        boolean completed = nextPicks.size() >= totalPicks();
+        return new DraftState(leagueId, order, rounds, pickSeconds, pool, byField, byGoalkeeper, List.copyOf(nextPicks), Set.copyOf(nextTaken), completed ? null : deadline);
+    }
+
+    public DraftStateDto toDto() {
+        return new DraftStateDto(leagueId, isCompleted() ? DraftStatus.COMPLETED : DraftStatus.IN_PROGRESS, Arrays.stream(order).boxed().toList(), rounds, pickSeconds, pickNumber(), currentUser(), deadline, picks);
+    }
+}
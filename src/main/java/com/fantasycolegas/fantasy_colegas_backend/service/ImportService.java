@@ -0,0 +1,383 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ImportResultDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ImportRowErrorDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.StatsUpdatedEvent;
+import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueChange;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.*;
+import com.fantasycolegas.fantasy_colegas_backend.util.DataFormat;
+import com.fantasycolegas.fantasy_colegas_backend.util.ImportRowReader;
+import com.fantasycolegas.fantasy_colegas_backend.util.ImportRowReader.Row;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio de importación masiva de jugadores y estadísticas de partidos.
+ * <p>
+ * Lee el fichero de forma incremental y lo procesa en bloques de {@value #CHUNK_SIZE} filas.
+ * Cada bloque se valida contra la liga, resuelve sus jugadores con una única consulta
+ * y se guarda en su propia transacción, de modo que un error en un bloque no deshace
+ * los anteriores. Las filas inválidas no se importan y se devuelven en el resultado
+ * con su número de línea.
+ * </p>
+ */
+@Service
+public class ImportService {
+
+    static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    private static final String DEFAULT_PLAYER_IMAGE = "https://example.com/default-player.jpg";
+    private static final Set<String> STATS_KEY_COLUMNS = Set.of("matchId", "playerId", "playerName");
+    private static final Set<String> STATS_COLUMNS = Set.copyOf(PointsCalculationService.STATS);
+
+    private final LeagueRepository leagueRepository;
+    private final PlayerRepository playerRepository;
+    private final MatchRepository matchRepository;
+    private final PlayerMatchStatsRepository playerMatchStatsRepository;
+    private final PointsCalculationService pointsCalculationService;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final LeagueVersionService leagueVersionService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final LiveStatsBuffer liveStatsBuffer;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public ImportService(LeagueRepository leagueRepository, PlayerRepository playerRepository, MatchRepository matchRepository, PlayerMatchStatsRepository playerMatchStatsRepository, PointsCalculationService pointsCalculationService, ObjectMapper objectMapper, EntityManager entityManager, LeagueVersionService leagueVersionService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, PlayerSeasonStatsService playerSeasonStatsService, PlayerSearchIndex playerSearchIndex, LiveStatsBuffer liveStatsBuffer, PlatformTransactionManager transactionManager) {
+        this.leagueRepository = leagueRepository;
+        this.playerRepository = playerRepository;
+        this.matchRepository = matchRepository;
+        this.playerMatchStatsRepository = playerMatchStatsRepository;
+        this.pointsCalculationService = pointsCalculationService;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.leagueVersionService = leagueVersionService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.playerSeasonStatsService = playerSeasonStatsService;
+        this.playerSearchIndex = playerSearchIndex;
+        this.liveStatsBuffer = liveStatsBuffer;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Importa jugadores en una liga.
+     * <p>
+     * Cada fila debe tener la columna {@code name} y, opcionalmente, {@code image}.
+     * Se rechazan los nombres que ya existen en la liga o que se repiten en el fichero.
+     * </p>
+     *
+     * @param leagueId    El ID de la liga.
+     * @param inputStream El contenido del fichero.
+     * @param contentType La cabecera Content-Type de la petición.
+     * @return Un {@link ImportResultDto} con el resumen y los errores por fila.
+     * @throws IOException Si falla la lectura del fichero.
+     */
+    public ImportResultDto importPlayers(Long leagueId, InputStream inputStream, String contentType) throws IOException {
+        Set<String> namesInFile = new HashSet<>();
+        return importRows(leagueId, inputStream, contentType, (rows, result) -> importPlayerChunk(leagueId, rows, namesInFile, result));
+    }
+
+    /**
+     * Importa estadísticas de jugadores en los partidos de una liga.
+     * <p>
+     * Cada fila indica el partido ({@code matchId}), el jugador ({@code playerName} o {@code playerId})
+     * y los contadores de estadísticas con los mismos nombres que {@link PlayerMatchStatsUpdateDto}.
+     * Las filas con columnas desconocidas se rechazan en lugar de ignorar esos valores.
+     * Si el jugador ya tiene estadísticas en ese partido se sobrescriben. Los puntos se calculan
+     * con las reglas de puntuación compiladas de la liga, que se toman en cada bloque con sus partidos ya bloqueados.
+     * Las estadísticas de directo pendientes de esos jugadores se descartan, porque la importación las sustituye.
+     * </p>
+     *
+     * @param leagueId    El ID de la liga.
+     * @param inputStream El contenido del fichero.
+     * @param contentType La cabecera Content-Type de la petición.
+     * @return Un {@link ImportResultDto} con el resumen y los errores por fila.
+     * @throws IOException Si falla la lectura del fichero.
+     */
+    public ImportResultDto importMatchStats(Long leagueId, InputStream inputStream, String contentType) throws IOException {
+        Set<Long> leagueMatchIds = new HashSet<>(matchRepository.findIdsByLeagueId(leagueId));
+        return importRows(leagueId, inputStream, contentType, (rows, result) -> importStatsChunk(leagueId, rows, leagueMatchIds, result));
+    }
+
+    /**
+     * Bucle común de lectura: acumula filas válidas en bloques y delega cada bloque.
+     * El delegado devuelve cuántas filas del bloque se han guardado.
+     */
+    private ImportResultDto importRows(Long leagueId, InputStream inputStream, String contentType, BiFunction<List<Row>, ImportResultDto, Integer> chunkImporter) throws IOException {
+        DataFormat format = DataFormat.fromContentType(contentType);
+        if (format == null) {
+            throw new ResponseStatusException(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Formato no soportado. Usa text/csv o application/x-ndjson.");
+        }
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada.");
+        }
+
+        ImportResultDto result = new ImportResultDto();
+        try (ImportRowReader reader = new ImportRowReader(inputStream, format, objectMapper)) {
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            Row row;
+            while ((row = reader.next()) != null) {
+                result.setProcessed(result.getProcessed() + 1);
+                if (row.error() != null) {
+                    addError(result, row.line(), row.error());
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    result.setImported(result.getImported() + chunkImporter.apply(chunk, result));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                result.setImported(result.getImported() + chunkImporter.apply(chunk, result));
+            }
+        }
+        return result;
+    }
+
+    private int importPlayerChunk(Long leagueId, List<Row> rows, Set<String> namesInFile, ImportResultDto result) {
+        Set<String> names = rows.stream().map(r -> r.values().get("name")).filter(Objects::nonNull).collect(Collectors.toSet());
+
+        List<Row> accepted = new ArrayList<>();
+        try {
+            return transactionTemplate.execute(status -> {
+                Set<String> existingNames = playerRepository.findByLeagueIdAndNameIn(leagueId, names).stream().map(Player::getName).collect(Collectors.toSet());
+                League league = leagueRepository.getReferenceById(leagueId);
+
+                List<Player> players = new ArrayList<>();
+                for (Row row : rows) {
+                    String name = row.values().get("name");
+                    if (name == null || name.isBlank()) {
+                        addError(result, row.line(), "El nombre del jugador no puede estar vacío.");
+                    } else if (name.length() > 255) {
+                        addError(result, row.line(), "El nombre del jugador no puede superar los 255 caracteres.");
+                    } else if (existingNames.contains(name)) {
+                        addError(result, row.line(), "Ya existe un jugador llamado '" + name + "' en la liga.");
+                    } else if (!namesInFile.add(name)) {
+                        addError(result, row.line(), "El jugador '" + name + "' está repetido en el fichero.");
+                    } else {
+                        Player player = new Player();
+                        player.setName(name);
+                        player.setLeague(league);
+                        player.setImage(row.values().getOrDefault("image", DEFAULT_PLAYER_IMAGE));
+                        players.add(player);
+                        accepted.add(row);
+                    }
+                }
+
+                playerRepository.saveAll(players);
+                leagueChangeService.recordAll(players.stream().map(p -> new LeagueChange(leagueId, LeagueChangeType.PLAYER_ADDED, null, p.getId(), null, p.getName())).toList());
+                leagueVersionService.leagueChanged(leagueId);
+                // Con muchas altas de golpe es más barato reconstruir el índice de búsqueda en la siguiente consulta.
+                playerSearchIndex.invalidate(leagueId);
+                entityManager.flush();
+                entityManager.clear();
+                return players.size();
+            });
+        } catch (DataAccessException e) {
+            accepted.forEach(row -> addError(result, row.line(), "No se pudo guardar el bloque que contenía esta fila."));
+            return 0;
+        }
+    }
+
+    private int importStatsChunk(Long leagueId, List<Row> rows, Set<Long> leagueMatchIds, ImportResultDto result) {
+        Set<String> names = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        Set<Long> matchIds = new HashSet<>();
+        for (Row row : rows) {
+            Optional.ofNullable(row.values().get("playerName")).ifPresent(names::add);
+            Optional.ofNullable(parseLong(row.values().get("playerId"))).ifPresent(ids::add);
+            Optional.ofNullable(parseLong(row.values().get("matchId"))).filter(leagueMatchIds::contains).ifPresent(matchIds::add);
+        }
+
+        List<Row> accepted = new ArrayList<>();
+        try {
+            return transactionTemplate.execute(status -> {
+                // Los partidos se bloquean para que no se finalicen mientras se importan sus estadísticas.
+                Set<Long> finalizedMatchIds = matchIds.isEmpty() ? Set.of() : matchRepository.findAllByIdForUpdate(matchIds).stream().filter(Match::isFinalized).map(Match::getId).collect(Collectors.toSet());
+                CompiledScoringRules rules = pointsCalculationService.getRules(leagueId);
+                Map<String, List<Player>> playersByName = names.isEmpty() ? Map.of() : playerRepository.findByLeagueIdAndNameIn(leagueId, names).stream().collect(Collectors.groupingBy(Player::getName));
+                Map<Long, Player> playersById = new HashMap<>();
+                if (!ids.isEmpty()) {
+                    playerRepository.findAllById(ids).stream().filter(p -> p.getLeague() != null && p.getLeague().getId().equals(leagueId)).forEach(p -> playersById.put(p.getId(), p));
+                }
+
+                List<PlayerMatchStats> pending = new ArrayList<>();
+                Map<String, PlayerMatchStats> statsByKey = new HashMap<>();
+                Map<String, PlayerSeasonStatsService.StatLine> before = new HashMap<>();
+                Set<Long> chunkMatchIds = new HashSet<>();
+                List<ResolvedStatsRow> resolved = new ArrayList<>();
+
+                for (Row row : rows) {
+                    Long matchId = parseLong(row.values().get("matchId"));
+                    if (matchId == null) {
+                        addError(result, row.line(), "Falta el ID del partido o no es válido.");
+                        continue;
+                    }
+                    if (!leagueMatchIds.contains(matchId)) {
+                        addError(result, row.line(), "El partido " + matchId + " no pertenece a esta liga.");
+                        continue;
+                    }
+                    if (finalizedMatchIds.contains(matchId)) {
+                        addError(result, row.line(), "El partido " + matchId + " ya está finalizado; sus estadísticas no se pueden modificar.");
+                        continue;
+                    }
+
+                    Player player;
+                    String playerName = row.values().get("playerName");
+                    if (row.values().containsKey("playerId")) {
+                        player = playersById.get(parseLong(row.values().get("playerId")));
+                        if (player == null) {
+                            addError(result, row.line(), "El jugador " + row.values().get("playerId") + " no pertenece a esta liga.");
+                            continue;
+                        }
+                    } else if (playerName != null) {
+                        List<Player> candidates = playersByName.getOrDefault(playerName, List.of());
+                        if (candidates.size() != 1) {
+                            addError(result, row.line(), candidates.isEmpty() ? "No existe ningún jugador llamado '" + playerName + "' en la liga." : "Hay varios jugadores llamados '" + playerName + "'; usa playerId.");
+                            continue;
+                        }
+                        player = candidates.get(0);
+                    } else {
+                        addError(result, row.line(), "Falta el jugador (playerName o playerId).");
+                        continue;
+                    }
+
+                    PlayerMatchStatsUpdateDto statsDto = toStatsDto(row, result);
+                    if (statsDto == null) {
+                        continue;
+                    }
+                    statsDto.setPlayerId(player.getId());
+                    chunkMatchIds.add(matchId);
+                    resolved.add(new ResolvedStatsRow(row, matchId, player, statsDto));
+                }
+
+                if (!resolved.isEmpty()) {
+                    Set<Long> chunkPlayerIds = resolved.stream().map(r -> r.player().getId()).collect(Collectors.toSet());
+                    for (PlayerMatchStats existing : playerMatchStatsRepository.findByMatchIdInAndPlayerIdIn(chunkMatchIds, chunkPlayerIds)) {
+                        String key = existing.getMatch().getId() + ":" + existing.getPlayer().getId();
+                        statsByKey.put(key, existing);
+                        before.put(key, PlayerSeasonStatsService.StatLine.of(existing));
+                    }
+                }
+
+                for (ResolvedStatsRow r : resolved) {
+                    PlayerMatchStats stats = statsByKey.computeIfAbsent(r.matchId() + ":" + r.player().getId(), key -> {
+                        PlayerMatchStats created = new PlayerMatchStats();
+                        created.setMatch(matchRepository.getReferenceById(r.matchId()));
+                        created.setPlayer(r.player());
+                        pending.add(created);
+                        return created;
+                    });
+                    MatchService.copyStats(r.stats(), stats);
+                    stats.setTotalFieldPoints(rules.points(r.stats(), PlayerTeamRole.CAMPO));
+                    stats.setTotalGoalkeeperPoints(rules.points(r.stats(), PlayerTeamRole.PORTERO));
+                    accepted.add(r.row());
+                }
+
+                playerMatchStatsRepository.saveAll(pending);
+                List<PlayerMatchStats> saved = resolved.stream().map(r -> statsByKey.get(r.matchId() + ":" + r.player().getId())).distinct().toList();
+                // Igual que en MatchService.updatePlayerStats: lo pendiente en el búfer de directo es anterior a la importación
+                // y no debe sobrescribirla al volcarse. Se saca con los partidos bloqueados y vuelve si el bloque se deshace.
+                saved.forEach(s -> liveStatsBuffer.take(s.getMatch().getId(), s.getPlayer().getId()));
+                playerSeasonStatsService.applyChanges(saved.stream().map(s -> new PlayerSeasonStatsService.Change(s.getPlayer().getId(), leagueId, before.get(s.getMatch().getId() + ":" + s.getPlayer().getId()), PlayerSeasonStatsService.StatLine.of(s))).toList());
+                leagueChangeService.recordAll(saved.stream().map(s -> new LeagueChange(leagueId, LeagueChangeType.STATS_UPDATED, null, s.getPlayer().getId(), s.getMatch().getId(), null)).toList());
+                saved.forEach(s -> domainEventBus.publish(new StatsUpdatedEvent(leagueId, s.getMatch().getId(), s.getPlayer().getId())));
+                leagueVersionService.scoresChanged(leagueId);
+                entityManager.flush();
+                entityManager.clear();
+                return accepted.size();
+            });
+        } catch (DataAccessException e) {
+            accepted.forEach(row -> addError(result, row.line(), "No se pudo guardar el bloque que contenía esta fila."));
+            return 0;
+        }
+    }
+
+    /**
+     * Convierte los contadores de una fila en un DTO, comprobando que sean estadísticas conocidas
+     * ({@link PointsCalculationService#STATS}) y enteros no negativos.
+     *
+     * @return El DTO, o {@code null} si algún valor no es válido (el error ya se ha registrado).
+     */
+    private PlayerMatchStatsUpdateDto toStatsDto(Row row, ImportResultDto result) {
+        Map<String, Integer> counters = new HashMap<>();
+        for (Map.Entry<String, String> entry : row.values().entrySet()) {
+            if (STATS_KEY_COLUMNS.contains(entry.getKey())) {
+                continue;
+            }
+            if (!STATS_COLUMNS.contains(entry.getKey())) {
+                addError(result, row.line(), "La columna '" + entry.getKey() + "' no es una estadística conocida.");
+                return null;
+            }
+            Integer value = parseInt(entry.getValue());
+            if (value == null || value < 0) {
+                addError(result, row.line(), "El valor de '" + entry.getKey() + "' debe ser un entero no negativo.");
+                return null;
+            }
+            counters.put(entry.getKey(), value);
+        }
+        return objectMapper.convertValue(counters, PlayerMatchStatsUpdateDto.class);
+    }
+
+    /**
+     * Fila de estadísticas ya validada y con el partido y el jugador resueltos.
+     */
+    private record ResolvedStatsRow(Row row, Long matchId, Player player, PlayerMatchStatsUpdateDto stats) {
+    }
+
+    private static void addError(ImportResultDto result, long line, String message) {
+        result.setFailed(result.getFailed() + 1);
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(new ImportRowErrorDto(line, message));
+        } else {
+            result.setErrorsTruncated(true);
+        }
+    }
+
+    private static Long parseLong(String value) {
+        try {
+            return value == null ? null : Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return value == null ? null : Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueChangeDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueChangeFeedDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueChange;
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueChangeWatermark;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueChangeRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueChangeWatermarkRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio que mantiene el historial de cambios de cada liga.
+ * <p>
+ * Los servicios que modifican una liga registran aquí lo que han cambiado dentro de su propia
+ * transacción, de modo que el historial nunca contiene cambios que no se hayan guardado ni
+ * pierde cambios guardados. Los clientes leen el historial a partir de un cursor para sincronizarse
+ * sin volver a descargar la liga completa. Las entradas más antiguas que la retención configurada
+ * se borran periódicamente; un cursor anterior a lo borrado ya no es válido y el cliente debe
+ * volver a descargar la liga. Hasta dónde se ha borrado se guarda en {@link LeagueChangeWatermark}, así que
+ * sigue valiendo después de reiniciar.
+ * <p>
+ * Los IDs se asignan al insertar, pero dos transacciones pueden confirmarse en orden distinto al de sus IDs,
+ * así que el cursor no es el ID sino la posición ({@code seq}) que se asigna a cada cambio después de confirmarse.
+ * Las posiciones las asigna un hilo propio, avisado al confirmarse cada transacción que registra cambios, a todos
+ * los cambios confirmados que aún no tienen. Los pasos no se solapan y cada uno empieza después de que el anterior
+ * se haya confirmado, así que un cambio que todavía no se ha confirmado acabará con una posición mayor que
+ * cualquier cursor ya entregado, por larga que sea su transacción. Como el bloqueo es de la JVM, vale para una
+ * sola instancia de la aplicación, que es lo que permite la H2 embebida. Si un paso falla, los cambios se quedan
+ * sin posición (ocultos) hasta el siguiente barrido periódico.
+ * </p>
+ */
+@Service
+public class LeagueChangeService {
+
+    static final int MAX_LIMIT = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(LeagueChangeService.class);
+
+    private final LeagueChangeRepository leagueChangeRepository;
+    private final LeagueChangeWatermarkRepository leagueChangeWatermarkRepository;
+    private final LeagueRepository leagueRepository;
+    private final Duration retention;
+    private final TransactionTemplate sequenceTransaction;
+    // Hilo de plataforma: el paso es synchronized y un hilo virtual fijaría su portador mientras espera una conexión.
+    private final ExecutorService sequencer = Executors.newSingleThreadExecutor(Thread.ofPlatform().name("league-change-sequencer").daemon(true).factory());
+    private final AtomicBoolean sequencingRequested = new AtomicBoolean();
+    private final TransactionSynchronization sequenceOnCommit = new TransactionSynchronization() {
+        @Override
+        public void afterCommit() {
+            requestSequencing();
+        }
+    };
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public LeagueChangeService(LeagueChangeRepository leagueChangeRepository, LeagueChangeWatermarkRepository leagueChangeWatermarkRepository, LeagueRepository leagueRepository, PlatformTransactionManager transactionManager, @Value("${app.change-log.retention:P7D}") Duration retention) {
+        this.leagueChangeRepository = leagueChangeRepository;
+        this.leagueChangeWatermarkRepository = leagueChangeWatermarkRepository;
+        this.leagueRepository = leagueRepository;
+        this.retention = retention;
+        this.sequenceTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Registra un cambio en el historial de una liga. Debe llamarse dentro de la transacción del cambio.
+     *
+     * @param leagueId El ID de la liga.
+     * @param type     El tipo de cambio.
+     * @param userId   El usuario afectado, o {@code null}.
+     * @param playerId El jugador afectado, o {@code null}.
+     * @param matchId  El partido afectado, o {@code null}.
+     * @param detail   El nuevo valor, o {@code null}.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Long leagueId, LeagueChangeType type, Long userId, Long playerId, Long matchId, String detail) {
+        leagueChangeRepository.save(new LeagueChange(leagueId, type, userId, playerId, matchId, detail));
+        sequenceAfterCommit();
+    }
+
+    /**
+     * Registra varios cambios a la vez. Debe llamarse dentro de la transacción de los cambios.
+     *
+     * @param changes Los cambios a registrar.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(List<LeagueChange> changes) {
+        leagueChangeRepository.saveAll(changes);
+        sequenceAfterCommit();
+    }
+
+    /**
+     * Borra todo el historial de una liga. Se usa al eliminar la liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteLeagueHistory(Long leagueId) {
+        leagueChangeRepository.deleteByLeagueId(leagueId);
+    }
+
+    /**
+     * Obtiene los cambios de una liga posteriores a un cursor.
+     *
+     * @param leagueId El ID de la liga.
+     * @param since    El cursor (posición) devuelto por la petición anterior; 0 para empezar desde el cambio más antiguo conservado.
+     * @param limit    El número máximo de cambios a devolver.
+     * @return Un {@link LeagueChangeFeedDto} con los cambios y el nuevo cursor.
+     * @throws ResponseStatusException Si la liga no existe o el cursor ya no es válido.
+     */
+    @Transactional(readOnly = true)
+    public LeagueChangeFeedDto getChanges(Long leagueId, long since, int limit) {
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada.");
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El límite debe estar entre 1 y " + MAX_LIMIT + ".");
+        }
+        Long maxSeq = leagueChangeRepository.findMaxSeq();
+        Long prunedThroughSeq = leagueChangeWatermarkRepository.findPrunedThroughSeq();
+        if (since < 0 || (since > 0 && prunedThroughSeq != null && since < prunedThroughSeq) || since > (maxSeq == null ? 0 : maxSeq)) {
+            throw new ResponseStatusException(HttpStatus.GONE, "El cursor ya no es válido. Vuelve a descargar la liga.");
+        }
+
+        // Se pide uno más de los que se devuelven para saber si quedan cambios pendientes.
+        List<LeagueChange> changes = leagueChangeRepository.findByLeagueIdAndSeqGreaterThanOrderBySeqAsc(leagueId, since, PageRequest.of(0, limit + 1));
+        boolean hasMore = changes.size() > limit;
+        if (hasMore) {
+            changes = changes.subList(0, limit);
+        }
+        long cursor = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        List<LeagueChangeDto> dtos = changes.stream().map(c -> new LeagueChangeDto(c.getSeq(), c.getType(), c.getUserId(), c.getPlayerId(), c.getMatchId(), c.getDetail(), c.getCreatedAt())).toList();
+        return new LeagueChangeFeedDto(dtos, cursor, hasMore);
+    }
+
+    /**
+     * Asigna posición, en orden de inserción, a los cambios confirmados que aún no tienen. La ejecuta el hilo
+     * del historial tras cada commit y, por si alguna vez falla (o la aplicación se detiene justo después del
+     * commit), también periódicamente. Es {@code synchronized} para que dos pasos no se solapen y usa su propia
+     * transacción, que se confirma antes de soltar el bloqueo.
+     */
+    @Scheduled(fixedDelayString = "${app.change-log.sequence-interval:PT10S}")
+    public synchronized void sequencePendingChanges() {
+        try {
+            sequenceTransaction.executeWithoutResult(status -> {
+                List<LeagueChange> pending = leagueChangeRepository.findBySeqIsNullOrderByIdAsc();
+                if (pending.isEmpty()) {
+                    return;
+                }
+                Long maxSeq = leagueChangeRepository.findMaxSeq();
+                long next = maxSeq == null ? 0 : maxSeq;
+                for (LeagueChange change : pending) {
+                    change.setSeq(++next);
+                }
+                leagueChangeRepository.saveAll(pending);
+            });
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("No se pudo asignar posición a los cambios pendientes; se reintentará en el siguiente barrido.", e);
+        }
+    }
+
+    /**
+     * Borra las entradas del historial más antiguas que la retención configurada y guarda hasta dónde ha borrado
+     * en la misma transacción.
+     */
+    @Scheduled(fixedDelayString = "${app.change-log.prune-interval:PT1H}", initialDelayString = "${app.change-log.prune-interval:PT1H}")
+    @Transactional
+    public void pruneExpiredChanges() {
+        Long lastExpiredSeq = leagueChangeRepository.findMaxSeqCreatedBefore(LocalDateTime.now().minus(retention));
+        if (lastExpiredSeq == null) {
+            return;
+        }
+        int deleted = leagueChangeRepository.deleteUpToSeq(lastExpiredSeq);
+        LeagueChangeWatermark watermark = leagueChangeWatermarkRepository.findById(LeagueChangeWatermark.SINGLETON_ID).orElseGet(() -> new LeagueChangeWatermark(0));
+        watermark.setPrunedThroughSeq(Math.max(watermark.getPrunedThroughSeq(), lastExpiredSeq));
+        leagueChangeWatermarkRepository.save(watermark);
+        log.debug("Borradas {} entradas del historial de cambios (hasta la posición {}).", deleted, lastExpiredSeq);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sequencer.shutdown();
+    }
+
+    /**
+     * Pide al hilo del historial un paso de asignación de posiciones. Los avisos que llegan mientras hay uno
+     * pendiente se agrupan en ese paso. El paso no se hace en el hilo que confirma, que aún tiene su conexión
+     * y, esperando al bloqueo, podría agotar el pool.
+     */
+    private void requestSequencing() {
+        if (sequencingRequested.compareAndSet(false, true)) {
+            try {
+                sequencer.execute(() -> {
+                    sequencingRequested.set(false);
+                    sequencePendingChanges();
+                });
+            } catch (RejectedExecutionException e) {
+                // La aplicación se está deteniendo: el barrido periódico los asignará al arrancar.
+                sequencingRequested.set(false);
+            }
+        }
+    }
+
+    /**
+     * Programa la asignación de posiciones para cuando se confirme la transacción en curso, una sola vez por transacción.
+     */
+    private void sequenceAfterCommit() {
+        if (!TransactionSynchronizationManager.getSynchronizations().contains(sequenceOnCommit)) {
+            TransactionSynchronizationManager.registerSynchronization(sequenceOnCommit);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.UserScoreDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
+import com.fantasycolegas.fantasy_colegas_backend.model.User;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueStandingRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerMatchStatsRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.RosterPlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.UserRepository;
+import com.fantasycolegas.fantasy_colegas_backend.util.DataFormat;
+import com.fantasycolegas.fantasy_colegas_backend.util.ExportRowWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio para exportar todos los datos de una liga.
+ * <p>
+ * Escribe los partidos, las estadísticas, los equipos y las puntuaciones directamente
+ * en la respuesta a medida que los lee de la base de datos mediante consultas en streaming.
+ * Cada {@value #CHUNK_SIZE} filas se vuelca la salida y se vacía el contexto de persistencia,
+ * de modo que la memoria usada no depende del tamaño del histórico de la liga.
+ * </p>
+ */
+@Service
+public class LeagueExportService {
+
+    /**
+     * Secciones que se pueden exportar, en el orden en que se escriben.
+     */
+    public static final List<String> SECTIONS = List.of("matches", "stats", "rosters", "scores");
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final List<String> STATS_COLUMNS = List.of("matchId", "playerId", "playerName", "golesMarcados", "fallosClarosDeGol", "asistencias", "golesEncajadosComoPortero", "paradasComoPortero", "cesionesConcedidas", "faltasCometidas", "faltasRecibidas", "penaltisRecibidos", "penaltisCometidos", "pasesAcertados", "pasesFallados", "robosDeBalon", "tirosCompletados", "tirosEntreLosTresPalos", "tiempoJugado", "tarjetasAmarillas", "tarjetasRojas", "totalFieldPoints", "totalGoalkeeperPoints");
+
+    private final LeagueRepository leagueRepository;
+    private final MatchRepository matchRepository;
+    private final PlayerMatchStatsRepository playerMatchStatsRepository;
+    private final RosterPlayerRepository rosterPlayerRepository;
+    private final LeagueStandingRepository leagueStandingRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public LeagueExportService(LeagueRepository leagueRepository, MatchRepository matchRepository, PlayerMatchStatsRepository playerMatchStatsRepository, RosterPlayerRepository rosterPlayerRepository, LeagueStandingRepository leagueStandingRepository, UserRepository userRepository, ObjectMapper objectMapper, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.leagueRepository = leagueRepository;
+        this.matchRepository = matchRepository;
+        this.playerMatchStatsRepository = playerMatchStatsRepository;
+        this.rosterPlayerRepository = rosterPlayerRepository;
+        this.leagueStandingRepository = leagueStandingRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Prepara la exportación de una liga.
+     * <p>
+     * La liga y los parámetros se validan ahora, para poder responder con un error;
+     * la lectura de los datos se hace después, mientras se escribe la respuesta.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     * @param format   El formato de salida.
+     * @param sections Las secciones a exportar; si está vacío se exportan todas.
+     * @return Un {@link StreamingResponseBody} que escribe la exportación.
+     */
+    public StreamingResponseBody exportLeague(Long leagueId, DataFormat format, Set<String> sections) {
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada.");
+        }
+        if (!SECTIONS.containsAll(sections)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Secciones no válidas. Usa " + String.join(", ", SECTIONS) + ".");
+        }
+        List<String> selected = sections.isEmpty() ? SECTIONS : SECTIONS.stream().filter(sections::contains).toList();
+
+        return outputStream -> {
+            ExportRowWriter writer = ExportRowWriter.create(outputStream, format, objectMapper);
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    for (String section : selected) {
+                        writeSection(leagueId, section, writer);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+        };
+    }
+
+    private void writeSection(Long leagueId, String section, ExportRowWriter writer) {
+        try {
+            switch (section) {
+                case "matches" -> {
+                    writer.startSection("match", List.of("matchId", "name", "description", "matchDate"));
+                    try (Stream<Match> matches = matchRepository.streamByLeagueId(leagueId)) {
+                        writeChunked(matches, writer, m -> writer.writeRow(m.getId(), m.getName(), m.getDescription(), m.getMatchDate() == null ? null : m.getMatchDate().toString()));
+                    }
+                }
+                case "stats" -> {
+                    writer.startSection("stats", STATS_COLUMNS);
+                    try (Stream<PlayerMatchStats> stats = playerMatchStatsRepository.streamByLeagueId(leagueId)) {
+                        writeChunked(stats, writer, s -> writer.writeRow(s.getMatch().getId(), s.getPlayer().getId(), s.getPlayer().getName(), s.getGolesMarcados(), s.getFallosClarosDeGol(), s.getAsistencias(), s.getGolesEncajadosComoPortero(), s.getParadasComoPortero(), s.getCesionesConcedidas(), s.getFaltasCometidas(), s.getFaltasRecibidas(), s.getPenaltisRecibidos(), s.getPenaltisCometidos(), s.getPasesAcertados(), s.getPasesFallados(), s.getRobosDeBalon(), s.getTirosCompletados(), s.getTirosEntreLosTresPalos(), s.getTiempoJugado(), s.getTarjetasAmarillas(), s.getTarjetasRojas(), s.getTotalFieldPoints(), s.getTotalGoalkeeperPoints()));
+                    }
+                }
+                case "rosters" -> {
+                    writer.startSection("roster", List.of("userId", "username", "playerId", "playerName", "role", "placeholder"));
+                    try (Stream<RosterPlayer> rosters = rosterPlayerRepository.streamByLeagueId(leagueId)) {
+                        writeChunked(rosters, writer, rp -> writer.writeRow(rp.getUser().getId(), rp.getUser().getUsername(), rp.getPlayer().getId(), rp.getPlayer().getName(), rp.getRole().name(), rp.getPlayer().isPlaceholder()));
+                    }
+                }
+                case "scores" -> {
+                    // Una fila por usuario de la clasificación, calculada igual que la de la liga: la clasificación
+                    // guardada de los partidos finalizados más los partidos abiertos. El volumen es pequeño.
+                    writer.startSection("score", List.of("userId", "username", "totalPoints"));
+                    List<UserScoreDto> scoreboard = LeagueService.buildScoreboard(rosterPlayerRepository.sumOpenMatchPointsByUser(leagueId), leagueStandingRepository.findByLeagueId(leagueId));
+                    Map<Long, String> usernames = userRepository.findAllById(scoreboard.stream().map(UserScoreDto::getUserId).toList()).stream().collect(Collectors.toMap(User::getId, User::getUsername));
+                    for (UserScoreDto score : scoreboard) {
+                        writer.writeRow(score.getUserId(), usernames.get(score.getUserId()), score.getTotalPoints());
+                    }
+                }
+                default -> throw new IllegalArgumentException(section);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escribe las filas de un stream, volcando la salida y vaciando el contexto de persistencia
+     * cada {@value #CHUNK_SIZE} filas para que las entidades ya escritas puedan liberarse.
+     */
+    private <T> void writeChunked(Stream<T> rows, ExportRowWriter writer, RowWriter<T> rowWriter) throws IOException {
+        int count = 0;
+        Iterator<T> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            rowWriter.write(iterator.next());
+            if (++count % CHUNK_SIZE == 0) {
+                writer.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.clear();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter<T> {
+        void write(T row) throws IOException;
+    }
+}
@@ -3,19 +3,28 @@ package com.fantasycolegas.fantasy_colegas_backend.service;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.LeagueCreateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.LeagueTeamSizeUpdateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.*;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.MembershipChangedEvent;
+import com.fantasycolegas.fantasy_colegas_backend.event.RosterChangedEvent;
 import com.fantasycolegas.fantasy_colegas_backend.model.*;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueRole;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.RequestStatus;
 import com.fantasycolegas.fantasy_colegas_backend.repository.*;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /**
@@ -32,25 +41,54 @@ import java.util.stream.Collectors;
 @Service
 public class LeagueService {
 
+    static final int MAX_PUBLIC_LEAGUES = 100;
+
     private final LeagueRepository leagueRepository;
     private final UserRepository userRepository;
     private final UserLeagueRoleRepository userLeagueRoleRepository;
     private final LeagueJoinRequestRepository leagueJoinRequestRepository;
     private final PlayerRepository playerRepository;
     private final RosterPlayerRepository rosterPlayerRepository;
-    private PlayerMatchStatsRepository playerMatchStatsRepository;
+    private final LeagueStandingRepository leagueStandingRepository;
+    private final LeagueVersionService leagueVersionService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
+    private final PlayerSearchIndex playerSearchIndex;
+    private final ScoringRuleService scoringRuleService;
+    private final RandomRosterAssigner randomRosterAssigner;
+    private final DraftService draftService;
+    private final TransferService transferService;
+    private final TransactionTemplate transactionTemplate;
+    private final Map<Long, CachedScoreboard> scoreboardCache = new ConcurrentHashMap<>();
+
+    /**
+     * Clasificación calculada para una versión concreta de las puntuaciones de la liga.
+     */
+    private record CachedScoreboard(long version, List<UserScoreDto> scoreboard) {
+    }
 
     /**
      * Constructor del servicio que inyecta las dependencias de los repositorios.
      */
-    public LeagueService(LeagueRepository leagueRepository, UserRepository userRepository, UserLeagueRoleRepository userLeagueRoleRepository, LeagueJoinRequestRepository leagueJoinRequestRepository, PlayerRepository playerRepository, RosterPlayerRepository rosterPlayerRepository, PlayerMatchStatsRepository playerMatchStatsRepository) {
+    public LeagueService(LeagueRepository leagueRepository, UserRepository userRepository, UserLeagueRoleRepository userLeagueRoleRepository, LeagueJoinRequestRepository leagueJoinRequestRepository, PlayerRepository playerRepository, RosterPlayerRepository rosterPlayerRepository, LeagueStandingRepository leagueStandingRepository, LeagueVersionService leagueVersionService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, PlayerSeasonStatsService playerSeasonStatsService, PlayerSearchIndex playerSearchIndex, ScoringRuleService scoringRuleService, RandomRosterAssigner randomRosterAssigner, DraftService draftService, TransferService transferService, PlatformTransactionManager transactionManager) {
         this.leagueRepository = leagueRepository;
         this.userRepository = userRepository;
         this.userLeagueRoleRepository = userLeagueRoleRepository;
         this.leagueJoinRequestRepository = leagueJoinRequestRepository;
         this.playerRepository = playerRepository;
         this.rosterPlayerRepository = rosterPlayerRepository;
-        this.playerMatchStatsRepository = playerMatchStatsRepository;
+        this.leagueStandingRepository = leagueStandingRepository;
+        this.leagueVersionService = leagueVersionService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.playerSeasonStatsService = playerSeasonStatsService;
+        this.playerSearchIndex = playerSearchIndex;
+        this.scoringRuleService = scoringRuleService;
+        this.randomRosterAssigner = randomRosterAssigner;
+        this.draftService = draftService;
+        this.transferService = transferService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
@@ -63,53 +101,129 @@ public class LeagueService {
      * @return Una lista de {@link UserScoreDto} con los puntos de cada usuario.
      */
     public List<UserScoreDto> getLeagueScoreboard(Long leagueId) {
-        List<Long> userIds = rosterPlayerRepository.findDistinctUserIdsByLeagueId(leagueId);
+        long version = leagueVersionService.scoreVersion(leagueId);
+        CachedScoreboard cached = scoreboardCache.get(leagueId);
+        if (cached != null && cached.version() == version) {
+            return cached.scoreboard();
+        }
+        return refreshScoreboard(leagueId, version);
+    }
 
-        List<UserScoreDto> scoreboard = new ArrayList<>();
-        for (Long userId : userIds) {
-            double totalPoints = calculateUserPoints(leagueId, userId);
-            UserScoreDto userScore = new UserScoreDto(userId, totalPoints);
-            scoreboard.add(userScore);
+    /**
+     * Vuelve a calcular la clasificación de una liga y la guarda en caché.
+     * <p>
+     * Se llama tras confirmarse cambios en las puntuaciones para que la siguiente lectura no tenga que calcularla.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     */
+    public void refreshScoreboard(Long leagueId) {
+        refreshScoreboard(leagueId, leagueVersionService.scoreVersion(leagueId));
+    }
+
+    /**
+     * Vacía la caché de clasificaciones, por ejemplo tras cambiar las reglas de puntuación.
+     */
+    public void evictScoreboards() {
+        scoreboardCache.clear();
+    }
+
+    /**
+     * Calcula la clasificación y la guarda asociada a la versión de puntuaciones leída antes de calcularla.
+     * Como la versión se incrementa después del commit, los datos leídos son al menos tan recientes como ella.
+     */
+    private List<UserScoreDto> refreshScoreboard(Long leagueId, long version) {
+        List<UserScoreDto> scoreboard = List.copyOf(calculateScoreboard(leagueId));
+        scoreboardCache.merge(leagueId, new CachedScoreboard(version, scoreboard), (current, computed) -> computed.version() >= current.version() ? computed : current);
+        return scoreboard;
+    }
+
+    /**
+     * Calcula la clasificación con dos consultas: los puntos guardados de los partidos finalizados y la suma
+     * de los puntos de los partidos abiertos, agrupada por usuario en la base de datos.
+     */
+    private List<UserScoreDto> calculateScoreboard(Long leagueId) {
+        return buildScoreboard(rosterPlayerRepository.sumOpenMatchPointsByUser(leagueId), leagueStandingRepository.findByLeagueId(leagueId));
+    }
+
+    /**
+     * Junta los puntos de los partidos abiertos y los de la clasificación guardada en una clasificación ordenada de
+     * más a menos puntos. La exportación de la liga la usa también para que sus puntuaciones coincidan.
+     */
+    static List<UserScoreDto> buildScoreboard(Collection<? extends RosterPlayerRepository.UserPoints> openMatchPoints, Collection<LeagueStanding> standings) {
+        Map<Long, Double> pointsByUser = new HashMap<>();
+        for (RosterPlayerRepository.UserPoints userPoints : openMatchPoints) {
+            pointsByUser.merge(userPoints.getUserId(), userPoints.getPoints(), Double::sum);
+        }
+        for (LeagueStanding standing : standings) {
+            pointsByUser.merge(standing.getUserId(), standing.getPoints(), Double::sum);
         }
 
+        List<UserScoreDto> scoreboard = new ArrayList<>();
+        pointsByUser.forEach((userId, totalPoints) -> scoreboard.add(new UserScoreDto(userId, totalPoints)));
         scoreboard.sort(Comparator.comparingDouble(UserScoreDto::getTotalPoints).reversed());
         return scoreboard;
     }
 
     /**
-     * Obtiene los puntos totales de un usuario en una liga específica.
+     * Obtiene todas las ligas de un usuario con su rol, sus puntos y su posición en cada una.
+     * <p>
+     * Las ligas se leen con una consulta. Las clasificaciones se toman de la caché cuando están al día; las
+     * que faltan se calculan juntas con dos consultas agrupadas para todas esas ligas, y se guardan en la
+     * caché. El número de consultas no depende de cuántas ligas tenga el usuario.
+     * </p>
      *
-     * @param leagueId El ID de la liga.
      * @param userId El ID del usuario.
-     * @return Un {@link UserScoreDto} con el ID del usuario y sus puntos totales.
+     * @return Una lista de {@link UserLeagueDto}, ordenada por nombre de la liga.
      */
-    public UserScoreDto getUserPointsInLeague(Long leagueId, Long userId) {
-        double totalPoints = calculateUserPoints(leagueId, userId);
-        return new UserScoreDto(userId, totalPoints);
+    @Transactional(readOnly = true)
+    public List<UserLeagueDto> getUserLeagues(Long userId) {
+        List<UserLeagueRoleRepository.Membership> memberships = userLeagueRoleRepository.findMembershipsByUserId(userId);
+
+        Map<Long, List<UserScoreDto>> scoreboards = new HashMap<>();
+        Map<Long, Long> missingVersions = new HashMap<>();
+        for (UserLeagueRoleRepository.Membership membership : memberships) {
+            long version = leagueVersionService.scoreVersion(membership.getLeagueId());
+            CachedScoreboard cached = scoreboardCache.get(membership.getLeagueId());
+            if (cached != null && cached.version() == version) {
+                scoreboards.put(membership.getLeagueId(), cached.scoreboard());
+            } else {
+                missingVersions.put(membership.getLeagueId(), version);
+            }
+        }
+        if (!missingVersions.isEmpty()) {
+            Map<Long, List<RosterPlayerRepository.LeagueUserPoints>> openByLeague = rosterPlayerRepository.sumOpenMatchPointsByLeagueAndUser(missingVersions.keySet()).stream().collect(Collectors.groupingBy(RosterPlayerRepository.LeagueUserPoints::getLeagueId));
+            Map<Long, List<LeagueStanding>> standingsByLeague = leagueStandingRepository.findByLeagueIdIn(missingVersions.keySet()).stream().collect(Collectors.groupingBy(LeagueStanding::getLeagueId));
+            missingVersions.forEach((leagueId, version) -> {
+                List<UserScoreDto> scoreboard = List.copyOf(buildScoreboard(openByLeague.getOrDefault(leagueId, List.of()), standingsByLeague.getOrDefault(leagueId, List.of())));
+                scoreboardCache.merge(leagueId, new CachedScoreboard(version, scoreboard), (current, computed) -> computed.version() >= current.version() ? computed : current);
+                scoreboards.put(leagueId, scoreboard);
+            });
+        }
+
+        List<UserLeagueDto> result = new ArrayList<>();
+        for (UserLeagueRoleRepository.Membership membership : memberships) {
+            List<UserScoreDto> scoreboard = scoreboards.get(membership.getLeagueId());
+            double points = scoreboard.stream().filter(score -> score.getUserId().equals(userId)).mapToDouble(UserScoreDto::getTotalPoints).findFirst().orElse(0);
+            int rank = 1 + (int) scoreboard.stream().filter(score -> score.getTotalPoints() > points).count();
+            LeagueSummaryDto league = new LeagueSummaryDto(membership.getLeagueId(), membership.getName(), null, membership.getImage(), membership.getMemberCount(), membership.getTeamSize());
+            result.add(new UserLeagueDto(league, membership.getRole(), points, rank));
+        }
+        return result;
     }
 
     /**
-     * Calcula los puntos totales de un usuario sumando los puntos de cada jugador en su roster.
+     * Obtiene los puntos totales de un usuario en una liga específica.
+     * <p>
+     * Se leen de la clasificación de la liga, que se mantiene en caché.
+     * </p>
      *
      * @param leagueId El ID de la liga.
      * @param userId El ID del usuario.
-     * @return Los puntos totales del usuario.
-     */
-    private double calculateUserPoints(Long leagueId, Long userId) {
-        List<RosterPlayer> rosterPlayers = rosterPlayerRepository.findByUserIdAndLeagueId(userId, leagueId);
-
-        double totalUserPoints = 0;
-        for (RosterPlayer rosterPlayer : rosterPlayers) {
-            List<PlayerMatchStats> stats = playerMatchStatsRepository.findByPlayerId(rosterPlayer.getPlayer().getId());
-            for (PlayerMatchStats stat : stats) {
-                if (rosterPlayer.getRole() == PlayerTeamRole.CAMPO) {
-                    totalUserPoints += stat.getTotalFieldPoints();
-                } else if (rosterPlayer.getRole() == PlayerTeamRole.PORTERO) {
-                    totalUserPoints += stat.getTotalGoalkeeperPoints();
-                }
-            }
-        }
-        return totalUserPoints;
+     * @return Un {@link UserScoreDto} con el ID del usuario y sus puntos totales.
+     */
+    public UserScoreDto getUserPointsInLeague(Long leagueId, Long userId) {
+        return getLeagueScoreboard(leagueId).stream().filter(score -> score.getUserId().equals(userId)).findFirst().orElseGet(() -> new UserScoreDto(userId, 0));
     }
 
     /**
@@ -139,7 +253,8 @@ public class LeagueService {
 
         User user = rosterPlayers.get(0).getUser();
 
-        List<RosterPlayerResponseDto> playerDTOs = rosterPlayers.stream().map(rp -> new RosterPlayerResponseDto(rp.getPlayer().getId(), rp.getPlayer().getName(), rp.getRole(), rp.getPlayer().getImage(), rp.getPlayer().getTotalPoints())).collect(Collectors.toList());
+        Map<Long, PlayerSeasonStats> seasons = playerSeasonStatsService.findByPlayerIds(rosterPlayers.stream().map(rp -> rp.getPlayer().getId()).collect(Collectors.toSet()));
+        List<RosterPlayerResponseDto> playerDTOs = rosterPlayers.stream().map(rp -> new RosterPlayerResponseDto(rp.getPlayer().getId(), rp.getPlayer().getName(), rp.getRole(), rp.getPlayer().getImage(), PlayerSeasonStatsService.pointsFor(seasons.get(rp.getPlayer().getId()), rp.getRole()))).collect(Collectors.toList());
 
         RosterResponseDto rosterResponseDto = new RosterResponseDto();
         rosterResponseDto.setLeagueId(league.getId());
@@ -173,6 +288,8 @@ public class LeagueService {
         league.setTeamSize(teamSizeUpdateDto.getTeamSize());
 
         leagueRepository.save(league);
+        leagueChangeService.record(leagueId, LeagueChangeType.LEAGUE_UPDATED, null, null, null, null);
+        leagueVersionService.leagueChanged(leagueId);
         return mapToLeagueResponseDto(league);
     }
 
@@ -204,20 +321,26 @@ public class LeagueService {
 
         targetUserRole.setRole(newRole);
         userLeagueRoleRepository.save(targetUserRole);
+        leagueChangeService.record(leagueId, LeagueChangeType.ROLE_CHANGED, targetUserId, null, null, newRole.name());
+        leagueVersionService.leagueChanged(leagueId);
     }
 
     /**
      * Crea una nueva liga y asigna al usuario que la crea como administrador.
      * <p>
-     * También genera un código de unión y un roster aleatorio para el usuario.
+     * También genera un código de unión y un roster aleatorio para el usuario. Se ejecuta con
+     * {@link OptimisticRetry}, igual que {@link #joinLeague}.
      * </p>
      *
      * @param leagueCreateDto DTO con los datos para la creación de la liga.
      * @param userId El ID del usuario que crea la liga.
      * @return Un {@link LeagueResponseDto} con la información de la liga creada.
      */
-    @Transactional
     public LeagueResponseDto createLeague(LeagueCreateDto leagueCreateDto, Long userId) {
+        return OptimisticRetry.execute(transactionTemplate, status -> saveNewLeague(leagueCreateDto, userId), "La liga ha cambiado a la vez desde otra petición. Inténtalo de nuevo.");
+    }
+
+    private LeagueResponseDto saveNewLeague(LeagueCreateDto leagueCreateDto, Long userId) {
         User creator = userRepository.findById(userId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado"));
 
         League newLeague = new League();
@@ -236,6 +359,8 @@ public class LeagueService {
         newLeague.setJoinCode(joinCodeBuilder.toString());
 
         newLeague.setNumberOfPlayers(1);
+        newLeague.setMemberCount(1);
+        newLeague.setMaxMembers(leagueCreateDto.getMaxMembers());
 
         League savedLeague = leagueRepository.save(newLeague);
 
@@ -250,13 +375,21 @@ public class LeagueService {
 
     /**
      * Permite a un usuario unirse a una liga pública mediante un código de unión.
+     * <p>
+     * El nuevo miembro recibe un equipo aleatorio de jugadores libres. Si otro miembro se queda a la vez con alguno
+     * de ellos, la restricción única de los puestos hace fallar la transacción, que se repite entera con
+     * {@link OptimisticRetry} y ya ve al otro dueño.
+     * </p>
      *
      * @param joinCode El código de unión de la liga.
      * @param userId El ID del usuario que se quiere unir.
      * @return Un {@link LeagueResponseDto} con la información de la liga a la que se ha unido.
      */
-    @Transactional
     public LeagueResponseDto joinLeague(String joinCode, Long userId) {
+        return OptimisticRetry.execute(transactionTemplate, status -> addToLeague(joinCode, userId), "La liga ha cambiado a la vez desde otra petición. Inténtalo de nuevo.");
+    }
+
+    private LeagueResponseDto addToLeague(String joinCode, Long userId) {
         League league = leagueRepository.findByJoinCode(joinCode).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Código de invitación inválido o la liga no existe"));
 
         if (league.isPrivate()) {
@@ -269,8 +402,12 @@ public class LeagueService {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "El usuario ya es un participante de esta liga");
         }
 
+        addMember(league);
         UserLeagueRole participantRole = new UserLeagueRole(user, league, LeagueRole.PARTICIPANT);
         userLeagueRoleRepository.save(participantRole);
+        leagueChangeService.record(league.getId(), LeagueChangeType.MEMBER_JOINED, user.getId(), null, null, null);
+        domainEventBus.publish(new MembershipChangedEvent(league.getId(), user.getId(), true));
+        leagueVersionService.leagueChanged(league.getId());
 
         createRandomRosterForUser(league.getId(), userId);
 
@@ -280,7 +417,9 @@ public class LeagueService {
     /**
      * Crea un roster aleatorio para un usuario en una liga específica.
      * <p>
-     * Selecciona jugadores de la liga de forma aleatoria para formar un equipo.
+     * Selecciona jugadores de la liga de forma aleatoria para formar un equipo, con {@link RandomRosterAssigner}:
+     * solo se leen los IDs de los jugadores y el equipo se inserta en un solo lote. Solo se eligen jugadores que no
+     * están en el equipo de otro miembro.
      * </p>
      *
      * @param leagueId El ID de la liga.
@@ -288,49 +427,18 @@ public class LeagueService {
      */
     @Transactional
     public void createRandomRosterForUser(Long leagueId, Long userId) {
-        League league = leagueRepository.findById(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
-        User user = userRepository.findById(userId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado."));
-
-        List<Player> allPlayersInLeague = playerRepository.findByLeagueIdAndIsPlaceholderFalse(leagueId);
-
-        Player placeholderPlayer = playerRepository.findByIsPlaceholderTrue().orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Jugador vacío no encontrado."));
-
-        Collections.shuffle(allPlayersInLeague);
-
-        List<Player> teamPlayers = new ArrayList<>();
-        int teamSize = league.getTeamSize();
-
-        for (int i = 0; i < Math.min(teamSize, allPlayersInLeague.size()); i++) {
-            teamPlayers.add(allPlayersInLeague.get(i));
-        }
-
-        while (teamPlayers.size() < teamSize) {
-            teamPlayers.add(placeholderPlayer);
+        int teamSize = leagueRepository.findTeamSizeById(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
+        if (!userRepository.existsById(userId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado.");
         }
 
         rosterPlayerRepository.deleteByUserIdAndLeagueId(userId, leagueId);
+        rosterPlayerRepository.flush();
+        randomRosterAssigner.assign(leagueId, userId, teamSize);
 
-        List<RosterPlayer> roster = new ArrayList<>();
-
-        Player portero = teamPlayers.get(0);
-        RosterPlayer porteroRoster = new RosterPlayer();
-        porteroRoster.setUser(user);
-        porteroRoster.setLeague(league);
-        porteroRoster.setPlayer(portero);
-        porteroRoster.setRole(PlayerTeamRole.PORTERO);
-        roster.add(porteroRoster);
-
-        for (int i = 1; i < teamPlayers.size(); i++) {
-            Player campo = teamPlayers.get(i);
-            RosterPlayer campoRoster = new RosterPlayer();
-            campoRoster.setUser(user);
-            campoRoster.setLeague(league);
-            campoRoster.setPlayer(campo);
-            campoRoster.setRole(PlayerTeamRole.CAMPO);
-            roster.add(campoRoster);
-        }
-
-        rosterPlayerRepository.saveAll(roster);
+        leagueChangeService.record(leagueId, LeagueChangeType.ROSTER_CHANGED, userId, null, null, null);
+        domainEventBus.publish(new RosterChangedEvent(leagueId, userId));
+        leagueVersionService.rosterChanged(leagueId, userId);
     }
 
     /**
@@ -396,8 +504,12 @@ public class LeagueService {
         User user = request.getUser();
         League league = request.getLeague();
 
+        addMember(league);
         UserLeagueRole participantRole = new UserLeagueRole(user, league, LeagueRole.PARTICIPANT);
         userLeagueRoleRepository.save(participantRole);
+        leagueChangeService.record(league.getId(), LeagueChangeType.MEMBER_JOINED, user.getId(), null, null, null);
+        domainEventBus.publish(new MembershipChangedEvent(league.getId(), user.getId(), true));
+        leagueVersionService.leagueChanged(league.getId());
     }
 
     /**
@@ -453,8 +565,16 @@ public class LeagueService {
         existingLeague.setPrivate(leagueCreateDto.isPrivate());
         existingLeague.setNumberOfPlayers(leagueCreateDto.getNumberOfPlayers());
         existingLeague.setTeamSize(leagueCreateDto.getTeamSize());
+        if (!Objects.equals(existingLeague.getMaxMembers(), leagueCreateDto.getMaxMembers())) {
+            if (leagueRepository.updateMaxMembers(id, leagueCreateDto.getMaxMembers()) == 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La liga ya tiene más miembros que el límite indicado.");
+            }
+            existingLeague.setMaxMembers(leagueCreateDto.getMaxMembers());
+        }
 
         League updatedLeague = leagueRepository.save(existingLeague);
+        leagueChangeService.record(id, LeagueChangeType.LEAGUE_UPDATED, null, null, null, null);
+        leagueVersionService.leagueChanged(id);
         return mapToLeagueResponseDto(updatedLeague);
     }
 
@@ -484,7 +604,80 @@ public class LeagueService {
         List<UserLeagueRole> userLeagueRoles = userLeagueRoleRepository.findAllByLeagueId(leagueId);
         userLeagueRoleRepository.deleteAll(userLeagueRoles);
 
+        leagueStandingRepository.deleteByLeagueId(leagueId);
+        playerSeasonStatsService.deleteLeague(leagueId);
+        playerSearchIndex.invalidate(leagueId);
+        scoringRuleService.deleteLeague(leagueId);
+        draftService.deleteLeague(leagueId);
+        transferService.deleteLeague(leagueId);
         leagueRepository.delete(league);
+        leagueChangeService.deleteLeagueHistory(leagueId);
+        scoreboardCache.remove(leagueId);
+        leagueVersionService.leagueChanged(leagueId);
+        leagueVersionService.scoresChanged(leagueId);
+    }
+
+    /**
+     * Lista las ligas públicas, por número de miembros o de más reciente a más antigua.
+     * <p>
+     * Usa paginación por cursor: cada página continúa desde la última liga de la anterior con una condición
+     * sobre las columnas del orden, que están indexadas, así que pedir una página lejana cuesta lo mismo que
+     * pedir la primera. El resultado es un resumen construido en la propia consulta, sin cargar participantes
+     * ni jugadores.
+     * </p>
+     *
+     * @param sort   El orden: {@code members} (por defecto) o {@code recent}.
+     * @param cursor El cursor devuelto en la página anterior, o {@code null} para la primera.
+     * @param query  Texto que debe contener el nombre de la liga (sin distinguir mayúsculas), o {@code null}.
+     * @param limit  El número máximo de ligas (entre 1 y {@value #MAX_PUBLIC_LEAGUES}).
+     * @return Un {@link LeagueSummaryPageDto} con las ligas y el cursor de la siguiente página.
+     * @throws ResponseStatusException Si el orden, el cursor o el límite no son válidos.
+     */
+    @Transactional(readOnly = true)
+    public LeagueSummaryPageDto getPublicLeagues(String sort, String cursor, String query, int limit) {
+        if (limit < 1 || limit > MAX_PUBLIC_LEAGUES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El límite debe estar entre 1 y " + MAX_PUBLIC_LEAGUES + ".");
+        }
+        if (!sort.equals("members") && !sort.equals("recent")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orden no válido: " + sort + ".");
+        }
+        String pattern = query == null || query.isBlank() ? "%" : "%" + query.trim().toLowerCase(Locale.ROOT).replace("!", "!!").replace("%", "!%").replace("_", "!_") + "%";
+        long[] position = decodeCursor(sort, cursor);
+        PageRequest page = PageRequest.of(0, limit + 1);
+        List<LeagueSummaryDto> leagues = switch (sort) {
+            case "members" -> leagueRepository.findPublicByMembersAfter(pattern, (int) position[0], position[1], page);
+            default -> leagueRepository.findPublicByRecencyAfter(pattern, position[1], page);
+        };
+        if (leagues.size() <= limit) {
+            return new LeagueSummaryPageDto(leagues, null);
+        }
+        List<LeagueSummaryDto> result = leagues.subList(0, limit);
+        LeagueSummaryDto last = result.get(limit - 1);
+        String next = sort.equals("members") ? "m:" + last.getMemberCount() + ":" + last.getId() : "r:" + last.getId();
+        return new LeagueSummaryPageDto(new ArrayList<>(result), Base64.getUrlEncoder().withoutPadding().encodeToString(next.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Decodifica un cursor del listado de ligas públicas.
+     *
+     * @return El número de miembros y el ID de la última liga de la página anterior; los valores máximos si no hay cursor.
+     */
+    private static long[] decodeCursor(String sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new long[]{Integer.MAX_VALUE, Long.MAX_VALUE};
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (sort.equals("members") && parts.length == 3 && parts[0].equals("m")) {
+                return new long[]{Integer.parseInt(parts[1]), Long.parseLong(parts[2])};
+            }
+            if (sort.equals("recent") && parts.length == 2 && parts[0].equals("r")) {
+                return new long[]{Integer.MAX_VALUE, Long.parseLong(parts[1])};
+            }
+        } catch (IllegalArgumentException e) {
+            // Se trata igual que un cursor con un formato que no corresponde al orden pedido.
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor no válido para este orden.");
     }
 
     /**
@@ -506,6 +699,10 @@ public class LeagueService {
         }
 
         userLeagueRoleRepository.delete(userRole);
+        leagueRepository.addMembers(leagueId, -1);
+        leagueChangeService.record(leagueId, LeagueChangeType.MEMBER_LEFT, userId, null, null, null);
+        domainEventBus.publish(new MembershipChangedEvent(leagueId, userId, false));
+        leagueVersionService.leagueChanged(leagueId);
     }
 
     /**
@@ -532,6 +729,10 @@ public class LeagueService {
         }
 
         userLeagueRoleRepository.delete(userRole);
+        leagueRepository.addMembers(leagueId, -1);
+        leagueChangeService.record(leagueId, LeagueChangeType.MEMBER_LEFT, targetUserId, null, null, "EXPELLED");
+        domainEventBus.publish(new MembershipChangedEvent(leagueId, targetUserId, false));
+        leagueVersionService.leagueChanged(leagueId);
     }
 
     /**
@@ -558,22 +759,48 @@ public class LeagueService {
         return userLeagueRoleRepository.existsByLeagueIdAndUserId(leagueId, userId);
     }
 
+    /**
+     * Suma un miembro al contador de una liga, comprobando su límite en la misma sentencia. Debe llamarse antes
+     * de guardar la pertenencia, dentro de la misma transacción, para que si la liga está completa no se guarde
+     * nada.
+     *
+     * @param league La liga.
+     * @throws ResponseStatusException Si la liga ha alcanzado su número máximo de miembros.
+     */
+    private void addMember(League league) {
+        if (leagueRepository.addMemberIfNotFull(league.getId()) == 0) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "La liga ha alcanzado su número máximo de miembros.");
+        }
+        league.setMemberCount(league.getMemberCount() + 1);
+    }
+
     /**
      * Mapea una entidad {@link League} a un DTO de respuesta.
      *
      * @param league La entidad {@link League}.
      * @return El DTO de respuesta {@link LeagueResponseDto}.
      */
-    private LeagueResponseDto mapToLeagueResponseDto(League league) {
+    LeagueResponseDto mapToLeagueResponseDto(League league) {
+        return mapToLeagueResponseDto(league, playerSeasonStatsService.findByPlayerIds(league.getPlayers().stream().map(Player::getId).collect(Collectors.toSet())));
+    }
+
+    /**
+     * Mapea una entidad {@link League} a un DTO de respuesta con los acumulados de sus jugadores ya cargados.
+     *
+     * @param league  La entidad {@link League}.
+     * @param seasons Los acumulados de temporada por ID de jugador.
+     * @return El DTO de respuesta {@link LeagueResponseDto}.
+     */
+    LeagueResponseDto mapToLeagueResponseDto(League league, Map<Long, PlayerSeasonStats> seasons) {
         Set<UserLeagueRole> userRoles = new HashSet<>(league.getUserRoles());
 
         List<UserResponseDto> adminsDto = userRoles.stream().filter(ulr -> ulr.getRole() == LeagueRole.ADMIN).map(ulr -> mapToUserResponseDto(ulr.getUser())).collect(Collectors.toList());
 
         List<UserResponseDto> participantsDto = userRoles.stream().map(ulr -> mapToUserResponseDto(ulr.getUser())).collect(Collectors.toList());
 
-        List<PlayerResponseDto> players = league.getPlayers().stream().map(this::mapToPlayerResponseDto).collect(Collectors.toList());
+        List<PlayerResponseDto> players = league.getPlayers().stream().map(player -> mapToPlayerResponseDto(player, seasons.get(player.getId()))).collect(Collectors.toList());
 
-        return new LeagueResponseDto(league.getId(), league.getName(), league.getDescription(), league.getImage(), league.isPrivate(), league.getJoinCode(), participantsDto.size(), adminsDto, participantsDto, league.getTeamSize(), players);
+        return new LeagueResponseDto(league.getId(), league.getName(), league.getDescription(), league.getImage(), league.isPrivate(), league.getJoinCode(), league.getMemberCount(), adminsDto, participantsDto, league.getTeamSize(), players, league.getMaxMembers());
     }
 
     /**
@@ -590,10 +817,11 @@ public class LeagueService {
      * Mapea una entidad {@link Player} a un DTO de respuesta.
      *
      * @param player La entidad {@link Player}.
+     * @param season Los acumulados de temporada del jugador, o {@code null} si no tiene estadísticas.
      * @return El DTO de respuesta {@link PlayerResponseDto}.
      */
-    private PlayerResponseDto mapToPlayerResponseDto(Player player) {
-        return new PlayerResponseDto(player.getId(), player.getName(), player.getImage(), player.getTotalPoints());
+    private PlayerResponseDto mapToPlayerResponseDto(Player player, PlayerSeasonStats season) {
+        return new PlayerResponseDto(player.getId(), player.getName(), player.getImage(), PlayerSeasonStatsService.pointsFor(season, PlayerTeamRole.CAMPO), PlayerSeasonStatsService.pointsFor(season, PlayerTeamRole.PORTERO));
     }
 
     /**
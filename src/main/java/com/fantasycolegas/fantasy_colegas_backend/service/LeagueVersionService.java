@@ -0,0 +1,149 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio que mantiene contadores de versión por liga y por equipo para generar ETags.
+ * <p>
+ * Los métodos de los servicios que modifican datos incrementan el contador correspondiente
+ * y los endpoints de lectura construyen su ETag a partir de ellos, de modo que pueden responder
+ * 304 sin tocar la base de datos. Hay tres contadores:
+ * <ul>
+ *     <li>Liga: datos de la liga, miembros y jugadores (detalle de la liga).</li>
+ *     <li>Puntuaciones: equipos y estadísticas (clasificación).</li>
+ *     <li>Equipo: el roster de un usuario en una liga.</li>
+ * </ul>
+ * Los incrementos se aplican después del commit, para que nunca se sirva un dato antiguo
+ * con una versión nueva. Los contadores viven en memoria; el ETag incluye una marca del
+ * arranque para que los ETags de una ejecución anterior no coincidan tras reiniciar.
+ * </p>
+ */
+@Service
+public class LeagueVersionService {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<Long, AtomicLong> leagueVersions = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> scoreVersions = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> rosterVersions = new ConcurrentHashMap<>();
+
+    /**
+     * Marca como modificados los datos generales de una liga (información, miembros o jugadores).
+     *
+     * @param leagueId El ID de la liga.
+     */
+    public void leagueChanged(Long leagueId) {
+        afterCommit(() -> counter(leagueVersions, leagueId).incrementAndGet());
+    }
+
+    /**
+     * Marca como modificadas las puntuaciones de una liga (estadísticas o equipos).
+     *
+     * @param leagueId El ID de la liga.
+     */
+    public void scoresChanged(Long leagueId) {
+        afterCommit(() -> counter(scoreVersions, leagueId).incrementAndGet());
+    }
+
+    /**
+     * Marca como modificado el equipo de un usuario en una liga. También cambia la clasificación.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario propietario del equipo.
+     */
+    public void rosterChanged(Long leagueId, Long userId) {
+        afterCommit(() -> {
+            counter(rosterVersions, rosterKey(leagueId, userId)).incrementAndGet();
+            counter(scoreVersions, leagueId).incrementAndGet();
+        });
+    }
+
+    /**
+     * Versión actual de las puntuaciones de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return La versión; cambia cada vez que se confirma un cambio en las puntuaciones.
+     */
+    public long scoreVersion(Long leagueId) {
+        return version(scoreVersions, leagueId);
+    }
+
+    /**
+     * ETag del detalle de una liga. Incluye la versión de las puntuaciones porque el detalle
+     * muestra los puntos de temporada de los jugadores, que cambian con sus estadísticas.
+     *
+     * @param leagueId El ID de la liga.
+     * @return El ETag fuerte, entre comillas.
+     */
+    public String leagueETag(Long leagueId) {
+        return "\"l-" + epoch + "-" + leagueId + "-" + version(leagueVersions, leagueId) + "-" + version(scoreVersions, leagueId) + "\"";
+    }
+
+    /**
+     * ETag de la clasificación de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return El ETag fuerte, entre comillas.
+     */
+    public String scoreboardETag(Long leagueId) {
+        return "\"s-" + epoch + "-" + leagueId + "-" + version(scoreVersions, leagueId) + "\"";
+    }
+
+    /**
+     * ETag de las clasificaciones de estadísticas de una liga. Cambia con las puntuaciones y con
+     * los datos de la liga, que incluyen el nombre y la imagen de los jugadores.
+     *
+     * @param leagueId El ID de la liga.
+     * @return El ETag fuerte, entre comillas.
+     */
+    public String leadersETag(Long leagueId) {
+        return "\"t-" + epoch + "-" + leagueId + "-" + version(leagueVersions, leagueId) + "-" + version(scoreVersions, leagueId) + "\"";
+    }
+
+    /**
+     * ETag del equipo de un usuario. Incluye las versiones de la liga y de las puntuaciones
+     * porque el equipo muestra el nombre, la imagen y los puntos de los jugadores.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario propietario del equipo.
+     * @return El ETag fuerte, entre comillas.
+     */
+    public String rosterETag(Long leagueId, Long userId) {
+        return "\"r-" + epoch + "-" + leagueId + "-" + userId + "-" + version(leagueVersions, leagueId) + "-" + version(scoreVersions, leagueId) + "-" + version(rosterVersions, rosterKey(leagueId, userId)) + "\"";
+    }
+
+    private static <K> AtomicLong counter(Map<K, AtomicLong> versions, K key) {
+        return versions.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    private static <K> long version(Map<K, AtomicLong> versions, K key) {
+        AtomicLong version = versions.get(key);
+        return version == null ? 0 : version.get();
+    }
+
+    private static String rosterKey(Long leagueId, Long userId) {
+        return leagueId + ":" + userId;
+    }
+
+    private static void afterCommit(Runnable bump) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump.run();
+                }
+            });
+        } else {
+            bump.run();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Cálculo exacto de la mejor alineación posible: un portero y el resto jugadores de campo, con la máxima
+ * suma de puntos.
+ * <p>
+ * Fijado el portero, lo mejor es completar el equipo con los jugadores de más puntos como jugador de campo
+ * entre los demás. Basta entonces con conocer los {@code k + 1} mejores jugadores de campo, siendo {@code k}
+ * el número de puestos de campo: si el portero está entre los {@code k} primeros, su puesto lo ocupa el
+ * siguiente; si no, el campo son exactamente esos {@code k}. Los mejores se seleccionan con un montículo de
+ * {@code k + 1} índices, en O(n log k), y después cada jugador se prueba como portero en O(1), sin probar
+ * combinaciones. A igualdad de puntos se prefiere el jugador de menor índice, así que el resultado es estable.
+ * </p>
+ */
+public final class LineupOptimizer {
+
+    /**
+     * La mejor alineación.
+     *
+     * @param goalkeeper   El índice del portero, o -1 si no hay jugadores.
+     * @param fieldPlayers Los índices de los jugadores de campo, de más a menos puntos.
+     * @param points       Los puntos totales de la alineación.
+     */
+    public record Lineup(int goalkeeper, int[] fieldPlayers, double points) {
+    }
+
+    private LineupOptimizer() {
+    }
+
+    /**
+     * Calcula la mejor alineación. Si hay menos jugadores que puestos, juegan todos.
+     *
+     * @param fieldPoints      Los puntos de cada jugador como jugador de campo.
+     * @param goalkeeperPoints Los puntos de cada jugador como portero, en el mismo orden.
+     * @param teamSize         El tamaño del equipo, portero incluido.
+     * @return La alineación con más puntos.
+     * @throws IllegalArgumentException Si el tamaño del equipo es menor que 1 o los arrays no tienen la misma longitud.
+     */
+    public static Lineup best(double[] fieldPoints, double[] goalkeeperPoints, int teamSize) {
+        if (teamSize < 1) {
+            throw new IllegalArgumentException("El tamaño del equipo debe ser al menos 1.");
+        }
+        if (fieldPoints.length != goalkeeperPoints.length) {
+            throw new IllegalArgumentException("Los puntos de campo y de portero deben tener la misma longitud.");
+        }
+        int n = fieldPoints.length;
+        if (n == 0) {
+            return new Lineup(-1, new int[0], 0.0);
+        }
+
+        int fieldSlots = Math.min(teamSize - 1, n - 1);
+        int[] top = topByPoints(fieldPoints, fieldSlots + 1);
+        boolean[] inField = new boolean[n];
+        double fieldSum = 0.0;
+        for (int i = 0; i < fieldSlots; i++) {
+            inField[top[i]] = true;
+            fieldSum += fieldPoints[top[i]];
+        }
+        double replacement = fieldPoints[top[fieldSlots]];
+
+        int goalkeeper = -1;
+        double best = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            double total = goalkeeperPoints[i] + fieldSum - (inField[i] ? fieldPoints[i] - replacement : 0.0);
+            if (total > best) {
+                best = total;
+                goalkeeper = i;
+            }
+        }
+
+        int[] field = new int[fieldSlots];
+        int next = 0;
+        for (int i = 0; i <= fieldSlots && next < fieldSlots; i++) {
+            if (top[i] != goalkeeper) {
+                field[next++] = top[i];
+            }
+        }
+        return new Lineup(goalkeeper, field, best);
+    }
+
+    /**
+     * Selecciona los {@code count} índices con más puntos, de más a menos, con un montículo cuya raíz es el peor
+     * de los seleccionados hasta el momento.
+     */
+    static int[] topByPoints(double[] points, int count) {
+        int[] heap = new int[count];
+        int size = 0;
+        for (int i = 0; i < points.length; i++) {
+            if (size < count) {
+                heap[size] = i;
+                siftUp(heap, size++, points);
+            } else if (worse(heap[0], i, points)) {
+                heap[0] = i;
+                siftDown(heap, size, points);
+            }
+        }
+        int[] sorted = new int[size];
+        for (int i = size - 1; i >= 0; i--) {
+            sorted[i] = heap[0];
+            heap[0] = heap[--size];
+            siftDown(heap, size, points);
+        }
+        return sorted;
+    }
+
+    private static boolean worse(int a, int b, double[] points) {
+        return points[a] < points[b] || (points[a] == points[b] && a > b);
+    }
+
+    private static void siftUp(int[] heap, int index, double[] points) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(heap[index], heap[parent], points)) {
+                return;
+            }
+            swap(heap, index, parent);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, double[] points) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && worse(heap[child + 1], heap[child], points)) {
+                child++;
+            }
+            if (!worse(heap[child], heap[index], points)) {
+                return;
+            }
+            swap(heap, index, child);
+            index = child;
+        }
+    }
+
+    private static void swap(int[] heap, int a, int b) {
+        int tmp = heap[a];
+        heap[a] = heap[b];
+        heap[b] = tmp;
+    }
+}
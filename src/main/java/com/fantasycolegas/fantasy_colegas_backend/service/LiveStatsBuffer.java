@@ -0,0 +1,274 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Búfer en memoria de las estadísticas enviadas en modo directo, con un diario en disco.
+ * <p>
+ * Para cada partido guarda solo el último valor enviado de cada jugador. Cada cambio se añade
+ * antes a un diario (una línea JSON por cambio) para que, si el proceso se detiene antes de volcar
+ * el búfer, se pueda reconstruir al arrancar. Tras un volcado correcto el diario se reescribe con
+ * lo que haya quedado pendiente, así que su tamaño depende de los cambios sin volcar y no del histórico.
+ * <p>
+ * Las estadísticas se sacan con {@link #take} dentro de la transacción que las guarda (o que guarda otras más
+ * recientes), con el partido bloqueado. Mientras la transacción está abierta quedan retenidas: no se vuelven
+ * a sacar, pero siguen en el diario. Si la transacción se confirma se anota en el diario que ya están guardadas;
+ * si se deshace vuelven al búfer, salvo que entretanto haya llegado un valor más reciente. Cada valor lleva un
+ * número de secuencia creciente para que esa anotación no borre al recuperar el diario un valor posterior del
+ * mismo jugador.
+ * </p>
+ */
+@Component
+public class LiveStatsBuffer {
+
+    /**
+     * Una línea del diario: unas estadísticas nuevas con su número de secuencia o, si {@code stats} es
+     * {@code null}, que las del jugador con una secuencia menor o igual que {@code seq} ya están guardadas.
+     */
+    record JournalEntry(Long matchId, Long playerId, PlayerMatchStatsUpdateDto stats, Long seq) {
+    }
+
+    private final Map<Long, Map<Long, JournalEntry>> pending = new LinkedHashMap<>();
+    private final Map<Long, JournalEntry> held = new HashMap<>();
+    private final ObjectMapper objectMapper;
+    private final Path journal;
+    private final boolean fsync;
+    private FileOutputStream journalOut;
+    private long sequence;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias.
+     *
+     * @param objectMapper El {@link ObjectMapper} usado para escribir y leer el diario.
+     * @param journal      La ruta del diario.
+     * @param fsync        Si se fuerza la escritura a disco de cada línea del diario.
+     */
+    public LiveStatsBuffer(ObjectMapper objectMapper, @Value("${app.live-stats.journal:./data/live-stats.journal}") Path journal, @Value("${app.live-stats.fsync:true}") boolean fsync) {
+        this.objectMapper = objectMapper;
+        this.journal = journal;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Guarda las estadísticas de un jugador, sustituyendo las pendientes si las hubiera.
+     *
+     * @param matchId El ID del partido.
+     * @param stats   Las estadísticas del jugador.
+     */
+    public synchronized void put(Long matchId, PlayerMatchStatsUpdateDto stats) {
+        JournalEntry entry = new JournalEntry(matchId, stats.getPlayerId(), stats, ++sequence);
+        append(entry);
+        pending.computeIfAbsent(matchId, k -> new LinkedHashMap<>()).put(stats.getPlayerId(), entry);
+    }
+
+    /**
+     * @return Los IDs de los partidos con estadísticas pendientes.
+     */
+    public synchronized Set<Long> pendingMatchIds() {
+        return Set.copyOf(pending.keySet());
+    }
+
+    /**
+     * Saca las estadísticas pendientes de unos partidos para guardarlas en la transacción en curso, que debe
+     * tener bloqueados esos partidos.
+     *
+     * @param matchIds Los IDs de los partidos.
+     * @return Las estadísticas pendientes por partido y jugador.
+     */
+    public synchronized Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> take(Collection<Long> matchIds) {
+        List<JournalEntry> taken = new ArrayList<>();
+        for (Long matchId : matchIds) {
+            Map<Long, JournalEntry> match = pending.remove(matchId);
+            if (match != null) {
+                taken.addAll(match.values());
+            }
+        }
+        return hold(taken);
+    }
+
+    /**
+     * Saca las estadísticas pendientes de un jugador en la transacción en curso, que debe tener bloqueado el
+     * partido. Se usa cuando se guardan sus estadísticas por otra vía, para guardar antes las pendientes o para
+     * que no sobrescriban después a las guardadas.
+     *
+     * @param matchId  El ID del partido.
+     * @param playerId El ID del jugador.
+     * @return Las estadísticas pendientes de ese jugador (vacío si no hay).
+     */
+    public synchronized Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> take(Long matchId, Long playerId) {
+        Map<Long, JournalEntry> match = pending.get(matchId);
+        JournalEntry entry = match == null ? null : match.remove(playerId);
+        if (entry == null) {
+            return Map.of();
+        }
+        if (match.isEmpty()) {
+            pending.remove(matchId);
+        }
+        return hold(List.of(entry));
+    }
+
+    /**
+     * Reescribe el diario con solo las estadísticas que siguen pendientes o retenidas por una transacción
+     * abierta. Se llama después de guardar lo sacado del búfer.
+     */
+    public synchronized void compact() {
+        try {
+            closeJournal();
+            Path tmp = journal.resolveSibling(journal.getFileName() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(tmp.toFile())) {
+                for (Map<Long, JournalEntry> match : pending.values()) {
+                    for (JournalEntry entry : match.values()) {
+                        out.write(line(entry));
+                    }
+                }
+                for (JournalEntry entry : held.values()) {
+                    out.write(line(entry));
+                }
+                out.getFD().sync();
+            }
+            Files.move(tmp, journal, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo compactar el diario de estadísticas en directo.", e);
+        }
+    }
+
+    /**
+     * Reconstruye el búfer a partir del diario. Un valor sustituye al recuperado del mismo jugador si su secuencia
+     * es mayor, y una anotación de guardado lo quita si su secuencia no es menor. Las líneas de diarios anteriores
+     * a las secuencias se aplican en orden.
+     *
+     * @return El número de estadísticas pendientes recuperadas.
+     */
+    public synchronized int replay() {
+        if (!Files.exists(journal)) {
+            return 0;
+        }
+        Map<Long, Map<Long, JournalEntry>> recovered = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JournalEntry entry;
+                try {
+                    entry = objectMapper.readValue(line, JournalEntry.class);
+                } catch (IOException e) {
+                    // Una última línea a medio escribir si el proceso se detuvo durante la escritura.
+                    break;
+                }
+                Map<Long, JournalEntry> match = recovered.computeIfAbsent(entry.matchId(), k -> new LinkedHashMap<>());
+                JournalEntry current = match.get(entry.playerId());
+                if (entry.stats() == null) {
+                    if (current != null && (entry.seq() == null || current.seq() <= entry.seq())) {
+                        match.remove(entry.playerId());
+                    }
+                } else {
+                    long seq = entry.seq() == null ? sequence + 1 : entry.seq();
+                    sequence = Math.max(sequence, seq);
+                    if (current == null || current.seq() < seq) {
+                        match.put(entry.playerId(), new JournalEntry(entry.matchId(), entry.playerId(), entry.stats(), seq));
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el diario de estadísticas en directo.", e);
+        }
+        recovered.values().removeIf(Map::isEmpty);
+        recovered.forEach((matchId, players) -> pending.computeIfAbsent(matchId, k -> new LinkedHashMap<>()).putAll(players));
+        return recovered.values().stream().mapToInt(Map::size).sum();
+    }
+
+    /**
+     * Retiene lo sacado hasta que termine la transacción en curso. Sin transacción se da por guardado.
+     */
+    private Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> hold(List<JournalEntry> taken) {
+        if (taken.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> stats = new LinkedHashMap<>();
+        for (JournalEntry entry : taken) {
+            held.put(entry.seq(), entry);
+            stats.computeIfAbsent(entry.matchId(), k -> new LinkedHashMap<>()).put(entry.playerId(), entry.stats());
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(taken, status == STATUS_COMMITTED);
+                }
+            });
+        } else {
+            release(taken, true);
+        }
+        return stats;
+    }
+
+    /**
+     * Suelta lo retenido por una transacción: si se ha confirmado anota en el diario que está guardado y, si no,
+     * lo devuelve al búfer salvo que ya haya un valor más reciente.
+     */
+    private synchronized void release(List<JournalEntry> taken, boolean saved) {
+        for (JournalEntry entry : taken) {
+            held.remove(entry.seq());
+            if (saved) {
+                append(new JournalEntry(entry.matchId(), entry.playerId(), null, entry.seq()));
+            } else {
+                pending.computeIfAbsent(entry.matchId(), k -> new LinkedHashMap<>()).merge(entry.playerId(), entry, (current, restored) -> current.seq() > restored.seq() ? current : restored);
+            }
+        }
+    }
+
+    private void append(JournalEntry entry) {
+        try {
+            if (journalOut == null) {
+                Files.createDirectories(journal.toAbsolutePath().getParent());
+                journalOut = new FileOutputStream(journal.toFile(), true);
+            }
+            journalOut.write(line(entry));
+            if (fsync) {
+                journalOut.getFD().sync();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir en el diario de estadísticas en directo.", e);
+        }
+    }
+
+    private byte[] line(JournalEntry entry) throws IOException {
+        return (objectMapper.writeValueAsString(entry) + "\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @PreDestroy
+    synchronized void closeJournal() throws IOException {
+        if (journalOut != null) {
+            journalOut.close();
+            journalOut = null;
+        }
+    }
+}
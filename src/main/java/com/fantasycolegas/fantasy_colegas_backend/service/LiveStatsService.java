@@ -0,0 +1,141 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.PlayerMatchStatsResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Set;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio para el modo directo de actualización de estadísticas.
+ * <p>
+ * Durante un partido en directo el anotador envía muchas veces las estadísticas del mismo jugador.
+ * En este modo cada envío se valida, se anota en el {@link LiveStatsBuffer} y se responde sin abrir
+ * una transacción de escritura. El búfer se vuelca periódicamente, o al pedirlo para un partido,
+ * en una sola transacción con el último valor de cada jugador. Al arrancar se recupera lo que
+ * hubiera quedado en el diario sin volcar.
+ * </p>
+ */
+@Service
+public class LiveStatsService {
+
+    private static final Logger log = LoggerFactory.getLogger(LiveStatsService.class);
+
+    private final LiveStatsBuffer liveStatsBuffer;
+    private final MatchService matchService;
+    private final MatchRepository matchRepository;
+    private final PlayerRepository playerRepository;
+    private final PointsCalculationService pointsCalculationService;
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public LiveStatsService(LiveStatsBuffer liveStatsBuffer, MatchService matchService, MatchRepository matchRepository, PlayerRepository playerRepository, PointsCalculationService pointsCalculationService) {
+        this.liveStatsBuffer = liveStatsBuffer;
+        this.matchService = matchService;
+        this.matchRepository = matchRepository;
+        this.playerRepository = playerRepository;
+        this.pointsCalculationService = pointsCalculationService;
+    }
+
+    /**
+     * Acepta las estadísticas de un jugador en modo directo.
+     * <p>
+     * Se guardan en el búfer y se vuelcan a la base de datos en el siguiente volcado. La respuesta incluye
+     * los puntos calculados, pero no el ID de las estadísticas, que puede no existir todavía.
+     * </p>
+     *
+     * @param matchId        El ID del partido.
+     * @param statsUpdateDto DTO con las estadísticas del jugador.
+     * @return Un {@link PlayerMatchStatsResponseDto} con las estadísticas aceptadas.
+     * @throws ResponseStatusException Si el partido o el jugador no existen, el partido está finalizado o el jugador no es de la liga del partido.
+     */
+    public PlayerMatchStatsResponseDto submit(Long matchId, PlayerMatchStatsUpdateDto statsUpdateDto) {
+        Match match = matchRepository.findById(matchId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado."));
+        if (match.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El partido ya está finalizado; sus estadísticas no se pueden modificar.");
+        }
+        Player player = playerRepository.findById(statsUpdateDto.getPlayerId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Jugador no encontrado."));
+        if (player.getLeague() == null || !player.getLeague().getId().equals(match.getLeague().getId())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El jugador no pertenece a la liga del partido.");
+        }
+
+        liveStatsBuffer.put(matchId, statsUpdateDto);
+
+        CompiledScoringRules rules = pointsCalculationService.getRules(match.getLeague().getId());
+        double fieldPoints = rules.points(statsUpdateDto, PlayerTeamRole.CAMPO);
+        double goalkeeperPoints = rules.points(statsUpdateDto, PlayerTeamRole.PORTERO);
+        return new PlayerMatchStatsResponseDto(null, statsUpdateDto.getPlayerId(), statsUpdateDto.getGolesMarcados(), statsUpdateDto.getFallosClarosDeGol(), statsUpdateDto.getAsistencias(), statsUpdateDto.getGolesEncajadosComoPortero(), statsUpdateDto.getParadasComoPortero(), statsUpdateDto.getCesionesConcedidas(), statsUpdateDto.getFaltasCometidas(), statsUpdateDto.getFaltasRecibidas(), statsUpdateDto.getPenaltisRecibidos(), statsUpdateDto.getPenaltisCometidos(), statsUpdateDto.getPasesAcertados(), statsUpdateDto.getPasesFallados(), statsUpdateDto.getRobosDeBalon(), statsUpdateDto.getTirosCompletados(), statsUpdateDto.getTirosEntreLosTresPalos(), statsUpdateDto.getTiempoJugado(), statsUpdateDto.getTarjetasAmarillas(), statsUpdateDto.getTarjetasRojas(), fieldPoints, goalkeeperPoints);
+    }
+
+    /**
+     * Vuelca el búfer completo. Se ejecuta periódicamente.
+     */
+    @Scheduled(fixedDelayString = "${app.live-stats.flush-interval:PT2S}")
+    public synchronized void flush() {
+        apply(liveStatsBuffer.pendingMatchIds());
+    }
+
+    /**
+     * Vuelca las estadísticas pendientes de un partido, por ejemplo al terminarlo.
+     *
+     * @param matchId El ID del partido.
+     * @return El número de estadísticas guardadas.
+     */
+    public synchronized int flushMatch(Long matchId) {
+        return liveStatsBuffer.pendingMatchIds().contains(matchId) ? apply(Set.of(matchId)) : 0;
+    }
+
+    /**
+     * Recupera al arrancar las estadísticas que quedaron en el diario sin volcar.
+     * Se volcarán en el siguiente volcado periódico, cuando ya estén creadas las reglas de puntuación.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        int recovered = liveStatsBuffer.replay();
+        if (recovered > 0) {
+            log.info("Recuperadas {} estadísticas en directo del diario.", recovered);
+        }
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        flush();
+    }
+
+    /**
+     * Guarda lo pendiente de unos partidos y compacta el diario. Si falla, la transacción devuelve lo sacado
+     * al búfer para reintentarlo en el siguiente volcado; el diario sigue conteniéndolo mientras tanto.
+     */
+    private int apply(Set<Long> matchIds) {
+        if (matchIds.isEmpty()) {
+            return 0;
+        }
+        int saved;
+        try {
+            saved = matchService.flushLiveStats(matchIds);
+        } catch (RuntimeException e) {
+            log.error("No se pudieron volcar las estadísticas en directo; se reintentará.", e);
+            throw e;
+        }
+        liveStatsBuffer.compact();
+        return saved;
+    }
+}
@@ -0,0 +1,193 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.MatchEventCreateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.MatchEventResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.StatsUpdatedEvent;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.MatchEvent;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchEventRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerMatchStatsRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio para registrar los eventos de un partido (goles, asistencias, tarjetas...).
+ * <p>
+ * Cada evento se guarda en la tabla {@code match_events}, que solo crece, y suma su cantidad al contador
+ * correspondiente de las estadísticas del jugador en el partido. En lugar de reescribir la línea de
+ * estadísticas completa, se lanza un único {@code UPDATE} sobre esa fila que incrementa el contador y los
+ * puntos de cada rol con la diferencia de puntos que supone el evento: los puntos por unidad de esa estadística
+ * si las reglas de la liga son lineales, o la diferencia entre puntuar la línea antes y después si tienen
+ * expresiones. Los acumulados de temporada del jugador se ajustan con la misma diferencia.
+ * </p>
+ */
+@Service
+public class MatchEventService {
+
+    private final MatchEventRepository matchEventRepository;
+    private final MatchRepository matchRepository;
+    private final PlayerRepository playerRepository;
+    private final PlayerMatchStatsRepository playerMatchStatsRepository;
+    private final PointsCalculationService pointsCalculationService;
+    private final LiveStatsBuffer liveStatsBuffer;
+    private final MatchService matchService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final LeagueVersionService leagueVersionService;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
+    private final EntityManager entityManager;
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public MatchEventService(MatchEventRepository matchEventRepository, MatchRepository matchRepository, PlayerRepository playerRepository, PlayerMatchStatsRepository playerMatchStatsRepository, PointsCalculationService pointsCalculationService, LiveStatsBuffer liveStatsBuffer, MatchService matchService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, LeagueVersionService leagueVersionService, PlayerSeasonStatsService playerSeasonStatsService, EntityManager entityManager) {
+        this.matchEventRepository = matchEventRepository;
+        this.matchRepository = matchRepository;
+        this.playerRepository = playerRepository;
+        this.playerMatchStatsRepository = playerMatchStatsRepository;
+        this.pointsCalculationService = pointsCalculationService;
+        this.liveStatsBuffer = liveStatsBuffer;
+        this.matchService = matchService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.leagueVersionService = leagueVersionService;
+        this.playerSeasonStatsService = playerSeasonStatsService;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Registra un evento de un partido y actualiza las estadísticas del jugador.
+     * <p>
+     * El partido se bloquea durante la transacción, de modo que los eventos de un mismo partido se aplican de uno
+     * en uno y no se pueden registrar mientras se finaliza. Si el jugador todavía no tiene estadísticas en el
+     * partido se crean. Si el jugador tiene estadísticas pendientes en el búfer de directo, son más recientes que
+     * las guardadas: se guardan antes y el evento se suma sobre ellas.
+     * </p>
+     *
+     * @param matchId  El ID del partido.
+     * @param eventDto DTO con los datos del evento.
+     * @return Un {@link MatchEventResponseDto} con el evento registrado.
+     * @throws ResponseStatusException Si el partido o el jugador no existen, el partido está finalizado, el jugador
+     *                                 no es de la liga del partido, la cantidad es 0 o el contador quedaría en negativo.
+     */
+    @Transactional
+    public MatchEventResponseDto recordEvent(Long matchId, MatchEventCreateDto eventDto) {
+        if (eventDto.getAmount() == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La cantidad del evento no puede ser 0.");
+        }
+        Match match = matchRepository.findByIdForUpdate(matchId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado."));
+        if (match.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El partido ya está finalizado; sus estadísticas no se pueden modificar.");
+        }
+        Player player = playerRepository.findById(eventDto.getPlayerId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Jugador no encontrado."));
+        Long leagueId = match.getLeague().getId();
+        if (player.getLeague() == null || !player.getLeague().getId().equals(leagueId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El jugador no pertenece a la liga del partido.");
+        }
+        Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> live = liveStatsBuffer.take(matchId, player.getId());
+        if (!live.isEmpty()) {
+            matchService.applyStatsBatch(live);
+            entityManager.flush();
+        }
+
+        String statName = eventDto.getType().getStatName();
+        CompiledScoringRules rules = pointsCalculationService.getRules(leagueId);
+        int[] before = rules.isLinear() ? null : playerMatchStatsRepository.findByMatchIdAndPlayerId(matchId, player.getId()).map(s -> PlayerSeasonStatsService.StatLine.of(s).counters()).orElseGet(() -> new int[PointsCalculationService.STATS.size()]);
+        double fieldPoints = rules.pointsDelta(before, statName, eventDto.getAmount(), PlayerTeamRole.CAMPO);
+        double goalkeeperPoints = rules.pointsDelta(before, statName, eventDto.getAmount(), PlayerTeamRole.PORTERO);
+
+        boolean created = false;
+        if (incrementStats(matchId, player.getId(), statName, eventDto.getAmount(), fieldPoints, goalkeeperPoints) == 0) {
+            if (eventDto.getAmount() < 0 || playerMatchStatsRepository.findByMatchIdAndPlayerId(matchId, player.getId()).isPresent()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El evento dejaría la estadística en negativo.");
+            }
+            createStats(match, player);
+            incrementStats(matchId, player.getId(), statName, eventDto.getAmount(), fieldPoints, goalkeeperPoints);
+            created = true;
+        }
+        playerSeasonStatsService.addStat(player.getId(), leagueId, statName, eventDto.getAmount(), fieldPoints, goalkeeperPoints, created);
+
+        MatchEvent event = new MatchEvent();
+        event.setMatch(match);
+        event.setPlayer(player);
+        event.setType(eventDto.getType());
+        event.setAmount(eventDto.getAmount());
+        event.setMinute(eventDto.getMinute());
+        event.setCreatedAt(LocalDateTime.now());
+        matchEventRepository.save(event);
+
+        leagueChangeService.record(leagueId, LeagueChangeType.STATS_UPDATED, null, player.getId(), matchId, eventDto.getType().name());
+        domainEventBus.publish(new StatsUpdatedEvent(leagueId, matchId, player.getId()));
+        leagueVersionService.scoresChanged(leagueId);
+
+        return mapToResponseDto(event);
+    }
+
+    /**
+     * Obtiene los eventos de un partido en el orden en que se registraron.
+     *
+     * @param matchId El ID del partido.
+     * @return Una lista de {@link MatchEventResponseDto}.
+     * @throws ResponseStatusException Si el partido no existe.
+     */
+    @Transactional(readOnly = true)
+    public List<MatchEventResponseDto> getEvents(Long matchId) {
+        if (!matchRepository.existsById(matchId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado.");
+        }
+        return matchEventRepository.findByMatchIdOrderByIdAsc(matchId).stream().map(this::mapToResponseDto).toList();
+    }
+
+    /**
+     * Suma una cantidad a un contador de las estadísticas de un jugador y sus puntos en una sola sentencia.
+     * El nombre de la columna sale de {@link com.fantasycolegas.fantasy_colegas_backend.model.enums.MatchEventType},
+     * nunca de la petición.
+     *
+     * @return El número de filas actualizadas: 0 si no existen estadísticas o el contador quedaría en negativo.
+     */
+    private int incrementStats(Long matchId, Long playerId, String statName, int amount, double fieldPoints, double goalkeeperPoints) {
+        return entityManager.createQuery("UPDATE PlayerMatchStats s SET s." + statName + " = s." + statName + " + :amount, " +
+                        "s.totalFieldPoints = s.totalFieldPoints + :fieldPoints, s.totalGoalkeeperPoints = s.totalGoalkeeperPoints + :goalkeeperPoints " +
+                        "WHERE s.match.id = :matchId AND s.player.id = :playerId AND s." + statName + " + :amount >= 0")
+                .setParameter("amount", amount)
+                .setParameter("fieldPoints", fieldPoints)
+                .setParameter("goalkeeperPoints", goalkeeperPoints)
+                .setParameter("matchId", matchId)
+                .setParameter("playerId", playerId)
+                .executeUpdate();
+    }
+
+    /**
+     * Crea las estadísticas de un jugador con todos los contadores a 0. El evento se suma después con
+     * {@link #incrementStats}, igual que en las filas que ya existían.
+     */
+    private void createStats(Match match, Player player) {
+        PlayerMatchStats stats = new PlayerMatchStats();
+        stats.setMatch(match);
+        stats.setPlayer(player);
+        playerMatchStatsRepository.saveAndFlush(stats);
+    }
+
+    private MatchEventResponseDto mapToResponseDto(MatchEvent event) {
+        return new MatchEventResponseDto(event.getId(), event.getMatch().getId(), event.getPlayer().getId(), event.getType(), event.getAmount(), event.getMinute(), event.getCreatedAt());
+    }
+}
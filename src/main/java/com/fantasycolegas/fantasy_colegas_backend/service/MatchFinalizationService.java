@@ -0,0 +1,132 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.MatchResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.UserScoreDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.MatchFinalizedEvent;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueStandingRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchdayScoreRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerSeasonStatsRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio para finalizar partidos.
+ * <p>
+ * Al finalizar un partido se calculan y guardan de una vez todos los datos que dependen de sus estadísticas:
+ * los puntos de cada jugador con las reglas vigentes de la liga, la puntuación de la jornada de cada usuario con su equipo
+ * en ese momento, los acumulados de temporada de los jugadores y la clasificación acumulada de la liga. Todo se hace con
+ * sentencias que operan sobre el conjunto de filas, en una sola transacción. A partir de ahí las estadísticas del
+ * partido no se pueden modificar y las lecturas de la jornada usan lo guardado sin volver a calcularlo.
+ * </p>
+ */
+@Service
+public class MatchFinalizationService {
+
+    private final MatchRepository matchRepository;
+    private final MatchdayScoreRepository matchdayScoreRepository;
+    private final LeagueStandingRepository leagueStandingRepository;
+    private final PlayerSeasonStatsRepository playerSeasonStatsRepository;
+    private final PointsCalculationService pointsCalculationService;
+    private final LiveStatsService liveStatsService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final LeagueVersionService leagueVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public MatchFinalizationService(MatchRepository matchRepository, MatchdayScoreRepository matchdayScoreRepository, LeagueStandingRepository leagueStandingRepository, PlayerSeasonStatsRepository playerSeasonStatsRepository, PointsCalculationService pointsCalculationService, LiveStatsService liveStatsService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, LeagueVersionService leagueVersionService, PlatformTransactionManager transactionManager) {
+        this.matchRepository = matchRepository;
+        this.matchdayScoreRepository = matchdayScoreRepository;
+        this.leagueStandingRepository = leagueStandingRepository;
+        this.playerSeasonStatsRepository = playerSeasonStatsRepository;
+        this.pointsCalculationService = pointsCalculationService;
+        this.liveStatsService = liveStatsService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.leagueVersionService = leagueVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Finaliza un partido.
+     * <p>
+     * Primero se guardan las estadísticas en directo pendientes del partido. Después, con el partido bloqueado
+     * para que ninguna otra escritura de estadísticas se cuele, se recalculan y guardan todos los datos derivados.
+     * </p>
+     *
+     * @param matchId El ID del partido.
+     * @return Un {@link MatchResponseDto} con el partido finalizado.
+     * @throws ResponseStatusException Si el partido no existe o ya está finalizado.
+     */
+    public MatchResponseDto finalizeMatch(Long matchId) {
+        liveStatsService.flushMatch(matchId);
+        return transactionTemplate.execute(status -> doFinalize(matchId));
+    }
+
+    /**
+     * Obtiene las puntuaciones guardadas de la jornada de un partido finalizado, de mayor a menor.
+     *
+     * @param matchId El ID del partido.
+     * @return Una lista de {@link UserScoreDto}.
+     * @throws ResponseStatusException Si el partido no existe o aún no está finalizado.
+     */
+    @Transactional(readOnly = true)
+    public List<UserScoreDto> getMatchdayScores(Long matchId) {
+        Match match = matchRepository.findById(matchId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado."));
+        if (!match.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El partido aún no está finalizado.");
+        }
+        return matchdayScoreRepository.findByMatchIdOrderByPointsDesc(matchId).stream().map(score -> new UserScoreDto(score.getUserId(), score.getPoints())).toList();
+    }
+
+    private MatchResponseDto doFinalize(Long matchId) {
+        Match match = matchRepository.findByIdForUpdate(matchId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado."));
+        if (match.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El partido ya está finalizado.");
+        }
+        Long leagueId = match.getLeague().getId();
+
+        playerSeasonStatsRepository.subtractMatchPoints(matchId);
+        pointsCalculationService.recalculateMatchPoints(pointsCalculationService.getRules(leagueId), matchId);
+        playerSeasonStatsRepository.addMatchPoints(matchId);
+        matchdayScoreRepository.insertForMatch(matchId, leagueId);
+        leagueStandingRepository.deleteByLeagueId(leagueId);
+        leagueStandingRepository.insertForLeague(leagueId);
+
+        match.setFinalized(true);
+        match.setFinalizedAt(LocalDateTime.now());
+        matchRepository.save(match);
+
+        leagueChangeService.record(leagueId, LeagueChangeType.MATCH_FINALIZED, null, null, matchId, null);
+        domainEventBus.publish(new MatchFinalizedEvent(leagueId, matchId));
+        leagueVersionService.leagueChanged(leagueId);
+        leagueVersionService.scoresChanged(leagueId);
+
+        MatchResponseDto responseDto = new MatchResponseDto();
+        responseDto.setId(match.getId());
+        responseDto.setName(match.getName());
+        responseDto.setDescription(match.getDescription());
+        responseDto.setMatchDate(match.getMatchDate());
+        responseDto.setLeagueId(leagueId);
+        responseDto.setLeagueName(match.getLeague().getName());
+        responseDto.setFinalized(true);
+        return responseDto;
+    }
+}
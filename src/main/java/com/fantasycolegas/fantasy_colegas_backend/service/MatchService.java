@@ -4,7 +4,10 @@ import com.fantasycolegas.fantasy_colegas_backend.dto.request.MatchCreateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.MatchResponseDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.PlayerMatchStatsResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.StatsUpdatedEvent;
 import com.fantasycolegas.fantasy_colegas_backend.model.*;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
 import com.fantasycolegas.fantasy_colegas_backend.repository.*;
 import org.springframework.http.HttpStatus;
@@ -12,8 +15,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.stream.Collectors;
 
 /**
  * @author Juan Francisco Carceles
@@ -35,21 +38,27 @@ public class MatchService {
     private final PlayerMatchStatsRepository playerMatchStatsRepository;
     private final LeagueService leagueService;
     private final PointsCalculationService pointsCalculationService;
-    private final RosterPlayerRepository rosterPlayerRepository;
-    private final UserRepository userRepository;
+    private final LeagueVersionService leagueVersionService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final LiveStatsBuffer liveStatsBuffer;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
 
     /**
      * Constructor del servicio que inyecta las dependencias de los repositorios.
      */
-    public MatchService(MatchRepository matchRepository, LeagueRepository leagueRepository, PlayerRepository playerRepository, PlayerMatchStatsRepository playerMatchStatsRepository, LeagueService leagueService, PointsCalculationService pointsCalculationService, RosterPlayerRepository rosterPlayerRepository, UserRepository userRepository) {
+    public MatchService(MatchRepository matchRepository, LeagueRepository leagueRepository, PlayerRepository playerRepository, PlayerMatchStatsRepository playerMatchStatsRepository, LeagueService leagueService, PointsCalculationService pointsCalculationService, LeagueVersionService leagueVersionService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, LiveStatsBuffer liveStatsBuffer, PlayerSeasonStatsService playerSeasonStatsService) {
         this.matchRepository = matchRepository;
         this.leagueRepository = leagueRepository;
         this.playerRepository = playerRepository;
         this.playerMatchStatsRepository = playerMatchStatsRepository;
         this.leagueService = leagueService;
         this.pointsCalculationService = pointsCalculationService;
-        this.rosterPlayerRepository = rosterPlayerRepository;
-        this.userRepository = userRepository;
+        this.leagueVersionService = leagueVersionService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.liveStatsBuffer = liveStatsBuffer;
+        this.playerSeasonStatsService = playerSeasonStatsService;
     }
 
     /**
@@ -83,6 +92,7 @@ public class MatchService {
         responseDto.setMatchDate(newMatch.getMatchDate());
         responseDto.setLeagueId(newMatch.getLeague().getId());
         responseDto.setLeagueName(newMatch.getLeague().getName());
+        responseDto.setFinalized(newMatch.isFinalized());
 
         return responseDto;
     }
@@ -90,8 +100,9 @@ public class MatchService {
     /**
      * Actualiza las estadísticas de un jugador en un partido específico.
      * <p>
-     * Si las estadísticas ya existen, se actualizan; de lo contrario, se crean nuevas.
-     * También recalcula los puntos del jugador y actualiza los puntos del usuario en la liga.
+     * Si las estadísticas ya existen, se actualizan; de lo contrario, se crean nuevas. No se permite si el
+     * partido está finalizado. También recalcula los puntos del jugador. La clasificación de la liga se actualiza después del commit
+     * mediante un {@link StatsUpdatedEvent}.
      * </p>
      *
      * @param matchId        El ID del partido.
@@ -100,15 +111,131 @@ public class MatchService {
      */
     @Transactional
     public PlayerMatchStatsResponseDto updatePlayerStats(Long matchId, PlayerMatchStatsUpdateDto statsUpdateDto) {
-        Match match = matchRepository.findById(matchId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado."));
+        Match match = matchRepository.findByIdForUpdate(matchId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado."));
+        if (match.isFinalized()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El partido ya está finalizado; sus estadísticas no se pueden modificar.");
+        }
 
         Player player = playerRepository.findById(statsUpdateDto.getPlayerId()).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Jugador no encontrado."));
 
         Optional<PlayerMatchStats> existingStats = playerMatchStatsRepository.findByMatchIdAndPlayerId(matchId, player.getId());
         PlayerMatchStats playerMatchStats = existingStats.orElseGet(PlayerMatchStats::new);
+        PlayerSeasonStatsService.StatLine before = existingStats.map(PlayerSeasonStatsService.StatLine::of).orElse(null);
 
         playerMatchStats.setMatch(match);
         playerMatchStats.setPlayer(player);
+        copyStats(statsUpdateDto, playerMatchStats);
+
+        CompiledScoringRules rules = pointsCalculationService.getRules(match.getLeague().getId());
+        double calculatedFieldPoints = rules.points(statsUpdateDto, PlayerTeamRole.CAMPO);
+        double calculatedGoalkeeperPoints = rules.points(statsUpdateDto, PlayerTeamRole.PORTERO);
+
+        playerMatchStats.setTotalFieldPoints(calculatedFieldPoints);
+        playerMatchStats.setTotalGoalkeeperPoints(calculatedGoalkeeperPoints);
+
+        playerMatchStatsRepository.save(playerMatchStats);
+        playerSeasonStatsService.applyChange(new PlayerSeasonStatsService.Change(player.getId(), match.getLeague().getId(), before, PlayerSeasonStatsService.StatLine.of(playerMatchStats)));
+        // Si había un valor pendiente en el búfer de directo es más antiguo que este y no debe sobrescribirlo. Se saca
+        // con el partido bloqueado y vuelve al búfer si esta transacción se deshace.
+        liveStatsBuffer.take(matchId, player.getId());
+
+        leagueChangeService.record(match.getLeague().getId(), LeagueChangeType.STATS_UPDATED, null, player.getId(), matchId, null);
+        domainEventBus.publish(new StatsUpdatedEvent(match.getLeague().getId(), matchId, player.getId()));
+        leagueVersionService.scoresChanged(match.getLeague().getId());
+
+        return new PlayerMatchStatsResponseDto(playerMatchStats.getId(), playerMatchStats.getPlayer().getId(), playerMatchStats.getGolesMarcados(), playerMatchStats.getFallosClarosDeGol(), playerMatchStats.getAsistencias(), playerMatchStats.getGolesEncajadosComoPortero(), playerMatchStats.getParadasComoPortero(), playerMatchStats.getCesionesConcedidas(), playerMatchStats.getFaltasCometidas(), playerMatchStats.getFaltasRecibidas(), playerMatchStats.getPenaltisRecibidos(), playerMatchStats.getPenaltisCometidos(), playerMatchStats.getPasesAcertados(), playerMatchStats.getPasesFallados(), playerMatchStats.getRobosDeBalon(), playerMatchStats.getTirosCompletados(), playerMatchStats.getTirosEntreLosTresPalos(), playerMatchStats.getTiempoJugado(), playerMatchStats.getTarjetasAmarillas(), playerMatchStats.getTarjetasRojas(), playerMatchStats.getTotalFieldPoints(), playerMatchStats.getTotalGoalkeeperPoints());
+    }
+
+    /**
+     * Guarda las estadísticas pendientes en el búfer de directo de unos partidos.
+     * <p>
+     * Los partidos se bloquean antes de sacar las estadísticas del búfer, de modo que una escritura por la vía
+     * normal del mismo jugador o bien ya se ha confirmado y las ha descartado, o bien espera a este volcado y
+     * las sobrescribe después. Si la transacción se deshace, las estadísticas vuelven al búfer.
+     * </p>
+     *
+     * @param matchIds Los IDs de los partidos.
+     * @return El número de estadísticas guardadas.
+     */
+    @Transactional
+    public int flushLiveStats(Collection<Long> matchIds) {
+        matchRepository.findAllByIdForUpdate(matchIds);
+        return applyStatsBatch(liveStatsBuffer.take(matchIds));
+    }
+
+    /**
+     * Guarda en una sola transacción las estadísticas sacadas del búfer de directo.
+     * <p>
+     * Carga los partidos, jugadores y estadísticas existentes con una consulta por tipo,
+     * sea cual sea el número de jugadores. Los partidos se bloquean durante la transacción. Las estadísticas
+     * de partidos finalizados o de partidos o jugadores que ya no existen se descartan. Quien llama debe haber
+     * sacado las estadísticas del búfer con los partidos ya bloqueados.
+     * </p>
+     *
+     * @param statsByMatch Las estadísticas por partido y jugador.
+     * @return El número de estadísticas guardadas.
+     */
+    @Transactional
+    public int applyStatsBatch(Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> statsByMatch) {
+        Map<Long, Match> matches = matchRepository.findAllByIdForUpdate(statsByMatch.keySet()).stream().filter(m -> !m.isFinalized()).collect(Collectors.toMap(Match::getId, m -> m));
+        Set<Long> playerIds = statsByMatch.values().stream().flatMap(players -> players.keySet().stream()).collect(Collectors.toSet());
+        Map<Long, Player> players = playerRepository.findAllById(playerIds).stream().collect(Collectors.toMap(Player::getId, p -> p));
+        Map<String, PlayerMatchStats> existing = new HashMap<>();
+        for (PlayerMatchStats stats : playerMatchStatsRepository.findByMatchIdInAndPlayerIdIn(matches.keySet(), players.keySet())) {
+            existing.put(stats.getMatch().getId() + ":" + stats.getPlayer().getId(), stats);
+        }
+
+        List<PlayerMatchStats> saved = new ArrayList<>();
+        List<PlayerSeasonStatsService.Change> seasonChanges = new ArrayList<>();
+        List<LeagueChange> changes = new ArrayList<>();
+        Set<Long> leagueIds = new HashSet<>();
+        statsByMatch.forEach((matchId, statsByPlayer) -> {
+            Match match = matches.get(matchId);
+            if (match == null) {
+                return;
+            }
+            Long leagueId = match.getLeague().getId();
+            CompiledScoringRules rules = pointsCalculationService.getRules(leagueId);
+            statsByPlayer.forEach((playerId, statsDto) -> {
+                Player player = players.get(playerId);
+                if (player == null || player.getLeague() == null || !leagueId.equals(player.getLeague().getId())) {
+                    return;
+                }
+                PlayerMatchStats stats = existing.get(matchId + ":" + playerId);
+                PlayerSeasonStatsService.StatLine before = stats == null ? null : PlayerSeasonStatsService.StatLine.of(stats);
+                if (stats == null) {
+                    stats = new PlayerMatchStats();
+                    stats.setMatch(match);
+                    stats.setPlayer(player);
+                }
+                copyStats(statsDto, stats);
+                stats.setTotalFieldPoints(rules.points(statsDto, PlayerTeamRole.CAMPO));
+                stats.setTotalGoalkeeperPoints(rules.points(statsDto, PlayerTeamRole.PORTERO));
+                saved.add(stats);
+                seasonChanges.add(new PlayerSeasonStatsService.Change(playerId, leagueId, before, PlayerSeasonStatsService.StatLine.of(stats)));
+                changes.add(new LeagueChange(leagueId, LeagueChangeType.STATS_UPDATED, null, playerId, matchId, null));
+                domainEventBus.publish(new StatsUpdatedEvent(leagueId, matchId, playerId));
+                leagueIds.add(leagueId);
+            });
+        });
+
+        playerMatchStatsRepository.saveAll(saved);
+        playerSeasonStatsService.applyChanges(seasonChanges);
+        leagueChangeService.recordAll(changes);
+        leagueIds.forEach(leagueVersionService::scoresChanged);
+        return saved.size();
+    }
+
+    /**
+     * Copia los contadores de estadísticas de un DTO a la entidad.
+     * <p>
+     * No calcula los puntos; de eso se encarga quien llama, con las reglas que corresponda.
+     * </p>
+     *
+     * @param statsUpdateDto   DTO con las estadísticas.
+     * @param playerMatchStats La entidad de estadísticas a actualizar.
+     */
+    static void copyStats(PlayerMatchStatsUpdateDto statsUpdateDto, PlayerMatchStats playerMatchStats) {
         playerMatchStats.setGolesMarcados(statsUpdateDto.getGolesMarcados());
         playerMatchStats.setAsistencias(statsUpdateDto.getAsistencias());
         playerMatchStats.setFallosClarosDeGol(statsUpdateDto.getFallosClarosDeGol());
@@ -128,18 +255,6 @@ public class MatchService {
         playerMatchStats.setTiempoJugado(statsUpdateDto.getTiempoJugado());
         playerMatchStats.setTarjetasAmarillas(statsUpdateDto.getTarjetasAmarillas());
         playerMatchStats.setTarjetasRojas(statsUpdateDto.getTarjetasRojas());
-
-        double calculatedFieldPoints = pointsCalculationService.calculatePointsForRole(statsUpdateDto, PlayerTeamRole.CAMPO);
-        double calculatedGoalkeeperPoints = pointsCalculationService.calculatePointsForRole(statsUpdateDto, PlayerTeamRole.PORTERO);
-
-        playerMatchStats.setTotalFieldPoints(calculatedFieldPoints);
-        playerMatchStats.setTotalGoalkeeperPoints(calculatedGoalkeeperPoints);
-
-        playerMatchStatsRepository.save(playerMatchStats);
-
-        updateUserPoints(playerMatchStats, player.getLeague().getId());
-
-        return new PlayerMatchStatsResponseDto(playerMatchStats.getId(), playerMatchStats.getPlayer().getId(), playerMatchStats.getGolesMarcados(), playerMatchStats.getFallosClarosDeGol(), playerMatchStats.getAsistencias(), playerMatchStats.getGolesEncajadosComoPortero(), playerMatchStats.getParadasComoPortero(), playerMatchStats.getCesionesConcedidas(), playerMatchStats.getFaltasCometidas(), playerMatchStats.getFaltasRecibidas(), playerMatchStats.getPenaltisRecibidos(), playerMatchStats.getPenaltisCometidos(), playerMatchStats.getPasesAcertados(), playerMatchStats.getPasesFallados(), playerMatchStats.getRobosDeBalon(), playerMatchStats.getTirosCompletados(), playerMatchStats.getTirosEntreLosTresPalos(), playerMatchStats.getTiempoJugado(), playerMatchStats.getTarjetasAmarillas(), playerMatchStats.getTarjetasRojas(), playerMatchStats.getTotalFieldPoints(), playerMatchStats.getTotalGoalkeeperPoints());
     }
 
     /**
@@ -155,28 +270,14 @@ public class MatchService {
     }
 
     /**
-     * Actualiza los puntos de los usuarios cuyos rosters contienen al jugador.
-     * <p>
-     * Recalcula los puntos totales del jugador y los suma a los usuarios que lo tienen en su equipo.
-     * </p>
+     * Verifica si un usuario es miembro de la liga a la que pertenece un partido.
      *
-     * @param playerMatchStats Las estadísticas del jugador en el partido.
-     * @param leagueId         El ID de la liga.
+     * @param matchId El ID del partido.
+     * @param userId  El ID del usuario.
+     * @return {@code true} si el usuario es miembro, {@code false} en caso contrario.
      */
-    @Transactional
-    private void updateUserPoints(PlayerMatchStats playerMatchStats, Long leagueId) {
-        List<RosterPlayer> rosterPlayers = rosterPlayerRepository.findByUserIdAndLeagueId(playerMatchStats.getPlayer().getId(), leagueId);
-
-        for (RosterPlayer rosterPlayer : rosterPlayers) {
-            User user = rosterPlayer.getUser();
-            double pointsToAdd = 0.0;
-
-            if (rosterPlayer.getRole() == PlayerTeamRole.CAMPO) {
-                pointsToAdd = playerMatchStats.getTotalFieldPoints();
-            } else if (rosterPlayer.getRole() == PlayerTeamRole.PORTERO) {
-                pointsToAdd = playerMatchStats.getTotalGoalkeeperPoints();
-            }
-
-        }
+    public boolean checkIfUserIsMemberOfMatchLeague(Long matchId, Long userId) {
+        Match match = matchRepository.findById(matchId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Partido no encontrado."));
+        return leagueService.checkIfUserIsMember(match.getLeague().getId(), userId);
     }
-}
\ No newline at end of file
+}
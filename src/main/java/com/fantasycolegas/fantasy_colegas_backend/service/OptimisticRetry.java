@@ -0,0 +1,67 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Reintentos acotados de las modificaciones que usan control de concurrencia optimista.
+ * <p>
+ * La modificación se ejecuta entera en una transacción nueva. Si al confirmar choca con otra concurrente (por
+ * una versión, una restricción única o un bloqueo), se deshace y se repite: el nuevo intento ya ve el cambio
+ * de la otra y vuelve a validar sobre él. Entre intentos se espera un tiempo aleatorio que se duplica en cada
+ * intento, y tras {@value #MAX_ATTEMPTS} intentos se responde con un conflicto.
+ * </p>
+ */
+final class OptimisticRetry {
+
+    /**
+     * Número máximo de intentos de una modificación.
+     */
+    static final int MAX_ATTEMPTS = 3;
+
+    /**
+     * Espera base entre intentos, en milisegundos.
+     */
+    private static final long BACKOFF_MILLIS = 20;
+
+    private OptimisticRetry() {
+    }
+
+    /**
+     * Ejecuta una modificación en su propia transacción y la repite si choca con otra concurrente.
+     *
+     * @param transactionTemplate La plantilla de transacciones.
+     * @param action              La modificación.
+     * @param conflictMessage     El mensaje del conflicto si se agotan los intentos.
+     * @param <T>                 El tipo devuelto.
+     * @return El resultado de la modificación.
+     * @throws ResponseStatusException Con 409 si sigue chocando tras {@value #MAX_ATTEMPTS} intentos.
+     */
+    static <T> T execute(TransactionTemplate transactionTemplate, TransactionCallback<T> action, String conflictMessage) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(action);
+            } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                if (attempt >= MAX_ATTEMPTS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT, conflictMessage);
+                }
+            }
+            try {
+                Thread.sleep(ThreadLocalRandom.current().nextLong(1, (BACKOFF_MILLIS << attempt) + 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ResponseStatusException(HttpStatus.CONFLICT, conflictMessage);
+            }
+        }
+    }
+}
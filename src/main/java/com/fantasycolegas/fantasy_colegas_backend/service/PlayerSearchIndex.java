@@ -0,0 +1,282 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Índice en memoria de los nombres de los jugadores de cada liga, para la búsqueda y el autocompletado.
+ * <p>
+ * Los nombres se normalizan quitando tildes y diéresis, y pasando a minúsculas, de modo que "Jose" encuentra a
+ * "José" y "nunez" a "Núñez". Cada palabra se parte en trigramas con relleno al principio ({@code $$j}, {@code $ju},
+ * {@code jua}...) y el índice guarda, por trigrama, los jugadores que lo contienen. Una búsqueda solo examina los
+ * jugadores que comparten algún trigrama con la consulta, y los clasifica así:
+ * <ul>
+ *     <li>El nombre completo empieza por la consulta.</li>
+ *     <li>Cada palabra de la consulta es el principio de alguna palabra del nombre.</li>
+ *     <li>Cada palabra de la consulta se parece al principio de alguna palabra del nombre, con una o dos
+ *     letras de diferencia según su longitud (erratas y letras cambiadas de sitio).</li>
+ * </ul>
+ * El índice de una liga se construye desde la base de datos en la primera búsqueda, y después se actualiza
+ * jugador a jugador cuando se confirman las altas, cambios y bajas. Si algo cambia mientras se construye,
+ * ese índice sirve para la búsqueda en curso pero no se guarda.
+ * </p>
+ */
+@Component
+public class PlayerSearchIndex {
+
+    /**
+     * Un jugador del índice.
+     */
+    public record IndexedPlayer(Long id, String name, String image) {
+    }
+
+    /**
+     * Un resultado de búsqueda.
+     *
+     * @param player El jugador.
+     * @param rank   Lo bien que coincide: 3 si el nombre empieza por la consulta, 2 si coinciden los principios de
+     *               las palabras, 1 si se parecen y 0 si la consulta está vacía.
+     */
+    public record SearchHit(IndexedPlayer player, int rank) {
+    }
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private final Map<Long, LeagueIndex> indexes = new ConcurrentHashMap<>();
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    /**
+     * Busca jugadores de una liga por nombre.
+     *
+     * @param leagueId El ID de la liga.
+     * @param query    El texto buscado; si está vacío se devuelven todos los jugadores.
+     * @param loader   Carga los jugadores de la liga si su índice aún no existe.
+     * @return Los jugadores que coinciden, sin ordenar.
+     */
+    public List<SearchHit> search(Long leagueId, String query, Supplier<List<IndexedPlayer>> loader) {
+        return index(leagueId, loader).search(words(query));
+    }
+
+    /**
+     * Añade o actualiza un jugador en el índice de su liga cuando se confirme la transacción en curso.
+     *
+     * @param leagueId El ID de la liga.
+     * @param player   El jugador.
+     */
+    public void playerSaved(Long leagueId, IndexedPlayer player) {
+        afterCommit(() -> update(leagueId, index -> index.put(player)));
+    }
+
+    /**
+     * Quita un jugador del índice de su liga cuando se confirme la transacción en curso.
+     *
+     * @param leagueId El ID de la liga.
+     * @param playerId El ID del jugador.
+     */
+    public void playerRemoved(Long leagueId, Long playerId) {
+        afterCommit(() -> update(leagueId, index -> index.remove(playerId)));
+    }
+
+    /**
+     * Descarta el índice de una liga cuando se confirme la transacción en curso, por ejemplo tras una
+     * importación masiva de jugadores o al borrar la liga. Se reconstruirá en la siguiente búsqueda.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    public void invalidate(Long leagueId) {
+        afterCommit(() -> indexes.compute(leagueId, (id, current) -> {
+            generation(id).incrementAndGet();
+            return null;
+        }));
+    }
+
+    private LeagueIndex index(Long leagueId, Supplier<List<IndexedPlayer>> loader) {
+        LeagueIndex index = indexes.get(leagueId);
+        if (index != null) {
+            return index;
+        }
+        long generation = generation(leagueId).get();
+        LeagueIndex built = new LeagueIndex();
+        loader.get().forEach(built::put);
+        LeagueIndex cached = indexes.compute(leagueId, (id, current) -> current != null ? current : generation(id).get() == generation ? built : null);
+        return cached != null ? cached : built;
+    }
+
+    private void update(Long leagueId, Consumer<LeagueIndex> change) {
+        indexes.compute(leagueId, (id, current) -> {
+            generation(id).incrementAndGet();
+            if (current != null) {
+                change.accept(current);
+            }
+            return current;
+        });
+    }
+
+    private AtomicLong generation(Long leagueId) {
+        return generations.computeIfAbsent(leagueId, id -> new AtomicLong());
+    }
+
+    /**
+     * Normaliza un texto para compararlo: sin tildes, en minúsculas y con las palabras separadas por un espacio.
+     *
+     * @param text El texto.
+     * @return El texto normalizado.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static List<String> words(String text) {
+        String normalized = normalize(text);
+        return normalized.isEmpty() ? List.of() : List.of(normalized.split(" "));
+    }
+
+    private static Set<String> grams(String word) {
+        String padded = "$$" + word;
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    /**
+     * Número de letras de diferencia que se toleran en una palabra de la consulta.
+     */
+    private static int allowedEdits(String word) {
+        return word.length() <= 2 ? 0 : word.length() <= 5 ? 1 : 2;
+    }
+
+    /**
+     * Distancia de edición (con transposiciones) entre una palabra de la consulta y el principio más
+     * parecido de una palabra del nombre.
+     */
+    static int prefixDistance(String query, String word) {
+        int[][] d = new int[query.length() + 1][word.length() + 1];
+        for (int i = 0; i <= query.length(); i++) {
+            d[i][0] = i;
+        }
+        for (int j = 0; j <= word.length(); j++) {
+            d[0][j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            for (int j = 1; j <= word.length(); j++) {
+                int cost = query.charAt(i - 1) == word.charAt(j - 1) ? 0 : 1;
+                d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1), d[i - 1][j - 1] + cost);
+                if (i > 1 && j > 1 && query.charAt(i - 1) == word.charAt(j - 2) && query.charAt(i - 2) == word.charAt(j - 1)) {
+                    d[i][j] = Math.min(d[i][j], d[i - 2][j - 2] + 1);
+                }
+            }
+        }
+        int best = Integer.MAX_VALUE;
+        for (int j = 0; j <= word.length(); j++) {
+            best = Math.min(best, d[query.length()][j]);
+        }
+        return best;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Índice de una liga. Las búsquedas y las actualizaciones se serializan; ambas son operaciones en memoria
+     * sobre los jugadores de una sola liga.
+     */
+    private static final class LeagueIndex {
+
+        private final Map<Long, IndexedPlayer> players = new HashMap<>();
+        private final Map<Long, String> names = new HashMap<>();
+        private final Map<String, Set<Long>> postings = new HashMap<>();
+
+        synchronized void put(IndexedPlayer player) {
+            remove(player.id());
+            String name = normalize(player.name());
+            players.put(player.id(), player);
+            names.put(player.id(), name);
+            for (String word : words(name)) {
+                for (String gram : grams(word)) {
+                    postings.computeIfAbsent(gram, g -> new HashSet<>()).add(player.id());
+                }
+            }
+        }
+
+        synchronized void remove(Long playerId) {
+            String name = names.remove(playerId);
+            players.remove(playerId);
+            if (name == null) {
+                return;
+            }
+            for (String word : words(name)) {
+                for (String gram : grams(word)) {
+                    Set<Long> ids = postings.get(gram);
+                    if (ids != null && ids.remove(playerId) && ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+
+        synchronized List<SearchHit> search(List<String> queryWords) {
+            if (queryWords.isEmpty()) {
+                return players.values().stream().map(player -> new SearchHit(player, 0)).toList();
+            }
+            Set<Long> candidates = new HashSet<>();
+            for (String word : queryWords) {
+                for (String gram : grams(word)) {
+                    candidates.addAll(postings.getOrDefault(gram, Set.of()));
+                }
+            }
+            String query = String.join(" ", queryWords);
+            List<SearchHit> hits = new ArrayList<>();
+            for (Long id : candidates) {
+                int rank = rank(query, queryWords, names.get(id));
+                if (rank > 0) {
+                    hits.add(new SearchHit(players.get(id), rank));
+                }
+            }
+            return hits;
+        }
+
+        private static int rank(String query, List<String> queryWords, String name) {
+            if (name.startsWith(query)) {
+                return 3;
+            }
+            List<String> nameWords = words(name);
+            if (queryWords.stream().allMatch(q -> nameWords.stream().anyMatch(w -> w.startsWith(q)))) {
+                return 2;
+            }
+            if (queryWords.stream().allMatch(q -> nameWords.stream().anyMatch(w -> prefixDistance(q, w) <= allowedEdits(q)))) {
+                return 1;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,376 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.StatLeaderDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerSeasonStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerSeasonStatsRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.function.ToIntFunction;
+import java.util.stream.Collectors;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio que mantiene los acumulados de temporada de los jugadores ({@link PlayerSeasonStats}).
+ * <p>
+ * Quien guarda estadísticas le pasa el valor anterior y el nuevo de la fila, y el servicio suma la diferencia
+ * a los acumulados del jugador con un único {@code UPDATE} que solo toca los contadores que han cambiado.
+ * Debe llamarse dentro de la transacción que guarda las estadísticas, para que ambos cambios se confirmen
+ * o se deshagan juntos. Una tarea periódica recalcula los acumulados desde las estadísticas y corrige
+ * los que no coincidan, por ejemplo tras cargar datos directamente en la base de datos.
+ * </p>
+ */
+@Service
+public class PlayerSeasonStatsService {
+
+    /**
+     * Valores de una fila de estadísticas: los contadores, en el orden de {@link #COUNTERS}, y los puntos de cada rol.
+     */
+    public record StatLine(int[] counters, double fieldPoints, double goalkeeperPoints) {
+
+        /**
+         * @param stats Las estadísticas de un jugador en un partido.
+         * @return Una copia de sus valores actuales.
+         */
+        public static StatLine of(PlayerMatchStats stats) {
+            int[] counters = new int[COUNTERS.size()];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = GETTERS.get(i).applyAsInt(stats);
+            }
+            return new StatLine(counters, stats.getTotalFieldPoints(), stats.getTotalGoalkeeperPoints());
+        }
+    }
+
+    /**
+     * Un cambio en las estadísticas de un jugador en un partido.
+     *
+     * @param playerId El ID del jugador.
+     * @param leagueId El ID de la liga del jugador.
+     * @param before   Los valores anteriores, o {@code null} si la fila es nueva.
+     * @param after    Los valores nuevos.
+     */
+    public record Change(Long playerId, Long leagueId, StatLine before, StatLine after) {
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(PlayerSeasonStatsService.class);
+
+    private static final double EPSILON = 1e-6;
+
+    /**
+     * Nombres de los contadores, comunes a {@link PlayerMatchStats} y {@link PlayerSeasonStats}.
+     */
+    static final List<String> COUNTERS = List.of("golesMarcados", "fallosClarosDeGol", "asistencias", "golesEncajadosComoPortero", "paradasComoPortero", "cesionesConcedidas", "faltasCometidas", "faltasRecibidas", "penaltisRecibidos", "penaltisCometidos", "pasesAcertados", "pasesFallados", "robosDeBalon", "tirosCompletados", "tirosEntreLosTresPalos", "tiempoJugado", "tarjetasAmarillas", "tarjetasRojas");
+
+    private static final List<ToIntFunction<PlayerMatchStats>> GETTERS = List.of(PlayerMatchStats::getGolesMarcados, PlayerMatchStats::getFallosClarosDeGol, PlayerMatchStats::getAsistencias, PlayerMatchStats::getGolesEncajadosComoPortero, PlayerMatchStats::getParadasComoPortero, PlayerMatchStats::getCesionesConcedidas, PlayerMatchStats::getFaltasCometidas, PlayerMatchStats::getFaltasRecibidas, PlayerMatchStats::getPenaltisRecibidos, PlayerMatchStats::getPenaltisCometidos, PlayerMatchStats::getPasesAcertados, PlayerMatchStats::getPasesFallados, PlayerMatchStats::getRobosDeBalon, PlayerMatchStats::getTirosCompletados, PlayerMatchStats::getTirosEntreLosTresPalos, PlayerMatchStats::getTiempoJugado, PlayerMatchStats::getTarjetasAmarillas, PlayerMatchStats::getTarjetasRojas);
+
+    private static final List<ToIntFunction<PlayerSeasonStats>> SEASON_GETTERS = List.of(PlayerSeasonStats::getGolesMarcados, PlayerSeasonStats::getFallosClarosDeGol, PlayerSeasonStats::getAsistencias, PlayerSeasonStats::getGolesEncajadosComoPortero, PlayerSeasonStats::getParadasComoPortero, PlayerSeasonStats::getCesionesConcedidas, PlayerSeasonStats::getFaltasCometidas, PlayerSeasonStats::getFaltasRecibidas, PlayerSeasonStats::getPenaltisRecibidos, PlayerSeasonStats::getPenaltisCometidos, PlayerSeasonStats::getPasesAcertados, PlayerSeasonStats::getPasesFallados, PlayerSeasonStats::getRobosDeBalon, PlayerSeasonStats::getTirosCompletados, PlayerSeasonStats::getTirosEntreLosTresPalos, PlayerSeasonStats::getTiempoJugado, PlayerSeasonStats::getTarjetasAmarillas, PlayerSeasonStats::getTarjetasRojas);
+
+    static final int MAX_LEADERS = 100;
+
+    private final PlayerSeasonStatsRepository playerSeasonStatsRepository;
+    private final PlayerRepository playerRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public PlayerSeasonStatsService(PlayerSeasonStatsRepository playerSeasonStatsRepository, PlayerRepository playerRepository, EntityManager entityManager, PlatformTransactionManager transactionManager) {
+        this.playerSeasonStatsRepository = playerSeasonStatsRepository;
+        this.playerRepository = playerRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Aplica a los acumulados un cambio en las estadísticas de un jugador.
+     *
+     * @param change El cambio.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyChange(Change change) {
+        Map<String, Number> deltas = new LinkedHashMap<>();
+        if (change.before() == null) {
+            deltas.put("matchesPlayed", 1);
+        }
+        for (int i = 0; i < COUNTERS.size(); i++) {
+            int delta = change.after().counters()[i] - (change.before() == null ? 0 : change.before().counters()[i]);
+            if (delta != 0) {
+                deltas.put(COUNTERS.get(i), delta);
+            }
+        }
+        double fieldDelta = change.after().fieldPoints() - (change.before() == null ? 0 : change.before().fieldPoints());
+        if (fieldDelta != 0) {
+            deltas.put("totalFieldPoints", fieldDelta);
+        }
+        double goalkeeperDelta = change.after().goalkeeperPoints() - (change.before() == null ? 0 : change.before().goalkeeperPoints());
+        if (goalkeeperDelta != 0) {
+            deltas.put("totalGoalkeeperPoints", goalkeeperDelta);
+        }
+        applyDelta(change.playerId(), change.leagueId(), deltas);
+    }
+
+    /**
+     * Aplica a los acumulados varios cambios.
+     *
+     * @param changes Los cambios.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyChanges(Collection<Change> changes) {
+        changes.forEach(this::applyChange);
+    }
+
+    /**
+     * Suma una cantidad a un contador de los acumulados de un jugador y sus puntos.
+     *
+     * @param playerId         El ID del jugador.
+     * @param leagueId         El ID de la liga del jugador.
+     * @param statName         El nombre del contador.
+     * @param amount           La cantidad a sumar.
+     * @param fieldPoints      Los puntos como jugador de campo a sumar.
+     * @param goalkeeperPoints Los puntos como portero a sumar.
+     * @param newMatch         Si es la primera estadística del jugador en el partido.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addStat(Long playerId, Long leagueId, String statName, int amount, double fieldPoints, double goalkeeperPoints, boolean newMatch) {
+        Map<String, Number> deltas = new LinkedHashMap<>();
+        if (newMatch) {
+            deltas.put("matchesPlayed", 1);
+        }
+        deltas.put(statName, amount);
+        deltas.put("totalFieldPoints", fieldPoints);
+        deltas.put("totalGoalkeeperPoints", goalkeeperPoints);
+        applyDelta(playerId, leagueId, deltas);
+    }
+
+    /**
+     * Busca los acumulados de varios jugadores con una sola consulta por clave primaria.
+     *
+     * @param playerIds Los IDs de los jugadores.
+     * @return Los acumulados por ID de jugador; los jugadores sin estadísticas no aparecen.
+     */
+    public Map<Long, PlayerSeasonStats> findByPlayerIds(Collection<Long> playerIds) {
+        if (playerIds.isEmpty()) {
+            return Map.of();
+        }
+        return playerSeasonStatsRepository.findAllById(playerIds).stream().collect(Collectors.toMap(PlayerSeasonStats::getPlayerId, a -> a));
+    }
+
+    /**
+     * Obtiene los jugadores de una liga con el valor acumulado más alto en una estadística.
+     * <p>
+     * Se ordenan directamente las filas de acumulados de la liga, una por jugador, por lo que el coste no
+     * depende del número de partidos jugados. Los jugadores con valor 0 no aparecen; los empates se
+     * ordenan por ID de jugador.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     * @param stat     Un contador de {@link PlayerMatchStats}, {@code matchesPlayed}, {@code totalFieldPoints}
+     *                 o {@code totalGoalkeeperPoints}.
+     * @param limit    El número máximo de jugadores (entre 1 y {@value #MAX_LEADERS}).
+     * @return Una lista de {@link StatLeaderDto} de mayor a menor.
+     * @throws ResponseStatusException Si la estadística no existe o el límite no es válido.
+     */
+    @Transactional(readOnly = true)
+    public List<StatLeaderDto> getLeaders(Long leagueId, String stat, int limit) {
+        if (!COUNTERS.contains(stat) && !List.of("matchesPlayed", "totalFieldPoints", "totalGoalkeeperPoints").contains(stat)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Estadística no válida: " + stat + ".");
+        }
+        if (limit < 1 || limit > MAX_LEADERS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El límite debe estar entre 1 y " + MAX_LEADERS + ".");
+        }
+        // El nombre de la columna se ha comprobado contra la lista anterior; nunca se concatena sin validar.
+        List<Object[]> rows = entityManager.createQuery("SELECT p.id, p.name, p.image, s." + stat + " FROM PlayerSeasonStats s JOIN Player p ON p.id = s.playerId " +
+                        "WHERE s.leagueId = :leagueId AND s." + stat + " > 0 ORDER BY s." + stat + " DESC, s.playerId ASC", Object[].class)
+                .setParameter("leagueId", leagueId)
+                .setMaxResults(limit)
+                .getResultList();
+        return rows.stream().map(row -> new StatLeaderDto((Long) row[0], (String) row[1], (String) row[2], ((Number) row[3]).doubleValue())).toList();
+    }
+
+    /**
+     * Puntos acumulados de un jugador en un rol.
+     *
+     * @param season Los acumulados del jugador, o {@code null} si no tiene estadísticas.
+     * @param role   El rol.
+     * @return Los puntos acumulados en ese rol.
+     */
+    public static double pointsFor(PlayerSeasonStats season, PlayerTeamRole role) {
+        if (season == null) {
+            return 0;
+        }
+        return role == PlayerTeamRole.PORTERO ? season.getTotalGoalkeeperPoints() : season.getTotalFieldPoints();
+    }
+
+    /**
+     * Borra los acumulados de los jugadores de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteLeague(Long leagueId) {
+        playerSeasonStatsRepository.deleteByLeagueId(leagueId);
+    }
+
+    /**
+     * Borra los acumulados de un jugador.
+     *
+     * @param playerId El ID del jugador.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deletePlayer(Long playerId) {
+        playerSeasonStatsRepository.deleteById(playerId);
+    }
+
+    /**
+     * Si no existe la fila de acumulados del jugador, la crea con el jugador bloqueado para que dos
+     * transacciones no la creen a la vez, y vuelve a aplicar la diferencia.
+     */
+    private void applyDelta(Long playerId, Long leagueId, Map<String, Number> deltas) {
+        if (deltas.isEmpty() || increment(playerId, deltas) > 0) {
+            return;
+        }
+        playerRepository.findByIdForUpdate(playerId);
+        if (increment(playerId, deltas) == 0) {
+            playerSeasonStatsRepository.saveAndFlush(new PlayerSeasonStats(playerId, leagueId));
+            increment(playerId, deltas);
+        }
+    }
+
+    /**
+     * Suma las diferencias a los acumulados de un jugador en una sola sentencia. Los nombres de las
+     * columnas vienen de {@link #COUNTERS} o son los de los puntos, nunca de una petición.
+     *
+     * @return El número de filas actualizadas: 0 si el jugador aún no tiene acumulados.
+     */
+    private int increment(Long playerId, Map<String, Number> deltas) {
+        StringBuilder jpql = new StringBuilder("UPDATE PlayerSeasonStats a SET ");
+        int i = 0;
+        for (String attribute : deltas.keySet()) {
+            if (i > 0) {
+                jpql.append(", ");
+            }
+            jpql.append("a.").append(attribute).append(" = a.").append(attribute).append(" + :d").append(i++);
+        }
+        jpql.append(" WHERE a.playerId = :playerId");
+        Query update = entityManager.createQuery(jpql.toString());
+        i = 0;
+        for (Number delta : deltas.values()) {
+            update.setParameter("d" + i++, delta);
+        }
+        return update.setParameter("playerId", playerId).executeUpdate();
+    }
+
+    /**
+     * Recalcula los acumulados de todos los jugadores con estadísticas y corrige los que no coincidan.
+     * Cada jugador se comprueba en su propia transacción, con su fila bloqueada, para no pisar las
+     * actualizaciones incrementales que se hagan mientras tanto.
+     *
+     * @return El número de jugadores corregidos.
+     */
+    @Scheduled(fixedDelayString = "${app.season-stats.reconcile-interval:PT6H}", initialDelayString = "${app.season-stats.reconcile-initial-delay:PT1M}")
+    public int reconcile() {
+        int corrected = 0;
+        List<Long> playerIds = playerSeasonStatsRepository.findAllPlayerIdsWithStats();
+        for (Long playerId : playerIds) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> reconcilePlayer(playerId)))) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.warn("Corregidos los acumulados de temporada de {} de {} jugadores.", corrected, playerIds.size());
+        } else {
+            log.debug("Acumulados de temporada verificados: {} jugadores.", playerIds.size());
+        }
+        return corrected;
+    }
+
+    private boolean reconcilePlayer(Long playerId) {
+        Optional<Player> player = playerRepository.findByIdForUpdate(playerId);
+        Optional<PlayerSeasonStats> stored = playerSeasonStatsRepository.findByIdForUpdate(playerId);
+        if (player.isEmpty()) {
+            stored.ifPresent(playerSeasonStatsRepository::delete);
+            return stored.isPresent();
+        }
+
+        Object[] sums = (Object[]) entityManager.createQuery("SELECT COUNT(s), " + COUNTERS.stream().map(c -> "COALESCE(SUM(s." + c + "), 0)").collect(Collectors.joining(", ")) +
+                        ", COALESCE(SUM(s.totalFieldPoints), 0), COALESCE(SUM(s.totalGoalkeeperPoints), 0) FROM PlayerMatchStats s WHERE s.player.id = :playerId")
+                .setParameter("playerId", playerId)
+                .getSingleResult();
+        int matchesPlayed = ((Number) sums[0]).intValue();
+        if (matchesPlayed == 0) {
+            stored.ifPresent(playerSeasonStatsRepository::delete);
+            return stored.isPresent();
+        }
+
+        PlayerSeasonStats expected = new PlayerSeasonStats(playerId, player.get().getLeague() == null ? null : player.get().getLeague().getId());
+        expected.setMatchesPlayed(matchesPlayed);
+        int[] counters = new int[COUNTERS.size()];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = ((Number) sums[1 + i]).intValue();
+        }
+        setCounters(expected, counters);
+        expected.setTotalFieldPoints(((Number) sums[1 + counters.length]).doubleValue());
+        expected.setTotalGoalkeeperPoints(((Number) sums[2 + counters.length]).doubleValue());
+
+        if (stored.isPresent() && matches(stored.get(), expected)) {
+            return false;
+        }
+        if (stored.isPresent()) {
+            entityManager.detach(stored.get());
+        }
+        playerSeasonStatsRepository.save(expected);
+        return true;
+    }
+
+    private static boolean matches(PlayerSeasonStats stored, PlayerSeasonStats expected) {
+        if (stored.getMatchesPlayed() != expected.getMatchesPlayed() || !Objects.equals(stored.getLeagueId(), expected.getLeagueId())) {
+            return false;
+        }
+        for (ToIntFunction<PlayerSeasonStats> getter : SEASON_GETTERS) {
+            if (getter.applyAsInt(stored) != getter.applyAsInt(expected)) {
+                return false;
+            }
+        }
+        return Math.abs(stored.getTotalFieldPoints() - expected.getTotalFieldPoints()) < EPSILON && Math.abs(stored.getTotalGoalkeeperPoints() - expected.getTotalGoalkeeperPoints()) < EPSILON;
+    }
+
+    private static void setCounters(PlayerSeasonStats season, int[] counters) {
+        season.setGolesMarcados(counters[0]);
+        season.setFallosClarosDeGol(counters[1]);
+        season.setAsistencias(counters[2]);
+        season.setGolesEncajadosComoPortero(counters[3]);
+        season.setParadasComoPortero(counters[4]);
+        season.setCesionesConcedidas(counters[5]);
+        season.setFaltasCometidas(counters[6]);
+        season.setFaltasRecibidas(counters[7]);
+        season.setPenaltisRecibidos(counters[8]);
+        season.setPenaltisCometidos(counters[9]);
+        season.setPasesAcertados(counters[10]);
+        season.setPasesFallados(counters[11]);
+        season.setRobosDeBalon(counters[12]);
+        season.setTirosCompletados(counters[13]);
+        season.setTirosEntreLosTresPalos(counters[14]);
+        season.setTiempoJugado(counters[15]);
+        season.setTarjetasAmarillas(counters[16]);
+        season.setTarjetasRojas(counters[17]);
+    }
+}
@@ -2,11 +2,17 @@ package com.fantasycolegas.fantasy_colegas_backend.service;
 
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerCreateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerUpdateDto;
-import com.fantasycolegas.fantasy_colegas_backend.dto.request.PointsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.PlayerPageDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.PlayerResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.RosterChangedEvent;
 import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueChange;
 import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerSeasonStats;
 import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
 import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
 import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
 import com.fantasycolegas.fantasy_colegas_backend.repository.RosterPlayerRepository;
@@ -15,7 +21,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Juan Francisco Carceles
@@ -31,19 +40,31 @@ import java.util.List;
 @Service
 public class PlayerService {
 
+    static final int MAX_PAGE_SIZE = 100;
+
     private final PlayerRepository playerRepository;
     private final LeagueRepository leagueRepository;
     private final LeagueService leagueService;
     private final RosterPlayerRepository rosterPlayerRepository;
+    private final LeagueVersionService leagueVersionService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
+    private final PlayerSearchIndex playerSearchIndex;
 
     /**
      * Constructor del servicio que inyecta las dependencias de los repositorios.
      */
-    public PlayerService(PlayerRepository playerRepository, LeagueRepository leagueRepository, LeagueService leagueService, RosterPlayerRepository rosterPlayerRepository) {
+    public PlayerService(PlayerRepository playerRepository, LeagueRepository leagueRepository, LeagueService leagueService, RosterPlayerRepository rosterPlayerRepository, LeagueVersionService leagueVersionService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, PlayerSeasonStatsService playerSeasonStatsService, PlayerSearchIndex playerSearchIndex) {
         this.playerRepository = playerRepository;
         this.leagueRepository = leagueRepository;
         this.leagueService = leagueService;
         this.rosterPlayerRepository = rosterPlayerRepository;
+        this.leagueVersionService = leagueVersionService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.playerSeasonStatsService = playerSeasonStatsService;
+        this.playerSearchIndex = playerSearchIndex;
     }
 
     /**
@@ -78,6 +99,9 @@ public class PlayerService {
         }
 
         Player updatedPlayer = playerRepository.save(player);
+        leagueChangeService.record(leagueId, LeagueChangeType.PLAYER_UPDATED, null, playerId, null, updatedPlayer.getName());
+        playerSearchIndex.playerSaved(leagueId, new PlayerSearchIndex.IndexedPlayer(updatedPlayer.getId(), updatedPlayer.getName(), updatedPlayer.getImage()));
+        leagueVersionService.leagueChanged(leagueId);
         return mapToPlayerResponseDto(updatedPlayer);
     }
 
@@ -103,7 +127,6 @@ public class PlayerService {
         Player player = new Player();
         player.setName(playerCreateDto.getName());
         player.setLeague(league);
-        player.setTotalPoints(0);
 
         if (playerCreateDto.getImage() != null && !playerCreateDto.getImage().isBlank()) {
             player.setImage(playerCreateDto.getImage());
@@ -112,6 +135,9 @@ public class PlayerService {
         }
 
         Player savedPlayer = playerRepository.save(player);
+        leagueChangeService.record(leagueId, LeagueChangeType.PLAYER_ADDED, null, savedPlayer.getId(), null, savedPlayer.getName());
+        playerSearchIndex.playerSaved(leagueId, new PlayerSearchIndex.IndexedPlayer(savedPlayer.getId(), savedPlayer.getName(), savedPlayer.getImage()));
+        leagueVersionService.leagueChanged(leagueId);
         return mapToPlayerResponseDto(savedPlayer);
     }
 
@@ -145,6 +171,18 @@ public class PlayerService {
         rosterPlayerRepository.saveAll(rosterEntries);
 
         playerRepository.delete(player);
+        playerSeasonStatsService.deletePlayer(playerId);
+        playerSearchIndex.playerRemoved(leagueId, playerId);
+        List<LeagueChange> changes = new ArrayList<>();
+        changes.add(new LeagueChange(leagueId, LeagueChangeType.PLAYER_REMOVED, null, playerId, null, null));
+        // Los equipos que tenían al jugador pasan a tener el jugador vacío en su lugar.
+        rosterEntries.stream().map(entry -> entry.getUser().getId()).distinct().forEach(affectedUserId -> {
+            changes.add(new LeagueChange(leagueId, LeagueChangeType.ROSTER_CHANGED, affectedUserId, playerId, null, "REMOVED"));
+            domainEventBus.publish(new RosterChangedEvent(leagueId, affectedUserId));
+        });
+        leagueChangeService.recordAll(changes);
+        leagueVersionService.leagueChanged(leagueId);
+        leagueVersionService.scoresChanged(leagueId);
     }
 
     /**
@@ -168,33 +206,50 @@ public class PlayerService {
     }
 
     /**
-     * Actualiza los puntos totales de un jugador.
+     * Busca jugadores de una liga por nombre, con autocompletado y tolerancia a tildes y erratas.
      * <p>
-     * Solo los administradores de la liga pueden realizar esta acción.
+     * Se sirve desde {@link PlayerSearchIndex}; solo se consulta la base de datos para leer los puntos de los
+     * jugadores, con una búsqueda por clave primaria: los de la página pedida o, si se ordena por puntos, los de
+     * todos los que coinciden.
      * </p>
      *
-     * @param leagueId        El ID de la liga.
-     * @param playerId        El ID del jugador a actualizar.
-     * @param pointsUpdateDto DTO con la nueva cantidad de puntos.
-     * @param userId          El ID del usuario que realiza la petición.
-     * @return Un {@link PlayerResponseDto} con los datos del jugador actualizado.
+     * @param leagueId El ID de la liga.
+     * @param query    El texto buscado; si está vacío se listan todos los jugadores de la liga.
+     * @param sort     El orden: {@code relevance} (por defecto), {@code points} (puntos como jugador de campo,
+     *                 de mayor a menor) o {@code name}.
+     * @param page     El número de página, desde 0.
+     * @param size     El tamaño de la página (entre 1 y {@value #MAX_PAGE_SIZE}).
+     * @return Un {@link PlayerPageDto} con la página de jugadores.
+     * @throws ResponseStatusException Si el orden o la paginación no son válidos.
      */
-    @Transactional
-    public PlayerResponseDto updatePlayerPoints(Long leagueId, Long playerId, PointsUpdateDto pointsUpdateDto, Long userId) {
-        if (!leagueService.checkIfUserIsAdmin(leagueId, userId)) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "No tienes permisos de administrador para actualizar los puntos de un jugador en esta liga.");
+    public PlayerPageDto searchPlayers(Long leagueId, String query, String sort, int page, int size) {
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La página debe ser 0 o mayor y el tamaño estar entre 1 y " + MAX_PAGE_SIZE + ".");
         }
+        Comparator<PlayerSearchIndex.SearchHit> byName = Comparator.comparing((PlayerSearchIndex.SearchHit hit) -> PlayerSearchIndex.normalize(hit.player().name())).thenComparing(hit -> hit.player().id());
+        List<PlayerSearchIndex.SearchHit> hits = playerSearchIndex.search(leagueId, query, () -> playerRepository.findByLeagueIdAndIsPlaceholderFalse(leagueId).stream().map(p -> new PlayerSearchIndex.IndexedPlayer(p.getId(), p.getName(), p.getImage())).toList());
 
-        Player player = playerRepository.findById(playerId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Jugador no encontrado."));
-
-        if (!player.getLeague().getId().equals(leagueId)) {
-            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El jugador no pertenece a la liga especificada.");
+        Map<Long, PlayerSeasonStats> seasons;
+        List<PlayerSearchIndex.SearchHit> pageHits;
+        switch (sort) {
+            case "relevance", "name" -> {
+                Comparator<PlayerSearchIndex.SearchHit> order = sort.equals("name") ? byName : Comparator.comparingInt(PlayerSearchIndex.SearchHit::rank).reversed().thenComparing(byName);
+                pageHits = hits.stream().sorted(order).skip((long) page * size).limit(size).toList();
+                seasons = playerSeasonStatsService.findByPlayerIds(pageHits.stream().map(hit -> hit.player().id()).toList());
+            }
+            case "points" -> {
+                seasons = playerSeasonStatsService.findByPlayerIds(hits.stream().map(hit -> hit.player().id()).toList());
+                Comparator<PlayerSearchIndex.SearchHit> byPoints = Comparator.comparingDouble(hit -> PlayerSeasonStatsService.pointsFor(seasons.get(hit.player().id()), PlayerTeamRole.CAMPO));
+                pageHits = hits.stream().sorted(byPoints.reversed().thenComparing(byName)).skip((long) page * size).limit(size).toList();
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orden no válido: " + sort + ".");
         }
 
-        player.setTotalPoints(pointsUpdateDto.getTotalPoints());
-
-        Player updatedPlayer = playerRepository.save(player);
-        return mapToPlayerResponseDto(updatedPlayer);
+        List<PlayerResponseDto> players = pageHits.stream().map(hit -> {
+            PlayerSeasonStats season = seasons.get(hit.player().id());
+            return new PlayerResponseDto(hit.player().id(), hit.player().name(), hit.player().image(), PlayerSeasonStatsService.pointsFor(season, PlayerTeamRole.CAMPO), PlayerSeasonStatsService.pointsFor(season, PlayerTeamRole.PORTERO));
+        }).toList();
+        return new PlayerPageDto(players, page, size, hits.size());
     }
 
     /**
@@ -204,6 +259,7 @@ public class PlayerService {
      * @return El DTO de respuesta {@link PlayerResponseDto}.
      */
     private PlayerResponseDto mapToPlayerResponseDto(Player player) {
-        return new PlayerResponseDto(player.getId(), player.getName(), player.getImage(), player.getTotalPoints());
+        PlayerSeasonStats season = player.getId() == null ? null : playerSeasonStatsService.findByPlayerIds(List.of(player.getId())).get(player.getId());
+        return new PlayerResponseDto(player.getId(), player.getName(), player.getImage(), PlayerSeasonStatsService.pointsFor(season, PlayerTeamRole.CAMPO), PlayerSeasonStatsService.pointsFor(season, PlayerTeamRole.PORTERO));
     }
 }
\ No newline at end of file
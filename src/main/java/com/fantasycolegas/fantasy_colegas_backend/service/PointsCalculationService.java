@@ -1,12 +1,20 @@
 package com.fantasycolegas.fantasy_colegas_backend.service;
 
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
 import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
 import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleSetRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author Juan Francisco Carceles
@@ -15,38 +23,194 @@ import java.util.List;
  * <p>
  * Servicio para el cálculo de los puntos de los jugadores en un partido.
  * <p>
- * Este servicio se encarga de aplicar las reglas de puntuación definidas
+ * Este servicio se encarga de aplicar las reglas de puntuación de la liga del partido
  * para cada rol de jugador (portero o jugador de campo) a las estadísticas
  * de un partido para calcular los puntos totales.
+ * <p>
+ * Las reglas de cada liga se cargan una vez y se guardan compiladas ({@link CompiledScoringRules}) junto con
+ * la versión de su conjunto de reglas, de modo que registrar estadísticas no consulta las reglas en la base
+ * de datos. Cuando se van a confirmar unas reglas nuevas se anota su versión como la mínima válida para la liga,
+ * y las compiladas más antiguas se descartan y se vuelven a cargar en el siguiente uso. Si la transacción
+ * se deshace se restaura la versión anterior.
  * </p>
  */
 @Service
 public class PointsCalculationService {
 
+    /**
+     * Nombres de las estadísticas a las que se pueden asociar reglas de puntuación, en el orden de los pesos
+     * de {@link CompiledScoringRules}. Coinciden con los contadores de {@link com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats}.
+     */
+    public static final List<String> STATS = List.of("golesMarcados", "fallosClarosDeGol", "asistencias", "golesEncajadosComoPortero", "paradasComoPortero", "cesionesConcedidas", "faltasCometidas", "faltasRecibidas", "penaltisRecibidos", "penaltisCometidos", "pasesAcertados", "pasesFallados", "robosDeBalon", "tirosCompletados", "tirosEntreLosTresPalos", "tiempoJugado", "tarjetasAmarillas", "tarjetasRojas");
+
     private final ScoringRuleRepository scoringRuleRepository;
+    private final ScoringRuleSetRepository scoringRuleSetRepository;
+    private final EntityManager entityManager;
+    private final Map<Long, CompiledScoringRules> compiledRules = new ConcurrentHashMap<>();
+    private final Map<Long, Long> minVersions = new ConcurrentHashMap<>();
 
     /**
-     * Constructor del servicio que inyecta el repositorio de reglas de puntuación.
-     *
-     * @param scoringRuleRepository El repositorio de reglas de puntuación.
+     * Constructor del servicio que inyecta las dependencias necesarias.
      */
-    public PointsCalculationService(ScoringRuleRepository scoringRuleRepository) {
+    public PointsCalculationService(ScoringRuleRepository scoringRuleRepository, ScoringRuleSetRepository scoringRuleSetRepository, EntityManager entityManager) {
         this.scoringRuleRepository = scoringRuleRepository;
+        this.scoringRuleSetRepository = scoringRuleSetRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Obtiene las reglas de puntuación compiladas de una liga.
+     * <p>
+     * Solo consulta la base de datos la primera vez y cuando las reglas de la liga han cambiado.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     * @return Las reglas compiladas de la liga, o las reglas por defecto si no tiene reglas propias.
+     */
+    public CompiledScoringRules getRules(Long leagueId) {
+        CompiledScoringRules rules = compiledRules.get(leagueId);
+        if (rules != null && rules.version() >= minVersions.getOrDefault(leagueId, 0L)) {
+            return rules;
+        }
+        CompiledScoringRules loaded = load(leagueId);
+        if (loaded.version() >= minVersions.getOrDefault(leagueId, 0L)) {
+            compiledRules.merge(leagueId, loaded, (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        }
+        return loaded;
     }
 
     /**
      * Calcula los puntos de un jugador para un partido basándose en su rol.
      * <p>
-     * Obtiene las reglas de puntuación para un rol específico y las aplica
-     * a cada estadística del jugador para obtener una puntuación total.
+     * Aplica las reglas compiladas de la liga del partido a cada estadística del jugador
+     * para obtener una puntuación total.
      * </p>
      *
+     * @param leagueId   El ID de la liga del partido.
      * @param statsDto   DTO con las estadísticas del jugador para el partido.
      * @param playerRole El rol del jugador (ej. {@link PlayerTeamRole#CAMPO} o {@link PlayerTeamRole#PORTERO}).
      * @return Los puntos totales calculados para el jugador.
      */
-    public double calculatePointsForRole(PlayerMatchStatsUpdateDto statsDto, PlayerTeamRole playerRole) {
-        List<ScoringRule> rules = scoringRuleRepository.findAllByRole(playerRole);
+    public double calculatePointsForRole(Long leagueId, PlayerMatchStatsUpdateDto statsDto, PlayerTeamRole playerRole) {
+        return getRules(leagueId).points(statsDto, playerRole);
+    }
+
+    /**
+     * Recalcula los puntos de todas las estadísticas de un partido.
+     * <p>
+     * Si las reglas son lineales se hace con una sola sentencia: las reglas de cada rol se convierten en una
+     * expresión lineal sobre los contadores, con un peso por estadística. Si hay reglas con expresión, las
+     * estadísticas del partido se cargan, se puntúan en memoria y se guardan antes de volver.
+     * </p>
+     *
+     * @param rules   Las reglas compiladas con las que puntuar.
+     * @param matchId El ID del partido.
+     * @return El número de estadísticas actualizadas.
+     */
+    public int recalculateMatchPoints(CompiledScoringRules rules, Long matchId) {
+        if (!rules.isLinear()) {
+            List<PlayerMatchStats> matchStats = entityManager.createQuery("SELECT s FROM PlayerMatchStats s WHERE s.match.id = :matchId", PlayerMatchStats.class).setParameter("matchId", matchId).getResultList();
+            for (PlayerMatchStats stats : matchStats) {
+                int[] counters = PlayerSeasonStatsService.StatLine.of(stats).counters();
+                stats.setTotalFieldPoints(rules.points(counters, PlayerTeamRole.CAMPO));
+                stats.setTotalGoalkeeperPoints(rules.points(counters, PlayerTeamRole.PORTERO));
+            }
+            entityManager.flush();
+            return matchStats.size();
+        }
+        Map<String, Double> fieldWeights = rules.nonZeroWeights(PlayerTeamRole.CAMPO);
+        Map<String, Double> goalkeeperWeights = rules.nonZeroWeights(PlayerTeamRole.PORTERO);
+        Query update = entityManager.createQuery("UPDATE PlayerMatchStats s SET s.totalFieldPoints = " + pointsExpression(fieldWeights, "f") +
+                ", s.totalGoalkeeperPoints = " + pointsExpression(goalkeeperWeights, "g") + " WHERE s.match.id = :matchId");
+        bindWeights(update, fieldWeights, "f");
+        bindWeights(update, goalkeeperWeights, "g");
+        return update.setParameter("matchId", matchId).executeUpdate();
+    }
+
+    /**
+     * Anota que una liga tiene una nueva versión de sus reglas. Se llama dentro de la transacción del cambio:
+     * justo antes de confirmarla las reglas compiladas anteriores dejan de ser válidas, y si se deshace
+     * vuelven a serlo.
+     *
+     * @param leagueId El ID de la liga.
+     * @param version  La nueva versión de sus reglas.
+     */
+    public void rulesChanged(Long leagueId, long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            minVersions.merge(leagueId, version, Math::max);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                minVersions.merge(leagueId, version, Math::max);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    minVersions.computeIfPresent(leagueId, (id, current) -> current == version ? version - 1 : current);
+                }
+            }
+        });
+    }
+
+    /**
+     * Olvida las reglas compiladas de una liga cuando se confirme la transacción en curso, al borrar la liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    public void evict(Long leagueId) {
+        Runnable eviction = () -> {
+            compiledRules.remove(leagueId);
+            minVersions.remove(leagueId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private CompiledScoringRules load(Long leagueId) {
+        return scoringRuleSetRepository.findById(leagueId)
+                .map(ruleSet -> CompiledScoringRules.compile(ruleSet.getVersion(), scoringRuleRepository.findAllByLeagueIdOrderByIdAsc(leagueId)))
+                .orElseGet(() -> CompiledScoringRules.compile(0, scoringRuleRepository.findAllByLeagueIdIsNullOrderByIdAsc()));
+    }
+
+    private static String pointsExpression(Map<String, Double> weights, String prefix) {
+        StringBuilder expression = new StringBuilder("0.0");
+        int i = 0;
+        for (String statName : weights.keySet()) {
+            expression.append(" + s.").append(statName).append(" * :").append(prefix).append(i++);
+        }
+        return expression.toString();
+    }
+
+    private static void bindWeights(Query query, Map<String, Double> weights, String prefix) {
+        int i = 0;
+        for (double weight : weights.values()) {
+            query.setParameter(prefix + i++, weight);
+        }
+    }
+
+    /**
+     * Calcula los puntos de un jugador para un partido con unas reglas ya cargadas.
+     * <p>
+     * Interpreta las reglas una a una, sin compilarlas. Se conserva como referencia para
+     * comprobar y comparar el cálculo de {@link CompiledScoringRules}.
+     * </p>
+     *
+     * @param statsDto DTO con las estadísticas del jugador para el partido.
+     * @param rules    Las reglas de puntuación de un rol.
+     * @return Los puntos totales calculados para el jugador.
+     */
+    public double calculatePoints(PlayerMatchStatsUpdateDto statsDto, List<ScoringRule> rules) {
         double totalPoints = 0.0;
 
         for (ScoringRule rule : rules) {
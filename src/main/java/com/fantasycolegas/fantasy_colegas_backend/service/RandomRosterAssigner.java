@@ -0,0 +1,128 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Asigna equipos aleatorios a los usuarios que entran en una liga.
+ * <p>
+ * Solo se leen los IDs de los jugadores, no las entidades, y se eligen {@code teamSize} con un barajado parcial
+ * de Fisher-Yates: cada elección es un intercambio en un array de {@code long}, sin barajar la lista entera. El
+ * primero elegido es el portero y, si la liga no tiene jugadores suficientes, el resto del equipo se completa con
+ * el jugador vacío. Las filas se insertan con un solo lote JDBC.
+ * <p>
+ * Un jugador real pertenece como mucho a un equipo de la liga, así que solo se eligen jugadores que no estén en
+ * el equipo de otro miembro. Las filas se insertan en la transacción de quien llama: si otro miembro se queda a
+ * la vez con alguno de los elegidos, el lote choca con la restricción única de {@code roster_players} y quien
+ * llama repite la operación entera.
+ * <p>
+ * Con {@code app.rosters.balanced-random=true} los jugadores libres se reparten por igual entre los miembros en
+ * cuanto a nivel: se ordenan por sus puntos de temporada, se dividen en {@code teamSize} tramos y se elige uno al
+ * azar de cada tramo, de modo que ningún equipo se lleva solo a los mejores o solo a los peores.
+ * </p>
+ */
+@Component
+public class RandomRosterAssigner {
+
+    private static final String INSERT_SQL = "INSERT INTO roster_players (user_id, league_id, player_id, unique_player_id, role) VALUES (?, ?, ?, ?, ?)";
+
+    private final PlayerRepository playerRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean balanced;
+
+    public RandomRosterAssigner(PlayerRepository playerRepository, JdbcTemplate jdbcTemplate, @Value("${app.rosters.balanced-random:false}") boolean balanced) {
+        this.playerRepository = playerRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.balanced = balanced;
+    }
+
+    /**
+     * Crea un equipo aleatorio para un usuario con jugadores que no están en ningún otro equipo de la liga.
+     * Debe llamarse dentro de una transacción, después de borrar el equipo anterior del usuario, si lo había.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @param teamSize El tamaño del equipo.
+     * @throws ResponseStatusException Si no existe el jugador vacío y hace falta para completar el equipo.
+     * @throws org.springframework.dao.DataIntegrityViolationException Si otro miembro se ha quedado a la vez con
+     *                                                                  alguno de los jugadores elegidos.
+     */
+    public void assign(Long leagueId, Long userId, int teamSize) {
+        long[] chosen;
+        if (balanced) {
+            chosen = sampleSpread(playerRepository.findUnownedIdsByLeagueIdOrderByPoints(leagueId).stream().mapToLong(Long::longValue).toArray(), teamSize, ThreadLocalRandom.current());
+        } else {
+            chosen = sample(playerRepository.findUnownedIdsByLeagueId(leagueId).stream().mapToLong(Long::longValue).toArray(), teamSize, ThreadLocalRandom.current());
+        }
+
+        List<Object[]> rows = new ArrayList<>(teamSize);
+        for (long playerId : chosen) {
+            rows.add(new Object[]{userId, leagueId, playerId, playerId, (rows.isEmpty() ? PlayerTeamRole.PORTERO : PlayerTeamRole.CAMPO).name()});
+        }
+        if (rows.size() < teamSize) {
+            long placeholderId = playerRepository.findPlaceholderId().orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Jugador vacío no encontrado."));
+            while (rows.size() < teamSize) {
+                rows.add(new Object[]{userId, leagueId, placeholderId, null, (rows.isEmpty() ? PlayerTeamRole.PORTERO : PlayerTeamRole.CAMPO).name()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+
+    /**
+     * Elige al azar hasta {@code count} IDs distintos, en orden aleatorio. Modifica el array recibido.
+     *
+     * @param ids    Los IDs entre los que elegir.
+     * @param count  Cuántos elegir.
+     * @param random El generador de números aleatorios.
+     * @return Los IDs elegidos; todos, barajados, si hay menos de {@code count}.
+     */
+    static long[] sample(long[] ids, int count, Random random) {
+        int k = Math.min(count, ids.length);
+        for (int i = 0; i < k; i++) {
+            swap(ids, i, i + random.nextInt(ids.length - i));
+        }
+        return Arrays.copyOf(ids, k);
+    }
+
+    /**
+     * Elige hasta {@code count} IDs repartidos por igual a lo largo de una lista ordenada, en orden aleatorio: la
+     * lista se divide en {@code count} tramos consecutivos del mismo tamaño (salvo redondeo) y se toma uno al azar
+     * de cada tramo.
+     *
+     * @param ranked Los IDs entre los que elegir, ordenados por nivel.
+     * @param count  Cuántos elegir.
+     * @param random El generador de números aleatorios.
+     * @return Los IDs elegidos; todos, barajados, si hay menos de {@code count}.
+     */
+    static long[] sampleSpread(long[] ranked, int count, Random random) {
+        int k = Math.min(count, ranked.length);
+        long[] chosen = new long[k];
+        for (int i = 0; i < k; i++) {
+            int from = (int) ((long) i * ranked.length / k);
+            int to = (int) ((long) (i + 1) * ranked.length / k);
+            chosen[i] = ranked[from + random.nextInt(to - from)];
+        }
+        return sample(chosen, k, random);
+    }
+
+    private static void swap(long[] values, int a, int b) {
+        long tmp = values[a];
+        values[a] = values[b];
+        values[b] = tmp;
+    }
+}
@@ -2,22 +2,41 @@ package com.fantasycolegas.fantasy_colegas_backend.service;
 
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.RosterCreateDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.request.RosterPlayerDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.OptimalLineupDto;
 import com.fantasycolegas.fantasy_colegas_backend.dto.response.RosterPlayerResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.RosterChangedEvent;
 import com.fantasycolegas.fantasy_colegas_backend.model.League;
 import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerSeasonStats;
 import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
 import com.fantasycolegas.fantasy_colegas_backend.model.User;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.DraftStatus;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
 import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.DraftRepository;
 import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerMatchStatsRepository;
 import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
 import com.fantasycolegas.fantasy_colegas_backend.repository.RosterPlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.UserLeagueRoleRepository;
 import com.fantasycolegas.fantasy_colegas_backend.repository.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -30,6 +49,14 @@ import java.util.stream.Collectors;
  * <p>
  * Contiene la lógica de negocio para crear, ver y modificar los equipos
  * de los participantes, con validaciones de tamaño y roles de los jugadores.
+ * <p>
+ * Las modificaciones de un equipo usan control de concurrencia optimista: si dos peticiones ocupan a la vez
+ * el mismo puesto o añaden el mismo jugador, la segunda falla al confirmar (por la versión del puesto o por
+ * la restricción única) y se repite entera en una transacción nueva, que ya ve el cambio de la primera
+ * (ver {@link OptimisticRetry}).
+ * <p>
+ * Mientras la liga tiene un draft en curso los equipos no se pueden modificar: al terminar, el draft sustituye los
+ * equipos de los miembros y se perderían los cambios hechos entretanto.
  * </p>
  */
 @Service
@@ -40,23 +67,45 @@ public class RosterService {
     private final LeagueRepository leagueRepository;
     private final PlayerRepository playerRepository;
     private final UserRepository userRepository;
+    private final LeagueVersionService leagueVersionService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final PlayerSeasonStatsService playerSeasonStatsService;
+    private final MatchRepository matchRepository;
+    private final PlayerMatchStatsRepository playerMatchStatsRepository;
+    private final UserLeagueRoleRepository userLeagueRoleRepository;
+    private final DraftRepository draftRepository;
+    private final TransactionTemplate transactionTemplate;
 
     /**
      * Constructor del servicio que inyecta las dependencias de los repositorios y otros servicios.
      */
-    public RosterService(RosterPlayerRepository rosterPlayerRepository, LeagueService leagueService, LeagueRepository leagueRepository, PlayerRepository playerRepository, UserRepository userRepository) {
+    public RosterService(RosterPlayerRepository rosterPlayerRepository, LeagueService leagueService, LeagueRepository leagueRepository, PlayerRepository playerRepository, UserRepository userRepository, LeagueVersionService leagueVersionService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, PlayerSeasonStatsService playerSeasonStatsService, MatchRepository matchRepository, PlayerMatchStatsRepository playerMatchStatsRepository, UserLeagueRoleRepository userLeagueRoleRepository, DraftRepository draftRepository, PlatformTransactionManager transactionManager) {
         this.rosterPlayerRepository = rosterPlayerRepository;
         this.leagueService = leagueService;
         this.leagueRepository = leagueRepository;
         this.playerRepository = playerRepository;
         this.userRepository = userRepository;
+        this.leagueVersionService = leagueVersionService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.playerSeasonStatsService = playerSeasonStatsService;
+        this.matchRepository = matchRepository;
+        this.playerMatchStatsRepository = playerMatchStatsRepository;
+        this.userLeagueRoleRepository = userLeagueRoleRepository;
+        this.draftRepository = draftRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     /**
      * Crea o reemplaza el equipo de un usuario en una liga.
      * <p>
      * Se realizan varias validaciones, como la pertenencia del usuario a la liga,
-     * el tamaño del equipo, el número de porteros y la existencia de los jugadores.
+     * el tamaño del equipo, el número de porteros, la existencia de los jugadores y que ninguno esté ya en el
+     * equipo de otro miembro de la liga.
+     * Los puestos actuales se reutilizan en lugar de borrarse: los jugadores que siguen en el equipo conservan
+     * su puesto y los nuevos ocupan los que quedan libres, de modo que una modificación concurrente del mismo
+     * equipo se detecta por la versión de los puestos.
      * </p>
      *
      * @param leagueId        El ID de la liga.
@@ -64,11 +113,15 @@ public class RosterService {
      * @param userId          El ID del usuario que crea el equipo.
      * @return Un mensaje de confirmación del éxito.
      */
-    @Transactional
     public String createRoster(Long leagueId, RosterCreateDto rosterCreateDto, Long userId) {
+        return withRetry(status -> saveRoster(leagueId, rosterCreateDto, userId));
+    }
+
+    private String saveRoster(Long leagueId, RosterCreateDto rosterCreateDto, Long userId) {
         if (!leagueService.isUserParticipant(leagueId, userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo los participantes de la liga pueden crear un equipo.");
         }
+        requireNoDraftInProgress(leagueId);
 
         League league = leagueRepository.findById(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
         User user = userRepository.findById(userId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Usuario no encontrado."));
@@ -82,34 +135,63 @@ public class RosterService {
         if (porteroCount != 1) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El equipo debe tener exactamente un portero.");
         }
-        if (rosterCreateDto.getPlayers().stream().anyMatch(p -> p.getRole() == PlayerTeamRole.PORTERO) && rosterCreateDto.getPlayers().stream().anyMatch(p -> p.getRole() == PlayerTeamRole.CAMPO)) {
-        }
 
         List<Long> playerIds = rosterCreateDto.getPlayers().stream().map(RosterPlayerDto::getPlayerId).collect(Collectors.toList());
 
-        List<com.fantasycolegas.fantasy_colegas_backend.model.Player> existingPlayers = playerRepository.findAllById(playerIds);
+        List<Player> existingPlayers = playerRepository.findAllById(playerIds);
         if (existingPlayers.size() != requestedSize) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Uno o más jugadores no se encontraron.");
         }
-        if (existingPlayers.stream().anyMatch(p -> !p.getLeague().getId().equals(leagueId))) {
+        if (existingPlayers.stream().anyMatch(p -> p.getLeague() == null || !p.getLeague().getId().equals(leagueId))) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Uno o más jugadores no pertenecen a esta liga.");
         }
+        if (!rosterPlayerRepository.findPlayerIdsOwnedByOthers(leagueId, playerIds, userId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Uno o más jugadores ya están en el equipo de otro miembro de la liga.");
+        }
+        Map<Long, Player> playersById = existingPlayers.stream().collect(Collectors.toMap(Player::getId, p -> p));
+
+        List<RosterPlayer> current = rosterPlayerRepository.findByUserIdAndLeagueId(userId, leagueId);
+        if (current.isEmpty()) {
+            // Sin puestos no hay versiones que comprobar: se bloquea la pertenencia a la liga para que dos
+            // peticiones no creen a la vez dos equipos.
+            userLeagueRoleRepository.findByLeagueIdAndUserIdForUpdate(leagueId, userId);
+            current = rosterPlayerRepository.findByUserIdAndLeagueId(userId, leagueId);
+        }
 
-        rosterPlayerRepository.deleteByUserIdAndLeagueId(userId, leagueId);
-
-        List<RosterPlayer> rosterPlayers = rosterCreateDto.getPlayers().stream().map(rosterPlayerDto -> {
-            RosterPlayer rosterPlayer = new RosterPlayer();
-            rosterPlayer.setUser(user);
-            rosterPlayer.setLeague(league);
-
-            com.fantasycolegas.fantasy_colegas_backend.model.Player player = existingPlayers.stream().filter(p -> p.getId().equals(rosterPlayerDto.getPlayerId())).findFirst().orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Jugador no encontrado en la lista de la liga."));
-
-            rosterPlayer.setPlayer(player);
-            rosterPlayer.setRole(rosterPlayerDto.getRole());
-            return rosterPlayer;
-        }).collect(Collectors.toList());
+        Map<Long, PlayerTeamRole> pending = new LinkedHashMap<>();
+        rosterCreateDto.getPlayers().forEach(rosterPlayerDto -> pending.put(rosterPlayerDto.getPlayerId(), rosterPlayerDto.getRole()));
+        List<RosterPlayer> free = new ArrayList<>();
+        for (RosterPlayer slot : current) {
+            PlayerTeamRole role = pending.remove(slot.getPlayer().getId());
+            if (role != null) {
+                slot.setRole(role);
+            } else {
+                free.add(slot);
+            }
+        }
 
+        Iterator<RosterPlayer> freeSlots = free.iterator();
+        List<RosterPlayer> rosterPlayers = new ArrayList<>();
+        pending.forEach((playerId, role) -> {
+            RosterPlayer rosterPlayer;
+            if (freeSlots.hasNext()) {
+                rosterPlayer = freeSlots.next();
+                freeSlots.remove();
+            } else {
+                rosterPlayer = new RosterPlayer();
+                rosterPlayer.setUser(user);
+                rosterPlayer.setLeague(league);
+            }
+            rosterPlayer.setPlayer(playersById.get(playerId));
+            rosterPlayer.setRole(role);
+            rosterPlayers.add(rosterPlayer);
+        });
+
+        rosterPlayerRepository.deleteAll(free);
         rosterPlayerRepository.saveAll(rosterPlayers);
+        leagueChangeService.record(leagueId, LeagueChangeType.ROSTER_CHANGED, userId, null, null, null);
+        domainEventBus.publish(new RosterChangedEvent(leagueId, userId));
+        leagueVersionService.rosterChanged(leagueId, userId);
 
         return "Equipo de la jornada guardado con éxito.";
     }
@@ -130,8 +212,79 @@ public class RosterService {
         }
 
         List<RosterPlayer> rosterPlayers = rosterPlayerRepository.findByUserIdAndLeagueId(userId, leagueId);
+        Map<Long, PlayerSeasonStats> seasons = playerSeasonStatsService.findByPlayerIds(rosterPlayers.stream().map(rosterPlayer -> rosterPlayer.getPlayer().getId()).collect(Collectors.toSet()));
+
+        return rosterPlayers.stream().map(rosterPlayer -> new RosterPlayerResponseDto(rosterPlayer.getPlayer().getId(), rosterPlayer.getPlayer().getName(), rosterPlayer.getRole(), rosterPlayer.getPlayer().getImage(), PlayerSeasonStatsService.pointsFor(seasons.get(rosterPlayer.getPlayer().getId()), rosterPlayer.getRole()))).collect(Collectors.toList());
+    }
+
+    /**
+     * Calcula la mejor alineación que se podría haber hecho en una liga: el portero y los jugadores de campo
+     * que más puntos habrían sumado, y la compara con el equipo actual del usuario.
+     * <p>
+     * Para toda la temporada los puntos de cada jugador, por rol, se leen de sus acumulados de temporada; para
+     * los últimos partidos se suman en la base de datos en una sola consulta agrupada. La alineación se elige en
+     * memoria con {@link LineupOptimizer}.
+     * </p>
+     *
+     * @param leagueId    El ID de la liga.
+     * @param userId      El ID del usuario.
+     * @param lastMatches Si se indica, solo se tienen en cuenta los últimos partidos de la liga.
+     * @return Un {@link OptimalLineupDto} con la alineación óptima y los puntos del equipo actual.
+     */
+    @Transactional(readOnly = true)
+    public OptimalLineupDto getOptimalLineup(Long leagueId, Long userId, Integer lastMatches) {
+        if (!leagueService.isUserParticipant(leagueId, userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo los participantes de la liga pueden ver la alineación óptima.");
+        }
+        if (lastMatches != null && lastMatches < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El número de partidos debe ser al menos 1.");
+        }
+        League league = leagueRepository.findById(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
 
-        return rosterPlayers.stream().map(rosterPlayer -> new RosterPlayerResponseDto(rosterPlayer.getPlayer().getId(), rosterPlayer.getPlayer().getName(), rosterPlayer.getRole(), rosterPlayer.getPlayer().getImage(), rosterPlayer.getPlayer().getTotalPoints())).collect(Collectors.toList());
+        List<Player> players = playerRepository.findByLeagueIdAndIsPlaceholderFalse(leagueId);
+        // Puntos de cada jugador como jugador de campo y como portero.
+        Map<Long, double[]> pointsByPlayer = new HashMap<>();
+        int matches;
+        if (lastMatches == null) {
+            matches = (int) matchRepository.countByLeagueId(leagueId);
+            playerSeasonStatsService.findByPlayerIds(players.stream().map(Player::getId).toList()).forEach((playerId, season) -> pointsByPlayer.put(playerId, new double[]{season.getTotalFieldPoints(), season.getTotalGoalkeeperPoints()}));
+        } else {
+            List<Long> matchIds = matchRepository.findRecentIdsByLeagueId(leagueId, Limit.of(lastMatches));
+            matches = matchIds.size();
+            if (!matchIds.isEmpty()) {
+                playerMatchStatsRepository.sumPointsByPlayerInMatches(matchIds).forEach(points -> pointsByPlayer.put(points.getPlayerId(), new double[]{points.getFieldPoints(), points.getGoalkeeperPoints()}));
+            }
+        }
+
+        double[] fieldPoints = new double[players.size()];
+        double[] goalkeeperPoints = new double[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            double[] points = pointsByPlayer.get(players.get(i).getId());
+            if (points != null) {
+                fieldPoints[i] = points[0];
+                goalkeeperPoints[i] = points[1];
+            }
+        }
+
+        LineupOptimizer.Lineup lineup = LineupOptimizer.best(fieldPoints, goalkeeperPoints, league.getTeamSize());
+        List<RosterPlayerResponseDto> lineupPlayers = new ArrayList<>();
+        if (lineup.goalkeeper() >= 0) {
+            Player goalkeeper = players.get(lineup.goalkeeper());
+            lineupPlayers.add(new RosterPlayerResponseDto(goalkeeper.getId(), goalkeeper.getName(), PlayerTeamRole.PORTERO, goalkeeper.getImage(), goalkeeperPoints[lineup.goalkeeper()]));
+        }
+        for (int index : lineup.fieldPlayers()) {
+            Player player = players.get(index);
+            lineupPlayers.add(new RosterPlayerResponseDto(player.getId(), player.getName(), PlayerTeamRole.CAMPO, player.getImage(), fieldPoints[index]));
+        }
+
+        double currentPoints = 0.0;
+        for (RosterPlayer rosterPlayer : rosterPlayerRepository.findByUserIdAndLeagueId(userId, leagueId)) {
+            double[] points = pointsByPlayer.get(rosterPlayer.getPlayer().getId());
+            if (points != null) {
+                currentPoints += rosterPlayer.getRole() == PlayerTeamRole.PORTERO ? points[1] : points[0];
+            }
+        }
+        return new OptimalLineupDto(leagueId, matches, lineup.points(), currentPoints, lineupPlayers);
     }
 
     /**
@@ -142,11 +295,15 @@ public class RosterService {
      * @param playerIdToRemove El ID del jugador a eliminar.
      * @return Un mensaje de confirmación.
      */
-    @Transactional
     public String removePlayerFromRoster(Long leagueId, Long userId, Long playerIdToRemove) {
+        return withRetry(status -> replaceWithPlaceholder(leagueId, userId, playerIdToRemove));
+    }
+
+    private String replaceWithPlaceholder(Long leagueId, Long userId, Long playerIdToRemove) {
         if (!leagueService.isUserParticipant(leagueId, userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo los participantes de la liga pueden modificar su equipo.");
         }
+        requireNoDraftInProgress(leagueId);
 
         List<RosterPlayer> roster = rosterPlayerRepository.findByUserIdAndLeagueId(userId, leagueId);
         if (roster.isEmpty()) {
@@ -176,12 +333,20 @@ public class RosterService {
         }
 
         rosterPlayerRepository.save(rosterPlayerToRemove);
+        leagueChangeService.record(leagueId, LeagueChangeType.ROSTER_CHANGED, userId, playerIdToRemove, null, "REMOVED");
+        domainEventBus.publish(new RosterChangedEvent(leagueId, userId));
+        leagueVersionService.rosterChanged(leagueId, userId);
 
         return "Jugador eliminado y reemplazado con éxito.";
     }
 
     /**
      * Añade un jugador a un equipo, ocupando una posición vacía (placeholder).
+     * <p>
+     * El jugador no puede estar en el equipo de otro miembro de la liga. Si otro miembro lo añade a la vez, la
+     * restricción única de los puestos hace fallar a uno de los dos, que al repetirse ve al otro y responde con
+     * un conflicto.
+     * </p>
      *
      * @param leagueId      El ID de la liga.
      * @param userId        El ID del usuario.
@@ -189,14 +354,25 @@ public class RosterService {
      * @param position      El rol del jugador (PORTERO o CAMPO).
      * @return Un mensaje de confirmación.
      */
-    @Transactional
     public String addPlayerToRoster(Long leagueId, Long userId, Long playerIdToAdd, PlayerTeamRole position) {
+        return withRetry(status -> fillEmptyPosition(leagueId, userId, playerIdToAdd, position));
+    }
+
+    private String fillEmptyPosition(Long leagueId, Long userId, Long playerIdToAdd, PlayerTeamRole position) {
+        requireNoDraftInProgress(leagueId);
         Player playerToAdd = playerRepository.findById(playerIdToAdd).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "El jugador a añadir no existe."));
 
+        if (playerToAdd.getLeague() == null || !playerToAdd.getLeague().getId().equals(leagueId)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El jugador no pertenece a esta liga.");
+        }
+
         boolean playerAlreadyInRoster = rosterPlayerRepository.existsByUserIdAndLeagueIdAndPlayerId(userId, leagueId, playerIdToAdd);
         if (playerAlreadyInRoster) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El jugador ya se encuentra en tu equipo.");
         }
+        if (!rosterPlayerRepository.findPlayerIdsOwnedByOthers(leagueId, List.of(playerIdToAdd), userId).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "El jugador ya está en el equipo de otro miembro de la liga.");
+        }
 
         Player placeholderPlayer = playerRepository.findByIsPlaceholderTrue().orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "El jugador vacío no se encuentra en la base de datos. Contacta con el administrador."));
 
@@ -217,7 +393,20 @@ public class RosterService {
         emptyPosition.setPlayer(playerToAdd);
 
         rosterPlayerRepository.save(emptyPosition);
+        leagueChangeService.record(leagueId, LeagueChangeType.ROSTER_CHANGED, userId, playerIdToAdd, null, "ADDED");
+        domainEventBus.publish(new RosterChangedEvent(leagueId, userId));
+        leagueVersionService.rosterChanged(leagueId, userId);
 
         return "Jugador " + playerToAdd.getName() + " añadido a tu equipo con éxito.";
     }
-}
\ No newline at end of file
+
+    private void requireNoDraftInProgress(Long leagueId) {
+        if (draftRepository.existsByLeagueIdAndStatus(leagueId, DraftStatus.IN_PROGRESS)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Hay un draft en curso en esta liga; los equipos no se pueden modificar hasta que termine.");
+        }
+    }
+
+    private <T> T withRetry(TransactionCallback<T> action) {
+        return OptimisticRetry.execute(transactionTemplate, action, "El equipo se ha modificado a la vez desde otra petición. Inténtalo de nuevo.");
+    }
+}
@@ -0,0 +1,314 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Lenguaje de expresiones de las reglas de puntuación no lineales.
+ * <p>
+ * Una expresión opera sobre los contadores de las estadísticas de un jugador en un partido, con los mismos
+ * nombres que en {@link com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats}. Admite números,
+ * los operadores {@code + - * /}, las comparaciones {@code < <= > >= == !=} (valen 1 o 0), {@code && || !},
+ * la condición {@code c ? a : b}, paréntesis y las funciones {@code min}, {@code max}, {@code abs} y {@code floor}.
+ * Dividir entre 0 da 0. Por ejemplo:
+ * <ul>
+ *     <li>Triplete: {@code golesMarcados >= 3 ? 1 : 0}</li>
+ *     <li>Portería a cero jugando al menos una hora: {@code tiempoJugado >= 60 && golesEncajadosComoPortero == 0}</li>
+ *     <li>Un punto por cada media hora, como mucho tres: {@code min(floor(tiempoJugado / 30), 3)}</li>
+ * </ul>
+ * La expresión se analiza una sola vez y se compila en un árbol de lambdas que lee los contadores por posición,
+ * en el orden de {@link PointsCalculationService#STATS}; las partes constantes se calculan al compilar.
+ * </p>
+ */
+public final class ScoringExpression {
+
+    /**
+     * Longitud máxima de una expresión.
+     */
+    public static final int MAX_LENGTH = 500;
+
+    /**
+     * Una expresión compilada.
+     */
+    @FunctionalInterface
+    public interface Evaluator {
+
+        /**
+         * @param stats Los contadores de las estadísticas, en el orden de {@link PointsCalculationService#STATS}.
+         * @return El valor de la expresión.
+         */
+        double evaluate(int[] stats);
+    }
+
+    private record Constant(double value) implements Evaluator {
+        @Override
+        public double evaluate(int[] stats) {
+            return value;
+        }
+    }
+
+    private ScoringExpression() {
+    }
+
+    /**
+     * Analiza y compila una expresión.
+     *
+     * @param source El texto de la expresión.
+     * @return La expresión compilada.
+     * @throws IllegalArgumentException Si la expresión no es válida; el mensaje indica el motivo y la posición.
+     */
+    public static Evaluator compile(String source) {
+        if (source == null || source.isBlank()) {
+            throw new IllegalArgumentException("La expresión está vacía.");
+        }
+        if (source.length() > MAX_LENGTH) {
+            throw new IllegalArgumentException("La expresión no puede superar los " + MAX_LENGTH + " caracteres.");
+        }
+        Parser parser = new Parser(source);
+        Evaluator result = parser.ternary();
+        parser.skipSpaces();
+        if (parser.position < source.length()) {
+            throw parser.error("Sobra texto");
+        }
+        return result;
+    }
+
+    private static boolean truthy(double value) {
+        return value != 0.0;
+    }
+
+    private static double bool(boolean value) {
+        return value ? 1.0 : 0.0;
+    }
+
+    private static Evaluator unary(Evaluator operand, DoubleUnaryOperator operator) {
+        if (operand instanceof Constant c) {
+            return new Constant(operator.applyAsDouble(c.value()));
+        }
+        return stats -> operator.applyAsDouble(operand.evaluate(stats));
+    }
+
+    private static Evaluator binary(Evaluator left, Evaluator right, DoubleBinaryOperator operator) {
+        if (left instanceof Constant l && right instanceof Constant r) {
+            return new Constant(operator.applyAsDouble(l.value(), r.value()));
+        }
+        return stats -> operator.applyAsDouble(left.evaluate(stats), right.evaluate(stats));
+    }
+
+    /**
+     * Analizador descendente recursivo. Cada método reconoce un nivel de precedencia, de menor a mayor.
+     */
+    private static final class Parser {
+
+        private final String source;
+        private int position;
+
+        Parser(String source) {
+            this.source = source;
+        }
+
+        Evaluator ternary() {
+            Evaluator condition = or();
+            if (!accept("?")) {
+                return condition;
+            }
+            Evaluator whenTrue = ternary();
+            expect(":");
+            Evaluator whenFalse = ternary();
+            if (condition instanceof Constant c) {
+                return truthy(c.value()) ? whenTrue : whenFalse;
+            }
+            return stats -> truthy(condition.evaluate(stats)) ? whenTrue.evaluate(stats) : whenFalse.evaluate(stats);
+        }
+
+        private Evaluator or() {
+            Evaluator left = and();
+            while (accept("||")) {
+                left = binary(left, and(), (a, b) -> bool(truthy(a) || truthy(b)));
+            }
+            return left;
+        }
+
+        private Evaluator and() {
+            Evaluator left = comparison();
+            while (accept("&&")) {
+                left = binary(left, comparison(), (a, b) -> bool(truthy(a) && truthy(b)));
+            }
+            return left;
+        }
+
+        private Evaluator comparison() {
+            Evaluator left = sum();
+            if (accept("<=")) {
+                return binary(left, sum(), (a, b) -> bool(a <= b));
+            }
+            if (accept(">=")) {
+                return binary(left, sum(), (a, b) -> bool(a >= b));
+            }
+            if (accept("==")) {
+                return binary(left, sum(), (a, b) -> bool(a == b));
+            }
+            if (accept("!=")) {
+                return binary(left, sum(), (a, b) -> bool(a != b));
+            }
+            if (accept("<")) {
+                return binary(left, sum(), (a, b) -> bool(a < b));
+            }
+            if (accept(">")) {
+                return binary(left, sum(), (a, b) -> bool(a > b));
+            }
+            return left;
+        }
+
+        private Evaluator sum() {
+            Evaluator left = term();
+            while (true) {
+                if (accept("+")) {
+                    left = binary(left, term(), Double::sum);
+                } else if (accept("-")) {
+                    left = binary(left, term(), (a, b) -> a - b);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Evaluator term() {
+            Evaluator left = unary();
+            while (true) {
+                if (accept("*")) {
+                    left = binary(left, unary(), (a, b) -> a * b);
+                } else if (accept("/")) {
+                    left = binary(left, unary(), (a, b) -> b == 0.0 ? 0.0 : a / b);
+                } else {
+                    return left;
+                }
+            }
+        }
+
+        private Evaluator unary() {
+            if (accept("-")) {
+                return ScoringExpression.unary(unary(), a -> -a);
+            }
+            if (accept("!")) {
+                return ScoringExpression.unary(unary(), a -> bool(!truthy(a)));
+            }
+            return primary();
+        }
+
+        private Evaluator primary() {
+            skipSpaces();
+            if (accept("(")) {
+                Evaluator inner = ternary();
+                expect(")");
+                return inner;
+            }
+            if (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                return number();
+            }
+            if (position < source.length() && Character.isLetter(source.charAt(position))) {
+                int start = position;
+                String name = identifier();
+                return accept("(") ? function(name, start) : stat(name, start);
+            }
+            throw error("Se esperaba un número, una estadística o '('");
+        }
+
+        private Evaluator number() {
+            int start = position;
+            while (position < source.length() && (Character.isDigit(source.charAt(position)) || source.charAt(position) == '.')) {
+                position++;
+            }
+            try {
+                return new Constant(Double.parseDouble(source.substring(start, position)));
+            } catch (NumberFormatException e) {
+                position = start;
+                throw error("Número no válido");
+            }
+        }
+
+        private String identifier() {
+            int start = position;
+            while (position < source.length() && Character.isLetterOrDigit(source.charAt(position))) {
+                position++;
+            }
+            return source.substring(start, position);
+        }
+
+        private Evaluator stat(String name, int start) {
+            int index = PointsCalculationService.STATS.indexOf(name);
+            if (index < 0) {
+                position = start;
+                throw error("Estadística desconocida '" + name + "'");
+            }
+            return stats -> stats[index];
+        }
+
+        private Evaluator function(String name, int start) {
+            List<Evaluator> args = new ArrayList<>();
+            if (!accept(")")) {
+                do {
+                    args.add(ternary());
+                } while (accept(","));
+                expect(")");
+            }
+            switch (name.toLowerCase(Locale.ROOT)) {
+                case "min", "max" -> {
+                    if (args.size() < 2) {
+                        position = start;
+                        throw error("La función " + name + " necesita al menos dos argumentos");
+                    }
+                    DoubleBinaryOperator operator = name.equalsIgnoreCase("min") ? Math::min : Math::max;
+                    Evaluator result = args.get(0);
+                    for (int i = 1; i < args.size(); i++) {
+                        result = binary(result, args.get(i), operator);
+                    }
+                    return result;
+                }
+                case "abs", "floor" -> {
+                    if (args.size() != 1) {
+                        position = start;
+                        throw error("La función " + name + " necesita un argumento");
+                    }
+                    return ScoringExpression.unary(args.get(0), name.equalsIgnoreCase("abs") ? Math::abs : Math::floor);
+                }
+                default -> {
+                    position = start;
+                    throw error("Función desconocida '" + name + "'");
+                }
+            }
+        }
+
+        void skipSpaces() {
+            while (position < source.length() && Character.isWhitespace(source.charAt(position))) {
+                position++;
+            }
+        }
+
+        private boolean accept(String token) {
+            skipSpaces();
+            if (source.startsWith(token, position)) {
+                position += token.length();
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(String token) {
+            if (!accept(token)) {
+                throw error("Se esperaba '" + token + "'");
+            }
+        }
+
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " en la posición " + (position + 1) + " de la expresión.");
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.ScoringRuleRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ScoringRuleDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ScoringRuleSetDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.ScoringRulesChangedEvent;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRuleSet;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerSeasonStatsRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleSetRepository;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio para gestionar las reglas de puntuación de cada liga.
+ * <p>
+ * Una liga usa las reglas por defecto hasta que un administrador cambia alguna; en ese momento se le crea un
+ * conjunto de reglas propio, copia de las reglas por defecto, y el cambio se aplica sobre la copia. Cada cambio
+ * se hace con la liga bloqueada, aumenta la versión del conjunto y vuelve a puntuar, con las reglas nuevas, las
+ * estadísticas de los partidos aún no finalizados; los finalizados conservan los puntos con los que se cerraron.
+ * Los partidos abiertos se bloquean durante el cambio, de modo que ninguna estadística se puntúa con unas reglas
+ * a medio cambiar. Al confirmarse, {@link PointsCalculationService} descarta las reglas compiladas de la liga.
+ * </p>
+ */
+@Service
+public class ScoringRuleService {
+
+    private final ScoringRuleRepository scoringRuleRepository;
+    private final ScoringRuleSetRepository scoringRuleSetRepository;
+    private final LeagueRepository leagueRepository;
+    private final MatchRepository matchRepository;
+    private final PlayerSeasonStatsRepository playerSeasonStatsRepository;
+    private final PointsCalculationService pointsCalculationService;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final LeagueVersionService leagueVersionService;
+
+    /**
+     * Constructor del servicio que inyecta las dependencias necesarias.
+     */
+    public ScoringRuleService(ScoringRuleRepository scoringRuleRepository, ScoringRuleSetRepository scoringRuleSetRepository, LeagueRepository leagueRepository, MatchRepository matchRepository, PlayerSeasonStatsRepository playerSeasonStatsRepository, PointsCalculationService pointsCalculationService, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, LeagueVersionService leagueVersionService) {
+        this.scoringRuleRepository = scoringRuleRepository;
+        this.scoringRuleSetRepository = scoringRuleSetRepository;
+        this.leagueRepository = leagueRepository;
+        this.matchRepository = matchRepository;
+        this.playerSeasonStatsRepository = playerSeasonStatsRepository;
+        this.pointsCalculationService = pointsCalculationService;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.leagueVersionService = leagueVersionService;
+    }
+
+    /**
+     * Obtiene las reglas de puntuación de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link ScoringRuleSetDto} con las reglas propias de la liga, o con las reglas por defecto si no tiene.
+     * @throws ResponseStatusException Si la liga no existe.
+     */
+    @Transactional(readOnly = true)
+    public ScoringRuleSetDto getRules(Long leagueId) {
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada.");
+        }
+        return scoringRuleSetRepository.findById(leagueId)
+                .map(ruleSet -> mapToDto(leagueId, ruleSet.getVersion(), true, scoringRuleRepository.findAllByLeagueIdOrderByIdAsc(leagueId)))
+                .orElseGet(() -> mapToDto(leagueId, 0, false, scoringRuleRepository.findAllByLeagueIdIsNullOrderByIdAsc()));
+    }
+
+    /**
+     * Añade una regla de puntuación a una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param ruleDto  DTO con la estadística, el rol, los puntos por unidad y la expresión, si la hay.
+     * @return Un {@link ScoringRuleSetDto} con las reglas de la liga tras el cambio.
+     * @throws ResponseStatusException Si la liga no existe o la estadística o la expresión no son válidas.
+     */
+    @Transactional
+    public ScoringRuleSetDto addRule(Long leagueId, ScoringRuleRequestDto ruleDto) {
+        validate(ruleDto);
+        lockOwnRules(leagueId);
+        ScoringRule rule = new ScoringRule();
+        rule.setLeagueId(leagueId);
+        copy(ruleDto, rule);
+        scoringRuleRepository.save(rule);
+        return rulesChanged(leagueId);
+    }
+
+    /**
+     * Modifica una regla de puntuación de una liga.
+     * <p>
+     * Si la liga aún usa las reglas por defecto, {@code ruleId} puede ser el de una regla por defecto:
+     * se modifica su copia en las reglas propias de la liga.
+     * </p>
+     *
+     * @param leagueId El ID de la liga.
+     * @param ruleId   El ID de la regla.
+     * @param ruleDto  DTO con la estadística, el rol, los puntos por unidad y la expresión, si la hay.
+     * @return Un {@link ScoringRuleSetDto} con las reglas de la liga tras el cambio.
+     * @throws ResponseStatusException Si la liga o la regla no existen o la estadística o la expresión no son válidas.
+     */
+    @Transactional
+    public ScoringRuleSetDto updateRule(Long leagueId, Long ruleId, ScoringRuleRequestDto ruleDto) {
+        validate(ruleDto);
+        ScoringRule rule = findOwnRule(leagueId, ruleId, lockOwnRules(leagueId));
+        copy(ruleDto, rule);
+        scoringRuleRepository.save(rule);
+        return rulesChanged(leagueId);
+    }
+
+    /**
+     * Elimina una regla de puntuación de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param ruleId   El ID de la regla; como al modificar, puede ser el de una regla por defecto.
+     * @return Un {@link ScoringRuleSetDto} con las reglas de la liga tras el cambio.
+     * @throws ResponseStatusException Si la liga o la regla no existen.
+     */
+    @Transactional
+    public ScoringRuleSetDto deleteRule(Long leagueId, Long ruleId) {
+        scoringRuleRepository.delete(findOwnRule(leagueId, ruleId, lockOwnRules(leagueId)));
+        return rulesChanged(leagueId);
+    }
+
+    /**
+     * Sustituye las reglas propias de una liga por una copia de las reglas por defecto.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Un {@link ScoringRuleSetDto} con las reglas de la liga tras el cambio.
+     * @throws ResponseStatusException Si la liga no existe.
+     */
+    @Transactional
+    public ScoringRuleSetDto resetRules(Long leagueId) {
+        if (lockOwnRules(leagueId).isEmpty()) {
+            scoringRuleRepository.deleteByLeagueId(leagueId);
+            copyDefaults(leagueId);
+        }
+        return rulesChanged(leagueId);
+    }
+
+    /**
+     * Borra las reglas propias de una liga, dentro de la transacción que borra la liga.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteLeague(Long leagueId) {
+        scoringRuleRepository.deleteByLeagueId(leagueId);
+        scoringRuleSetRepository.findById(leagueId).ifPresent(scoringRuleSetRepository::delete);
+        pointsCalculationService.evict(leagueId);
+    }
+
+    /**
+     * Bloquea la liga y se asegura de que tenga reglas propias, copiándolas de las reglas por defecto si no las tiene.
+     *
+     * @return Si se acaban de copiar, las copias por ID de la regla por defecto; si no, un mapa vacío.
+     */
+    private Map<Long, ScoringRule> lockOwnRules(Long leagueId) {
+        leagueRepository.findByIdForUpdate(leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada."));
+        if (scoringRuleSetRepository.existsById(leagueId)) {
+            return Map.of();
+        }
+        ScoringRuleSet ruleSet = new ScoringRuleSet();
+        ruleSet.setLeagueId(leagueId);
+        ruleSet.setVersion(0);
+        ruleSet.setUpdatedAt(LocalDateTime.now());
+        scoringRuleSetRepository.save(ruleSet);
+        return copyDefaults(leagueId);
+    }
+
+    private Map<Long, ScoringRule> copyDefaults(Long leagueId) {
+        Map<Long, ScoringRule> copies = new HashMap<>();
+        for (ScoringRule defaultRule : scoringRuleRepository.findAllByLeagueIdIsNullOrderByIdAsc()) {
+            ScoringRule copy = new ScoringRule();
+            copy.setLeagueId(leagueId);
+            copy.setStatName(defaultRule.getStatName());
+            copy.setPointsPerUnit(defaultRule.getPointsPerUnit());
+            copy.setRole(defaultRule.getRole());
+            copy.setExpression(defaultRule.getExpression());
+            copies.put(defaultRule.getId(), copy);
+        }
+        scoringRuleRepository.saveAll(copies.values());
+        return copies;
+    }
+
+    private ScoringRule findOwnRule(Long leagueId, Long ruleId, Map<Long, ScoringRule> copies) {
+        ScoringRule copy = copies.get(ruleId);
+        if (copy != null) {
+            return copy;
+        }
+        return scoringRuleRepository.findById(ruleId).filter(rule -> leagueId.equals(rule.getLeagueId())).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Regla de puntuación no encontrada en esta liga."));
+    }
+
+    /**
+     * Aumenta la versión de las reglas de la liga, vuelve a puntuar sus partidos abiertos y avisa del cambio.
+     */
+    private ScoringRuleSetDto rulesChanged(Long leagueId) {
+        ScoringRuleSet ruleSet = scoringRuleSetRepository.findById(leagueId).orElseThrow();
+        ruleSet.setVersion(ruleSet.getVersion() + 1);
+        ruleSet.setUpdatedAt(LocalDateTime.now());
+        scoringRuleSetRepository.save(ruleSet);
+
+        List<ScoringRule> rules = scoringRuleRepository.findAllByLeagueIdOrderByIdAsc(leagueId);
+        CompiledScoringRules compiled = CompiledScoringRules.compile(ruleSet.getVersion(), rules);
+        for (Match match : matchRepository.findAllByIdForUpdate(matchRepository.findIdsByLeagueId(leagueId))) {
+            if (!match.isFinalized()) {
+                playerSeasonStatsRepository.subtractMatchPoints(match.getId());
+                pointsCalculationService.recalculateMatchPoints(compiled, match.getId());
+                playerSeasonStatsRepository.addMatchPoints(match.getId());
+            }
+        }
+        pointsCalculationService.rulesChanged(leagueId, ruleSet.getVersion());
+
+        leagueChangeService.record(leagueId, LeagueChangeType.SCORING_RULES_CHANGED, null, null, null, String.valueOf(ruleSet.getVersion()));
+        domainEventBus.publish(new ScoringRulesChangedEvent(leagueId));
+        leagueVersionService.leagueChanged(leagueId);
+        leagueVersionService.scoresChanged(leagueId);
+        return mapToDto(leagueId, ruleSet.getVersion(), true, rules);
+    }
+
+    static void validate(ScoringRuleRequestDto ruleDto) {
+        if (!PointsCalculationService.STATS.contains(ruleDto.getStatName())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Estadística no válida: " + ruleDto.getStatName() + ".");
+        }
+        if (!Double.isFinite(ruleDto.getPointsPerUnit())) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Los puntos por unidad deben ser un número finito.");
+        }
+        if (ruleDto.getExpression() != null && !ruleDto.getExpression().isBlank()) {
+            try {
+                ScoringExpression.compile(ruleDto.getExpression());
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+        }
+    }
+
+    static void copy(ScoringRuleRequestDto ruleDto, ScoringRule rule) {
+        rule.setStatName(ruleDto.getStatName());
+        rule.setPointsPerUnit(ruleDto.getPointsPerUnit());
+        rule.setRole(ruleDto.getRole());
+        rule.setExpression(ruleDto.getExpression() == null || ruleDto.getExpression().isBlank() ? null : ruleDto.getExpression().trim());
+    }
+
+    private static ScoringRuleSetDto mapToDto(Long leagueId, long version, boolean custom, List<ScoringRule> rules) {
+        return new ScoringRuleSetDto(leagueId, version, custom, rules.stream().map(rule -> new ScoringRuleDto(rule.getId(), rule.getStatName(), rule.getPointsPerUnit(), rule.getRole(), rule.getExpression())).toList());
+    }
+}
@@ -0,0 +1,242 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.ScoringRuleRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ScoringSimulationDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.SimulatedScoreDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueStanding;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRuleSet;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueStandingRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleSetRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio que simula cómo quedaría la clasificación de una liga con otras reglas de puntuación, sin guardar nada.
+ * <p>
+ * Las estadísticas de los partidos abiertos de la liga se leen una sola vez en forma de columnas: un array de
+ * enteros por estadística, en el orden de {@link PointsCalculationService#STATS}, más los puntos guardados de cada
+ * fila. Las reglas candidatas se compilan igual que las reales ({@link CompiledScoringRules}) y se aplican por
+ * bloques de filas, en paralelo si hay muchas: la parte lineal recorre cada columna con su peso y las expresiones
+ * se evalúan fila a fila. Después se suman los puntos por usuario según el rol de cada jugador en su equipo.
+ * <p>
+ * Igual que al cambiar las reglas de verdad, los partidos finalizados conservan los puntos que se congelaron en
+ * {@link LeagueStanding}; la simulación solo vuelve a puntuar los partidos abiertos.
+ * </p>
+ */
+@Service
+public class ScoringSimulationService {
+
+    /**
+     * Número máximo de reglas de un conjunto candidato.
+     */
+    public static final int MAX_RULES = 200;
+
+    /**
+     * Filas de estadísticas de cada bloque; cada bloque se puntúa en un solo hilo.
+     */
+    private static final int BLOCK_SIZE = 1024;
+
+    /**
+     * Número de filas a partir del cual los bloques se puntúan en paralelo.
+     */
+    private static final int PARALLEL_THRESHOLD = 8 * BLOCK_SIZE;
+
+    private final LeagueRepository leagueRepository;
+    private final LeagueStandingRepository leagueStandingRepository;
+    private final ScoringRuleSetRepository scoringRuleSetRepository;
+    private final EntityManager entityManager;
+
+    public ScoringSimulationService(LeagueRepository leagueRepository, LeagueStandingRepository leagueStandingRepository, ScoringRuleSetRepository scoringRuleSetRepository, EntityManager entityManager) {
+        this.leagueRepository = leagueRepository;
+        this.leagueStandingRepository = leagueStandingRepository;
+        this.scoringRuleSetRepository = scoringRuleSetRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Estadísticas de los partidos abiertos de una liga, por columnas.
+     *
+     * @param playerIds        El jugador de cada fila.
+     * @param columns          Una columna por estadística, en el orden de {@link PointsCalculationService#STATS}.
+     * @param fieldPoints      Los puntos guardados de cada fila como jugador de campo.
+     * @param goalkeeperPoints Los puntos guardados de cada fila como portero.
+     */
+    record StatsColumns(long[] playerIds, int[][] columns, double[] fieldPoints, double[] goalkeeperPoints) {
+
+        int size() {
+            return playerIds.length;
+        }
+    }
+
+    /**
+     * Simula la clasificación de una liga con un conjunto de reglas candidato.
+     *
+     * @param leagueId El ID de la liga.
+     * @param rules    Las reglas candidatas, que sustituyen a todas las reglas actuales.
+     * @return Un {@link ScoringSimulationDto} con la clasificación simulada y el cambio de posición de cada usuario.
+     * @throws ResponseStatusException Si la liga no existe o alguna regla no es válida.
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public ScoringSimulationDto simulate(Long leagueId, List<ScoringRuleRequestDto> rules) {
+        if (!leagueRepository.existsById(leagueId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Liga no encontrada.");
+        }
+        if (rules.size() > MAX_RULES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No se pueden simular más de " + MAX_RULES + " reglas.");
+        }
+        List<ScoringRule> candidate = new ArrayList<>(rules.size());
+        for (ScoringRuleRequestDto ruleDto : rules) {
+            ScoringRuleService.validate(ruleDto);
+            ScoringRule rule = new ScoringRule();
+            ScoringRuleService.copy(ruleDto, rule);
+            candidate.add(rule);
+        }
+        CompiledScoringRules compiled = CompiledScoringRules.compile(0, candidate);
+
+        long baseVersion = scoringRuleSetRepository.findById(leagueId).map(ScoringRuleSet::getVersion).orElse(0L);
+        StatsColumns stats = loadOpenMatchStats(leagueId);
+        List<Object[]> roster = entityManager.createQuery("SELECT rp.user.id, rp.player.id, rp.role FROM RosterPlayer rp WHERE rp.league.id = :leagueId", Object[].class)
+                .setParameter("leagueId", leagueId).getResultList();
+        List<LeagueStanding> standings = leagueStandingRepository.findByLeagueId(leagueId);
+
+        double[] fieldPoints = new double[stats.size()];
+        double[] goalkeeperPoints = new double[stats.size()];
+        score(compiled, stats, fieldPoints, goalkeeperPoints);
+
+        return new ScoringSimulationDto(leagueId, baseVersion, compare(
+                totals(stats.playerIds(), fieldPoints, goalkeeperPoints, roster, standings),
+                totals(stats.playerIds(), stats.fieldPoints(), stats.goalkeeperPoints(), roster, standings)));
+    }
+
+    private StatsColumns loadOpenMatchStats(Long leagueId) {
+        List<String> statNames = PointsCalculationService.STATS;
+        List<Object[]> rows = entityManager.createQuery("SELECT s.player.id, " + statNames.stream().map(stat -> "s." + stat).collect(Collectors.joining(", ")) +
+                        ", s.totalFieldPoints, s.totalGoalkeeperPoints FROM PlayerMatchStats s WHERE s.match.league.id = :leagueId AND s.match.finalized = false", Object[].class)
+                .setParameter("leagueId", leagueId).getResultList();
+
+        int size = rows.size();
+        long[] playerIds = new long[size];
+        int[][] columns = new int[statNames.size()][size];
+        double[] fieldPoints = new double[size];
+        double[] goalkeeperPoints = new double[size];
+        for (int i = 0; i < size; i++) {
+            Object[] row = rows.get(i);
+            playerIds[i] = ((Number) row[0]).longValue();
+            for (int c = 0; c < columns.length; c++) {
+                columns[c][i] = ((Number) row[c + 1]).intValue();
+            }
+            fieldPoints[i] = ((Number) row[columns.length + 1]).doubleValue();
+            goalkeeperPoints[i] = ((Number) row[columns.length + 2]).doubleValue();
+        }
+        return new StatsColumns(playerIds, columns, fieldPoints, goalkeeperPoints);
+    }
+
+    /**
+     * Puntúa todas las filas con unas reglas, como jugador de campo y como portero. Cada bloque de filas escribe
+     * solo en sus propias posiciones de los arrays de salida, así que los bloques no necesitan sincronizarse.
+     */
+    static void score(CompiledScoringRules rules, StatsColumns stats, double[] fieldPoints, double[] goalkeeperPoints) {
+        int blocks = (stats.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        IntStream range = IntStream.range(0, blocks);
+        (stats.size() >= PARALLEL_THRESHOLD ? range.parallel() : range).forEach(block -> {
+            int from = block * BLOCK_SIZE;
+            int to = Math.min(from + BLOCK_SIZE, stats.size());
+            scoreBlock(stats.columns(), rules.fieldWeights(), rules.fieldTerms(), from, to, fieldPoints);
+            scoreBlock(stats.columns(), rules.goalkeeperWeights(), rules.goalkeeperTerms(), from, to, goalkeeperPoints);
+        });
+    }
+
+    private static void scoreBlock(int[][] columns, double[] weights, CompiledScoringRules.Term[] terms, int from, int to, double[] points) {
+        for (int c = 0; c < columns.length; c++) {
+            double weight = weights[c];
+            if (weight == 0.0) {
+                continue;
+            }
+            int[] column = columns[c];
+            for (int i = from; i < to; i++) {
+                points[i] += column[i] * weight;
+            }
+        }
+        if (terms.length == 0) {
+            return;
+        }
+        int[] row = new int[columns.length];
+        for (int i = from; i < to; i++) {
+            for (int c = 0; c < columns.length; c++) {
+                row[c] = columns[c][i];
+            }
+            for (CompiledScoringRules.Term term : terms) {
+                points[i] += term.pointsPerUnit() * term.expression().evaluate(row);
+            }
+        }
+    }
+
+    /**
+     * Suma los puntos de cada usuario: los de sus jugadores en los partidos abiertos, según el rol de cada uno
+     * en su equipo, más los puntos congelados de los partidos finalizados.
+     */
+    private static Map<Long, Double> totals(long[] playerIds, double[] fieldPoints, double[] goalkeeperPoints, List<Object[]> roster, List<LeagueStanding> standings) {
+        Map<Long, double[]> pointsByPlayer = new HashMap<>();
+        for (int i = 0; i < playerIds.length; i++) {
+            double[] sums = pointsByPlayer.computeIfAbsent(playerIds[i], id -> new double[2]);
+            sums[0] += fieldPoints[i];
+            sums[1] += goalkeeperPoints[i];
+        }
+
+        Map<Long, Double> pointsByUser = new HashMap<>();
+        for (Object[] rosterPlayer : roster) {
+            double[] sums = pointsByPlayer.get((Long) rosterPlayer[1]);
+            double points = sums == null ? 0.0 : rosterPlayer[2] == PlayerTeamRole.PORTERO ? sums[1] : sums[0];
+            pointsByUser.merge((Long) rosterPlayer[0], points, Double::sum);
+        }
+        for (LeagueStanding standing : standings) {
+            pointsByUser.merge(standing.getUserId(), standing.getPoints(), Double::sum);
+        }
+        return pointsByUser;
+    }
+
+    /**
+     * Ordena la clasificación simulada y calcula la posición de cada usuario en las dos clasificaciones.
+     */
+    private static List<SimulatedScoreDto> compare(Map<Long, Double> simulated, Map<Long, Double> current) {
+        Map<Long, Integer> simulatedRanks = ranks(simulated);
+        Map<Long, Integer> currentRanks = ranks(current);
+        List<SimulatedScoreDto> scores = new ArrayList<>(simulated.size());
+        simulated.forEach((userId, points) -> {
+            int rank = simulatedRanks.get(userId);
+            int previousRank = currentRanks.get(userId);
+            scores.add(new SimulatedScoreDto(userId, points, current.get(userId), rank, previousRank, previousRank - rank));
+        });
+        scores.sort(Comparator.comparingDouble(SimulatedScoreDto::getTotalPoints).reversed().thenComparing(SimulatedScoreDto::getUserId));
+        return scores;
+    }
+
+    /**
+     * Posición de cada usuario: 1 más el número de usuarios con más puntos.
+     */
+    static Map<Long, Integer> ranks(Map<Long, Double> pointsByUser) {
+        List<Map.Entry<Long, Double>> sorted = new ArrayList<>(pointsByUser.entrySet());
+        sorted.sort(Map.Entry.<Long, Double>comparingByValue().reversed());
+        Map<Long, Integer> ranks = new HashMap<>();
+        for (int i = 0; i < sorted.size(); i++) {
+            boolean tied = i > 0 && sorted.get(i).getValue().doubleValue() == sorted.get(i - 1).getValue().doubleValue();
+            ranks.put(sorted.get(i).getKey(), tied ? ranks.get(sorted.get(i - 1).getKey()) : i + 1);
+        }
+        return ranks;
+    }
+}
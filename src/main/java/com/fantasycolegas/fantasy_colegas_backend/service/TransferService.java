@@ -0,0 +1,347 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.TransferListingRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.TransferBudgetDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.TransferListingDto;
+import com.fantasycolegas.fantasy_colegas_backend.event.DomainEventBus;
+import com.fantasycolegas.fantasy_colegas_backend.event.RosterChangedEvent;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
+import com.fantasycolegas.fantasy_colegas_backend.model.TransferBid;
+import com.fantasycolegas.fantasy_colegas_backend.model.TransferListing;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.TransferStatus;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.RosterPlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.TransferBidRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.TransferListingRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.UserLeagueRoleRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Servicio del mercado de fichajes de una liga: los usuarios ponen a la venta jugadores de su equipo, los demás
+ * pujan por ellos hasta una fecha límite y al cerrarse el jugador pasa del equipo del vendedor al del comprador.
+ * <p>
+ * Cada usuario tiene un presupuesto por liga. Al pujar, la cantidad se descuenta del presupuesto del pujador con
+ * una actualización condicionada (solo si le alcanza) y se devuelve la puja anterior a quien iba ganando; al
+ * venderse, el vendedor cobra la puja ganadora. Nunca se bloquea la liga entera: cada puja compara y cambia la
+ * fila versionada de su venta, de modo que dos pujas simultáneas por el mismo jugador no pueden ganar las dos, y
+ * pujas por jugadores distintos no se esperan entre sí. La que pierde la carrera se repite con
+ * {@link OptimisticRetry} y vuelve a validarse contra la puja que ha ganado.
+ * <p>
+ * Las ventas vencidas se liquidan por lotes en una tarea programada, cada una en su propia transacción. El
+ * jugador ocupa en el equipo del comprador un puesto libre del mismo rol que tenía en el del vendedor. Si al
+ * liquidar el vendedor ya no tiene al jugador, o el comprador ya no tiene sitio para él, la venta se cancela y
+ * se devuelve la puja.
+ * </p>
+ */
+@Service
+public class TransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransferService.class);
+
+    private static final String CONFLICT_MESSAGE = "El mercado ha cambiado a la vez desde otra petición. Inténtalo de nuevo.";
+
+    private final TransferListingRepository transferListingRepository;
+    private final TransferBidRepository transferBidRepository;
+    private final UserLeagueRoleRepository userLeagueRoleRepository;
+    private final RosterPlayerRepository rosterPlayerRepository;
+    private final PlayerRepository playerRepository;
+    private final LeagueChangeService leagueChangeService;
+    private final DomainEventBus domainEventBus;
+    private final LeagueVersionService leagueVersionService;
+    private final TransactionTemplate transactionTemplate;
+    private final int settleBatchSize;
+
+    public TransferService(TransferListingRepository transferListingRepository, TransferBidRepository transferBidRepository, UserLeagueRoleRepository userLeagueRoleRepository, RosterPlayerRepository rosterPlayerRepository, PlayerRepository playerRepository, LeagueChangeService leagueChangeService, DomainEventBus domainEventBus, LeagueVersionService leagueVersionService, PlatformTransactionManager transactionManager, @Value("${app.transfers.settle-batch-size:200}") int settleBatchSize) {
+        this.transferListingRepository = transferListingRepository;
+        this.transferBidRepository = transferBidRepository;
+        this.userLeagueRoleRepository = userLeagueRoleRepository;
+        this.rosterPlayerRepository = rosterPlayerRepository;
+        this.playerRepository = playerRepository;
+        this.leagueChangeService = leagueChangeService;
+        this.domainEventBus = domainEventBus;
+        this.leagueVersionService = leagueVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.settleBatchSize = settleBatchSize;
+    }
+
+    /**
+     * Pone a la venta un jugador del equipo de un usuario.
+     *
+     * @param leagueId   El ID de la liga.
+     * @param sellerId   El ID del usuario que vende.
+     * @param listingDto DTO con el jugador, el precio de salida y la duración de la venta.
+     * @return Un {@link TransferListingDto} con la venta creada.
+     * @throws ResponseStatusException Si el jugador no está en el equipo del usuario o ya está a la venta.
+     */
+    public TransferListingDto listPlayer(Long leagueId, Long sellerId, TransferListingRequestDto listingDto) {
+        return withRetry(status -> {
+            Long playerId = listingDto.getPlayerId();
+            if (rosterPlayerRepository.findByUserIdAndLeagueIdAndUniquePlayerId(sellerId, leagueId, playerId).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "El jugador no se encuentra en tu equipo.");
+            }
+            if (transferListingRepository.existsByLeagueIdAndSellerIdAndOpenPlayerId(leagueId, sellerId, playerId)) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "Este jugador ya está a la venta.");
+            }
+
+            LocalDateTime now = LocalDateTime.now();
+            TransferListing listing = new TransferListing();
+            listing.setLeagueId(leagueId);
+            listing.setPlayerId(playerId);
+            listing.setOpenPlayerId(playerId);
+            listing.setSellerId(sellerId);
+            listing.setAskingPrice(listingDto.getAskingPrice());
+            listing.setStatus(TransferStatus.OPEN);
+            listing.setCreatedAt(now);
+            listing.setDeadline(now.plusMinutes(listingDto.getDurationMinutes()));
+            return mapToDto(transferListingRepository.save(listing));
+        });
+    }
+
+    /**
+     * Obtiene los jugadores a la venta en una liga, del que cierra antes al que cierra después.
+     *
+     * @param leagueId El ID de la liga.
+     * @return Una lista de {@link TransferListingDto}.
+     */
+    @Transactional(readOnly = true)
+    public List<TransferListingDto> getOpenListings(Long leagueId) {
+        return transferListingRepository.findByLeagueIdAndStatusOrderByDeadlineAscIdAsc(leagueId, TransferStatus.OPEN).stream().map(this::mapToDto).toList();
+    }
+
+    /**
+     * Obtiene el presupuesto de un usuario en el mercado de una liga.
+     *
+     * @param leagueId El ID de la liga.
+     * @param userId   El ID del usuario.
+     * @return Un {@link TransferBudgetDto} con el presupuesto disponible y el reservado en pujas.
+     */
+    @Transactional(readOnly = true)
+    public TransferBudgetDto getBudget(Long leagueId, Long userId) {
+        long budget = userLeagueRoleRepository.findBudget(leagueId, userId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "El usuario no pertenece a esta liga."));
+        return new TransferBudgetDto(leagueId, userId, budget, transferListingRepository.sumLeadingBids(leagueId, userId));
+    }
+
+    /**
+     * Puja por un jugador a la venta. La cantidad queda reservada del presupuesto del usuario hasta que otro
+     * puje más o se liquide la venta.
+     *
+     * @param leagueId  El ID de la liga.
+     * @param listingId El ID de la venta.
+     * @param bidderId  El ID del usuario que puja.
+     * @param amount    La cantidad.
+     * @return Un {@link TransferListingDto} con la venta tras la puja.
+     * @throws ResponseStatusException Si la venta está cerrada, la puja no supera a la actual, el usuario no
+     *                                 tiene presupuesto o sitio en su equipo para el jugador.
+     */
+    public TransferListingDto bid(Long leagueId, Long listingId, Long bidderId, long amount) {
+        return withRetry(status -> {
+            TransferListing listing = findOpenListing(leagueId, listingId);
+            if (!LocalDateTime.now().isBefore(listing.getDeadline())) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "El plazo de pujas de este jugador ya ha terminado.");
+            }
+            if (listing.getSellerId().equals(bidderId)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No puedes pujar por tu propio jugador.");
+            }
+            if (amount < listing.getAskingPrice()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "La puja debe ser al menos el precio de salida (" + listing.getAskingPrice() + ").");
+            }
+            if (listing.getHighestBid() != null && amount <= listing.getHighestBid()) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "La puja debe superar a la más alta (" + listing.getHighestBid() + ").");
+            }
+            RosterPlayer sellerSlot = rosterPlayerRepository.findByUserIdAndLeagueIdAndUniquePlayerId(listing.getSellerId(), leagueId, listing.getPlayerId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.CONFLICT, "El vendedor ya no tiene a este jugador en su equipo."));
+            if (rosterPlayerRepository.existsByUserIdAndLeagueIdAndPlayerId(bidderId, leagueId, listing.getPlayerId())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "El jugador ya se encuentra en tu equipo.");
+            }
+            if (findEmptySlot(bidderId, leagueId, sellerSlot).isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No tienes ninguna posición libre de " + sellerSlot.getRole().name() + " para este jugador.");
+            }
+
+            // Los presupuestos se actualizan en orden de usuario para que dos pujas cruzadas no se bloqueen entre sí.
+            Long previousBidder = listing.getHighestBidderId();
+            boolean refundFirst = previousBidder != null && previousBidder < bidderId;
+            if (refundFirst) {
+                userLeagueRoleRepository.deposit(leagueId, previousBidder, listing.getHighestBid());
+            }
+            if (userLeagueRoleRepository.withdraw(leagueId, bidderId, amount) == 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No tienes presupuesto suficiente para esta puja.");
+            }
+            if (previousBidder != null && !refundFirst) {
+                userLeagueRoleRepository.deposit(leagueId, previousBidder, listing.getHighestBid());
+            }
+
+            listing.setHighestBid(amount);
+            listing.setHighestBidderId(bidderId);
+            TransferBid bid = new TransferBid();
+            bid.setListingId(listingId);
+            bid.setBidderId(bidderId);
+            bid.setAmount(amount);
+            bid.setCreatedAt(LocalDateTime.now());
+            transferBidRepository.save(bid);
+            return mapToDto(transferListingRepository.saveAndFlush(listing));
+        });
+    }
+
+    /**
+     * Retira del mercado un jugador que todavía no tiene pujas.
+     *
+     * @param leagueId  El ID de la liga.
+     * @param listingId El ID de la venta.
+     * @param sellerId  El ID del usuario que la retira.
+     * @return Un {@link TransferListingDto} con la venta cancelada.
+     * @throws ResponseStatusException Si el usuario no es el vendedor o la venta ya tiene pujas.
+     */
+    public TransferListingDto cancelListing(Long leagueId, Long listingId, Long sellerId) {
+        return withRetry(status -> {
+            TransferListing listing = findOpenListing(leagueId, listingId);
+            if (!listing.getSellerId().equals(sellerId)) {
+                throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Solo el vendedor puede retirar al jugador del mercado.");
+            }
+            if (listing.getHighestBidderId() != null) {
+                throw new ResponseStatusException(HttpStatus.CONFLICT, "No se puede retirar un jugador que ya tiene pujas.");
+            }
+            close(listing, TransferStatus.CANCELLED);
+            return mapToDto(transferListingRepository.saveAndFlush(listing));
+        });
+    }
+
+    /**
+     * Liquida las ventas cuya fecha límite ha pasado, por lotes y cada una en su propia transacción. Una venta
+     * que choca con una modificación concurrente se deja abierta y se liquida en la siguiente pasada.
+     *
+     * @return El número de ventas liquidadas.
+     */
+    @Scheduled(fixedDelayString = "${app.transfers.settle-interval:PT1M}", initialDelayString = "${app.transfers.settle-interval:PT1M}")
+    public int settleExpired() {
+        int settled = 0;
+        boolean failed = false;
+        List<Long> listingIds;
+        do {
+            listingIds = transferListingRepository.findExpiredIds(LocalDateTime.now(), Limit.of(settleBatchSize));
+            for (Long listingId : listingIds) {
+                try {
+                    if (Boolean.TRUE.equals(transactionTemplate.execute(status -> settle(listingId)))) {
+                        settled++;
+                    }
+                } catch (ConcurrencyFailureException | DataIntegrityViolationException e) {
+                    log.warn("No se ha podido liquidar la venta {}; se reintentará en la siguiente pasada.", listingId, e);
+                    failed = true;
+                }
+            }
+        } while (!failed && listingIds.size() == settleBatchSize);
+        if (settled > 0) {
+            log.info("Liquidadas {} ventas del mercado de fichajes.", settled);
+        }
+        return settled;
+    }
+
+    /**
+     * Borra el mercado de una liga que se va a eliminar. Debe llamarse dentro de la transacción que la elimina;
+     * los presupuestos se borran con los miembros.
+     *
+     * @param leagueId El ID de la liga.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleteLeague(Long leagueId) {
+        transferBidRepository.deleteByLeagueId(leagueId);
+        transferListingRepository.deleteByLeagueId(leagueId);
+    }
+
+    private boolean settle(Long listingId) {
+        TransferListing listing = transferListingRepository.findById(listingId).orElse(null);
+        if (listing == null || listing.getStatus() != TransferStatus.OPEN) {
+            return false;
+        }
+        Long leagueId = listing.getLeagueId();
+        Long buyerId = listing.getHighestBidderId();
+        if (buyerId == null) {
+            close(listing, TransferStatus.UNSOLD);
+            transferListingRepository.saveAndFlush(listing);
+            return true;
+        }
+
+        Optional<RosterPlayer> sellerSlot = rosterPlayerRepository.findByUserIdAndLeagueIdAndUniquePlayerId(listing.getSellerId(), leagueId, listing.getPlayerId());
+        Optional<RosterPlayer> buyerSlot = sellerSlot.isEmpty() || rosterPlayerRepository.existsByUserIdAndLeagueIdAndPlayerId(buyerId, leagueId, listing.getPlayerId())
+                ? Optional.empty() : findEmptySlot(buyerId, leagueId, sellerSlot.get());
+        if (buyerSlot.isEmpty()) {
+            log.info("Venta {} cancelada: el jugador {} ya no puede pasar del usuario {} al usuario {}.", listingId, listing.getPlayerId(), listing.getSellerId(), buyerId);
+            userLeagueRoleRepository.deposit(leagueId, buyerId, listing.getHighestBid());
+            close(listing, TransferStatus.CANCELLED);
+            transferListingRepository.saveAndFlush(listing);
+            return true;
+        }
+
+        Player player = sellerSlot.get().getPlayer();
+        Player placeholder = playerRepository.findByIsPlaceholderTrue().orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "El jugador vacío no se encuentra en la base de datos."));
+        // El jugador solo puede estar en un equipo de la liga: primero sale del vendedor y después entra en el comprador.
+        sellerSlot.get().setPlayer(placeholder);
+        rosterPlayerRepository.saveAndFlush(sellerSlot.get());
+        buyerSlot.get().setPlayer(player);
+        rosterPlayerRepository.save(buyerSlot.get());
+        userLeagueRoleRepository.deposit(leagueId, listing.getSellerId(), listing.getHighestBid());
+        close(listing, TransferStatus.SOLD);
+        transferListingRepository.saveAndFlush(listing);
+
+        leagueChangeService.record(leagueId, LeagueChangeType.ROSTER_CHANGED, listing.getSellerId(), listing.getPlayerId(), null, "SOLD");
+        leagueChangeService.record(leagueId, LeagueChangeType.ROSTER_CHANGED, buyerId, listing.getPlayerId(), null, "BOUGHT");
+        domainEventBus.publish(new RosterChangedEvent(leagueId, listing.getSellerId()));
+        domainEventBus.publish(new RosterChangedEvent(leagueId, buyerId));
+        leagueVersionService.rosterChanged(leagueId, listing.getSellerId());
+        leagueVersionService.rosterChanged(leagueId, buyerId);
+        return true;
+    }
+
+    private TransferListing findOpenListing(Long leagueId, Long listingId) {
+        TransferListing listing = transferListingRepository.findByIdAndLeagueId(listingId, leagueId).orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Venta no encontrada."));
+        if (listing.getStatus() != TransferStatus.OPEN) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Esta venta ya está cerrada.");
+        }
+        return listing;
+    }
+
+    /**
+     * Busca en el equipo del comprador un puesto libre del mismo rol que el que ocupa el jugador en el del vendedor.
+     */
+    private Optional<RosterPlayer> findEmptySlot(Long buyerId, Long leagueId, RosterPlayer sellerSlot) {
+        Long placeholderId = playerRepository.findPlaceholderId().orElseThrow(() -> new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "El jugador vacío no se encuentra en la base de datos."));
+        return rosterPlayerRepository.findFirstByUserIdAndLeagueIdAndRoleAndPlayerId(buyerId, leagueId, sellerSlot.getRole(), placeholderId);
+    }
+
+    private static void close(TransferListing listing, TransferStatus status) {
+        listing.setStatus(status);
+        listing.setOpenPlayerId(null);
+        listing.setSettledAt(LocalDateTime.now());
+    }
+
+    private <T> T withRetry(TransactionCallback<T> action) {
+        return OptimisticRetry.execute(transactionTemplate, action, CONFLICT_MESSAGE);
+    }
+
+    private TransferListingDto mapToDto(TransferListing listing) {
+        return new TransferListingDto(listing.getId(), listing.getLeagueId(), listing.getPlayerId(), listing.getSellerId(), listing.getAskingPrice(), listing.getHighestBid(), listing.getHighestBidderId(), listing.getStatus(), listing.getDeadline());
+    }
+}
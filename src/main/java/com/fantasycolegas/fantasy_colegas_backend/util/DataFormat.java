@@ -0,0 +1,63 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Formatos de fichero soportados en la importación y exportación masiva de datos.
+ * </p>
+ */
+public enum DataFormat {
+    CSV("text/csv"), NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    DataFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    /**
+     * Devuelve el tipo MIME con el que se sirve este formato.
+     *
+     * @return El tipo MIME del formato.
+     */
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Deduce el formato a partir de la cabecera Content-Type de la petición.
+     *
+     * @param contentType El valor de la cabecera Content-Type.
+     * @return El formato correspondiente, o {@code null} si no está soportado.
+     */
+    public static DataFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        String type = contentType.toLowerCase();
+        if (type.startsWith("text/csv")) {
+            return CSV;
+        }
+        if (type.startsWith("application/x-ndjson") || type.startsWith("application/ndjson")) {
+            return NDJSON;
+        }
+        return null;
+    }
+
+    /**
+     * Deduce el formato a partir de su nombre ({@code csv} o {@code ndjson}), sin distinguir mayúsculas.
+     *
+     * @param name El nombre del formato.
+     * @return El formato correspondiente, o {@code null} si no está soportado.
+     */
+    public static DataFormat fromName(String name) {
+        for (DataFormat format : values()) {
+            if (format.name().equalsIgnoreCase(name)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -50,7 +50,6 @@ public class DataInitializer {
             Player placeholder = new Player();
             placeholder.setName("Jugador Vacío");
             placeholder.setImage("https://example.com/placeholder-image.png");
-            placeholder.setTotalPoints(0);
             placeholder.setPlaceholder(true);
             playerRepository.save(placeholder);
             System.out.println("Jugador vacío creado correctamente.");
@@ -0,0 +1,152 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Escritor incremental de ficheros de exportación en formato CSV o NDJSON.
+ * <p>
+ * Los datos se organizan en secciones (partidos, estadísticas...), cada una con sus columnas.
+ * En NDJSON cada fila es un objeto JSON con un campo {@code type} que indica su sección.
+ * En CSV cada sección empieza con su propia cabecera y las secciones se separan con una línea en blanco.
+ * Nada se acumula en memoria salvo el búfer de escritura.
+ * </p>
+ */
+public abstract class ExportRowWriter implements Flushable {
+
+    protected final Writer writer;
+    protected String type;
+    protected List<String> columns;
+
+    private ExportRowWriter(OutputStream outputStream) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Crea un escritor para el formato indicado.
+     *
+     * @param outputStream El flujo de salida de la respuesta.
+     * @param format       El formato de exportación.
+     * @param objectMapper El {@link ObjectMapper} usado para escribir NDJSON.
+     * @return Un escritor para ese formato.
+     * @throws IOException Si no se puede inicializar el escritor.
+     */
+    public static ExportRowWriter create(OutputStream outputStream, DataFormat format, ObjectMapper objectMapper) throws IOException {
+        return format == DataFormat.CSV ? new Csv(outputStream) : new Ndjson(outputStream, objectMapper);
+    }
+
+    /**
+     * Empieza una nueva sección.
+     *
+     * @param type    El nombre de la sección.
+     * @param columns Los nombres de las columnas de la sección.
+     * @throws IOException Si falla la escritura.
+     */
+    public abstract void startSection(String type, List<String> columns) throws IOException;
+
+    /**
+     * Escribe una fila de la sección actual, con los valores en el mismo orden que las columnas.
+     *
+     * @param values Los valores de la fila.
+     * @throws IOException Si falla la escritura.
+     */
+    public abstract void writeRow(Object... values) throws IOException;
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    private static final class Csv extends ExportRowWriter {
+
+        private boolean first = true;
+
+        private Csv(OutputStream outputStream) {
+            super(outputStream);
+        }
+
+        @Override
+        public void startSection(String type, List<String> columns) throws IOException {
+            this.type = type;
+            this.columns = columns;
+            if (!first) {
+                writer.write('\n');
+            }
+            first = false;
+            writer.write("type");
+            for (String column : columns) {
+                writer.write(',');
+                writer.write(column);
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void writeRow(Object... values) throws IOException {
+            writer.write(type);
+            for (Object value : values) {
+                writer.write(',');
+                writer.write(escape(value));
+            }
+            writer.write('\n');
+        }
+
+        private static String escape(Object value) {
+            if (value == null) {
+                return "";
+            }
+            String text = value.toString();
+            if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+                return text;
+            }
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+    }
+
+    private static final class Ndjson extends ExportRowWriter {
+
+        private final JsonGenerator generator;
+
+        private Ndjson(OutputStream outputStream, ObjectMapper objectMapper) throws IOException {
+            super(outputStream);
+            this.generator = objectMapper.getFactory().createGenerator(writer);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void startSection(String type, List<String> columns) {
+            this.type = type;
+            this.columns = columns;
+        }
+
+        @Override
+        public void writeRow(Object... values) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("type", type);
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Lector incremental de ficheros de importación en formato CSV o NDJSON.
+ * <p>
+ * Lee el flujo línea a línea sin cargarlo entero en memoria y devuelve cada fila
+ * como un mapa columna → valor. En CSV la primera línea es la cabecera y el separador
+ * puede ser coma o punto y coma (se detecta a partir de la cabecera); los campos
+ * entre comillas no pueden contener saltos de línea. En NDJSON cada línea es un objeto JSON.
+ * Las líneas en blanco se ignoran.
+ * </p>
+ */
+public class ImportRowReader implements Closeable {
+
+    /**
+     * Una fila leída del fichero.
+     *
+     * @param line   Número de línea (empezando en 1) en el fichero original.
+     * @param values Valores de la fila por nombre de columna; vacío si la fila no se pudo leer.
+     * @param error  Mensaje de error si la fila no se pudo leer, o {@code null}.
+     */
+    public record Row(long line, Map<String, String> values, String error) {
+    }
+
+    private final BufferedReader reader;
+    private final DataFormat format;
+    private final ObjectMapper objectMapper;
+    private List<String> header;
+    private char separator = ',';
+    private long lineNumber;
+
+    /**
+     * Crea un lector sobre el flujo dado. El flujo se cierra al cerrar el lector.
+     *
+     * @param inputStream  El flujo con el contenido del fichero, en UTF-8.
+     * @param format       El formato del fichero.
+     * @param objectMapper El {@link ObjectMapper} usado para leer las líneas NDJSON.
+     */
+    public ImportRowReader(InputStream inputStream, DataFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Lee la siguiente fila con contenido.
+     *
+     * @return La siguiente fila, o {@code null} si se ha llegado al final del fichero.
+     * @throws IOException Si falla la lectura del flujo.
+     */
+    public Row next() throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == '\uFEFF') {
+                line = line.substring(1);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            if (format == DataFormat.NDJSON) {
+                return parseJson(line);
+            }
+            if (header == null) {
+                separator = line.indexOf(';') >= 0 && line.indexOf(',') < 0 ? ';' : ',';
+                List<String> columns = splitCsv(line);
+                if (columns == null) {
+                    return new Row(lineNumber, Map.of(), "Cabecera CSV mal formada.");
+                }
+                header = columns.stream().map(String::trim).toList();
+                continue;
+            }
+            return parseCsv(line);
+        }
+        return null;
+    }
+
+    private Row parseJson(String line) {
+        try {
+            JsonNode node = objectMapper.readTree(line);
+            if (!node.isObject()) {
+                return new Row(lineNumber, Map.of(), "La línea no es un objeto JSON.");
+            }
+            Map<String, String> values = new LinkedHashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                if (!field.getValue().isNull()) {
+                    values.put(field.getKey(), field.getValue().asText());
+                }
+            }
+            return new Row(lineNumber, values, null);
+        } catch (IOException e) {
+            return new Row(lineNumber, Map.of(), "JSON mal formado.");
+        }
+    }
+
+    private Row parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields == null) {
+            return new Row(lineNumber, Map.of(), "Comillas sin cerrar.");
+        }
+        if (fields.size() > header.size()) {
+            return new Row(lineNumber, Map.of(), "La fila tiene " + fields.size() + " columnas y la cabecera " + header.size() + ".");
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        for (int i = 0; i < fields.size(); i++) {
+            String value = fields.get(i).trim();
+            if (!value.isEmpty()) {
+                values.put(header.get(i), value);
+            }
+        }
+        return new Row(lineNumber, values, null);
+    }
+
+    /**
+     * Divide una línea CSV respetando las comillas dobles ({@code ""} escapa una comilla).
+     *
+     * @return Los campos de la línea, o {@code null} si hay comillas sin cerrar.
+     */
+    private List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == separator) {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) {
+            return null;
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,108 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Filtro que cuenta las sentencias SQL ejecutadas durante cada petición HTTP.
+ * <p>
+ * Fuera del perfil {@code prod} añade la cabecera {@value #QUERY_COUNT_HEADER} a la respuesta.
+ * Si una petición supera el umbral configurado en {@code app.query-count.warn-threshold}
+ * se registra un aviso con el endpoint, lo que permite detectar patrones N+1.
+ * </p>
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final boolean headerEnabled;
+    private final long warnThreshold;
+
+    /**
+     * Constructor que lee la configuración del filtro.
+     *
+     * @param environment   El entorno de Spring, usado para detectar el perfil {@code prod}.
+     * @param warnThreshold Número de sentencias a partir del cual se registra un aviso.
+     */
+    public QueryCountFilter(Environment environment, @Value("${app.query-count.warn-threshold:20}") long warnThreshold) {
+        this.headerEnabled = !environment.acceptsProfiles(Profiles.of("prod"));
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        long start = QueryCountHolder.current();
+
+        HttpServletResponse target = headerEnabled ? new QueryCountResponseWrapper(response, start) : response;
+        try {
+            chain.doFilter(request, target);
+        } finally {
+            long queries = QueryCountHolder.current() - start;
+            if (headerEnabled && !response.isCommitted()) {
+                response.setHeader(QUERY_COUNT_HEADER, String.valueOf(queries));
+            }
+            if (queries > warnThreshold) {
+                log.warn("Posible N+1: {} {} ejecutó {} sentencias SQL (umbral {})", request.getMethod(), request.getRequestURI(), queries, warnThreshold);
+            }
+        }
+    }
+
+    /**
+     * Envoltorio de la respuesta que escribe la cabecera justo antes de que se empiece
+     * a escribir el cuerpo, momento a partir del cual ya no se pueden añadir cabeceras.
+     */
+    private static class QueryCountResponseWrapper extends HttpServletResponseWrapper {
+
+        private final long start;
+
+        QueryCountResponseWrapper(HttpServletResponse response, long start) {
+            super(response);
+            this.start = start;
+        }
+
+        private void stampHeader() {
+            if (!isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(QueryCountHolder.current() - start));
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            stampHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            stampHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            stampHeader();
+            super.flushBuffer();
+        }
+    }
+}
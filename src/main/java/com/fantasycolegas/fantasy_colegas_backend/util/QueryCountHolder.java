@@ -0,0 +1,37 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Contador de sentencias SQL ejecutadas por el hilo actual.
+ * <p>
+ * El contador es monótono y nunca se reinicia: quien quiera medir un tramo de código
+ * (una petición HTTP, una llamada de MockMvc en un test) debe tomar el valor antes y
+ * después y restar. Así las mediciones anidadas no se pisan entre sí.
+ * </p>
+ */
+public final class QueryCountHolder {
+
+    private static final ThreadLocal<long[]> COUNTER = ThreadLocal.withInitial(() -> new long[1]);
+
+    private QueryCountHolder() {
+    }
+
+    /**
+     * Incrementa en uno el contador del hilo actual.
+     */
+    public static void increment() {
+        COUNTER.get()[0]++;
+    }
+
+    /**
+     * Devuelve el número de sentencias SQL ejecutadas hasta ahora por el hilo actual.
+     *
+     * @return El valor actual del contador.
+     */
+    public static long current() {
+        return COUNTER.get()[0];
+    }
+}
@@ -0,0 +1,23 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * {@link StatementInspector} de Hibernate que cuenta cada sentencia SQL preparada.
+ * <p>
+ * No modifica el SQL; únicamente incrementa el {@link QueryCountHolder} del hilo
+ * que prepara la sentencia.
+ * </p>
+ */
+public class QueryCountInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        QueryCountHolder.increment();
+        return sql;
+    }
+}
@@ -0,0 +1,307 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.ScoringRuleRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * @author Juan Francisco Carceles
+ * @version 1.0
+ * @since 01/08/2025
+ * <p>
+ * Generador de datos sintéticos para pruebas de carga.
+ * <p>
+ * Solo se activa con el perfil {@code simulation}. Al arrancar la aplicación crea
+ * N ligas con M usuarios, P jugadores, equipos completos y una temporada de partidos
+ * con estadísticas aleatorias, insertando directamente por JDBC en lotes.
+ * Al terminar escribe un manifiesto JSON con los IDs generados, que utiliza
+ * el driver de carga para construir el tráfico.
+ * </p>
+ */
+@Component
+@Profile("simulation")
+public class SimulationDataGenerator {
+
+    /**
+     * Contraseña en claro de todos los usuarios generados.
+     */
+    public static final String SIMULATION_PASSWORD = "password";
+
+    private static final Logger log = LoggerFactory.getLogger(SimulationDataGenerator.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String[] STAT_NAMES = {"golesMarcados", "fallosClarosDeGol", "asistencias", "golesEncajadosComoPortero", "paradasComoPortero", "cesionesConcedidas", "faltasCometidas", "faltasRecibidas", "penaltisRecibidos", "penaltisCometidos", "pasesAcertados", "pasesFallados", "robosDeBalon", "tirosCompletados", "tirosEntreLosTresPalos", "tiempoJugado", "tarjetasAmarillas", "tarjetasRojas"};
+
+    private static final String[] STAT_COLUMNS = {"goles_marcados", "fallos_claros_de_gol", "asistencias", "goles_encajados_como_portero", "paradas_como_portero", "cesiones_concedidas", "faltas_cometidas", "faltas_recibidas", "penaltis_recibidos", "penaltis_cometidos", "pases_acertados", "pases_fallados", "robos_de_balon", "tiros_completados", "tiros_entre_los_tres_palos", "tiempo_jugado", "tarjetas_amarillas", "tarjetas_rojas"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ScoringRuleRepository scoringRuleRepository;
+    private final DataInitializer dataInitializer;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.simulation.leagues:10}")
+    private int leagues;
+
+    @Value("${app.simulation.users-per-league:20}")
+    private int usersPerLeague;
+
+    @Value("${app.simulation.players-per-league:100}")
+    private int playersPerLeague;
+
+    @Value("${app.simulation.matches-per-league:30}")
+    private int matchesPerLeague;
+
+    @Value("${app.simulation.team-size:7}")
+    private int teamSize;
+
+    @Value("${app.simulation.seed:42}")
+    private long seed;
+
+    @Value("${app.simulation.manifest:./data/simulation-manifest.json}")
+    private String manifestPath;
+
+    /**
+     * Constructor que inyecta las dependencias necesarias para la generación.
+     */
+    public SimulationDataGenerator(JdbcTemplate jdbcTemplate, PasswordEncoder passwordEncoder, ScoringRuleRepository scoringRuleRepository, DataInitializer dataInitializer, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.scoringRuleRepository = scoringRuleRepository;
+        this.dataInitializer = dataInitializer;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Genera todos los datos sintéticos y escribe el manifiesto.
+     *
+     * @throws IOException Si no se puede escribir el manifiesto.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void generate() throws IOException {
+        long startedAt = System.currentTimeMillis();
+
+        // Las reglas se crean también en DataInitializer, pero el orden entre listeners no está garantizado.
+        dataInitializer.initializeScoringRules();
+        double[] fieldWeights = loadWeights(PlayerTeamRole.CAMPO);
+        double[] goalkeeperWeights = loadWeights(PlayerTeamRole.PORTERO);
+
+        Random random = new Random(seed);
+        long placeholderId = jdbcTemplate.queryForObject("SELECT id FROM players WHERE is_placeholder = TRUE", Long.class);
+        String encodedPassword = passwordEncoder.encode(SIMULATION_PASSWORD);
+
+        long nextUserId = nextId("users");
+        long nextLeagueId = nextId("leagues");
+        long nextPlayerId = nextId("players");
+        long nextRosterId = nextId("roster_players");
+        long nextMatchId = nextId("matches");
+        long nextStatsId = nextId("player_match_stats");
+
+        String statsSql = "INSERT INTO player_match_stats (id, match_id, player_id, " + String.join(", ", STAT_COLUMNS) + ", total_field_points, total_goalkeeper_points) VALUES (?, ?, ?" + ", ?".repeat(STAT_COLUMNS.length) + ", ?, ?)";
+        String seasonSql = "INSERT INTO player_season_stats (player_id, league_id, matches_played, " + String.join(", ", STAT_COLUMNS) + ", total_field_points, total_goalkeeper_points) VALUES (?, ?, ?" + ", ?".repeat(STAT_COLUMNS.length) + ", ?, ?)";
+
+        List<Map<String, Object>> manifestLeagues = new ArrayList<>();
+
+        for (int l = 0; l < leagues; l++) {
+            long leagueId = nextLeagueId++;
+            jdbcTemplate.update("INSERT INTO leagues (id, name, description, image, is_private, join_code, number_of_players, team_size, member_count) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", leagueId, "Liga simulada " + (l + 1), "Liga generada para pruebas de carga", null, false, String.format("S%03d", l), usersPerLeague, teamSize, usersPerLeague);
+
+            List<Object[]> users = new ArrayList<>();
+            List<Object[]> roles = new ArrayList<>();
+            List<Long> userIds = new ArrayList<>();
+            List<String> usernames = new ArrayList<>();
+            for (int u = 0; u < usersPerLeague; u++) {
+                long userId = nextUserId++;
+                String username = "sim" + leagueId + "_" + u;
+                users.add(new Object[]{userId, username, username + "@example.com", encodedPassword});
+                roles.add(new Object[]{userId, leagueId, u == 0 ? "ADMIN" : "PARTICIPANT"});
+                userIds.add(userId);
+                usernames.add(username);
+            }
+            batchInsert("INSERT INTO users (id, username, email, password) VALUES (?, ?, ?, ?)", users);
+            batchInsert("INSERT INTO user_league_roles (user_id, league_id, role) VALUES (?, ?, ?)", roles);
+
+            List<Long> matchIds = new ArrayList<>();
+            List<Object[]> matches = new ArrayList<>();
+            LocalDate seasonStart = LocalDate.now().minusWeeks(matchesPerLeague);
+            for (int m = 0; m < matchesPerLeague; m++) {
+                long matchId = nextMatchId++;
+                matches.add(new Object[]{matchId, leagueId, "Partido jornada " + (m + 1), null, seasonStart.plusWeeks(m)});
+                matchIds.add(matchId);
+            }
+            batchInsert("INSERT INTO matches (id, league_id, name, description, match_date) VALUES (?, ?, ?, ?, ?)", matches);
+
+            List<Long> playerIds = new ArrayList<>();
+            List<Object[]> players = new ArrayList<>();
+            List<Object[]> stats = new ArrayList<>();
+            List<Object[]> seasons = new ArrayList<>();
+            for (int p = 0; p < playersPerLeague; p++) {
+                long playerId = nextPlayerId++;
+                int[] seasonLine = new int[STAT_COLUMNS.length];
+                double seasonFieldPoints = 0;
+                double seasonGoalkeeperPoints = 0;
+                for (long matchId : matchIds) {
+                    int[] line = randomStatLine(random);
+                    double fieldPoints = score(line, fieldWeights);
+                    double goalkeeperPoints = score(line, goalkeeperWeights);
+                    seasonFieldPoints += fieldPoints;
+                    seasonGoalkeeperPoints += goalkeeperPoints;
+                    for (int s = 0; s < line.length; s++) {
+                        seasonLine[s] += line[s];
+                    }
+
+                    Object[] row = new Object[5 + line.length];
+                    row[0] = nextStatsId++;
+                    row[1] = matchId;
+                    row[2] = playerId;
+                    for (int s = 0; s < line.length; s++) {
+                        row[3 + s] = line[s];
+                    }
+                    row[3 + line.length] = fieldPoints;
+                    row[4 + line.length] = goalkeeperPoints;
+                    stats.add(row);
+                }
+                players.add(new Object[]{playerId, "Jugador simulado " + leagueId + "-" + (p + 1), "https://example.com/default-player.jpg", leagueId, false});
+                Object[] season = new Object[5 + seasonLine.length];
+                season[0] = playerId;
+                season[1] = leagueId;
+                season[2] = matchIds.size();
+                for (int s = 0; s < seasonLine.length; s++) {
+                    season[3 + s] = seasonLine[s];
+                }
+                season[3 + seasonLine.length] = seasonFieldPoints;
+                season[4 + seasonLine.length] = seasonGoalkeeperPoints;
+                seasons.add(season);
+                playerIds.add(playerId);
+            }
+            batchInsert("INSERT INTO players (id, name, image, league_id, is_placeholder) VALUES (?, ?, ?, ?, ?)", players);
+            batchInsert(statsSql, stats);
+            batchInsert(seasonSql, seasons);
+
+            // Un jugador solo puede estar en un equipo de la liga: se reparten sin repetir y, si no llegan para
+            // todos, el resto de puestos se completa con el jugador vacío.
+            List<Object[]> rosters = new ArrayList<>();
+            List<Long> pool = new ArrayList<>(playerIds);
+            Collections.shuffle(pool, random);
+            Iterator<Long> dealt = pool.iterator();
+            for (long userId : userIds) {
+                for (int slot = 0; slot < teamSize; slot++) {
+                    Long playerId = dealt.hasNext() ? dealt.next() : null;
+                    rosters.add(new Object[]{nextRosterId++, userId, leagueId, playerId != null ? playerId : placeholderId, playerId, slot == 0 ? "PORTERO" : "CAMPO"});
+                }
+            }
+            batchInsert("INSERT INTO roster_players (id, user_id, league_id, player_id, unique_player_id, role) VALUES (?, ?, ?, ?, ?, ?)", rosters);
+
+            Map<String, Object> manifestLeague = new LinkedHashMap<>();
+            manifestLeague.put("leagueId", leagueId);
+            manifestLeague.put("admin", usernames.get(0));
+            manifestLeague.put("users", usernames);
+            manifestLeague.put("playerIds", playerIds);
+            manifestLeague.put("matchIds", matchIds);
+            manifestLeagues.add(manifestLeague);
+        }
+
+        restartIdentity("users", nextUserId);
+        restartIdentity("leagues", nextLeagueId);
+        restartIdentity("players", nextPlayerId);
+        restartIdentity("roster_players", nextRosterId);
+        restartIdentity("matches", nextMatchId);
+        restartIdentity("player_match_stats", nextStatsId);
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("password", SIMULATION_PASSWORD);
+        manifest.put("leagues", manifestLeagues);
+        Path manifestFile = Path.of(manifestPath);
+        if (manifestFile.getParent() != null) {
+            Files.createDirectories(manifestFile.getParent());
+        }
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(manifestFile.toFile(), manifest);
+
+        log.info("Simulación generada: {} ligas, {} usuarios/liga, {} jugadores/liga, {} partidos/liga en {} ms. Manifiesto en {}", leagues, usersPerLeague, playersPerLeague, matchesPerLeague, System.currentTimeMillis() - startedAt, manifestFile.toAbsolutePath());
+    }
+
+    /**
+     * Carga las reglas de puntuación por defecto de un rol, que son las que usan las ligas generadas, como un vector de pesos indexado igual que {@link #STAT_NAMES}.
+     */
+    private double[] loadWeights(PlayerTeamRole role) {
+        double[] weights = new double[STAT_NAMES.length];
+        List<String> names = Arrays.asList(STAT_NAMES);
+        for (ScoringRule rule : scoringRuleRepository.findAllByLeagueIdIsNullAndRole(role)) {
+            int index = names.indexOf(rule.getStatName());
+            if (index >= 0) {
+                weights[index] += rule.getPointsPerUnit();
+            }
+        }
+        return weights;
+    }
+
+    private static double score(int[] line, double[] weights) {
+        double total = 0;
+        for (int i = 0; i < line.length; i++) {
+            total += line[i] * weights[i];
+        }
+        return total;
+    }
+
+    /**
+     * Genera una línea de estadísticas verosímil, en el mismo orden que {@link #STAT_NAMES}.
+     */
+    private static int[] randomStatLine(Random random) {
+        int[] line = new int[STAT_NAMES.length];
+        line[0] = random.nextInt(10) < 7 ? 0 : 1 + random.nextInt(3);
+        line[1] = random.nextInt(3);
+        line[2] = random.nextInt(10) < 8 ? 0 : 1 + random.nextInt(2);
+        line[3] = random.nextInt(4);
+        line[4] = random.nextInt(6);
+        line[5] = random.nextInt(2);
+        line[6] = random.nextInt(4);
+        line[7] = random.nextInt(4);
+        line[8] = random.nextInt(20) == 0 ? 1 : 0;
+        line[9] = random.nextInt(20) == 0 ? 1 : 0;
+        line[10] = 10 + random.nextInt(40);
+        line[11] = random.nextInt(10);
+        line[12] = random.nextInt(6);
+        line[13] = random.nextInt(5);
+        line[14] = random.nextInt(3);
+        line[15] = 20 + random.nextInt(71);
+        line[16] = random.nextInt(8) == 0 ? 1 : 0;
+        line[17] = random.nextInt(50) == 0 ? 1 : 0;
+        return line;
+    }
+
+    private void batchInsert(String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbcTemplate.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private long nextId(String table) {
+        Long max = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        return (max == null ? 0 : max) + 1;
+    }
+
+    /**
+     * Como los IDs se asignan explícitamente, hay que avanzar la identidad de H2
+     * para que las inserciones posteriores de la aplicación no colisionen.
+     */
+    private void restartIdentity(String table, long next) {
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + next);
+    }
+}
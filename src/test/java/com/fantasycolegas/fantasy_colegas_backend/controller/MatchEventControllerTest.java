@@ -0,0 +1,105 @@
+package com.fantasycolegas.fantasy_colegas_backend.controller;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerSeasonStats;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerMatchStatsRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerSeasonStatsRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de los eventos de partido con la aplicación completa: el administrador de la liga 1 de {@code data.sql}
+ * ({@code adminUser}) registra un gol del jugador 2 en un partido nuevo.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class MatchEventControllerTest {
+
+    private static final long LEAGUE_ID = 1L;
+    private static final long PLAYER_ID = 2L;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerMatchStatsRepository playerMatchStatsRepository;
+
+    @Autowired
+    private PlayerSeasonStatsRepository playerSeasonStatsRepository;
+
+    @Test
+    void recordMatchEvent_ShouldIncrementMatchAndSeasonStats_WhenAdminPostsAGoal() throws Exception {
+        League league = leagueRepository.findById(LEAGUE_ID).orElseThrow();
+        Match match = new Match();
+        match.setLeague(league);
+        match.setName("Jornada de prueba");
+        match.setMatchDate(LocalDate.now());
+        match = matchRepository.save(match);
+        String token = login("adminUser");
+
+        mockMvc.perform(post("/api/matches/{matchId}/events", match.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"playerId\": " + PLAYER_ID + ", \"type\": \"GOAL\", \"minute\": 12}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.minute", is(12)));
+
+        PlayerMatchStats stats = playerMatchStatsRepository.findByMatchIdAndPlayerId(match.getId(), PLAYER_ID).orElseThrow();
+        assertEquals(1, stats.getGolesMarcados());
+        assertTrue(stats.getTotalFieldPoints() > 0);
+
+        PlayerSeasonStats season = playerSeasonStatsRepository.findById(PLAYER_ID).orElseThrow();
+        assertEquals(1, season.getMatchesPlayed());
+        assertEquals(1, season.getGolesMarcados());
+        assertEquals(stats.getTotalFieldPoints(), season.getTotalFieldPoints(), 1e-9);
+
+        mockMvc.perform(get("/api/matches/{matchId}/events", match.getId())
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(1)))
+                .andExpect(jsonPath("$[0].type", is("GOAL")));
+    }
+
+    /**
+     * Inicia sesión con la contraseña de los usuarios de {@code data.sql} y devuelve el token.
+     */
+    private String login(String username) throws Exception {
+        String body = mockMvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernameOrEmail\": \"" + username + "\", \"password\": \"password\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("jwt").asText();
+    }
+}
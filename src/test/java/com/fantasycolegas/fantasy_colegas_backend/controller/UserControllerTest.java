@@ -7,6 +7,7 @@ import com.fantasycolegas.fantasy_colegas_backend.model.User;
 import com.fantasycolegas.fantasy_colegas_backend.repository.UserRepository;
 import com.fantasycolegas.fantasy_colegas_backend.security.CustomUserDetails;
 import com.fantasycolegas.fantasy_colegas_backend.service.CustomUserDetailsService;
+import com.fantasycolegas.fantasy_colegas_backend.service.LeagueService;
 import com.fantasycolegas.fantasy_colegas_backend.util.JwtUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -79,6 +80,12 @@ class UserControllerTest {
         public JwtUtil jwtUtil() {
             return mock(JwtUtil.class);
         }
+
+        @Bean
+        @Primary
+        public LeagueService leagueService() {
+            return mock(LeagueService.class);
+        }
     }
 
     @Retention(RetentionPolicy.RUNTIME)
@@ -0,0 +1,75 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link CompiledScoringRules}.
+ */
+class CompiledScoringRulesTest {
+
+    private static ScoringRule rule(String statName, double pointsPerUnit, PlayerTeamRole role) {
+        return rule(statName, pointsPerUnit, role, null);
+    }
+
+    private static ScoringRule rule(String statName, double pointsPerUnit, PlayerTeamRole role, String expression) {
+        ScoringRule rule = new ScoringRule();
+        rule.setExpression(expression);
+        rule.setStatName(statName);
+        rule.setPointsPerUnit(pointsPerUnit);
+        rule.setRole(role);
+        return rule;
+    }
+
+    private static PlayerMatchStatsUpdateDto stats() {
+        PlayerMatchStatsUpdateDto stats = new PlayerMatchStatsUpdateDto();
+        stats.setGolesMarcados(2);
+        stats.setAsistencias(1);
+        stats.setParadasComoPortero(4);
+        stats.setTarjetasAmarillas(1);
+        stats.setTarjetasRojas(1);
+        return stats;
+    }
+
+    @Test
+    void points_ShouldMatchInterpretedRules_WhenStatsHaveSeveralRules() {
+        List<ScoringRule> fieldRules = List.of(rule("golesMarcados", 5.0, PlayerTeamRole.CAMPO), rule("asistencias", 3.0, PlayerTeamRole.CAMPO), rule("tarjetasAmarillas", -1.0, PlayerTeamRole.CAMPO), rule("tarjetasAmarillas", -0.5, PlayerTeamRole.CAMPO));
+        List<ScoringRule> goalkeeperRules = List.of(rule("paradasComoPortero", 0.5, PlayerTeamRole.PORTERO), rule("tarjetasRojas", -3.0, PlayerTeamRole.PORTERO));
+        List<ScoringRule> allRules = new ArrayList<>(fieldRules);
+        allRules.addAll(goalkeeperRules);
+        CompiledScoringRules compiled = CompiledScoringRules.compile(1, allRules);
+        PointsCalculationService interpreter = new PointsCalculationService(null, null, null);
+
+        assertEquals(interpreter.calculatePoints(stats(), fieldRules), compiled.points(stats(), PlayerTeamRole.CAMPO), 1e-9);
+        assertEquals(interpreter.calculatePoints(stats(), goalkeeperRules), compiled.points(stats(), PlayerTeamRole.PORTERO), 1e-9);
+        assertEquals(-1.5, compiled.pointsPerUnit("tarjetasAmarillas", PlayerTeamRole.CAMPO));
+    }
+
+    @Test
+    void compile_ShouldIgnoreRule_WhenStatIsUnknown() {
+        CompiledScoringRules compiled = CompiledScoringRules.compile(1, List.of(rule("golesEnPropia", 10.0, PlayerTeamRole.CAMPO), rule("golesMarcados", 5.0, PlayerTeamRole.CAMPO)));
+
+        assertEquals(10.0, compiled.points(stats(), PlayerTeamRole.CAMPO));
+        assertEquals(0.0, compiled.pointsPerUnit("golesEnPropia", PlayerTeamRole.CAMPO));
+        assertEquals(List.of("golesMarcados"), List.copyOf(compiled.nonZeroWeights(PlayerTeamRole.CAMPO).keySet()));
+    }
+
+    @Test
+    void pointsDelta_ShouldIncludeBonus_WhenEventCompletesHatTrick() {
+        CompiledScoringRules compiled = CompiledScoringRules.compile(1, List.of(rule("golesMarcados", 5.0, PlayerTeamRole.CAMPO), rule("golesMarcados", 10.0, PlayerTeamRole.CAMPO, "golesMarcados >= 3")));
+        int[] before = new int[PointsCalculationService.STATS.size()];
+        before[PointsCalculationService.STATS.indexOf("golesMarcados")] = 2;
+
+        assertFalse(compiled.isLinear());
+        assertEquals(10.0, compiled.points(stats(), PlayerTeamRole.CAMPO));
+        assertEquals(15.0, compiled.pointsDelta(before, "golesMarcados", 1, PlayerTeamRole.CAMPO));
+        assertEquals(0.0, compiled.pointsDelta(before, "golesMarcados", 1, PlayerTeamRole.PORTERO));
+    }
+}
@@ -0,0 +1,59 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.DraftPickDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link DraftState}.
+ */
+class DraftStateTest {
+
+    private static DraftState draft(int rounds) {
+        long[] pool = {101, 102, 103, 104, 105, 106, 107, 108};
+        long[] byField = {105, 101, 108, 102, 103, 104, 106, 107};
+        long[] byGoalkeeper = {107, 103, 101, 102, 104, 105, 106, 108};
+        return DraftState.of(1L, new long[]{10, 20, 30}, rounds, 60, pool, byField, byGoalkeeper, List.of(), Instant.now());
+    }
+
+    @Test
+    void userAt_ShouldReverseOrder_WhenRoundIsOdd() {
+        DraftState state = draft(2);
+
+        assertEquals(List.of(10L, 20L, 30L, 30L, 20L, 10L), List.of(state.userAt(0), state.userAt(1), state.userAt(2), state.userAt(3), state.userAt(4), state.userAt(5)));
+    }
+
+    @Test
+    void autoPick_ShouldPickBestGoalkeeper_WhenItIsTheUsersLastPickWithoutGoalkeeper() {
+        DraftState state = draft(2);
+        state = state.withPick(state.autoPick(), Instant.now());
+        state = state.withPick(state.autoPick(), Instant.now());
+        state = state.withPick(state.autoPick(), Instant.now());
+
+        assertEquals(List.of(105L, 101L, 108L), state.picks().stream().map(DraftPickDto::getPlayerId).toList());
+        assertEquals(PlayerTeamRole.PORTERO, state.requiredRole(30L));
+        DraftPickDto pick = state.autoPick();
+        assertEquals(Long.valueOf(30L), pick.getUserId());
+        assertEquals(Long.valueOf(107L), pick.getPlayerId());
+        assertEquals(PlayerTeamRole.PORTERO, pick.getRole());
+    }
+
+    @Test
+    void withPick_ShouldCompleteDraft_WhenEveryUserHasPickedEveryRound() {
+        DraftState state = draft(1);
+        for (int i = 0; i < 3; i++) {
+            state = state.withPick(state.autoPick(), Instant.now());
+        }
+
+        assertTrue(state.isCompleted());
+        assertNull(state.currentUser());
+        assertNull(state.deadline());
+        assertFalse(state.isAvailable(107L));
+        assertTrue(state.isAvailable(104L));
+    }
+}
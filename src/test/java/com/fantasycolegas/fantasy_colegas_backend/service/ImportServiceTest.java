@@ -0,0 +1,91 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.ImportResultDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.Match;
+import com.fantasycolegas.fantasy_colegas_backend.model.PlayerMatchStats;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.MatchRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerMatchStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de la importación de estadísticas con la aplicación completa sobre la liga 1 de {@code data.sql}.
+ */
+@SpringBootTest(properties = "app.live-stats.journal=target/import-service-test.journal")
+@DirtiesContext
+class ImportServiceTest {
+
+    private static final long LEAGUE_ID = 1L;
+    private static final long PLAYER_ID = 2L;
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private MatchService matchService;
+
+    @Autowired
+    private LiveStatsBuffer liveStatsBuffer;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private MatchRepository matchRepository;
+
+    @Autowired
+    private PlayerMatchStatsRepository playerMatchStatsRepository;
+
+    @Test
+    void importMatchStats_ShouldDiscardPendingLiveStats_WhenThePlayerIsImported() throws Exception {
+        Match match = createMatch();
+        PlayerMatchStatsUpdateDto live = new PlayerMatchStatsUpdateDto();
+        live.setPlayerId(PLAYER_ID);
+        live.setGolesMarcados(5);
+        liveStatsBuffer.put(match.getId(), live);
+
+        ImportResultDto result = importCsv("matchId,playerId,golesMarcados\n" + match.getId() + "," + PLAYER_ID + ",1\n");
+
+        assertEquals(1, result.getImported());
+        assertFalse(liveStatsBuffer.pendingMatchIds().contains(match.getId()));
+        assertEquals(0, matchService.flushLiveStats(List.of(match.getId())));
+        PlayerMatchStats stats = playerMatchStatsRepository.findByMatchIdAndPlayerId(match.getId(), PLAYER_ID).orElseThrow();
+        assertEquals(1, stats.getGolesMarcados());
+    }
+
+    @Test
+    void importMatchStats_ShouldRejectRow_WhenAStatColumnIsUnknown() throws Exception {
+        Match match = createMatch();
+
+        ImportResultDto result = importCsv("matchId,playerId,golesMarcadoz\n" + match.getId() + "," + PLAYER_ID + ",1\n");
+
+        assertEquals(0, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(2, result.getErrors().get(0).getLine());
+        assertTrue(result.getErrors().get(0).getMessage().contains("golesMarcadoz"));
+        assertTrue(playerMatchStatsRepository.findByMatchIdAndPlayerId(match.getId(), PLAYER_ID).isEmpty());
+    }
+
+    private Match createMatch() {
+        Match match = new Match();
+        match.setLeague(leagueRepository.findById(LEAGUE_ID).orElseThrow());
+        match.setName("Jornada importada");
+        match.setMatchDate(LocalDate.now());
+        return matchRepository.save(match);
+    }
+
+    private ImportResultDto importCsv(String csv) throws Exception {
+        return importService.importMatchStats(LEAGUE_ID, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), "text/csv");
+    }
+}
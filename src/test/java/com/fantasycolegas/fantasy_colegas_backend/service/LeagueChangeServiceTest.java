@@ -0,0 +1,99 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueChangeDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueChangeFeedDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.LeagueChange;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.LeagueChangeType;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas del historial de cambios con la aplicación completa sobre la liga 1 de {@code data.sql}.
+ */
+@SpringBootTest
+@DirtiesContext
+class LeagueChangeServiceTest {
+
+    private static final long LEAGUE_ID = 1L;
+
+    @Autowired
+    private LeagueChangeService leagueChangeService;
+
+    @Autowired
+    private LeagueChangeRepository leagueChangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void record_ShouldShowChangeInFeed_WhenItsTransactionCommits() throws Exception {
+        long cursor = leagueChangeService.getChanges(LEAGUE_ID, 0, LeagueChangeService.MAX_LIMIT).getCursor();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> leagueChangeService.record(LEAGUE_ID, LeagueChangeType.LEAGUE_UPDATED, null, null, null, "confirmada"));
+
+        // La posición la asigna el hilo del historial justo después del commit.
+        List<String> details = List.of();
+        for (int attempt = 0; attempt < 50 && details.isEmpty(); attempt++) {
+            Thread.sleep(100);
+            details = leagueChangeService.getChanges(LEAGUE_ID, cursor, 100).getChanges().stream().map(LeagueChangeDto::getDetail).toList();
+        }
+        assertEquals(List.of("confirmada"), details);
+    }
+
+    @Test
+    void getChanges_ShouldNotSkipChange_WhenItsTransactionCommitsAfterALaterOne() throws Exception {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch slowRecorded = new CountDownLatch(1);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // La transacción lenta inserta primero (ID menor) pero se confirma después que la rápida.
+            Future<?> slow = executor.submit(() -> transaction.executeWithoutResult(status -> {
+                leagueChangeService.record(LEAGUE_ID, LeagueChangeType.LEAGUE_UPDATED, null, null, null, "lenta");
+                slowRecorded.countDown();
+                try {
+                    assertTrue(releaseSlow.await(30, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }));
+            assertTrue(slowRecorded.await(30, TimeUnit.SECONDS));
+            transaction.executeWithoutResult(status -> leagueChangeService.record(LEAGUE_ID, LeagueChangeType.LEAGUE_UPDATED, null, null, null, "rápida"));
+            // El hilo del historial lo hace tras el commit; aquí se hace el paso a mano para no depender de cuándo.
+            leagueChangeService.sequencePendingChanges();
+
+            LeagueChangeFeedDto first = leagueChangeService.getChanges(LEAGUE_ID, 0, 100);
+            List<String> firstDetails = first.getChanges().stream().map(LeagueChangeDto::getDetail).toList();
+            assertTrue(firstDetails.contains("rápida"));
+            assertFalse(firstDetails.contains("lenta"));
+
+            releaseSlow.countDown();
+            slow.get(30, TimeUnit.SECONDS);
+            leagueChangeService.sequencePendingChanges();
+
+            LeagueChangeFeedDto next = leagueChangeService.getChanges(LEAGUE_ID, first.getCursor(), 100);
+            assertEquals(List.of("lenta"), next.getChanges().stream().map(LeagueChangeDto::getDetail).toList());
+
+            Map<String, Long> ids = leagueChangeRepository.findAll().stream().filter(c -> List.of("lenta", "rápida").contains(c.getDetail())).collect(Collectors.toMap(LeagueChange::getDetail, LeagueChange::getId));
+            assertTrue(ids.get("lenta") < ids.get("rápida"));
+        } finally {
+            releaseSlow.countDown();
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.LeagueCreateDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.LeagueResponseDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.League;
+import com.fantasycolegas.fantasy_colegas_backend.model.Player;
+import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
+import com.fantasycolegas.fantasy_colegas_backend.model.User;
+import com.fantasycolegas.fantasy_colegas_backend.repository.LeagueRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.PlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.RosterPlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.UserLeagueRoleRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia de las entradas en una liga pública con límite de miembros: muchos usuarios se unen a la
+ * vez y solo caben los que permite {@code maxMembers}, contando al creador.
+ */
+@SpringBootTest
+@DirtiesContext
+class LeagueJoinConcurrencyTest {
+
+    private static final int MAX_MEMBERS = 5;
+    private static final int TEAM_SIZE = 3;
+    private static final int PLAYERS = 10;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private LeagueService leagueService;
+
+    @Autowired
+    private LeagueRepository leagueRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserLeagueRoleRepository userLeagueRoleRepository;
+
+    @Autowired
+    private PlayerRepository playerRepository;
+
+    @Autowired
+    private RosterPlayerRepository rosterPlayerRepository;
+
+    @Test
+    void joinLeague_ShouldAdmitUpToMaxMembers_WhenManyUsersJoinAtOnce() throws Exception {
+        User creator = createUser("creador");
+        LeagueCreateDto leagueDto = new LeagueCreateDto();
+        leagueDto.setName("Liga con límite");
+        leagueDto.setPrivate(false);
+        leagueDto.setTeamSize(TEAM_SIZE);
+        leagueDto.setMaxMembers(MAX_MEMBERS);
+        LeagueResponseDto created = leagueService.createLeague(leagueDto, creator.getId());
+        League league = leagueRepository.findById(created.getId()).orElseThrow();
+        createPlayers(league);
+
+        List<Long> userIds = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            userIds.add(createUser("aspirante" + t).getId());
+        }
+
+        AtomicInteger joined = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (Long userId : userIds) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        leagueService.joinLeague(league.getJoinCode(), userId);
+                        joined.incrementAndGet();
+                    } catch (ResponseStatusException e) {
+                        if (e.getStatusCode() == HttpStatus.CONFLICT) {
+                            rejected.incrementAndGet();
+                        } else {
+                            unexpected.add(e);
+                        }
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES), "Las entradas concurrentes no han terminado a tiempo.");
+        assertTrue(unexpected.isEmpty(), () -> "Errores inesperados: " + unexpected);
+
+        // El creador ocupa uno de los huecos.
+        assertEquals(MAX_MEMBERS - 1, joined.get());
+        assertEquals(THREADS - (MAX_MEMBERS - 1), rejected.get());
+        List<Long> members = userLeagueRoleRepository.findUserIdsByLeagueId(league.getId());
+        assertEquals(MAX_MEMBERS, members.size());
+        assertEquals(members.size(), leagueRepository.findById(league.getId()).orElseThrow().getMemberCount());
+        assertEquals(THREADS - (MAX_MEMBERS - 1), userIds.stream().filter(id -> !members.contains(id)).count());
+
+        // Cada miembro tiene su equipo y ningún jugador real está en dos equipos.
+        Set<Long> owned = new HashSet<>();
+        for (Long memberId : members) {
+            List<RosterPlayer> roster = rosterPlayerRepository.findByUserIdAndLeagueId(memberId, league.getId());
+            assertEquals(TEAM_SIZE, roster.size());
+            for (RosterPlayer rosterPlayer : roster) {
+                if (rosterPlayer.getUniquePlayerId() != null) {
+                    assertTrue(owned.add(rosterPlayer.getUniquePlayerId()), "Jugador en dos equipos: " + rosterPlayer.getUniquePlayerId());
+                }
+            }
+        }
+    }
+
+    private User createUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("password");
+        return userRepository.save(user);
+    }
+
+    private void createPlayers(League league) {
+        for (int p = 0; p < PLAYERS; p++) {
+            Player player = new Player();
+            player.setName("Jugador " + (p + 1));
+            player.setLeague(league);
+            playerRepository.save(player);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas unitarias de {@link LineupOptimizer}.
+ */
+class LineupOptimizerTest {
+
+    /**
+     * Mejor alineación probando cada portero y ordenando al resto.
+     */
+    private static double bruteForce(double[] field, double[] goalkeeper, int teamSize) {
+        double best = Double.NEGATIVE_INFINITY;
+        for (int g = 0; g < field.length; g++) {
+            int keeper = g;
+            double[] others = IntStream.range(0, field.length).filter(i -> i != keeper).mapToDouble(i -> field[i]).sorted().toArray();
+            double total = goalkeeper[g];
+            for (int i = 0; i < Math.min(teamSize - 1, others.length); i++) {
+                total += others[others.length - 1 - i];
+            }
+            best = Math.max(best, total);
+        }
+        return best;
+    }
+
+    @Test
+    void best_ShouldMatchBruteForce_WhenPointsAreRandom() {
+        Random random = new Random(42);
+        for (int round = 0; round < 500; round++) {
+            int n = 1 + random.nextInt(30);
+            int teamSize = 1 + random.nextInt(8);
+            double[] field = new double[n];
+            double[] goalkeeper = new double[n];
+            for (int i = 0; i < n; i++) {
+                field[i] = random.nextInt(20) - 5;
+                goalkeeper[i] = random.nextInt(20) - 5;
+            }
+
+            LineupOptimizer.Lineup lineup = LineupOptimizer.best(field, goalkeeper, teamSize);
+
+            assertEquals(bruteForce(field, goalkeeper, teamSize), lineup.points(), 1e-9);
+            assertEquals(Math.min(teamSize, n) - 1, lineup.fieldPlayers().length);
+            double sum = goalkeeper[lineup.goalkeeper()] + Arrays.stream(lineup.fieldPlayers()).mapToDouble(i -> field[i]).sum();
+            assertEquals(lineup.points(), sum, 1e-9);
+        }
+    }
+
+    @Test
+    void best_ShouldReplaceGoalkeeperInField_WhenBestGoalkeeperIsAlsoBestFieldPlayer() {
+        double[] field = {10, 8, 6, 1};
+        double[] goalkeeper = {20, 0, 0, 0};
+
+        LineupOptimizer.Lineup lineup = LineupOptimizer.best(field, goalkeeper, 3);
+
+        assertEquals(0, lineup.goalkeeper());
+        assertArrayEquals(new int[]{1, 2}, lineup.fieldPlayers());
+        assertEquals(34.0, lineup.points());
+    }
+}
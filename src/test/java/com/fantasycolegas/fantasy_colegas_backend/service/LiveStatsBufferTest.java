@@ -0,0 +1,143 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.PlayerMatchStatsUpdateDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link LiveStatsBuffer}.
+ */
+class LiveStatsBufferTest {
+
+    @TempDir
+    Path dir;
+
+    private static PlayerMatchStatsUpdateDto stats(long playerId, int goles) {
+        PlayerMatchStatsUpdateDto dto = new PlayerMatchStatsUpdateDto();
+        dto.setPlayerId(playerId);
+        dto.setGolesMarcados(goles);
+        return dto;
+    }
+
+    private LiveStatsBuffer buffer(Path journal) {
+        return new LiveStatsBuffer(new ObjectMapper(), journal, false);
+    }
+
+    /**
+     * Ejecuta una acción dentro de una transacción simulada y la termina con el estado indicado.
+     */
+    private static void inTransaction(Runnable action, int status) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            action.run();
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(s -> s.afterCompletion(status));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void replay_ShouldRecoverLastValuePerPlayer_WhenProcessStoppedBeforeFlush() throws IOException {
+        Path journal = dir.resolve("live.journal");
+        LiveStatsBuffer before = buffer(journal);
+        before.put(1L, stats(10, 1));
+        before.put(1L, stats(10, 2));
+        before.put(1L, stats(11, 1));
+        before.take(1L, 11L);
+        before.closeJournal();
+        Files.writeString(journal, "{\"matchId\":1,\"playe", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        LiveStatsBuffer after = buffer(journal);
+        assertEquals(1, after.replay());
+        Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> drained = after.take(List.of(1L));
+        assertEquals(2, drained.get(1L).get(10L).getGolesMarcados());
+        assertFalse(drained.get(1L).containsKey(11L));
+    }
+
+    @Test
+    void compact_ShouldKeepOnlyPendingStats_WhenDrainedStatsWereSaved() throws IOException {
+        Path journal = dir.resolve("live.journal");
+        LiveStatsBuffer buffer = buffer(journal);
+        buffer.put(1L, stats(10, 1));
+        buffer.take(List.of(1L));
+        buffer.put(2L, stats(20, 3));
+        buffer.compact();
+        buffer.closeJournal();
+
+        LiveStatsBuffer after = buffer(journal);
+        assertEquals(1, after.replay());
+        Map<Long, Map<Long, PlayerMatchStatsUpdateDto>> drained = after.take(List.of(1L, 2L));
+        assertFalse(drained.containsKey(1L));
+        assertEquals(3, drained.get(2L).get(20L).getGolesMarcados());
+    }
+
+    @Test
+    void take_ShouldNotOverwriteNewerStats_WhenFlushRolledBack() {
+        LiveStatsBuffer buffer = buffer(dir.resolve("live.journal"));
+        buffer.put(1L, stats(10, 1));
+        inTransaction(() -> {
+            buffer.take(List.of(1L));
+            buffer.put(1L, stats(10, 5));
+        }, TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(5, buffer.take(List.of(1L)).get(1L).get(10L).getGolesMarcados());
+    }
+
+    @Test
+    void take_ShouldReturnStatsToBuffer_WhenTransactionRolledBack() {
+        LiveStatsBuffer buffer = buffer(dir.resolve("live.journal"));
+        buffer.put(1L, stats(10, 2));
+        inTransaction(() -> assertEquals(2, buffer.take(1L, 10L).get(1L).get(10L).getGolesMarcados()), TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(2, buffer.take(List.of(1L)).get(1L).get(10L).getGolesMarcados());
+    }
+
+    @Test
+    void replay_ShouldKeepNewerStats_WhenOlderStatsWereSavedAfterwards() throws IOException {
+        Path journal = dir.resolve("live.journal");
+        LiveStatsBuffer before = buffer(journal);
+        before.put(1L, stats(10, 1));
+        inTransaction(() -> {
+            before.take(1L, 10L);
+            before.put(1L, stats(10, 4));
+        }, TransactionSynchronization.STATUS_COMMITTED);
+        before.closeJournal();
+
+        LiveStatsBuffer after = buffer(journal);
+        assertEquals(1, after.replay());
+        assertEquals(4, after.take(List.of(1L)).get(1L).get(10L).getGolesMarcados());
+    }
+
+    @Test
+    void compact_ShouldKeepTakenStats_WhenTheirTransactionIsStillOpen() throws IOException {
+        Path journal = dir.resolve("live.journal");
+        LiveStatsBuffer buffer = buffer(journal);
+        buffer.put(1L, stats(10, 3));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            buffer.take(List.of(1L));
+            buffer.compact();
+            buffer.closeJournal();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        LiveStatsBuffer after = buffer(journal);
+        assertEquals(1, after.replay());
+        assertEquals(3, after.take(List.of(1L)).get(1L).get(10L).getGolesMarcados());
+    }
+}
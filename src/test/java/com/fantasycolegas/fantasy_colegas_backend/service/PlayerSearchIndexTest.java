@@ -0,0 +1,48 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link PlayerSearchIndex}.
+ */
+class PlayerSearchIndexTest {
+
+    private final PlayerSearchIndex index = new PlayerSearchIndex();
+
+    private static List<PlayerSearchIndex.IndexedPlayer> players() {
+        return List.of(new PlayerSearchIndex.IndexedPlayer(1L, "José Núñez", null), new PlayerSearchIndex.IndexedPlayer(2L, "Juan Pérez", null), new PlayerSearchIndex.IndexedPlayer(3L, "Joaquín Sánchez", null));
+    }
+
+    private Map<Long, Integer> search(String query) {
+        return index.search(1L, query, PlayerSearchIndexTest::players).stream().collect(Collectors.toMap(hit -> hit.player().id(), PlayerSearchIndex.SearchHit::rank));
+    }
+
+    @Test
+    void search_ShouldIgnoreAccentsAndCase_WhenQueryIsAPrefix() {
+        assertEquals(Map.of(1L, 3), search("JOSE nu"));
+        assertEquals(Map.of(1L, 2), search("nunez"));
+    }
+
+    @Test
+    void search_ShouldToleratePlaceSwaps_WhenQueryHasATypo() {
+        assertEquals(Map.of(2L, 1), search("jaun"));
+        assertEquals(Map.of(3L, 1), search("sanhcez"));
+    }
+
+    @Test
+    void playerSaved_ShouldReindexPlayer_WhenNameChanges() {
+        assertTrue(search("juan").containsKey(2L));
+        index.playerSaved(1L, new PlayerSearchIndex.IndexedPlayer(2L, "Álvaro Gil", null));
+        index.playerRemoved(1L, 3L);
+
+        assertFalse(search("juan").containsKey(2L));
+        assertEquals(Map.of(2L, 3), search("alv"));
+        assertEquals(2, search("").size());
+    }
+}
@@ -0,0 +1,40 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Pruebas unitarias de {@link RandomRosterAssigner}.
+ */
+class RandomRosterAssignerTest {
+
+    @Test
+    void sample_ShouldReturnDistinctIds_WhenCountIsSmallerThanPool() {
+        long[] ids = LongStream.rangeClosed(1, 100).toArray();
+
+        long[] chosen = RandomRosterAssigner.sample(ids, 7, new Random(1));
+
+        assertEquals(7, chosen.length);
+        assertEquals(7, Arrays.stream(chosen).distinct().count());
+        assertTrue(Arrays.stream(chosen).allMatch(id -> id >= 1 && id <= 100));
+    }
+
+    @Test
+    void sampleSpread_ShouldPickOnePlayerFromEachBand_WhenPlayersAreRankedByPoints() {
+        long[] ranked = LongStream.rangeClosed(1, 12).toArray();
+
+        long[] chosen = RandomRosterAssigner.sampleSpread(ranked, 4, new Random(5));
+
+        assertEquals(4, chosen.length);
+        for (int band = 0; band < 4; band++) {
+            long first = band * 3L + 1;
+            assertEquals(1, Arrays.stream(chosen).filter(id -> id >= first && id < first + 3).count());
+        }
+    }
+}
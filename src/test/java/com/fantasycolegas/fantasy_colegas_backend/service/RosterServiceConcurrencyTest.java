@@ -0,0 +1,149 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.RosterPlayer;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import com.fantasycolegas.fantasy_colegas_backend.repository.RosterPlayerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia de {@link RosterService} sobre los equipos de ejemplo de {@code data.sql}: en la liga 1,
+ * con equipos de 5, el usuario 2 tiene a los jugadores 2 (campo) y 3 (portero) y el usuario 3 a los jugadores 4
+ * (campo) y 5 (portero); el resto de sus puestos los ocupa el jugador vacío (ID 1). El jugador 6 no está en
+ * ningún equipo.
+ */
+@SpringBootTest
+@DirtiesContext
+class RosterServiceConcurrencyTest {
+
+    private static final long LEAGUE_ID = 1L;
+    private static final long PLACEHOLDER_ID = 1L;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private RosterService rosterService;
+
+    @Autowired
+    private RosterPlayerRepository rosterPlayerRepository;
+
+    @Test
+    void addAndRemove_ShouldKeepRosterConsistent_WhenManyThreadsModifyTheSameRoster() throws Exception {
+        long userId = 2L;
+        // 4 y 5 son del usuario 3: añadirlos responde con un conflicto.
+        long[] players = {2L, 3L, 4L, 5L};
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+
+        hammer(() -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < 40; i++) {
+                long playerId = players[random.nextInt(players.length)];
+                try {
+                    if (random.nextBoolean()) {
+                        rosterService.addPlayerToRoster(LEAGUE_ID, userId, playerId, PlayerTeamRole.CAMPO);
+                    } else {
+                        rosterService.removePlayerFromRoster(LEAGUE_ID, userId, playerId);
+                    }
+                } catch (ResponseStatusException e) {
+                    // Sin hueco, jugador repetido o ausente, o conflicto tras los reintentos: respuestas válidas.
+                    if (e.getStatusCode().is5xxServerError()) {
+                        unexpected.add(e);
+                    }
+                } catch (Throwable e) {
+                    unexpected.add(e);
+                }
+            }
+            return null;
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Errores inesperados: " + unexpected);
+        assertRosterInvariants(userId);
+    }
+
+    @Test
+    void addPlayerToRoster_ShouldGivePlayerToOneMember_WhenMembersAddTheSamePlayerAtOnce() throws Exception {
+        long freePlayerId = 6L;
+        AtomicInteger turn = new AtomicInteger();
+        AtomicInteger added = new AtomicInteger();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+
+        hammer(() -> {
+            long userId = turn.getAndIncrement() % 2 == 0 ? 2L : 3L;
+            try {
+                rosterService.addPlayerToRoster(LEAGUE_ID, userId, freePlayerId, PlayerTeamRole.CAMPO);
+                added.incrementAndGet();
+            } catch (ResponseStatusException e) {
+                if (e.getStatusCode().is5xxServerError()) {
+                    unexpected.add(e);
+                }
+            } catch (Throwable e) {
+                unexpected.add(e);
+            }
+            return null;
+        });
+
+        assertTrue(unexpected.isEmpty(), () -> "Errores inesperados: " + unexpected);
+        assertEquals(1, added.get());
+        List<RosterPlayer> owners = rosterPlayerRepository.findByLeagueIdAndUniquePlayerIdIn(LEAGUE_ID, List.of(freePlayerId));
+        assertEquals(1, owners.size());
+        assertRosterInvariants(2L);
+        assertRosterInvariants(3L);
+    }
+
+    /**
+     * Lanza la misma tarea desde {@link #THREADS} hilos a la vez y espera a que terminen todas.
+     */
+    private static void hammer(Callable<Void> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES), "Las modificaciones concurrentes no han terminado a tiempo.");
+    }
+
+    /**
+     * El equipo sigue teniendo su tamaño y un solo portero, ningún jugador real está repetido y la columna de la
+     * restricción única refleja el jugador de cada puesto.
+     */
+    private void assertRosterInvariants(long userId) {
+        List<RosterPlayer> roster = rosterPlayerRepository.findByUserIdAndLeagueId(userId, LEAGUE_ID);
+        assertEquals(5, roster.size());
+        assertEquals(1, roster.stream().filter(rp -> rp.getRole() == PlayerTeamRole.PORTERO).count());
+
+        Set<Long> realPlayers = new HashSet<>();
+        for (RosterPlayer rosterPlayer : roster) {
+            long playerId = rosterPlayer.getPlayer().getId();
+            if (playerId == PLACEHOLDER_ID) {
+                assertNull(rosterPlayer.getUniquePlayerId());
+            } else {
+                assertEquals(Long.valueOf(playerId), rosterPlayer.getUniquePlayerId());
+                assertTrue(realPlayers.add(playerId), "Jugador repetido en el equipo: " + playerId);
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link ScoringExpression}.
+ */
+class ScoringExpressionTest {
+
+    private static int[] stats(String statName, int value, String otherStat, int otherValue) {
+        int[] stats = new int[PointsCalculationService.STATS.size()];
+        stats[PointsCalculationService.STATS.indexOf(statName)] = value;
+        stats[PointsCalculationService.STATS.indexOf(otherStat)] = otherValue;
+        return stats;
+    }
+
+    @Test
+    void compile_ShouldRespectPrecedence_WhenExpressionMixesOperators() {
+        ScoringExpression.Evaluator cleanSheet = ScoringExpression.compile("tiempoJugado >= 60 && golesEncajadosComoPortero == 0 ? 2 + 1 * 2 : -1");
+
+        assertEquals(4.0, cleanSheet.evaluate(stats("tiempoJugado", 90, "golesEncajadosComoPortero", 0)));
+        assertEquals(-1.0, cleanSheet.evaluate(stats("tiempoJugado", 90, "golesEncajadosComoPortero", 1)));
+        assertEquals(-1.0, cleanSheet.evaluate(stats("tiempoJugado", 45, "golesEncajadosComoPortero", 0)));
+        assertEquals(3.0, ScoringExpression.compile("min(floor(tiempoJugado / 30), 3)").evaluate(stats("tiempoJugado", 120, "golesMarcados", 0)));
+        assertEquals(0.0, ScoringExpression.compile("golesMarcados / 0").evaluate(stats("golesMarcados", 2, "tiempoJugado", 0)));
+    }
+
+    @Test
+    void compile_ShouldThrow_WhenExpressionIsNotValid() {
+        IllegalArgumentException unknown = assertThrows(IllegalArgumentException.class, () -> ScoringExpression.compile("golesEnPropia > 0"));
+        assertTrue(unknown.getMessage().contains("golesEnPropia"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringExpression.compile("golesMarcados >= 3 ? 1"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringExpression.compile("max(golesMarcados)"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringExpression.compile("(asistencias + 1"));
+        assertThrows(IllegalArgumentException.class, () -> ScoringExpression.compile("asistencias 2"));
+    }
+}
@@ -0,0 +1,64 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.model.ScoringRule;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.PlayerTeamRole;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Pruebas unitarias de {@link ScoringSimulationService}.
+ */
+class ScoringSimulationServiceTest {
+
+    private static ScoringRule rule(String statName, double pointsPerUnit, PlayerTeamRole role, String expression) {
+        ScoringRule rule = new ScoringRule();
+        rule.setStatName(statName);
+        rule.setPointsPerUnit(pointsPerUnit);
+        rule.setRole(role);
+        rule.setExpression(expression);
+        return rule;
+    }
+
+    @Test
+    void score_ShouldMatchRowByRowPoints_WhenRowsAreScoredInParallelBlocks() {
+        CompiledScoringRules rules = CompiledScoringRules.compile(0, List.of(
+                rule("golesMarcados", 5.0, PlayerTeamRole.CAMPO, null),
+                rule("golesMarcados", 3.0, PlayerTeamRole.CAMPO, "golesMarcados >= 3"),
+                rule("paradasComoPortero", 0.5, PlayerTeamRole.PORTERO, null),
+                rule("tiempoJugado", 1.0, PlayerTeamRole.PORTERO, "min(floor(tiempoJugado / 30), 3)")));
+        int size = 20_000;
+        int[][] columns = new int[PointsCalculationService.STATS.size()][size];
+        Random random = new Random(7);
+        for (int[] column : columns) {
+            for (int i = 0; i < size; i++) {
+                column[i] = random.nextInt(5);
+            }
+        }
+        ScoringSimulationService.StatsColumns stats = new ScoringSimulationService.StatsColumns(new long[size], columns, new double[size], new double[size]);
+        double[] fieldPoints = new double[size];
+        double[] goalkeeperPoints = new double[size];
+
+        ScoringSimulationService.score(rules, stats, fieldPoints, goalkeeperPoints);
+
+        int[] row = new int[columns.length];
+        for (int i = 0; i < size; i += 997) {
+            for (int c = 0; c < columns.length; c++) {
+                row[c] = columns[c][i];
+            }
+            assertEquals(rules.points(row, PlayerTeamRole.CAMPO), fieldPoints[i], 1e-9);
+            assertEquals(rules.points(row, PlayerTeamRole.PORTERO), goalkeeperPoints[i], 1e-9);
+        }
+    }
+
+    @Test
+    void ranks_ShouldShareRank_WhenPointsAreTied() {
+        Map<Long, Integer> ranks = ScoringSimulationService.ranks(Map.of(1L, 10.0, 2L, 25.0, 3L, 10.0, 4L, 3.0));
+
+        assertEquals(Map.of(2L, 1, 1L, 2, 3L, 2, 4L, 4), ranks);
+    }
+}
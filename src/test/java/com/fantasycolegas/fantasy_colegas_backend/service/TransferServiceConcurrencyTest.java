@@ -0,0 +1,110 @@
+package com.fantasycolegas.fantasy_colegas_backend.service;
+
+import com.fantasycolegas.fantasy_colegas_backend.dto.request.TransferListingRequestDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.TransferBudgetDto;
+import com.fantasycolegas.fantasy_colegas_backend.dto.response.TransferListingDto;
+import com.fantasycolegas.fantasy_colegas_backend.model.TransferListing;
+import com.fantasycolegas.fantasy_colegas_backend.model.UserLeagueRole;
+import com.fantasycolegas.fantasy_colegas_backend.model.enums.TransferStatus;
+import com.fantasycolegas.fantasy_colegas_backend.repository.RosterPlayerRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.TransferBidRepository;
+import com.fantasycolegas.fantasy_colegas_backend.repository.TransferListingRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas de concurrencia de {@link TransferService} sobre los equipos de ejemplo de {@code data.sql}: en la liga 1,
+ * el usuario 2 tiene al jugador 2 como jugador de campo y el usuario 3 tiene tres puestos de campo libres.
+ */
+@SpringBootTest
+@DirtiesContext
+class TransferServiceConcurrencyTest {
+
+    private static final long LEAGUE_ID = 1L;
+    private static final long SELLER_ID = 2L;
+    private static final long BUYER_ID = 3L;
+    private static final long PLAYER_ID = 2L;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private TransferListingRepository transferListingRepository;
+
+    @Autowired
+    private TransferBidRepository transferBidRepository;
+
+    @Autowired
+    private RosterPlayerRepository rosterPlayerRepository;
+
+    @Test
+    void bidAndSettle_ShouldConserveBudgetsAndMovePlayer_WhenManyBidsArriveAtOnce() throws Exception {
+        TransferListingRequestDto listingDto = new TransferListingRequestDto();
+        listingDto.setPlayerId(PLAYER_ID);
+        listingDto.setAskingPrice(1_000L);
+        TransferListingDto listing = transferService.listPlayer(LEAGUE_ID, SELLER_ID, listingDto);
+
+        List<Long> accepted = new CopyOnWriteArrayList<>();
+        List<Throwable> unexpected = new CopyOnWriteArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                long amount = 1_000L + 100L * t;
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        transferService.bid(LEAGUE_ID, listing.getId(), BUYER_ID, amount);
+                        accepted.add(amount);
+                    } catch (ResponseStatusException e) {
+                        // Superada por otra puja o conflicto tras los reintentos: respuestas válidas.
+                        if (e.getStatusCode().is5xxServerError()) {
+                            unexpected.add(e);
+                        }
+                    } catch (Throwable e) {
+                        unexpected.add(e);
+                    }
+                    return null;
+                });
+            }
+            start.countDown();
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES), "Las pujas concurrentes no han terminado a tiempo.");
+        assertTrue(unexpected.isEmpty(), () -> "Errores inesperados: " + unexpected);
+        assertFalse(accepted.isEmpty());
+
+        long highest = accepted.stream().mapToLong(Long::longValue).max().orElseThrow();
+        TransferListing stored = transferListingRepository.findById(listing.getId()).orElseThrow();
+        assertEquals(Long.valueOf(highest), stored.getHighestBid());
+        assertEquals(accepted.size(), transferBidRepository.count());
+        TransferBudgetDto budget = transferService.getBudget(LEAGUE_ID, BUYER_ID);
+        assertEquals(highest, budget.getReserved());
+        assertEquals(UserLeagueRole.INITIAL_BUDGET, budget.getBudget() + budget.getReserved());
+
+        stored.setDeadline(LocalDateTime.now().minusSeconds(1));
+        transferListingRepository.save(stored);
+        assertEquals(1, transferService.settleExpired());
+
+        assertEquals(TransferStatus.SOLD, transferListingRepository.findById(listing.getId()).orElseThrow().getStatus());
+        assertTrue(rosterPlayerRepository.findByUserIdAndLeagueIdAndUniquePlayerId(BUYER_ID, LEAGUE_ID, PLAYER_ID).isPresent());
+        assertTrue(rosterPlayerRepository.findByUserIdAndLeagueIdAndUniquePlayerId(SELLER_ID, LEAGUE_ID, PLAYER_ID).isEmpty());
+        assertEquals(UserLeagueRole.INITIAL_BUDGET - highest, transferService.getBudget(LEAGUE_ID, BUYER_ID).getBudget());
+        assertEquals(UserLeagueRole.INITIAL_BUDGET + highest, transferService.getBudget(LEAGUE_ID, SELLER_ID).getBudget());
+    }
+}
@@ -0,0 +1,49 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link ImportRowReader}.
+ */
+class ImportRowReaderTest {
+
+    private static ImportRowReader reader(String content, DataFormat format) {
+        return new ImportRowReader(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, new ObjectMapper());
+    }
+
+    @Test
+    void next_ShouldParseCsvWithQuotesAndLineNumbers_WhenHeaderPresent() throws IOException {
+        try (ImportRowReader reader = reader("name;image\n\n\"Pérez; \"\"el Rápido\"\"\";\nLópez;http://img\n", DataFormat.CSV)) {
+            ImportRowReader.Row first = reader.next();
+            assertEquals(3, first.line());
+            assertEquals("Pérez; \"el Rápido\"", first.values().get("name"));
+            assertFalse(first.values().containsKey("image"));
+
+            ImportRowReader.Row second = reader.next();
+            assertEquals(4, second.line());
+            assertEquals("http://img", second.values().get("image"));
+
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void next_ShouldReportRowError_WhenNdjsonLineIsMalformed() throws IOException {
+        try (ImportRowReader reader = reader("{\"matchId\":1,\"golesMarcados\":2}\n{roto\n", DataFormat.NDJSON)) {
+            ImportRowReader.Row valid = reader.next();
+            assertNull(valid.error());
+            assertEquals("2", valid.values().get("golesMarcados"));
+
+            ImportRowReader.Row broken = reader.next();
+            assertEquals(2, broken.line());
+            assertNotNull(broken.error());
+        }
+    }
+}
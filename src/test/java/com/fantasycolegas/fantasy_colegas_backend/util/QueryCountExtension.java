@@ -0,0 +1,63 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Extensión de JUnit 5 para acotar el número de sentencias SQL de una llamada.
+ * <p>
+ * Se registra con {@code @RegisterExtension} y envuelve cada {@code mockMvc.perform(...)}:
+ * <pre>
+ * queries.assertMaxQueries(3, () -&gt; mockMvc.perform(get("/api/leagues/1"))).andExpect(status().isOk());
+ * </pre>
+ * Se apoya en {@link QueryCountHolder}, por lo que solo cuenta las sentencias ejecutadas
+ * en el hilo del test (MockMvc ejecuta la petición en ese mismo hilo).
+ * </p>
+ */
+public class QueryCountExtension implements BeforeEachCallback {
+
+    private long baseline;
+
+    /**
+     * Llamada que se quiere medir, normalmente una invocación de MockMvc.
+     *
+     * @param <T> El tipo devuelto por la llamada.
+     */
+    @FunctionalInterface
+    public interface MeasuredCall<T> {
+        T call() throws Exception;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        baseline = QueryCountHolder.current();
+    }
+
+    /**
+     * Devuelve las sentencias ejecutadas desde el inicio del test.
+     *
+     * @return El número de sentencias SQL.
+     */
+    public long count() {
+        return QueryCountHolder.current() - baseline;
+    }
+
+    /**
+     * Ejecuta la llamada y falla si ha lanzado más sentencias SQL de las permitidas.
+     *
+     * @param maxQueries Número máximo de sentencias permitidas.
+     * @param call       La llamada a medir.
+     * @param <T>        El tipo devuelto por la llamada.
+     * @return El resultado de la llamada, para poder seguir encadenando comprobaciones.
+     * @throws Exception Si la propia llamada lanza una excepción.
+     */
+    public <T> T assertMaxQueries(int maxQueries, MeasuredCall<T> call) throws Exception {
+        long start = QueryCountHolder.current();
+        T result = call.call();
+        long executed = QueryCountHolder.current() - start;
+        assertTrue(executed <= maxQueries, "Se esperaban como máximo " + maxQueries + " sentencias SQL, pero se ejecutaron " + executed);
+        return result;
+    }
+}
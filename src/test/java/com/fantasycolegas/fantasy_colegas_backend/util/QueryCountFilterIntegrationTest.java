@@ -0,0 +1,73 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Pruebas de {@link QueryCountFilter} con la aplicación completa: las sentencias que cuenta el inspector de
+ * Hibernate llegan a la cabecera, incluida la carga del usuario que hace el filtro JWT.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext
+class QueryCountFilterIntegrationTest {
+
+    private static final String LOGIN_BODY = "{\"usernameOrEmail\": \"johnDoe\", \"password\": \"password\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void doFilter_ShouldCountHibernateStatements_WhenCallingAnAuthenticatedEndpoint() throws Exception {
+        String token = login();
+
+        long queries = queryCount(get("/api/users/me/leagues").header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        assertTrue(queries > 0, "Sin sentencias contadas: " + queries);
+    }
+
+    @Test
+    void doFilter_ShouldCountJwtUserLookup_WhenRequestCarriesAToken() throws Exception {
+        String token = login();
+
+        // La misma petición con token hace además la carga del usuario en el filtro JWT, que va dentro de Spring Security.
+        long withoutToken = queryCount(loginRequest());
+        long withToken = queryCount(loginRequest().header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        assertTrue(withToken > withoutToken, "Con token: " + withToken + ", sin token: " + withoutToken);
+    }
+
+    private static MockHttpServletRequestBuilder loginRequest() {
+        return post("/api/auth/login").contentType(MediaType.APPLICATION_JSON).content(LOGIN_BODY);
+    }
+
+    private String login() throws Exception {
+        String body = mockMvc.perform(loginRequest())
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("jwt").asText();
+    }
+
+    private long queryCount(MockHttpServletRequestBuilder request) throws Exception {
+        String header = mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(QueryCountFilter.QUERY_COUNT_HEADER);
+        return Long.parseLong(header);
+    }
+}
@@ -0,0 +1,70 @@
+package com.fantasycolegas.fantasy_colegas_backend.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Pruebas unitarias de {@link QueryCountFilter} y {@link QueryCountExtension}.
+ */
+class QueryCountFilterTest {
+
+    @RegisterExtension
+    QueryCountExtension queries = new QueryCountExtension();
+
+    private static MockFilterChain chainExecuting(int statements) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+                for (int i = 0; i < statements; i++) {
+                    QueryCountHolder.increment();
+                }
+                resp.getWriter().write("ok");
+            }
+        });
+    }
+
+    @Test
+    void doFilter_ShouldExposeQueryCountHeader_WhenNotInProdProfile() throws Exception {
+        QueryCountFilter filter = new QueryCountFilter(new MockEnvironment(), 20);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/leagues/1"), response, chainExecuting(3));
+
+        assertEquals("3", response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+        assertEquals("ok", response.getContentAsString());
+    }
+
+    @Test
+    void doFilter_ShouldNotExposeHeader_WhenInProdProfile() throws Exception {
+        MockEnvironment environment = new MockEnvironment();
+        environment.setActiveProfiles("prod");
+        QueryCountFilter filter = new QueryCountFilter(environment, 20);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/leagues/1"), response, chainExecuting(3));
+
+        assertNull(response.getHeader(QueryCountFilter.QUERY_COUNT_HEADER));
+    }
+
+    @Test
+    void assertMaxQueries_ShouldFail_WhenCallExceedsLimit() {
+        assertThrows(AssertionError.class, () -> queries.assertMaxQueries(1, () -> {
+            QueryCountHolder.increment();
+            QueryCountHolder.increment();
+            return null;
+        }));
+        assertEquals(2, queries.count());
+    }
+}